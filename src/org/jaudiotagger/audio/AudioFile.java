@@ -67,6 +67,16 @@ public class AudioFile
      */
     protected String extension;
 
+    /**
+     * True if only some fields of the tag were read
+     */
+    private final boolean partialTag = TagOptionSingleton.getInstance().getReadFieldKeys() != null;
+
+    /**
+     * Options in use for the current thread when this file was read, null if the shared options were in use
+     */
+    private final TagOptionSingleton tagOptions = TagOptionSingleton.getThreadInstance();
+
     public AudioFile()
     {
 
@@ -106,13 +116,24 @@ public class AudioFile
     /**
      * <p>Write the tag contained in this AudioFile in the actual file on the disk, this is the same as calling the <code>AudioFileIO.write(this)</code> method.
      *
+     * The file is written with the options it was read with, so a file read by an
+     * {@link AudioFileIO#AudioFileIO(TagOptionSingleton)} instance is written with that instance's options.
+     *
      * @throws NoWritePermissionsException if the file could not be written to due to file permissions
      * @throws CannotWriteException If the file could not be written/accessed, the extension wasn't recognized, or other IO error occured.
      * @see AudioFileIO
      */
     public void commit() throws CannotWriteException
     {
-        AudioFileIO.write(this);
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(tagOptions);
+        try
+        {
+            AudioFileIO.write(this);
+        }
+        finally
+        {
+            scope.close();
+        }
     }
 
     /**
@@ -123,7 +144,15 @@ public class AudioFile
      */
     public void delete() throws CannotReadException, CannotWriteException
     {
-        AudioFileIO.delete(this);
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(tagOptions);
+        try
+        {
+            AudioFileIO.delete(this);
+        }
+        finally
+        {
+            scope.close();
+        }
     }
 
     /**
@@ -178,7 +207,7 @@ public class AudioFile
 
     /**
      * Return audio header information
-     * @return
+     * @return the audio header, null if the file was read with {@link ReadMode#TAG_ONLY}
      */
     public AudioHeader getAudioHeader()
     {
@@ -198,6 +227,31 @@ public class AudioFile
         return tag;
     }
 
+    /**
+     * Whether only the fields given by {@link TagOptionSingleton#getReadFieldKeys()} were read, in which case the
+     * tag cannot be written back to the file because the other fields would be lost.
+     *
+     * @return true if only some fields of the tag were read
+     */
+    public boolean isPartialTag()
+    {
+        return partialTag;
+    }
+
+    /**
+     * The options this file was read with, these are used when it is written and when a default tag is created or
+     * converted. Fields added to the tag directly, such as by {@link Tag#setField(org.jaudiotagger.tag.FieldKey, String...)}, use the
+     * shared options unless they are added within {@link TagOptionSingleton#use(TagOptionSingleton)} of these options.
+     *
+     * @return the options in use for the current thread when this file was read, or null if the shared options were
+     * in use
+     * @see TagOptionSingleton#use(TagOptionSingleton)
+     */
+    public TagOptionSingleton getTagOptions()
+    {
+        return tagOptions;
+    }
+
     /**
      * <p>Returns a multi-line string with the file path, the encoding audioHeader, and the tag contents.
      *
@@ -207,7 +261,7 @@ public class AudioFile
     public String toString()
     {
         return "AudioFile " + getFile().getAbsolutePath()
-                + "  --------\n" + audioHeader.toString() + "\n" + ((tag == null) ? "" : tag.toString()) + "\n-------------------";
+                + "  --------\n" + ((audioHeader == null) ? "" : audioHeader.toString()) + "\n" + ((tag == null) ? "" : tag.toString()) + "\n-------------------";
     }
 
     /**
@@ -292,6 +346,19 @@ public class AudioFile
      * @return
      */
     public Tag createDefaultTag()
+    {
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(tagOptions);
+        try
+        {
+            return createDefaultTagWithOptions();
+        }
+        finally
+        {
+            scope.close();
+        }
+    }
+
+    private Tag createDefaultTagWithOptions()
     {
         String extension = getExt();
         if(extension == null)
@@ -403,7 +470,7 @@ public class AudioFile
          */
         if(tag instanceof AbstractID3v2Tag)
         {
-            Tag convertedTag = convertID3Tag((AbstractID3v2Tag)tag, TagOptionSingleton.getInstance().getID3V2Version());
+            Tag convertedTag = convertID3Tag((AbstractID3v2Tag)tag, getID3V2Version());
             if(convertedTag!=null)
             {
                 return convertedTag;
@@ -419,6 +486,14 @@ public class AudioFile
         }
     }
 
+    /**
+     * @return the ID3 version to create or convert tags to, from the options this file was read with
+     */
+    protected ID3V2Version getID3V2Version()
+    {
+        return tagOptions != null ? tagOptions.getID3V2Version() : TagOptionSingleton.getInstance().getID3V2Version();
+    }
+
     /**
      * Get the tag and convert to the default tag version or if the file doesn't have one at all, create a default tag
      * set as tag for this file
@@ -452,9 +527,25 @@ public class AudioFile
     /**
      * If using ID3 format convert tag from current version to another as specified by id3V2Version,
      *
+     * Frame bodies that are the same in both versions are only shared with the original tag rather than converted
+     * when {@link TagOptionSingleton#isId3v2LazyFrameBodies()} is enabled, otherwise every body is decoded and copied.
+     *
      * @return null if no conversion necessary
      */
     public AbstractID3v2Tag convertID3Tag(AbstractID3v2Tag tag, ID3V2Version id3V2Version)
+    {
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(tagOptions);
+        try
+        {
+            return convertID3TagWithOptions(tag, id3V2Version);
+        }
+        finally
+        {
+            scope.close();
+        }
+    }
+
+    private AbstractID3v2Tag convertID3TagWithOptions(AbstractID3v2Tag tag, ID3V2Version id3V2Version)
     {
         if(tag instanceof ID3v24Tag)
         {
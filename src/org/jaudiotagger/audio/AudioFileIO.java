@@ -39,17 +39,29 @@ import org.jaudiotagger.audio.mp4.Mp4FileWriter;
 import org.jaudiotagger.audio.ogg.OggFileReader;
 import org.jaudiotagger.audio.ogg.OggFileWriter;
 import org.jaudiotagger.audio.real.RealFileReader;
+import org.jaudiotagger.audio.scan.AudioFileScanner;
+import org.jaudiotagger.audio.scan.ScanListener;
+import org.jaudiotagger.audio.scan.ScanOptions;
+import org.jaudiotagger.audio.scan.ScanStatistics;
 import org.jaudiotagger.audio.wav.WavFileReader;
 import org.jaudiotagger.audio.wav.WavFileWriter;
 import org.jaudiotagger.logging.ErrorMessage;
+import org.jaudiotagger.tag.FieldKey;
 import org.jaudiotagger.tag.TagException;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagVisitor;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 import org.jaudiotagger.audio.dff.DffFileReader;
 
@@ -157,6 +169,53 @@ public class AudioFileIO
         return getDefaultAudioFileIO().readFileAs(f,ext);
     }
 
+    /**
+     *
+     * Read the audio held in the given channel, for example audio from a network stream or an archive entry.
+     *
+     *
+     * The channel is read from its current contents and is not closed. Because there is no file the returned
+     * AudioFile can be inspected but not committed.
+     *
+     * @param fc The channel to read.
+     * @param ext The extension identifying the format, e.g mp3
+     * @return The AudioFile with the file tag and the file encoding info.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the channel could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static AudioFile readAs(SeekableByteChannel fc, String ext)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        return getDefaultAudioFileIO().readChannelAs(fc, ext, ReadMode.FULL);
+    }
+
+    /**
+     *
+     * Read the audio held in memory between the position and limit of the given buffer.
+     *
+     *
+     * The buffer is not modified. Because there is no file the returned AudioFile can be inspected but not committed.
+     *
+     * @param buffer The audio data.
+     * @param ext The extension identifying the format, e.g mp3
+     * @return The AudioFile with the file tag and the file encoding info.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the buffer could not be read, the extension wasn't
+     *                             recognized, or the data is invalid.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static AudioFile readAs(ByteBuffer buffer, String ext)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        return getDefaultAudioFileIO().readChannelAs(new ByteBufferChannel(buffer), ext, ReadMode.FULL);
+    }
+
     /**
     *
     * Read the tag contained in the given file.
@@ -197,6 +256,116 @@ public class AudioFileIO
       return getDefaultAudioFileIO().readFile(f);
   }
 
+    /**
+     *
+     * Read only the tag contained in the given file, the audio header is not parsed.
+     *
+     *
+     * @param f The file to read.
+     * @return The AudioFile with the file tag, {@link AudioFile#getAudioHeader()} returns null.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static AudioFile readTagOnly(File f)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        return getDefaultAudioFileIO().readFile(f, ReadMode.TAG_ONLY);
+    }
+
+    /**
+     *
+     * Read the given file, only decoding the given fields of the tag. Other fields are skipped, so the tag
+     * contains only these fields and the file cannot be written.
+     *
+     *
+     * @param f The file to read.
+     * @param fieldKeys The fields to read, include {@link FieldKey#COVER_ART} to read artwork.
+     * @return The AudioFile with the requested fields of the file tag and the file encoding info.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     * @see TagOptionSingleton#getReadFieldKeys()
+     */
+    public static AudioFile readFields(File f, Set<FieldKey> fieldKeys)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        TagOptionSingleton options = TagOptionSingleton.getInstance().copy();
+        options.setReadFieldKeys(fieldKeys);
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(options);
+        try
+        {
+            return getDefaultAudioFileIO().readFile(f, ReadMode.FULL);
+        }
+        finally
+        {
+            scope.close();
+        }
+    }
+
+    /**
+     *
+     * Pass each field of the tag in the given file to the visitor as it is parsed, without building the tag.
+     *
+     *
+     * @param f The file to read.
+     * @param visitor Receives the fields
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws java.io.IOException
+     */
+    public static void visitTag(File f, TagVisitor visitor) throws CannotReadException, IOException
+    {
+        getDefaultAudioFileIO().visitFileTag(f, visitor);
+    }
+
+    /**
+     *
+     * Read only the audio header of the given file, no tags are parsed.
+     *
+     *
+     * @param f The file to read.
+     * @return The AudioFile with the file encoding info, {@link AudioFile#getTag()} returns null.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static AudioFile readHeaderOnly(File f)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        return getDefaultAudioFileIO().readFile(f, ReadMode.HEADER_ONLY);
+    }
+
+    /**
+     *
+     * Read every supported audio file below the given root in parallel.
+     *
+     *
+     * Each file is passed to the listener as soon as it has been read, or has failed to read, so the caller
+     * never has to hold the whole library in memory.
+     *
+     * @param root The file or directory to scan
+     * @param options Controls concurrency and which files are read
+     * @param listener Receives the result for each file, called from the worker threads
+     * @return Totals for the scan, including files/sec and bytes read
+     * @throws java.io.IOException If the root could not be walked
+     * @throws java.lang.InterruptedException If interrupted before the scan completed
+     */
+    public static ScanStatistics scan(Path root, ScanOptions options, ScanListener listener)
+            throws IOException, InterruptedException
+    {
+        return new AudioFileScanner(options).scan(root, listener);
+    }
+
     /**
      *
      * Write the tag contained in the audioFile in the actual file on the disk.
@@ -242,12 +411,40 @@ public class AudioFileIO
     private Map<String, AudioFileWriter> writers = new HashMap<String, AudioFileWriter>();
 
 
+    /**
+     * Options used for every read and write made by this instance, null to use the shared options
+     */
+    private final TagOptionSingleton tagOptions;
+
     /**
      * Creates an instance.
      */
     public AudioFileIO()
     {
         this.modificationHandler = new ModificationHandler();
+        this.tagOptions = null;
+        prepareReadersAndWriters();
+    }
+
+    /**
+     * Creates an instance that reads and writes using its own options rather than the shared
+     * {@link TagOptionSingleton#getInstance()}, so instances with different options can be used at the same time.
+     *
+     * A copy of the options is taken, so later changes to them do not affect this instance. Files read by this
+     * instance keep using the copy when written by {@link AudioFile#commit()} or
+     * {@link org.jaudiotagger.audio.mp3.MP3File#save()}, and when a default tag is created or converted by them. Fields
+     * added to a tag directly use the shared options unless added within
+     * {@link TagOptionSingleton#use(TagOptionSingleton)} of {@link AudioFile#getTagOptions()}.
+     *
+     * The copy itself is not immutable, while this instance is reading or writing it is returned by
+     * {@link TagOptionSingleton#getInstance()} and must not be changed, for example from a {@link TagVisitor}.
+     *
+     * @param tagOptions
+     */
+    public AudioFileIO(TagOptionSingleton tagOptions)
+    {
+        this.modificationHandler = new ModificationHandler();
+        this.tagOptions = tagOptions.copy();
         prepareReadersAndWriters();
     }
 
@@ -274,15 +471,23 @@ public class AudioFileIO
      */
     public void deleteTag(AudioFile f) throws CannotReadException, CannotWriteException
     {
-        String ext = Utils.getExtension(f.getFile());
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(tagOptions);
+        try
+        {
+            String ext = Utils.getExtension(f.getFile());
 
-        Object afw = writers.get(ext);
-        if (afw == null)
+            Object afw = writers.get(ext);
+            if (afw == null)
+            {
+                throw new CannotWriteException(ErrorMessage.NO_DELETER_FOR_THIS_FORMAT.getMsg(ext));
+            }
+
+            ((AudioFileWriter) afw).delete(f);
+        }
+        finally
         {
-            throw new CannotWriteException(ErrorMessage.NO_DELETER_FOR_THIS_FORMAT.getMsg(ext));
+            scope.close();
         }
-
-        ((AudioFileWriter) afw).delete(f);
     }
 
     /**
@@ -350,50 +555,133 @@ public class AudioFileIO
     public AudioFile readFile(File f)
             throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
     {
-        //checkFileExists(f);
-        String ext = Utils.getExtension(f);
+        return readFile(f, ReadMode.FULL);
+    }
 
-        AudioFileReader afr = readers.get(ext);
-        if (afr == null)
+    /**
+     *
+     * Read the audio header and/or tag contained in the given file.
+     *
+     *
+     * @param f The file to read.
+     * @param mode What to read, the parts of the file not needed are skipped entirely
+     * @return The AudioFile with the file tag and/or the file encoding info.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public AudioFile readFile(File f, ReadMode mode)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(tagOptions);
+        try
         {
-            throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+            //checkFileExists(f);
+            String ext = Utils.getExtension(f);
+
+            AudioFileReader afr = readers.get(ext);
+            if (afr == null)
+            {
+                throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+            }
+            AudioFile tempFile = afr.read(f, mode);
+            tempFile.setExt(ext);
+            return tempFile;
+        }
+        finally
+        {
+            scope.close();
         }
-        AudioFile tempFile = afr.read(f);
-        tempFile.setExt(ext);
-        return tempFile;
     }
 
     /**
-    *
-    * Read the tag contained in the given file.
-    * 
-    *
-    * @param f The file to read.
-    * @return The AudioFile with the file tag and the file encoding info.
-    * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
-    *                             recognized, or an IO error occurred during the read.
-    * @throws org.jaudiotagger.tag.TagException
-    * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
-    * @throws java.io.IOException
-    * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-    */
-   public AudioFile readFileMagic(File f)
-           throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
-   {
-       //checkFileExists(f);
-       String ext = Utils.getMagicExtension(f);
-
-       AudioFileReader afr = readers.get(ext);
-       if (afr == null)
-       {
-           throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
-       }
+     *
+     * Pass each field of the tag in the given file to the visitor as it is parsed, without building the tag.
+     *
+     *
+     * @param f The file to read.
+     * @param visitor Receives the fields
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws java.io.IOException
+     */
+    public void visitFileTag(File f, TagVisitor visitor) throws CannotReadException, IOException
+    {
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(tagOptions);
+        try
+        {
+            checkFileExists(f);
+            String ext = Utils.getExtension(f);
+
+            AudioFileReader afr = readers.get(ext);
+            if (afr == null)
+            {
+                throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+            }
+            afr.visitTag(f, visitor);
+        }
+        finally
+        {
+            scope.close();
+        }
+    }
 
-       AudioFile tempFile = afr.read(f);
-       tempFile.setExt(ext);
-       return tempFile;
+    /**
+     *
+     * Read the tag contained in the given file, the format is identified from the file contents so the file
+     * extension is ignored.
+     * 
+     *
+     * @param f The file to read.
+     * @return The AudioFile with the file tag and the file encoding info.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the format wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     * @see org.jaudiotagger.audio.generic.AudioFormatSniffer
+     */
+    public AudioFile readFileMagic(File f)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(tagOptions);
+        try
+        {
+            //Same checks as reading by extension, before the file is opened
+            AudioFileReader.checkFileCanBeRead(f);
+            try (FileChannel fc = FileChannel.open(f.toPath()))
+            {
+                SeekableByteChannel channel = Utils.mapForReading(fc);
+                ByteBuffer prefix = AudioFormatSniffer.readPrefix(channel);
+                SupportedFileFormat format = AudioFormatSniffer.sniff(channel, prefix);
+                String ext = format == null ? "" : format.getFilesuffix();
+
+                AudioFileReader afr = readers.get(ext);
+                if (afr == null)
+                {
+                    throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+                }
 
-   }
+                //The reader starts with the bytes already read to identify the format
+                if (channel == fc)
+                {
+                    channel = new PrefixBufferedChannel(fc, prefix);
+                }
+                AudioFile tempFile = afr.read(channel, f.getPath(), ReadMode.FULL);
+                tempFile.setFile(f);
+                tempFile.setExt(ext);
+                return tempFile;
+            }
+        }
+        finally
+        {
+            scope.close();
+        }
+    }
 
    /**
    *
@@ -413,20 +701,65 @@ public class AudioFileIO
   public AudioFile readFileAs(File f,String ext)
           throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
   {
-      //checkFileExists(f);
-
-      AudioFileReader afr = readers.get(ext);
-      if (afr == null)
+      TagOptionSingleton.Scope scope = TagOptionSingleton.use(tagOptions);
+      try
       {
-          throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
-      }
+          //checkFileExists(f);
 
-      AudioFile tempFile = afr.read(f);
-      tempFile.setExt(ext);
-      return tempFile;
+          AudioFileReader afr = readers.get(ext);
+          if (afr == null)
+          {
+              throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+          }
 
+          AudioFile tempFile = afr.read(f);
+          tempFile.setExt(ext);
+          return tempFile;
+
+      }
+      finally
+      {
+          scope.close();
+      }
   }
 
+    /**
+     *
+     * Read the audio held in the given channel.
+     *
+     *
+     * @param fc The channel to read, it is not closed.
+     * @param ext The extension identifying the format, e.g mp3
+     * @param mode What to read, the parts of the audio not needed are skipped entirely
+     * @return The AudioFile with the file tag and/or the file encoding info, {@link AudioFile#getFile()} returns null.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the channel could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public AudioFile readChannelAs(SeekableByteChannel fc, String ext, ReadMode mode)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(tagOptions);
+        try
+        {
+            AudioFileReader afr = readers.get(ext);
+            if (afr == null)
+            {
+                throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+            }
+            AudioFile tempFile = afr.read(fc, "<" + ext + " channel>", mode);
+            tempFile.setExt(ext);
+            return tempFile;
+        }
+        finally
+        {
+            scope.close();
+        }
+    }
+
     /**
      * Check does file exist
      *
@@ -466,27 +799,44 @@ public class AudioFileIO
      */
     public void writeFile(AudioFile f, String targetPath) throws CannotWriteException
     {
-    	String ext = f.getExt();
-
-        if (targetPath != null && !targetPath.isEmpty())
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(tagOptions);
+        try
         {
-            final File destination = new File(targetPath + "." + ext);
-                try
-                {
-                    Utils.copyThrowsOnException(f.getFile(), destination);
-                    f.setFile(destination);
-                } catch (IOException e) {
-                    throw new CannotWriteException("Error While Copying" + e.getMessage());
-                }
+            if (f.getFile() == null)
+            {
+                throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_NO_FILE.getMsg());
+            }
+            if (f.isPartialTag())
+            {
+                throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_PARTIAL_TAG.getMsg(f.getFile()));
+            }
+
+        	String ext = f.getExt();
+
+            if (targetPath != null && !targetPath.isEmpty())
+            {
+                final File destination = new File(targetPath + "." + ext);
+                    try
+                    {
+                        Utils.copyThrowsOnException(f.getFile(), destination);
+                        f.setFile(destination);
+                    } catch (IOException e) {
+                        throw new CannotWriteException("Error While Copying" + e.getMessage());
+                    }
+            }
+
+            AudioFileWriter afw = writers.get(ext);
+            if (afw == null)
+            {
+                throw new CannotWriteException(ErrorMessage.NO_WRITER_FOR_THIS_FORMAT.getMsg(ext));
+            }
+
+            afw.write(f);
         }
-
-        AudioFileWriter afw = writers.get(ext);
-        if (afw == null)
+        finally
         {
-            throw new CannotWriteException(ErrorMessage.NO_WRITER_FOR_THIS_FORMAT.getMsg(ext));
+            scope.close();
         }
-
-        afw.write(f);
     }
 
 }
@@ -0,0 +1,35 @@
+package org.jaudiotagger.audio;
+
+/**
+ * Controls how much of a file is read.
+ *
+ * When only the tag or only the audio header is required the reader skips the parsing needed for the other
+ * altogether, for example the frame sync search of an mp3 is not done when reading tags only.
+ */
+public enum ReadMode
+{
+    /**
+     * Read both the audio header and the tag
+     */
+    FULL,
+
+    /**
+     * Read the tag only, {@link AudioFile#getAudioHeader()} will return null
+     */
+    TAG_ONLY,
+
+    /**
+     * Read the audio header only, {@link AudioFile#getTag()} will return null
+     */
+    HEADER_ONLY;
+
+    public boolean isReadTag()
+    {
+        return this != HEADER_ONLY;
+    }
+
+    public boolean isReadHeader()
+    {
+        return this != TAG_ONLY;
+    }
+}
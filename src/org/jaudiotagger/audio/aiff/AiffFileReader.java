@@ -1,29 +1,50 @@
 package org.jaudiotagger.audio.aiff;
 
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.ReadMode;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
-import org.jaudiotagger.audio.generic.AudioFileReader;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
+import org.jaudiotagger.logging.Hex;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.aiff.AiffTag;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.nio.file.Path;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Reads Audio and Metadata information contained in Aiff file.
  */
 public class AiffFileReader extends AudioFileReader2
 {
+    /**
+     * Build the audio header and the tag from a single walk of the chunks, when only one of them is wanted
+     * just that reader is used
+     */
     @Override
-    protected GenericAudioHeader getEncodingInfo(Path path) throws CannotReadException, IOException
+    protected AudioFile read(File f, SeekableByteChannel fc, String loggingName, ReadMode mode) throws CannotReadException, IOException
     {
-        return new AiffInfoReader(path.toString()).read(path);
+        if (mode != ReadMode.FULL)
+        {
+            return super.read(f, fc, loggingName, mode);
+        }
+        logger.config(loggingName + ":Reading AIFF file size:" + Hex.asDecAndHex(fc.size()));
+        AiffInfoReader infoReader = new AiffInfoReader(loggingName);
+        AiffAudioHeader info = new AiffAudioHeader();
+        AiffTag tag = new AiffTagReader(loggingName).read(fc, infoReader, info);
+        return new AudioFile(f, infoReader.finish(info), tag);
     }
 
     @Override
-    protected Tag getTag(Path path) throws CannotReadException, IOException
+    protected GenericAudioHeader getEncodingInfo(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
     {
-        return new AiffTagReader(path.toString()).read(path);
+        return new AiffInfoReader(loggingName).read(fc);
+    }
+
+    @Override
+    protected Tag getTag(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        return new AiffTagReader(loggingName).read(fc, null, new AiffAudioHeader());
     }
 }
@@ -14,6 +14,7 @@ import org.jaudiotagger.logging.Hex;
 import java.io.IOException;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
@@ -34,31 +35,47 @@ public class AiffInfoReader extends AiffChunkReader
     {
         try(FileChannel fc = FileChannel.open(file))
         {
-            logger.config(loggingName + ":Reading AIFF file size:" + Hex.asDecAndHex(fc.size()));
-            AiffAudioHeader info = new AiffAudioHeader();
-            final AiffFileHeader fileHeader = new AiffFileHeader(loggingName);
-            long noOfBytes = fileHeader.readHeader(fc, info);
-            while ((fc.position() < (noOfBytes + ChunkHeader.CHUNK_HEADER_SIZE)) && (fc.position() < fc.size()))
-            {
-                boolean result = readChunk(fc, info);
-                if (!result)
-                {
-                    logger.severe(file + ":UnableToReadProcessChunk");
-                    break;
-                }
-            }
+            return read(fc);
+        }
+    }
 
-            if(info.getFileType()==AiffType.AIFC)
-            {
-                info.setFormat(SupportedFileFormat.AIF.getDisplayName());
-            }
-            else
+    protected GenericAudioHeader read(SeekableByteChannel fc) throws CannotReadException, IOException
+    {
+        logger.config(loggingName + ":Reading AIFF file size:" + Hex.asDecAndHex(fc.size()));
+        AiffAudioHeader info = new AiffAudioHeader();
+        final AiffFileHeader fileHeader = new AiffFileHeader(loggingName);
+        long noOfBytes = fileHeader.readHeader(fc, info);
+        while ((fc.position() < (noOfBytes + ChunkHeader.CHUNK_HEADER_SIZE)) && (fc.position() < fc.size()))
+        {
+            boolean result = readChunk(fc, info);
+            if (!result)
             {
-                info.setFormat(SupportedFileFormat.AIF.getDisplayName());
+                logger.severe(loggingName + ":UnableToReadProcessChunk");
+                break;
             }
-            calculateBitRate(info);
-            return info;
         }
+        return finish(info);
+    }
+
+    /**
+     * Complete the audio header once all chunks have been read
+     *
+     * @param info
+     * @return
+     * @throws CannotReadException
+     */
+    GenericAudioHeader finish(AiffAudioHeader info) throws CannotReadException
+    {
+        if(info.getFileType()==AiffType.AIFC)
+        {
+            info.setFormat(SupportedFileFormat.AIF.getDisplayName());
+        }
+        else
+        {
+            info.setFormat(SupportedFileFormat.AIF.getDisplayName());
+        }
+        calculateBitRate(info);
+        return info;
     }
 
     /**
@@ -81,9 +98,8 @@ public class AiffInfoReader extends AiffChunkReader
      *
      * @return {@code false}, if we were not able to read a valid chunk id
      */
-    private boolean readChunk(FileChannel fc, AiffAudioHeader aiffAudioHeader) throws IOException, CannotReadException
+    private boolean readChunk(SeekableByteChannel fc, AiffAudioHeader aiffAudioHeader) throws IOException, CannotReadException
     {
-        final Chunk chunk;
         final ChunkHeader chunkHeader = new ChunkHeader(ByteOrder.BIG_ENDIAN);
         if (!chunkHeader.readHeader(fc))
         {
@@ -94,7 +110,27 @@ public class AiffInfoReader extends AiffChunkReader
                 + ":starting at:" + Hex.asDecAndHex(chunkHeader.getStartLocationInFile())
                 + ":sizeIncHeader:" + Hex.asDecAndHex((chunkHeader.getSize() + ChunkHeader.CHUNK_HEADER_SIZE))
                 + ":ending at:" + Hex.asDecAndHex(chunkHeader.getStartLocationInFile() + chunkHeader.getSize() + ChunkHeader.CHUNK_HEADER_SIZE));
-        chunk = createChunk(fc, chunkHeader, aiffAudioHeader);
+        if (!readChunkData(fc, chunkHeader, aiffAudioHeader))
+        {
+            return false;
+        }
+        IffHeaderChunk.ensureOnEqualBoundary(fc, chunkHeader);
+        return true;
+    }
+
+    /**
+     * Read the data of an AIFF Chunk, or skip over it if it contains nothing needed for the audio header
+     *
+     * @param fc positioned after the chunk header
+     * @param chunkHeader
+     * @param aiffAudioHeader
+     * @return {@code false}, if the chunk could not be read
+     * @throws IOException
+     * @throws CannotReadException if the chunk has no sensible size
+     */
+    boolean readChunkData(SeekableByteChannel fc, ChunkHeader chunkHeader, AiffAudioHeader aiffAudioHeader) throws IOException, CannotReadException
+    {
+        final Chunk chunk = createChunk(fc, chunkHeader, aiffAudioHeader);
         if (chunk != null)
         {
             if (!chunk.readChunk())
@@ -114,7 +150,6 @@ public class AiffInfoReader extends AiffChunkReader
             }
             fc.position(fc.position() + chunkHeader.getSize());
         }
-        IffHeaderChunk.ensureOnEqualBoundary(fc, chunkHeader);
         return true;
     }
 
@@ -127,7 +162,7 @@ public class AiffInfoReader extends AiffChunkReader
      * @return
      * @throws IOException
      */
-    private Chunk createChunk(FileChannel fc, final ChunkHeader chunkHeader, AiffAudioHeader aiffAudioHeader)
+    private Chunk createChunk(SeekableByteChannel fc, final ChunkHeader chunkHeader, AiffAudioHeader aiffAudioHeader)
     throws IOException {
         final AiffChunkType chunkType = AiffChunkType.get(chunkHeader.getID());
         Chunk chunk;
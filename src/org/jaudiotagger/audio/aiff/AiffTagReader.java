@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
@@ -25,6 +26,9 @@ public class AiffTagReader extends AiffChunkReader
     public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.aiff");
     private String loggingName;
 
+    //Set once a chunk needed for the audio header fails, so no more chunks are passed to the info reader
+    private boolean isInfoReadFailed;
+
     public AiffTagReader(String loggingName)
     {
         this.loggingName = loggingName;
@@ -43,35 +47,51 @@ public class AiffTagReader extends AiffChunkReader
     {
         try(FileChannel fc = FileChannel.open(file))
         {
-            AiffAudioHeader aiffAudioHeader = new AiffAudioHeader();
-            AiffTag aiffTag = new AiffTag();
-
-            final AiffFileHeader fileHeader = new AiffFileHeader(file.toString());
-            long  overallChunkSize = fileHeader.readHeader(fc, aiffAudioHeader);
-            aiffTag.setFormSize( overallChunkSize);
-            aiffTag.setFileSize(fc.size());
-            long  endLocationOfAiffData = overallChunkSize + ChunkHeader.CHUNK_HEADER_SIZE;
-            while ((fc.position() < endLocationOfAiffData) && (fc.position() < fc.size()))
-            {
-                if (!readChunk(fc, aiffTag))
-                {
-                    logger.severe(file + ":UnableToReadProcessChunk");
-                    break;
-                }
-            }
+            return read(fc, null, new AiffAudioHeader());
+        }
+    }
 
-            if (aiffTag.getID3Tag() == null)
-            {
-                aiffTag.setID3Tag(AiffTag.createDefaultID3Tag());
-            }
-            logger.config("LastChunkPos:"+Hex.asDecAndHex(fc.position())
-                    +":OfficialEndLocation:"+Hex.asDecAndHex(endLocationOfAiffData));
-            if(fc.position() > endLocationOfAiffData)
+    /**
+     * Read editable Metadata, and if an info reader is supplied pass it every other chunk so the audio header is
+     * populated from the same walk of the chunks.
+     *
+     * @param fc
+     * @param infoReader
+     * @param aiffAudioHeader
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    AiffTag read(SeekableByteChannel fc, AiffInfoReader infoReader, AiffAudioHeader aiffAudioHeader) throws CannotReadException, IOException
+    {
+        AiffTag aiffTag = new AiffTag();
+        isInfoReadFailed = false;
+
+        final AiffFileHeader fileHeader = new AiffFileHeader(loggingName);
+        long  overallChunkSize = fileHeader.readHeader(fc, aiffAudioHeader);
+        aiffTag.setFormSize( overallChunkSize);
+        aiffTag.setFileSize(fc.size());
+        long  endLocationOfAiffData = overallChunkSize + ChunkHeader.CHUNK_HEADER_SIZE;
+        while ((fc.position() < endLocationOfAiffData) && (fc.position() < fc.size()))
+        {
+            if (!readChunk(fc, aiffTag, infoReader, aiffAudioHeader))
             {
-                aiffTag.setLastChunkSizeExtendsPastFormSize(true);
+                logger.severe(loggingName + ":UnableToReadProcessChunk");
+                break;
             }
-            return aiffTag;
         }
+
+        if (aiffTag.getID3Tag() == null)
+        {
+            aiffTag.setID3Tag(AiffTag.createDefaultID3Tag());
+        }
+        logger.config("LastChunkPos:"+Hex.asDecAndHex(fc.position())
+                +":OfficialEndLocation:"+Hex.asDecAndHex(endLocationOfAiffData));
+        if(fc.position() > endLocationOfAiffData)
+        {
+            aiffTag.setLastChunkSizeExtendsPastFormSize(true);
+        }
+        return aiffTag;
     }
 
     /**
@@ -79,7 +99,8 @@ public class AiffTagReader extends AiffChunkReader
      *
      * @return {@code false}, if we were not able to read a valid chunk id
      */
-    private boolean readChunk(FileChannel fc, AiffTag aiffTag) throws IOException
+    private boolean readChunk(SeekableByteChannel fc, AiffTag aiffTag, AiffInfoReader infoReader, AiffAudioHeader aiffAudioHeader)
+            throws IOException, CannotReadException
     {
         ChunkHeader chunkHeader = new ChunkHeader(ByteOrder.BIG_ENDIAN);
         if (!chunkHeader.readHeader(fc))
@@ -149,9 +170,23 @@ public class AiffTagReader extends AiffChunkReader
         }
         else
         {
-            logger.config(loggingName + ":Skipping Chunk:" + chunkHeader.getID() + ":" + chunkHeader.getSize());
             aiffTag.addChunkSummary(new ChunkSummary(chunkHeader.getID(), chunkHeader.getStartLocationInFile(), chunkHeader.getSize()));
-            fc.position(fc.position() + chunkHeader.getSize());
+            if(infoReader != null && !isInfoReadFailed)
+            {
+                long endOfChunk = fc.position() + chunkHeader.getSize();
+                if (!infoReader.readChunkData(fc, chunkHeader, aiffAudioHeader))
+                {
+                    //Audio header cannot be trusted beyond this point but a later ID3 chunk may still be readable
+                    logger.severe(loggingName + ":" + chunkHeader.getID() + ":readChunkFailed");
+                    isInfoReadFailed = true;
+                    fc.position(endOfChunk);
+                }
+            }
+            else
+            {
+                logger.config(loggingName + ":Skipping Chunk:" + chunkHeader.getID() + ":" + chunkHeader.getSize());
+                fc.position(fc.position() + chunkHeader.getSize());
+            }
         }
         IffHeaderChunk.ensureOnEqualBoundary(fc, chunkHeader);
         return true;
@@ -5,8 +5,8 @@ import org.jaudiotagger.audio.iff.ChunkHeader;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
 
 /**
  * Abstract class For reading Aiff Chunks used by both Audio and Tag Reader
@@ -22,7 +22,7 @@ public abstract class AiffChunkReader
      * @return
      * @throws java.io.IOException
      */
-    protected ByteBuffer readChunkDataIntoBuffer(FileChannel fc, final ChunkHeader chunkHeader) throws IOException
+    protected ByteBuffer readChunkDataIntoBuffer(SeekableByteChannel fc, final ChunkHeader chunkHeader) throws IOException
     {
         final ByteBuffer chunkData = ByteBuffer.allocateDirect((int)chunkHeader.getSize());
         chunkData.order(ByteOrder.BIG_ENDIAN);
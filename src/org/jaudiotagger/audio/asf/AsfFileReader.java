@@ -19,6 +19,7 @@
 package org.jaudiotagger.audio.asf;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.ReadMode;
 import org.jaudiotagger.audio.SupportedFileFormat;
 import org.jaudiotagger.audio.asf.data.AsfHeader;
 import org.jaudiotagger.audio.asf.data.AudioStreamChunk;
@@ -37,6 +38,8 @@ import org.jaudiotagger.tag.TagException;
 import org.jaudiotagger.tag.asf.AsfTag;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
@@ -140,11 +143,22 @@ public class AsfFileReader extends AudioFileReader
     @Override
     protected GenericAudioHeader getEncodingInfo(final RandomAccessFile raf) throws CannotReadException, IOException
     {
-        raf.seek(0);
+        return getEncodingInfo(raf.getChannel(), null);
+    }
+
+    /**
+     * (overridden)
+     *
+     * @see org.jaudiotagger.audio.generic.AudioFileReader#getEncodingInfo(java.nio.channels.SeekableByteChannel, String)
+     */
+    @Override
+    protected GenericAudioHeader getEncodingInfo(final SeekableByteChannel fc, final String loggingName) throws CannotReadException, IOException
+    {
+        fc.position(0);
         GenericAudioHeader info;
         try
         {
-            final AsfHeader header = AsfHeaderReader.readInfoHeader(raf);
+            final AsfHeader header = AsfHeaderReader.readInfoHeader(fc);
             if (header == null)
             {
                 throw new CannotReadException("Some values must have been " + "incorrect for interpretation as asf with wma content.");
@@ -188,11 +202,22 @@ public class AsfFileReader extends AudioFileReader
     @Override
     protected AsfTag getTag(final RandomAccessFile raf) throws CannotReadException, IOException
     {
-        raf.seek(0);
+        return getTag(raf.getChannel(), null);
+    }
+
+    /**
+     * (overridden)
+     *
+     * @see org.jaudiotagger.audio.generic.AudioFileReader#getTag(java.nio.channels.SeekableByteChannel, String)
+     */
+    @Override
+    protected AsfTag getTag(final SeekableByteChannel fc, final String loggingName) throws CannotReadException, IOException
+    {
+        fc.position(0);
         AsfTag tag;
         try
         {
-            final AsfHeader header = AsfHeaderReader.readTagHeader(raf);
+            final AsfHeader header = AsfHeaderReader.readTagHeader(fc);
             if (header == null)
             {
                 throw new CannotReadException("Some values must have been " + "incorrect for interpretation as asf with wma content.");
@@ -222,10 +247,17 @@ public class AsfFileReader extends AudioFileReader
 
     /**
      * {@inheritDoc}
+     *
+     * The full read parses the header objects once for both the audio header and the tag, otherwise only the
+     * objects needed by the mode are parsed.
      */
     @Override
-    public AudioFile read(final File f) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    public AudioFile read(final File f, final ReadMode mode) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
     {
+        if (mode != ReadMode.FULL)
+        {
+            return super.read(f, mode);
+        }
         if (!f.canRead())
         {
             if (!f.exists())
@@ -242,24 +274,7 @@ public class AsfFileReader extends AudioFileReader
         try
         {
             stream = new FullRequestInputStream(new BufferedInputStream(new FileInputStream(f)));
-            final AsfHeader header = HEADER_READER.read(Utils.readGUID(stream), stream, 0);
-            if (header == null)
-            {
-                throw new CannotReadException(ErrorMessage.ASF_HEADER_MISSING.getMsg(f.getAbsolutePath()));
-            }
-            if (header.getFileHeader() == null)
-            {
-                throw new CannotReadException(ErrorMessage.ASF_FILE_HEADER_MISSING.getMsg(f.getAbsolutePath()));
-            }
-
-            // Just log a warning because file seems to play okay
-            if (header.getFileHeader().getFileSize().longValue() != f.length())
-            {
-                logger.warning(ErrorMessage.ASF_FILE_HEADER_SIZE_DOES_NOT_MATCH_FILE_SIZE.getMsg(f.getAbsolutePath(), header.getFileHeader().getFileSize().longValue(), f.length()));
-            }
-
-            return new AudioFile(f, getAudioHeader(header), getTag(header));
-
+            return read(f, stream, f.length(), f.getAbsolutePath());
         }
         catch (final CannotReadException e)
         {
@@ -285,4 +300,51 @@ public class AsfFileReader extends AudioFileReader
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The full read parses the header objects once for both the audio header and the tag.
+     */
+    @Override
+    protected AudioFile read(final File f, final SeekableByteChannel fc, final String loggingName, final ReadMode mode) throws CannotReadException, IOException
+    {
+        if (mode != ReadMode.FULL)
+        {
+            return super.read(f, fc, loggingName, mode);
+        }
+        fc.position(0);
+        return read(f, new FullRequestInputStream(new BufferedInputStream(Channels.newInputStream(fc))), fc.size(), loggingName);
+    }
+
+    /**
+     * Build the audio header and tag from the one parse of the header objects
+     *
+     * @param f the file being read, or null if reading from a channel only
+     * @param stream positioned at the start of the data
+     * @param size size of the data
+     * @param loggingName
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    private AudioFile read(final File f, final InputStream stream, final long size, final String loggingName) throws CannotReadException, IOException
+    {
+        final AsfHeader header = HEADER_READER.read(Utils.readGUID(stream), stream, 0);
+        if (header == null)
+        {
+            throw new CannotReadException(ErrorMessage.ASF_HEADER_MISSING.getMsg(loggingName));
+        }
+        if (header.getFileHeader() == null)
+        {
+            throw new CannotReadException(ErrorMessage.ASF_FILE_HEADER_MISSING.getMsg(loggingName));
+        }
+
+        // Just log a warning because file seems to play okay
+        if (header.getFileHeader().getFileSize().longValue() != size)
+        {
+            logger.warning(ErrorMessage.ASF_FILE_HEADER_SIZE_DOES_NOT_MATCH_FILE_SIZE.getMsg(loggingName, header.getFileHeader().getFileSize().longValue(), size));
+        }
+
+        return new AudioFile(f, getAudioHeader(header), getTag(header));
+    }
 }
@@ -24,6 +24,8 @@ import org.jaudiotagger.audio.asf.util.Utils;
 
 import java.io.*;
 import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -100,6 +102,18 @@ public class AsfHeaderReader extends ChunkContainerReader<AsfHeader>
         return new FullRequestInputStream(new BufferedInputStream(new RandomAccessFileInputstream(raf)));
     }
 
+    /**
+     * Creates a Stream that will read from the current position of the specified channel, the channel is not
+     * closed when the stream is.
+     *
+     * @param fc data source to read from.
+     * @return a stream which accesses the source.
+     */
+    private static InputStream createStream(final SeekableByteChannel fc)
+    {
+        return new FullRequestInputStream(new BufferedInputStream(Channels.newInputStream(fc)));
+    }
+
     /**
      * This method extracts the full ASF-Header from the given file.<br>
      * If no header could be extracted <code>null</code> is returned. <br>
@@ -164,6 +178,53 @@ public class AsfHeaderReader extends ChunkContainerReader<AsfHeader>
         return TAG_READER.read(Utils.readGUID(stream), stream, 0);
     }
 
+    /**
+     * This method tries to extract a full ASF-header from the current position of the given channel.<br>
+     * If no header could be extracted <code>null</code> is returned. <br>
+     *
+     * @param fc Channel which contains the ASF header.
+     * @return AsfHeader-Wrapper, or <code>null</code> if no supported ASF
+     * header was found.
+     * @throws IOException Read errors
+     */
+    public static AsfHeader readHeader(final SeekableByteChannel fc) throws IOException
+    {
+        final InputStream stream = createStream(fc);
+        return FULL_READER.read(Utils.readGUID(stream), stream, 0);
+    }
+
+    /**
+     * This method tries to extract an ASF-header from the current position of the given channel, which
+     * only contains information about the audio stream.<br>
+     * If no header could be extracted <code>null</code> is returned. <br>
+     *
+     * @param fc Channel which contains the ASF header.
+     * @return AsfHeader-Wrapper, or <code>null</code> if no supported ASF
+     * header was found.
+     * @throws IOException Read errors
+     */
+    public static AsfHeader readInfoHeader(final SeekableByteChannel fc) throws IOException
+    {
+        final InputStream stream = createStream(fc);
+        return INFO_READER.read(Utils.readGUID(stream), stream, 0);
+    }
+
+    /**
+     * This method tries to extract an ASF-header from the current position of the given channel, which
+     * only contains metadata.<br>
+     * If no header could be extracted <code>null</code> is returned. <br>
+     *
+     * @param fc Channel which contains the ASF header.
+     * @return AsfHeader-Wrapper, or <code>null</code> if no supported ASF
+     * header was found.
+     * @throws IOException Read errors
+     */
+    public static AsfHeader readTagHeader(final SeekableByteChannel fc) throws IOException
+    {
+        final InputStream stream = createStream(fc);
+        return TAG_READER.read(Utils.readGUID(stream), stream, 0);
+    }
+
     /**
      * Creates an instance of this reader.
      *
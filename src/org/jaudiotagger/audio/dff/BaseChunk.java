@@ -5,7 +5,7 @@ import java.io.IOException;
 import org.jaudiotagger.audio.generic.Utils;
 
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 
 import org.jaudiotagger.audio.exceptions.InvalidChunkException;
 
@@ -78,7 +78,7 @@ public class BaseChunk
     {
     }
 
-    protected void readDataChunch(FileChannel fc) throws IOException
+    protected void readDataChunch(SeekableByteChannel fc) throws IOException
     {
 
         ByteBuffer audioData = Utils.readFileDataIntoBufferLE(fc, 8);
@@ -88,7 +88,7 @@ public class BaseChunk
         //System.out.println("chunck: "+this+" size: "+this.getChunkSize()+" starts at: "+this.getChunkStart());
     }
 
-    protected void skipToChunkEnd(FileChannel fc) throws IOException
+    protected void skipToChunkEnd(SeekableByteChannel fc) throws IOException
     {
 
         Long skip = (this.getChunkEnd() - fc.position());
@@ -3,7 +3,7 @@ package org.jaudiotagger.audio.dff;
 import java.io.IOException;
 
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * DSD Chunk
@@ -18,7 +18,7 @@ public class EndChunk extends BaseChunk
     }
 
     @Override
-    public void readDataChunch(FileChannel fc) throws IOException
+    public void readDataChunch(SeekableByteChannel fc) throws IOException
     {
 
         super.readDataChunch(fc);
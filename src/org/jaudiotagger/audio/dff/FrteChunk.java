@@ -5,7 +5,7 @@ import java.io.IOException;
 import org.jaudiotagger.audio.generic.Utils;
 
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * FS Chunk. Retrive samplerate.
@@ -22,7 +22,7 @@ public class FrteChunk extends BaseChunk
     }
 
     @Override
-    public void readDataChunch(FileChannel fc) throws IOException
+    public void readDataChunch(SeekableByteChannel fc) throws IOException
     {
 
         super.readDataChunch(fc);
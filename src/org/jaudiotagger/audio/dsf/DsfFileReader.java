@@ -4,6 +4,8 @@
  */
 package org.jaudiotagger.audio.dsf;
 
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.ReadMode;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
@@ -16,10 +18,10 @@ import org.jaudiotagger.tag.id3.ID3v22Tag;
 import org.jaudiotagger.tag.id3.ID3v23Tag;
 import org.jaudiotagger.tag.id3.ID3v24Tag;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
-import java.nio.file.Path;
+import java.nio.channels.SeekableByteChannel;
 import java.util.logging.Level;
 
 import static org.jaudiotagger.audio.dsf.DsdChunk.CHUNKSIZE_LENGTH;
@@ -33,48 +35,58 @@ import static org.jaudiotagger.audio.dsf.DsdChunk.CHUNKSIZE_LENGTH;
  */
 public class DsfFileReader extends AudioFileReader2
 {
+    /**
+     * The header and tag both hang off the DSD chunk, so read it once and use it for both
+     */
     @Override
-    protected GenericAudioHeader getEncodingInfo(Path file) throws CannotReadException, IOException
+    protected AudioFile read(File f, SeekableByteChannel fc, String loggingName, ReadMode mode) throws CannotReadException, IOException
     {
-        try(FileChannel fc = FileChannel.open(file))
+        if (mode != ReadMode.FULL)
         {
-            DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
-            if (dsd != null)
-            {
-                ByteBuffer fmtChunkBuffer = Utils.readFileDataIntoBufferLE(fc, IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH);
-                FmtChunk fmt = FmtChunk.readChunkHeader(fmtChunkBuffer);
-                if (fmt != null)
-                {
-                    return fmt.readChunkData(dsd, fc);
-                }
-                else
-                {
-                    throw new CannotReadException(file + " Not a valid dsf file. Content does not include 'fmt ' chunk");
-                }
-            }
-            else
-            {
-                throw new CannotReadException(file + " Not a valid dsf file. Content does not start with 'DSD '");
-            }
+            return super.read(f, fc, loggingName, mode);
         }
+        DsdChunk dsd = readDsdChunk(fc, loggingName);
+        GenericAudioHeader info = readAudioHeader(fc, dsd, loggingName);
+        return new AudioFile(f, info, readTag(fc, dsd, loggingName));
+    }
+
+    @Override
+    protected GenericAudioHeader getEncodingInfo(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        return readAudioHeader(fc, readDsdChunk(fc, loggingName), loggingName);
     }
 
     @Override
-    protected Tag getTag(Path file) throws CannotReadException, IOException
+    protected Tag getTag(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
     {
-        try(FileChannel fc = FileChannel.open(file))
+        return readTag(fc, readDsdChunk(fc, loggingName), loggingName);
+    }
+
+    private DsdChunk readDsdChunk(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
+        if (dsd == null)
         {
-            DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
-            if (dsd != null)
-            {
-                logger.config( file +":actualFileSize:" + fc.size()+":"+dsd.toString());
+            throw new CannotReadException(loggingName + " Not a valid dsf file. Content does not start with 'DSD '");
+        }
+        logger.config(loggingName + ":actualFileSize:" + fc.size() + ":" + dsd.toString());
+        return dsd;
+    }
 
-                return readTag(fc, dsd, file.toString());
-            }
-            else
-            {
-                throw new CannotReadException(file +" Not a valid dsf file. Content does not start with 'DSD '.");
-            }
+    /**
+     * Reads the fmt chunk which immediately follows the DSD chunk
+     */
+    private GenericAudioHeader readAudioHeader(SeekableByteChannel fc, DsdChunk dsd, String loggingName) throws CannotReadException, IOException
+    {
+        ByteBuffer fmtChunkBuffer = Utils.readFileDataIntoBufferLE(fc, IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH);
+        FmtChunk fmt = FmtChunk.readChunkHeader(fmtChunkBuffer);
+        if (fmt != null)
+        {
+            return fmt.readChunkData(dsd, fc);
+        }
+        else
+        {
+            throw new CannotReadException(loggingName + " Not a valid dsf file. Content does not include 'fmt ' chunk");
         }
     }
 
@@ -89,7 +101,7 @@ public class DsfFileReader extends AudioFileReader2
      * <code>null</code>.
      * @throws IOException if cannot read file.
      */
-    private Tag readTag(FileChannel fc, DsdChunk dsd, String fileName) throws CannotReadException,IOException
+    private Tag readTag(SeekableByteChannel fc, DsdChunk dsd, String fileName) throws CannotReadException,IOException
     {
         if(dsd.getMetadataOffset() > 0)
         {
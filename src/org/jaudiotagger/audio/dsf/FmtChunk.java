@@ -8,8 +8,8 @@ import org.jaudiotagger.audio.iff.IffHeaderChunk;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -41,7 +41,7 @@ public class FmtChunk
         chunkSizeLength = dataBuffer.getLong();
     }
 
-    public GenericAudioHeader readChunkData(DsdChunk dsd,FileChannel fc) throws IOException
+    public GenericAudioHeader readChunkData(DsdChunk dsd,SeekableByteChannel fc) throws IOException
     {
         long sizeExcludingChunkHeader = chunkSizeLength - (IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH);
         ByteBuffer audioData = Utils.readFileDataIntoBufferLE(fc, (int)sizeExcludingChunkHeader);
@@ -18,15 +18,17 @@
  */
 package org.jaudiotagger.audio.flac;
 
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.ReadMode;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
-import org.jaudiotagger.audio.generic.AudioFileReader;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagVisitor;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.nio.file.Path;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Read encoding and tag info for Flac file (open source lossless encoding)
@@ -37,13 +39,35 @@ public class FlacFileReader extends AudioFileReader2
     private FlacInfoReader ir = new FlacInfoReader();
     private FlacTagReader tr = new FlacTagReader();
 
-    protected GenericAudioHeader  getEncodingInfo(Path path) throws CannotReadException, IOException
+    /**
+     * Build the audio header and the tag from a single pass over the metadata blocks, when only one of them is
+     * wanted just that reader is used
+     */
+    @Override
+    protected AudioFile read(File f, SeekableByteChannel fc, String loggingName, ReadMode mode) throws CannotReadException, IOException
     {
-        return ir.read(path);
+        if (mode != ReadMode.FULL)
+        {
+            return super.read(f, fc, loggingName, mode);
+        }
+        FlacAudioHeader info = new FlacAudioHeader();
+        Tag tag = tr.read(fc, loggingName, ir, info);
+        return new AudioFile(f, info, tag);
     }
 
-    protected Tag getTag(Path path) throws CannotReadException, IOException
+    protected GenericAudioHeader getEncodingInfo(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
     {
-        return tr.read(path);
+        return ir.read(fc, loggingName);
+    }
+
+    protected Tag getTag(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        return tr.read(fc, loggingName);
+    }
+
+    @Override
+    protected void visitTag(SeekableByteChannel fc, String loggingName, TagVisitor visitor) throws CannotReadException, IOException
+    {
+        tr.visit(fc, loggingName, visitor);
     }
 }
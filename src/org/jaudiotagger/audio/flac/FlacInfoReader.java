@@ -28,6 +28,7 @@ import org.jaudiotagger.audio.generic.Utils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
@@ -43,67 +44,101 @@ public class FlacInfoReader
 
     public FlacAudioHeader read(Path path) throws CannotReadException, IOException
     {
-        logger.config(path + ":start");
         try(FileChannel fc = FileChannel.open(path))
         {
-            FlacStreamReader flacStream = new FlacStreamReader(fc, path.toString() + " ");
-            flacStream.findStream();
+            return read(fc, path.toString());
+        }
+    }
 
-            MetadataBlockDataStreamInfo mbdsi = null;
-            boolean isLastBlock = false;
+    public FlacAudioHeader read(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        logger.config(loggingName + ":start");
+        FlacStreamReader flacStream = new FlacStreamReader(fc, loggingName + " ");
+        flacStream.findStream();
 
-            //Search for StreamInfo Block, but even after we found it we still have to continue through all
-            //the metadata blocks so that we can find the start of the audio frames which we need to calculate
-            //the bitrate
-            while (isLastBlock==false)
+        MetadataBlockDataStreamInfo mbdsi = null;
+        boolean isLastBlock = false;
+
+        //Search for StreamInfo Block, but even after we found it we still have to continue through all
+        //the metadata blocks so that we can find the start of the audio frames which we need to calculate
+        //the bitrate
+        while (isLastBlock==false)
+        {
+            MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
+            logger.info(loggingName + " "  + mbh.toString());
+            if (mbh.getBlockType() == BlockType.STREAMINFO)
             {
-                MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
-                logger.info(path.toString() + " "  + mbh.toString());
-                if (mbh.getBlockType() == BlockType.STREAMINFO)
-                {
-                    //See #253:MetadataBlockDataStreamInfo exception when bytes length is 0
-                    if(mbh.getDataLength()==0)
-                    {
-                        throw new CannotReadException(path + ":FLAC StreamInfo has zeo data length");
-                    }
-
-                    mbdsi = new MetadataBlockDataStreamInfo(mbh, fc);
-                    if (!mbdsi.isValid())
-                    {
-                        throw new CannotReadException(path + ":FLAC StreamInfo not valid");
-                    }
-                }
-                else
-                {
-                    fc.position(fc.position() + mbh.getDataLength());
-                }
-                isLastBlock = mbh.isLastBlock();
+                mbdsi = readStreamInfo(mbh, fc, loggingName);
             }
-
-            //Audio continues from this point to end of file (normally - TODO might need to allow for an ID3v1 tag at file end ?)
-            long streamStart = fc.position();
-
-            if (mbdsi == null)
+            else
             {
-                throw new CannotReadException(path + ":Unable to find Flac StreamInfo");
+                fc.position(fc.position() + mbh.getDataLength());
             }
+            isLastBlock = mbh.isLastBlock();
+        }
+
+        //Audio continues from this point to end of file (normally - TODO might need to allow for an ID3v1 tag at file end ?)
+        FlacAudioHeader info = new FlacAudioHeader();
+        populateAudioHeader(info, mbdsi, fc.position(), fc.size(), loggingName);
+        return info;
+    }
+
+    /**
+     * Read the StreamInfo block, fc should be positioned at the start of the block data
+     *
+     * @param mbh
+     * @param fc
+     * @param loggingName
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    MetadataBlockDataStreamInfo readStreamInfo(MetadataBlockHeader mbh, SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        //See #253:MetadataBlockDataStreamInfo exception when bytes length is 0
+        if(mbh.getDataLength()==0)
+        {
+            throw new CannotReadException(loggingName + ":FLAC StreamInfo has zeo data length");
+        }
+
+        MetadataBlockDataStreamInfo mbdsi = new MetadataBlockDataStreamInfo(mbh, fc);
+        if (!mbdsi.isValid())
+        {
+            throw new CannotReadException(loggingName + ":FLAC StreamInfo not valid");
+        }
+        return mbdsi;
+    }
 
-            FlacAudioHeader info = new FlacAudioHeader();
-            info.setNoOfSamples(mbdsi.getNoOfSamples());
-            info.setPreciseLength(mbdsi.getPreciseLength());
-            info.setChannelNumber(mbdsi.getNoOfChannels());
-            info.setSamplingRate(mbdsi.getSamplingRate());
-            info.setBitsPerSample(mbdsi.getBitsPerSample());
-            info.setEncodingType(mbdsi.getEncodingType());
-            info.setFormat(SupportedFileFormat.FLAC.getDisplayName());
-            info.setLossless(true);
-            info.setMd5(mbdsi.getMD5Signature());
-            info.setAudioDataLength(fc.size() - streamStart);
-            info.setAudioDataStartPosition(streamStart);
-            info.setAudioDataEndPosition(fc.size());
-            info.setBitRate(computeBitrate(info.getAudioDataLength(), mbdsi.getPreciseLength()));
-            return info;
+    /**
+     * Populate the audio header once all the metadata blocks have been read
+     *
+     * @param info
+     * @param mbdsi StreamInfo, may be null if none was found
+     * @param streamStart location of first audio frame
+     * @param fileSize
+     * @param loggingName
+     * @throws CannotReadException
+     */
+    void populateAudioHeader(FlacAudioHeader info, MetadataBlockDataStreamInfo mbdsi, long streamStart, long fileSize, String loggingName) throws CannotReadException
+    {
+        if (mbdsi == null)
+        {
+            throw new CannotReadException(loggingName + ":Unable to find Flac StreamInfo");
         }
+
+        info.setNoOfSamples(mbdsi.getNoOfSamples());
+        info.setPreciseLength(mbdsi.getPreciseLength());
+        info.setChannelNumber(mbdsi.getNoOfChannels());
+        info.setSamplingRate(mbdsi.getSamplingRate());
+        info.setBitsPerSample(mbdsi.getBitsPerSample());
+        info.setEncodingType(mbdsi.getEncodingType());
+        info.setFormat(SupportedFileFormat.FLAC.getDisplayName());
+        info.setLossless(true);
+        info.setMd5(mbdsi.getMD5Signature());
+        info.setAudioDataLength(fileSize - streamStart);
+        info.setAudioDataStartPosition(streamStart);
+        info.setAudioDataEndPosition(fileSize);
+        info.setBitRate(computeBitrate(info.getAudioDataLength(), mbdsi.getPreciseLength()));
     }
 
     private int computeBitrate(long size, float length )
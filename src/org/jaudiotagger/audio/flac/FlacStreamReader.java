@@ -7,7 +7,7 @@ import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
@@ -23,7 +23,7 @@ public class FlacStreamReader
     public static final int FLAC_STREAM_IDENTIFIER_LENGTH = 4;
     public static final String FLAC_STREAM_IDENTIFIER = "fLaC";
 
-    private FileChannel fc;
+    private SeekableByteChannel fc;
     private String loggingName;
     private int startOfFlacInFile;
 
@@ -32,7 +32,7 @@ public class FlacStreamReader
      * @param fc
      * @param loggingName
      */
-    public FlacStreamReader(FileChannel fc, String loggingName)
+    public FlacStreamReader(SeekableByteChannel fc, String loggingName)
     {
         this.fc = fc;
         this.loggingName =loggingName;
@@ -19,21 +19,28 @@
 package org.jaudiotagger.audio.flac;
 
 import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.audio.flac.metadatablock.BlockType;
 import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
+import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataStreamInfo;
 import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataSeekTable;
 import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockHeader;
 import org.jaudiotagger.logging.Hex;
+import org.jaudiotagger.tag.FieldKey;
 import org.jaudiotagger.tag.InvalidFrameException;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagVisitor;
 import org.jaudiotagger.tag.flac.FlacTag;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentReader;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -52,102 +59,205 @@ public class FlacTagReader
     {
         try (FileChannel fc = FileChannel.open(path))
         {
-            FlacStreamReader flacStream = new FlacStreamReader(fc, path.toString() + " ");
-            flacStream.findStream();
+            return read(fc, path.toString());
+        }
+    }
 
-            //Hold the metadata
-            VorbisCommentTag tag = null;
-            List<MetadataBlockDataPicture> images = new ArrayList<MetadataBlockDataPicture>();
+    public FlacTag read(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        return read(fc, loggingName, null, null);
+    }
 
-            //Seems like we have a valid stream
-            boolean isLastBlock = false;
-            while (!isLastBlock)
+    /**
+     * Pass the Vorbis comments and pictures to the visitor without creating a tag
+     *
+     * @param fc
+     * @param loggingName
+     * @param visitor
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public void visit(SeekableByteChannel fc, String loggingName, TagVisitor visitor) throws CannotReadException, IOException
+    {
+        FlacStreamReader flacStream = new FlacStreamReader(fc, loggingName + " ");
+        flacStream.findStream();
+
+        boolean isLastBlock = false;
+        while (!isLastBlock)
+        {
+            MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
+            if (mbh == null)
             {
-                if (logger.isLoggable(Level.CONFIG))
-                {
-                    logger.config(path + " Looking for MetaBlockHeader at:" + fc.position());
-                }
+                break;
+            }
 
-                //Read the header
-                MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
-                if (mbh == null)
-                {
-                    break;
-                }
+            long dataStart = fc.position();
+            if (mbh.getBlockType() == BlockType.VORBIS_COMMENT)
+            {
+                byte[] commentHeaderRawPacket = new byte[mbh.getDataLength()];
+                Utils.read(fc, commentHeaderRawPacket);
+                vorbisCommentReader.visit(commentHeaderRawPacket, dataStart, visitor);
+            }
+            else if (mbh.getBlockType() == BlockType.PICTURE)
+            {
+                visitPicture(fc, mbh, loggingName, visitor);
+            }
+            fc.position(dataStart + mbh.getDataLength());
+            isLastBlock = mbh.isLastBlock();
+        }
+    }
 
-                if (logger.isLoggable(Level.CONFIG))
-                {
-                    logger.config(path + " Reading MetadataBlockHeader:" + mbh.toString() + " ending at " + fc.position());
-                }
+    /**
+     * Report the image held in a picture block, the channel is positioned at the start of the block data
+     */
+    private void visitPicture(SeekableByteChannel fc, MetadataBlockHeader mbh, String loggingName, TagVisitor visitor) throws IOException
+    {
+        long blockEnd = fc.position() + mbh.getDataLength();
+        int mimeTypeLength = Utils.readFileDataIntoBufferBE(fc, 8).getInt(4);
+        fc.position(fc.position() + mimeTypeLength);
+        int descriptionLength = Utils.readFileDataIntoBufferBE(fc, 4).getInt(0);
+        fc.position(fc.position() + descriptionLength + 16);
+        int imageLength = Utils.readFileDataIntoBufferBE(fc, 4).getInt(0);
+        if (mimeTypeLength < 0 || descriptionLength < 0 || imageLength < 0 || fc.position() + imageLength > blockEnd)
+        {
+            logger.warning(loggingName + "Unable to read picture metablock, ignoring");
+            return;
+        }
+        visitor.onBinary(FieldKey.COVER_ART.name(), FieldKey.COVER_ART, fc.position(), imageLength);
+    }
 
-                //Is it one containing some sort of metadata, therefore interested in it?
+    /**
+     * Read the tag, and if an audio header is supplied also populate it from the StreamInfo block found during the
+     * same pass over the metadata blocks.
+     *
+     * @param fc
+     * @param loggingName
+     * @param infoReader
+     * @param info audio header to populate, or null if only the tag is required
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    FlacTag read(SeekableByteChannel fc, String loggingName, FlacInfoReader infoReader, FlacAudioHeader info) throws CannotReadException, IOException
+    {
+        FlacStreamReader flacStream = new FlacStreamReader(fc, loggingName + " ");
+        flacStream.findStream();
 
-                //JAUDIOTAGGER-466:CBlocktype can be null
-                if (mbh.getBlockType() != null)
-                {
-                    switch (mbh.getBlockType())
-                    {
-                        //We got a vorbiscomment comment block, parse it
-                        case VORBIS_COMMENT:
-                            ByteBuffer commentHeaderRawPacket = ByteBuffer.allocate(mbh.getDataLength());
-                            fc.read(commentHeaderRawPacket);
-                            tag = vorbisCommentReader.read(commentHeaderRawPacket.array(), false);
-                            break;
+        //Hold the metadata
+        VorbisCommentTag tag = null;
+        MetadataBlockDataStreamInfo mbdsi = null;
+        List<MetadataBlockDataPicture> images = new ArrayList<MetadataBlockDataPicture>();
+        Set<FieldKey> readFieldKeys = TagOptionSingleton.getInstance().getReadFieldKeys();
+        boolean readImages = readFieldKeys == null || readFieldKeys.contains(FieldKey.COVER_ART);
 
-                        case PICTURE:
-                            try
-                            {
-                                MetadataBlockDataPicture mbdp = new MetadataBlockDataPicture(mbh, fc);
-                                images.add(mbdp);
-                            }
-                            catch (IOException ioe)
-                            {
-                                logger.warning(path + "Unable to read picture metablock, ignoring:" + ioe.getMessage());
-                            }
-                            catch (InvalidFrameException ive)
-                            {
-                                logger.warning(path + "Unable to read picture metablock, ignoring" + ive.getMessage());
-                            }
+        //Seems like we have a valid stream
+        boolean isLastBlock = false;
+        while (!isLastBlock)
+        {
+            if (logger.isLoggable(Level.CONFIG))
+            {
+                logger.config(loggingName + " Looking for MetaBlockHeader at:" + fc.position());
+            }
 
-                            break;
+            //Read the header
+            MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
+            if (mbh == null)
+            {
+                break;
+            }
 
+            if (logger.isLoggable(Level.CONFIG))
+            {
+                logger.config(loggingName + " Reading MetadataBlockHeader:" + mbh.toString() + " ending at " + fc.position());
+            }
 
-                        case SEEKTABLE:
-                            try
-                            {
-                                long pos = fc.position();
-                                MetadataBlockDataSeekTable mbdp = new MetadataBlockDataSeekTable(mbh, fc);
-                                fc.position(pos + mbh.getDataLength());
-                            }
-                            catch (IOException ioe)
-                            {
-                                logger.warning(path + "Unable to readseek metablock, ignoring:" + ioe.getMessage());
-                            }
-                            break;
+            //Is it one containing some sort of metadata, therefore interested in it?
 
-                        //This is not a metadata block we are interested in so we skip to next block
-                        default:
-                            if (logger.isLoggable(Level.CONFIG))
-                            {
-                                logger.config(path + "Ignoring MetadataBlock:" + mbh.getBlockType());
-                            }
+            //JAUDIOTAGGER-466:CBlocktype can be null
+            if (mbh.getBlockType() != null)
+            {
+                switch (mbh.getBlockType())
+                {
+                    case STREAMINFO:
+                        if (info != null)
+                        {
+                            mbdsi = infoReader.readStreamInfo(mbh, fc, loggingName);
+                        }
+                        else
+                        {
+                            fc.position(fc.position() + mbh.getDataLength());
+                        }
+                        break;
+
+                    //We got a vorbiscomment comment block, parse it
+                    case VORBIS_COMMENT:
+                        byte[] commentHeaderRawPacket = new byte[mbh.getDataLength()];
+                        Utils.read(fc, commentHeaderRawPacket);
+                        tag = vorbisCommentReader.read(commentHeaderRawPacket, false);
+                        break;
+
+                    case PICTURE:
+                        if (!readImages)
+                        {
                             fc.position(fc.position() + mbh.getDataLength());
                             break;
-                    }
+                        }
+                        try
+                        {
+                            MetadataBlockDataPicture mbdp = new MetadataBlockDataPicture(mbh, fc);
+                            images.add(mbdp);
+                        }
+                        catch (IOException ioe)
+                        {
+                            logger.warning(loggingName + "Unable to read picture metablock, ignoring:" + ioe.getMessage());
+                        }
+                        catch (InvalidFrameException ive)
+                        {
+                            logger.warning(loggingName + "Unable to read picture metablock, ignoring" + ive.getMessage());
+                        }
+
+                        break;
+
+
+                    case SEEKTABLE:
+                        try
+                        {
+                            long pos = fc.position();
+                            MetadataBlockDataSeekTable mbdp = new MetadataBlockDataSeekTable(mbh, fc);
+                            fc.position(pos + mbh.getDataLength());
+                        }
+                        catch (IOException ioe)
+                        {
+                            logger.warning(loggingName + "Unable to readseek metablock, ignoring:" + ioe.getMessage());
+                        }
+                        break;
+
+                    //This is not a metadata block we are interested in so we skip to next block
+                    default:
+                        if (logger.isLoggable(Level.CONFIG))
+                        {
+                            logger.config(loggingName + "Ignoring MetadataBlock:" + mbh.getBlockType());
+                        }
+                        fc.position(fc.position() + mbh.getDataLength());
+                        break;
                 }
-                isLastBlock = mbh.isLastBlock();
             }
-            logger.config("Audio should start at:"+ Hex.asHex(fc.position()));
+            isLastBlock = mbh.isLastBlock();
+        }
+        logger.config("Audio should start at:"+ Hex.asHex(fc.position()));
+        if (info != null)
+        {
+            infoReader.populateAudioHeader(info, mbdsi, fc.position(), fc.size(), loggingName);
+        }
 
-            //Note there may not be either a tag or any images, no problem this is valid however to make it easier we
-            //just initialize Flac with an empty VorbisTag
-            if (tag == null)
-            {
-                tag = VorbisCommentTag.createNewTag();
-            }
-            FlacTag flacTag = new FlacTag(tag, images);
-            return flacTag;
+        //Note there may not be either a tag or any images, no problem this is valid however to make it easier we
+        //just initialize Flac with an empty VorbisTag
+        if (tag == null)
+        {
+            tag = VorbisCommentTag.createNewTag();
         }
+        FlacTag flacTag = new FlacTag(tag, images);
+        return flacTag;
     }
 }
 
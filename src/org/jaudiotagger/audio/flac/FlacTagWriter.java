@@ -22,9 +22,11 @@ import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.exceptions.NoWritePermissionsException;
 import org.jaudiotagger.audio.flac.metadatablock.*;
+import org.jaudiotagger.audio.generic.PaddingMetrics;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.flac.FlacTag;
+import org.jaudiotagger.tag.options.PaddingPolicy;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -294,13 +296,21 @@ public class FlacTagWriter
             {
                 logger.config(file + ":Room to Rewrite");
                 writeAllNonAudioData(tag, fc, blockInfo, flacStream, availableRoom - neededRoom);
+                PaddingMetrics.getInstance().recordInPlace();
             }
             //Need to move audio
             else
             {
                 logger.config(file + ":Audio must be shifted "+ "NewTagSize:" + newTagSize + ":AvailableRoom:" + availableRoom + ":MinimumAdditionalRoomRequired:"+(neededRoom - availableRoom));
-                //As we are having to move both anyway may as well put in the default padding
-                insertUsingChunks(file, tag, fc, blockInfo, flacStream, neededRoom + FlacTagCreator.DEFAULT_PADDING, availableRoom);
+                //As we are having to move both anyway may as well put in some padding, a padding block needs room
+                //for at least its header
+                int padding = PaddingPolicy.getPadding(neededRoom, PaddingPolicy.getArtworkSize(tag), FlacTagCreator.DEFAULT_PADDING);
+                if (padding > 0 && padding < MetadataBlockHeader.HEADER_LENGTH)
+                {
+                    padding = MetadataBlockHeader.HEADER_LENGTH;
+                }
+                insertUsingChunks(file, tag, fc, blockInfo, flacStream, neededRoom, availableRoom, padding);
+                PaddingMetrics.getInstance().recordAudioMoved(padding);
             }
         }
         catch (AccessDeniedException ade)
@@ -405,10 +415,11 @@ public class FlacTagWriter
      * @param flacStream
      * @param neededRoom
      * @param availableRoom
+     * @param padding size of padding block to write after the metadata
      * @throws IOException
      * @throws UnsupportedEncodingException
      */
-    private void insertUsingChunks(Path file, Tag tag, FileChannel fc, MetadataBlockInfo blockInfo, FlacStreamReader flacStream, int neededRoom, int availableRoom) throws IOException, UnsupportedEncodingException
+    private void insertUsingChunks(Path file, Tag tag, FileChannel fc, MetadataBlockInfo blockInfo, FlacStreamReader flacStream, int neededRoom, int availableRoom, int padding) throws IOException, UnsupportedEncodingException
     {
         long originalFileSize = fc.size();
 
@@ -421,7 +432,7 @@ public class FlacTagWriter
                 + availableRoom;
 
         //Extra Space Required for larger metadata block
-        int extraSpaceRequired = neededRoom - availableRoom;
+        int extraSpaceRequired = neededRoom + padding - availableRoom;
         logger.config(file + " Audio needs shifting:"+extraSpaceRequired);
 
         //ChunkSize must be at least as large as the extra space required to write the metadata
@@ -445,7 +456,7 @@ public class FlacTagWriter
 
         //Jump over Id3 (if exists) and Flac Header
         fc.position(flacStream.getStartOfFlacInFile() + FlacStreamReader.FLAC_STREAM_IDENTIFIER_LENGTH);
-        writeAllNonAudioData(tag, fc, blockInfo, flacStream, FlacTagCreator.DEFAULT_PADDING);
+        writeAllNonAudioData(tag, fc, blockInfo, flacStream, padding);
 
         long writePosition = fc.position();
 
@@ -21,7 +21,7 @@ package org.jaudiotagger.audio.flac.metadatablock;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Cuesheet Block
@@ -35,7 +35,7 @@ public class MetadataBlockDataCueSheet implements MetadataBlockData
 {
     private ByteBuffer data;
 
-    public MetadataBlockDataCueSheet(MetadataBlockHeader header, FileChannel fc) throws IOException
+    public MetadataBlockDataCueSheet(MetadataBlockHeader header, SeekableByteChannel fc) throws IOException
     {
         data = ByteBuffer.allocate(header.getDataLength());
         fc.read(data);
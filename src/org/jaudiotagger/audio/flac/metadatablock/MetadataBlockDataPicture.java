@@ -10,7 +10,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.logging.Logger;
 
@@ -119,7 +119,7 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
      * @throws org.jaudiotagger.tag.InvalidFrameException
      */
     //TODO check for buffer underflows see http://research.eeye.com/html/advisories/published/AD20071115.html
-    public MetadataBlockDataPicture(MetadataBlockHeader header, FileChannel fc ) throws IOException, InvalidFrameException
+    public MetadataBlockDataPicture(MetadataBlockHeader header, SeekableByteChannel fc ) throws IOException, InvalidFrameException
     {
         ByteBuffer rawdata = ByteBuffer.allocate(header.getDataLength());
         int bytesRead = fc.read(rawdata);
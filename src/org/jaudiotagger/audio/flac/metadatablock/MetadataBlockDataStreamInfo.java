@@ -23,8 +23,8 @@ import org.jaudiotagger.audio.generic.Utils;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
 import java.util.logging.Logger;
 
 /**
@@ -65,7 +65,7 @@ public class MetadataBlockDataStreamInfo  implements MetadataBlockData
 
     private ByteBuffer rawdata;
 
-    public MetadataBlockDataStreamInfo(MetadataBlockHeader header, FileChannel fc) throws IOException
+    public MetadataBlockDataStreamInfo(MetadataBlockHeader header, SeekableByteChannel fc) throws IOException
     {
         rawdata = ByteBuffer.allocate(header.getDataLength());
         rawdata.order(ByteOrder.BIG_ENDIAN);
@@ -19,19 +19,32 @@
 package org.jaudiotagger.audio.generic;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.ReadMode;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.exceptions.NoReadPermissionsException;
 import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
 import org.jaudiotagger.logging.ErrorMessage;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.KeyNotFoundException;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagException;
+import org.jaudiotagger.tag.TagField;
+import org.jaudiotagger.tag.TagTextField;
+import org.jaudiotagger.tag.TagVisitor;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -75,6 +88,148 @@ public abstract class AudioFileReader
       */
     protected abstract Tag getTag(RandomAccessFile raf) throws CannotReadException, IOException;
 
+    /**
+     * Returns the encoding info read from a channel positioned at the first byte of the data, used when reading from
+     * a channel rather than a file. Readers that support reading from a channel override this.
+     *
+     * @param fc
+     * @param loggingName name of the data for use in log messages
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    protected GenericAudioHeader getEncodingInfo(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_CHANNEL_NOT_SUPPORTED.getMsg(loggingName));
+    }
+
+    /**
+     * Returns the tag read from a channel positioned at the first byte of the data, used when reading from a channel
+     * rather than a file. Readers that support reading from a channel override this.
+     *
+     * @param fc
+     * @param loggingName name of the data for use in log messages
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    protected Tag getTag(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_CHANNEL_NOT_SUPPORTED.getMsg(loggingName));
+    }
+
+    /**
+     * Pass the fields of the tag held in the file to the visitor
+     *
+     * @param f the file to read
+     * @param visitor
+     * @throws CannotReadException If anything went bad during the read of this file
+     * @throws IOException
+     */
+    public void visitTag(File f, TagVisitor visitor) throws CannotReadException, IOException
+    {
+        if(logger.isLoggable(Level.CONFIG))
+        {
+            logger.config(ErrorMessage.GENERAL_READ.getMsg(f.getAbsolutePath()));
+        }
+
+        try (FileChannel fc = FileChannel.open(f.toPath()))
+        {
+            visitTag(Utils.mapForReading(fc), f.getPath(), visitor);
+        }
+        catch (RuntimeException re)
+        {
+            logger.log(Level.SEVERE, ErrorMessage.GENERAL_READ.getMsg(f.getAbsolutePath()), re);
+            throw new CannotReadException(f.getAbsolutePath() + ":" + re.getMessage(), re);
+        }
+    }
+
+    /**
+     * Pass the fields of the tag to the visitor, the channel is positioned at the first byte of the data
+     *
+     * The default reads the tag and then reports its fields, readers that can parse their fields straight from the
+     * file without building a tag override this.
+     *
+     * @param fc
+     * @param loggingName name of the data for use in log messages
+     * @param visitor
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    protected void visitTag(SeekableByteChannel fc, String loggingName, TagVisitor visitor) throws CannotReadException, IOException
+    {
+        AudioFile audioFile;
+        try
+        {
+            audioFile = read(fc, loggingName, ReadMode.TAG_ONLY);
+        }
+        catch (TagException | ReadOnlyFileException | InvalidAudioFrameException e)
+        {
+            throw new CannotReadException(loggingName + ":" + e.getMessage(), e);
+        }
+        if (audioFile.getTag() != null)
+        {
+            visitFields(audioFile.getTag(), visitor);
+        }
+    }
+
+    /**
+     * Report the fields of a tag that has already been read, binary fields are reported without a position
+     *
+     * @param tag
+     * @param visitor
+     */
+    protected static void visitFields(Tag tag, TagVisitor visitor)
+    {
+        //Match fields to the first key that returns them
+        Map<TagField, FieldKey> keys = new IdentityHashMap<TagField, FieldKey>();
+        for (FieldKey key : FieldKey.values())
+        {
+            List<TagField> fields;
+            try
+            {
+                fields = tag.getFields(key);
+            }
+            catch (KeyNotFoundException | UnsupportedOperationException e)
+            {
+                continue;
+            }
+            for (TagField field : fields)
+            {
+                if (!keys.containsKey(field))
+                {
+                    keys.put(field, key);
+                }
+            }
+        }
+
+        Iterator<TagField> fields = tag.getFields();
+        while (fields.hasNext())
+        {
+            TagField field = fields.next();
+            //Checked first because binary ID3 frames are also text fields
+            if (field.isBinary())
+            {
+                try
+                {
+                    visitor.onBinary(field.getId(), keys.get(field), -1, field.getRawContent().length);
+                }
+                catch (UnsupportedEncodingException uee)
+                {
+                    logger.warning("Unable to get content of field:" + field.getId());
+                }
+            }
+            else if (field instanceof TagTextField)
+            {
+                visitor.onField(field.getId(), keys.get(field), ((TagTextField) field).getContent());
+            }
+            else
+            {
+                visitor.onField(field.getId(), keys.get(field), field.toString());
+            }
+        }
+    }
+
     /*
       * Reads the given file, and return an AudioFile object containing the Tag
       * and the encoding infos present in the file. If the file has no tag, an
@@ -85,11 +240,19 @@ public abstract class AudioFileReader
       */
     public AudioFile read(File f) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
     {
-        if(logger.isLoggable(Level.CONFIG))
-        {
-            logger.config(ErrorMessage.GENERAL_READ.getMsg(f.getAbsolutePath()));
-        }
+        return read(f, ReadMode.FULL);
+    }
 
+    /**
+     * Check the file exists, can be read and is large enough to hold audio, done before the file is opened
+     *
+     * @param f The file to check
+     * @throws FileNotFoundException if the file does not exist
+     * @throws NoReadPermissionsException if the file cannot be read
+     * @throws CannotReadException if the file is too small to be a valid audio file
+     */
+    public static void checkFileCanBeRead(File f) throws FileNotFoundException, CannotReadException
+    {
         if (!Files.isReadable(f.toPath()))
         {
             if(!Files.exists(f.toPath()))
@@ -107,6 +270,24 @@ public abstract class AudioFileReader
         {
             throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(f.getAbsolutePath()));
         }
+    }
+
+    /*
+      * Reads the given file, only reading the parts of the file required by the mode. The encoding info is null
+      * if only the tag is read and the tag is null if only the encoding info is read.
+      *
+      * @param f The file to read
+      * @param mode what to read
+      * @exception CannotReadException If anything went bad during the read of this file
+      */
+    public AudioFile read(File f, ReadMode mode) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        if(logger.isLoggable(Level.CONFIG))
+        {
+            logger.config(ErrorMessage.GENERAL_READ.getMsg(f.getAbsolutePath()));
+        }
+
+        checkFileCanBeRead(f);
 
         RandomAccessFile raf = null;
         try
@@ -114,9 +295,23 @@ public abstract class AudioFileReader
             raf = new RandomAccessFile(f, "r");
             raf.seek(0);
 
-            GenericAudioHeader info = getEncodingInfo(raf);
-            raf.seek(0);
-            Tag tag = getTag(raf);
+            SeekableByteChannel mapped = Utils.mapForReading(raf.getChannel());
+            if (mapped != raf.getChannel())
+            {
+                return read(f, mapped, f.getAbsolutePath(), mode);
+            }
+
+            GenericAudioHeader info = null;
+            if (mode.isReadHeader())
+            {
+                info = getEncodingInfo(raf);
+                raf.seek(0);
+            }
+            Tag tag = null;
+            if (mode.isReadTag())
+            {
+                tag = getTag(raf);
+            }
             return new AudioFile(f, info, tag);
 
         }
@@ -144,4 +339,72 @@ public abstract class AudioFileReader
             }
         }
     }
+
+    /**
+     * Reads the audio from a channel rather than a file, so that data held in memory or within another file does not
+     * have to be copied to a file of its own first.
+     *
+     * The whole channel is treated as the audio file, the channel is not closed. The AudioFile returned has no file
+     * and so cannot be written back.
+     *
+     * @param fc channel to read, its position is changed by the read
+     * @param loggingName name of the data for use in log messages
+     * @param mode what to read
+     * @return
+     * @throws CannotReadException If anything went bad during the read
+     * @throws IOException if the channel could not be read
+     */
+    public AudioFile read(SeekableByteChannel fc, String loggingName, ReadMode mode) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        if(logger.isLoggable(Level.CONFIG))
+        {
+            logger.config(ErrorMessage.GENERAL_READ.getMsg(loggingName));
+        }
+
+        if (fc.size() <= MINIMUM_SIZE_FOR_VALID_AUDIO_FILE)
+        {
+            throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(loggingName));
+        }
+
+        try
+        {
+            return read(null, fc, loggingName, mode);
+        }
+        catch (RuntimeException re)
+        {
+            logger.log(Level.SEVERE, ErrorMessage.GENERAL_READ.getMsg(loggingName), re);
+            throw new CannotReadException(loggingName + ":" + re.getMessage(), re);
+        }
+    }
+
+    /**
+     * Read the encoding information and/or tag from the one open channel
+     *
+     * The default makes one pass for the encoding information and a second for the tag, only making the passes
+     * required by the mode, formats that can build both from a single walk of their chunks override this.
+     *
+     * @param f the file being read, or null if reading from a channel only
+     * @param fc
+     * @param loggingName
+     * @param mode
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    protected AudioFile read(File f, SeekableByteChannel fc, String loggingName, ReadMode mode) throws CannotReadException, IOException
+    {
+        GenericAudioHeader info = null;
+        if (mode.isReadHeader())
+        {
+            fc.position(0);
+            info = getEncodingInfo(fc, loggingName);
+        }
+        Tag tag = null;
+        if (mode.isReadTag())
+        {
+            fc.position(0);
+            tag = getTag(fc, loggingName);
+        }
+        return new AudioFile(f, info, tag);
+    }
 }
@@ -1,6 +1,7 @@
 package org.jaudiotagger.audio.generic;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.ReadMode;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.exceptions.NoReadPermissionsException;
@@ -10,10 +11,10 @@ import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagException;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.nio.file.Files;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.nio.file.attribute.AclEntry;
 import java.nio.file.attribute.AclFileAttributeView;
@@ -31,10 +32,11 @@ public abstract class AudioFileReader2 extends AudioFileReader
    * empty one is returned. If the encodinginfo is not valid , an exception is thrown.
    *
    * @param f The file to read
+   * @param mode what to read
    * @exception NoReadPermissionsException if permissions prevent reading of file
    * @exception CannotReadException If anything went bad during the read of this file
    */
-    public AudioFile read(File f) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    public AudioFile read(File f, ReadMode mode) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
     {
         Path path = f.toPath();
         if(logger.isLoggable(Level.CONFIG))
@@ -42,27 +44,12 @@ public abstract class AudioFileReader2 extends AudioFileReader
             logger.config(ErrorMessage.GENERAL_READ.getMsg(path));
         }
 
-        if (!Files.isReadable(path))
-        {
-            if(!Files.exists(path))
-            {
-                throw new FileNotFoundException(ErrorMessage.UNABLE_TO_FIND_FILE.getMsg(path));
-            }
-            else
-            {
-                logger.warning(Permissions.displayPermissions(path));
-                throw new NoReadPermissionsException(ErrorMessage.GENERAL_READ_FAILED_DO_NOT_HAVE_PERMISSION_TO_READ_FILE.getMsg(path));
-            }
-        }
+        checkFileCanBeRead(f);
 
-        if (f.length() <= MINIMUM_SIZE_FOR_VALID_AUDIO_FILE)
+        try (FileChannel fc = FileChannel.open(path))
         {
-            throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(path));
+            return read(f, Utils.mapForReading(fc), path.toString(), mode);
         }
-
-        GenericAudioHeader info = getEncodingInfo(path);
-        Tag tag = getTag(path);
-        return new AudioFile(f, info, tag);
     }
 
     /**
@@ -74,7 +61,24 @@ public abstract class AudioFileReader2 extends AudioFileReader
      * @throws CannotReadException
      * @throws IOException
      */
-    protected abstract GenericAudioHeader getEncodingInfo(Path path) throws CannotReadException, IOException;
+    protected GenericAudioHeader getEncodingInfo(Path path) throws CannotReadException, IOException
+    {
+        try (FileChannel fc = FileChannel.open(path))
+        {
+            return getEncodingInfo(fc, path.toString());
+        }
+    }
+
+    /**
+     * Read Encoding Information from channel positioned at start of file
+     *
+     * @param fc
+     * @param loggingName
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    protected abstract GenericAudioHeader getEncodingInfo(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException;
 
     protected GenericAudioHeader getEncodingInfo(RandomAccessFile raf) throws CannotReadException, IOException
     {
@@ -89,7 +93,24 @@ public abstract class AudioFileReader2 extends AudioFileReader
      * @throws CannotReadException
      * @throws IOException
      */
-    protected abstract Tag getTag(Path path) throws CannotReadException, IOException;
+    protected Tag getTag(Path path) throws CannotReadException, IOException
+    {
+        try (FileChannel fc = FileChannel.open(path))
+        {
+            return getTag(fc, path.toString());
+        }
+    }
+
+    /**
+     * Read tag Information from channel positioned at start of file
+     *
+     * @param fc
+     * @param loggingName
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    protected abstract Tag getTag(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException;
 
     protected Tag getTag(RandomAccessFile file) throws CannotReadException, IOException
     {
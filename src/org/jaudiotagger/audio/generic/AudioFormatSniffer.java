@@ -0,0 +1,208 @@
+package org.jaudiotagger.audio.generic;
+
+import org.jaudiotagger.audio.SupportedFileFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Identifies the format of audio data from its content rather than from the file extension.
+ *
+ * Every format in {@link SupportedFileFormat} is recognised from the signature at the start of the data, only when
+ * the data starts with an ID3v2 tag is anything beyond the prefix read, to find out whether the tag is followed by
+ * flac or mp3 audio.
+ */
+public class AudioFormatSniffer
+{
+    /**
+     * Number of bytes read from the start of the data, enough for every signature
+     */
+    public static final int PREFIX_LENGTH = 512;
+
+    private static final int ID3_HEADER_LENGTH = 10;
+
+    private static final byte[] FLAC = {'f', 'L', 'a', 'C'};
+    private static final byte[] OGG = {'O', 'g', 'g', 'S'};
+    private static final byte[] RIFF = {'R', 'I', 'F', 'F'};
+    private static final byte[] WAVE = {'W', 'A', 'V', 'E'};
+    private static final byte[] FORM = {'F', 'O', 'R', 'M'};
+    private static final byte[] AIFF = {'A', 'I', 'F', 'F'};
+    private static final byte[] AIFC = {'A', 'I', 'F', 'C'};
+    private static final byte[] DSD = {'D', 'S', 'D', ' '};
+    private static final byte[] FRM8 = {'F', 'R', 'M', '8'};
+    private static final byte[] RMF = {'.', 'R', 'M', 'F'};
+    private static final byte[] RA = {'.', 'r', 'a', (byte) 0xFD};
+    private static final byte[] FTYP = {'f', 't', 'y', 'p'};
+    private static final byte[] ID3 = {'I', 'D', '3'};
+    private static final byte[] ASF_HEADER =
+            {
+                    0x30, 0x26, (byte) 0xB2, 0x75, (byte) 0x8E, 0x66, (byte) 0xCF, 0x11,
+                    (byte) 0xA6, (byte) 0xD9, 0x00, (byte) 0xAA, 0x00, 0x62, (byte) 0xCE, 0x6C
+            };
+
+    private static final byte[] BRAND_M4A = {'M', '4', 'A', ' '};
+    private static final byte[] BRAND_M4B = {'M', '4', 'B', ' '};
+    private static final byte[] BRAND_M4P = {'M', '4', 'P', ' '};
+
+    /**
+     * Read the prefix from the start of the channel
+     *
+     * @param fc
+     * @return the prefix, positioned at zero, may be shorter than {@link #PREFIX_LENGTH} for a small file
+     * @throws IOException
+     */
+    public static ByteBuffer readPrefix(SeekableByteChannel fc) throws IOException
+    {
+        ByteBuffer prefix = ByteBuffer.allocate(PREFIX_LENGTH);
+        Utils.read(fc, prefix, 0);
+        prefix.flip();
+        return prefix;
+    }
+
+    /**
+     * Identify the format of the data
+     *
+     * @param fc     the data, only read if the prefix starts with an ID3v2 tag that ends beyond the prefix
+     * @param prefix as returned by {@link #readPrefix(SeekableByteChannel)}, it is not modified
+     * @return the format or null if not recognised
+     * @throws IOException
+     */
+    public static SupportedFileFormat sniff(SeekableByteChannel fc, ByteBuffer prefix) throws IOException
+    {
+        if (matches(prefix, 0, ID3))
+        {
+            return sniffAfterId3(fc, prefix);
+        }
+        if (matches(prefix, 0, FLAC))
+        {
+            return SupportedFileFormat.FLAC;
+        }
+        if (matches(prefix, 0, OGG))
+        {
+            return SupportedFileFormat.OGG;
+        }
+        if (matches(prefix, 0, RIFF) && matches(prefix, 8, WAVE))
+        {
+            return SupportedFileFormat.WAV;
+        }
+        if (matches(prefix, 0, FORM))
+        {
+            if (matches(prefix, 8, AIFF))
+            {
+                return SupportedFileFormat.AIFF;
+            }
+            if (matches(prefix, 8, AIFC))
+            {
+                return SupportedFileFormat.AIFC;
+            }
+            return null;
+        }
+        if (matches(prefix, 0, DSD))
+        {
+            return SupportedFileFormat.DSF;
+        }
+        if (matches(prefix, 0, FRM8) && matches(prefix, 12, DSD))
+        {
+            return SupportedFileFormat.DFF;
+        }
+        if (matches(prefix, 0, ASF_HEADER))
+        {
+            return SupportedFileFormat.WMA;
+        }
+        if (matches(prefix, 0, RMF))
+        {
+            return SupportedFileFormat.RM;
+        }
+        if (matches(prefix, 0, RA))
+        {
+            return SupportedFileFormat.RA;
+        }
+        if (matches(prefix, 4, FTYP))
+        {
+            if (matches(prefix, 8, BRAND_M4A))
+            {
+                return SupportedFileFormat.M4A;
+            }
+            if (matches(prefix, 8, BRAND_M4B))
+            {
+                return SupportedFileFormat.M4B;
+            }
+            if (matches(prefix, 8, BRAND_M4P))
+            {
+                return SupportedFileFormat.M4P;
+            }
+            return SupportedFileFormat.MP4;
+        }
+        if (isMpegFrameSync(prefix, 0))
+        {
+            return SupportedFileFormat.MP3;
+        }
+        return null;
+    }
+
+    /**
+     * An ID3v2 tag is normally followed by mp3 audio but may also precede a flac stream
+     */
+    private static SupportedFileFormat sniffAfterId3(SeekableByteChannel fc, ByteBuffer prefix) throws IOException
+    {
+        if (prefix.limit() < ID3_HEADER_LENGTH)
+        {
+            return SupportedFileFormat.MP3;
+        }
+
+        //Size is stored as four syncsafe bytes, and does not include the header or the optional v2.4 footer
+        int size = ((prefix.get(6) & 0x7F) << 21)
+                | ((prefix.get(7) & 0x7F) << 14)
+                | ((prefix.get(8) & 0x7F) << 7)
+                | (prefix.get(9) & 0x7F);
+        long audioStart = (long) ID3_HEADER_LENGTH + size;
+        if ((prefix.get(5) & 0x10) != 0)
+        {
+            audioStart += ID3_HEADER_LENGTH;
+        }
+
+        ByteBuffer start;
+        int offset;
+        if (audioStart + FLAC.length <= prefix.limit())
+        {
+            start = prefix;
+            offset = (int) audioStart;
+        }
+        else
+        {
+            start = ByteBuffer.allocate(FLAC.length);
+            Utils.read(fc, start, audioStart);
+            start.flip();
+            offset = 0;
+        }
+        return matches(start, offset, FLAC) ? SupportedFileFormat.FLAC : SupportedFileFormat.MP3;
+    }
+
+    /**
+     * Eleven bit frame sync followed by a layer that is not reserved, this excludes ADTS aac which has layer zero
+     */
+    private static boolean isMpegFrameSync(ByteBuffer bb, int offset)
+    {
+        return bb.limit() >= offset + 2
+                && (bb.get(offset) & 0xFF) == 0xFF
+                && (bb.get(offset + 1) & 0xE0) == 0xE0
+                && (bb.get(offset + 1) & 0x06) != 0;
+    }
+
+    private static boolean matches(ByteBuffer bb, int offset, byte[] signature)
+    {
+        if (bb.limit() < offset + signature.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++)
+        {
+            if (bb.get(offset + i) != signature[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
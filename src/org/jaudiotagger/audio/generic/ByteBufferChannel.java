@@ -0,0 +1,120 @@
+package org.jaudiotagger.audio.generic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Read only channel over the contents of a ByteBuffer, so that audio already held in memory can be read without
+ * writing it to a file first.
+ *
+ * The channel covers the buffer from its position to its limit, the buffer itself is never modified. It is also used
+ * to read a file through a memory mapping, see {@link Utils#mapForReading(FileChannel)}.
+ */
+public class ByteBufferChannel implements SeekableByteChannel
+{
+    private final ByteBuffer data;
+    private long position;
+    private boolean open = true;
+
+    public ByteBufferChannel(ByteBuffer buffer)
+    {
+        this.data = buffer.slice();
+    }
+
+    public int read(ByteBuffer dst) throws IOException
+    {
+        checkOpen();
+        if (position >= data.limit())
+        {
+            return -1;
+        }
+        int count = Math.min(dst.remaining(), data.limit() - (int) position);
+        ByteBuffer src = data.duplicate();
+        src.position((int) position);
+        src.limit((int) position + count);
+        dst.put(src);
+        position += count;
+        return count;
+    }
+
+    /**
+     * Read length bytes without copying them
+     *
+     * @param length
+     * @return a view of the next length bytes positioned at zero, or null if there are fewer than length bytes left
+     * in which case the position is not changed
+     * @throws IOException
+     */
+    public ByteBuffer readSlice(int length) throws IOException
+    {
+        checkOpen();
+        if (length < 0 || position > data.limit() - length)
+        {
+            return null;
+        }
+        ByteBuffer slice = data.duplicate();
+        slice.position((int) position);
+        slice.limit((int) position + length);
+        position += length;
+        return slice.slice();
+    }
+
+    public int write(ByteBuffer src) throws IOException
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public long position() throws IOException
+    {
+        checkOpen();
+        return position;
+    }
+
+    /**
+     * Positions beyond the end are allowed and are returned by {@link #position()}, reads from there return end of
+     * stream
+     */
+    public SeekableByteChannel position(long newPosition) throws IOException
+    {
+        checkOpen();
+        if (newPosition < 0)
+        {
+            throw new IllegalArgumentException("Position cannot be negative:" + newPosition);
+        }
+        position = newPosition;
+        return this;
+    }
+
+    public long size() throws IOException
+    {
+        checkOpen();
+        return data.limit();
+    }
+
+    public SeekableByteChannel truncate(long size) throws IOException
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public boolean isOpen()
+    {
+        return open;
+    }
+
+    public void close()
+    {
+        open = false;
+    }
+
+    private void checkOpen() throws ClosedChannelException
+    {
+        if (!open)
+        {
+            throw new ClosedChannelException();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.jaudiotagger.audio.generic;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running totals of how tag writes were done, whether the new metadata fitted in the space already available or the
+ * audio had to be moved to make room. Safe to read from any thread.
+ *
+ * @see org.jaudiotagger.tag.options.PaddingPolicy
+ */
+public class PaddingMetrics
+{
+    private static final PaddingMetrics instance = new PaddingMetrics();
+
+    private final AtomicLong writesInPlace = new AtomicLong();
+    private final AtomicLong writesMovingAudio = new AtomicLong();
+    private final AtomicLong paddingAdded = new AtomicLong();
+
+    public static PaddingMetrics getInstance()
+    {
+        return instance;
+    }
+
+    /**
+     * Record a write that fitted without moving the audio
+     */
+    public void recordInPlace()
+    {
+        writesInPlace.incrementAndGet();
+    }
+
+    /**
+     * Record a write that had to move the audio
+     *
+     * @param padding bytes of padding left for future writes
+     */
+    public void recordAudioMoved(int padding)
+    {
+        writesMovingAudio.incrementAndGet();
+        paddingAdded.addAndGet(padding);
+    }
+
+    /**
+     * @return number of writes that fitted without moving the audio
+     */
+    public long getWritesInPlace()
+    {
+        return writesInPlace.get();
+    }
+
+    /**
+     * @return number of writes that had to move the audio
+     */
+    public long getWritesMovingAudio()
+    {
+        return writesMovingAudio.get();
+    }
+
+    /**
+     * @return total padding left by writes that had to move the audio
+     */
+    public long getPaddingAdded()
+    {
+        return paddingAdded.get();
+    }
+
+    public void reset()
+    {
+        writesInPlace.set(0);
+        writesMovingAudio.set(0);
+        paddingAdded.set(0);
+    }
+
+    public String toString()
+    {
+        return String.format("In place:%d Moving audio:%d Padding added:%d", getWritesInPlace(), getWritesMovingAudio(), getPaddingAdded());
+    }
+}
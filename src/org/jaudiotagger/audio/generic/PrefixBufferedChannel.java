@@ -0,0 +1,101 @@
+package org.jaudiotagger.audio.generic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Read only channel that serves the start of another channel from bytes already read, so that data read to
+ * identify the format is not read a second time by the format reader.
+ *
+ * Closing this channel does not close the underlying channel.
+ */
+public class PrefixBufferedChannel implements SeekableByteChannel
+{
+    private final SeekableByteChannel fc;
+    private final ByteBuffer prefix;
+    private long position;
+    private boolean open = true;
+
+    /**
+     * @param fc     the underlying channel
+     * @param prefix the data from the start of the channel, from position zero up to its limit
+     */
+    public PrefixBufferedChannel(SeekableByteChannel fc, ByteBuffer prefix)
+    {
+        this.fc = fc;
+        this.prefix = prefix.duplicate();
+        this.prefix.rewind();
+    }
+
+    public int read(ByteBuffer dst) throws IOException
+    {
+        int count = 0;
+        if (position < prefix.limit())
+        {
+            ByteBuffer src = prefix.duplicate();
+            src.position((int) position);
+            if (src.remaining() > dst.remaining())
+            {
+                src.limit(src.position() + dst.remaining());
+            }
+            count = src.remaining();
+            dst.put(src);
+            position += count;
+            if (!dst.hasRemaining())
+            {
+                return count;
+            }
+        }
+
+        fc.position(position);
+        int read = fc.read(dst);
+        if (read < 0)
+        {
+            return count > 0 ? count : -1;
+        }
+        position += read;
+        return count + read;
+    }
+
+    public int write(ByteBuffer src) throws IOException
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public long position() throws IOException
+    {
+        return position;
+    }
+
+    public SeekableByteChannel position(long newPosition) throws IOException
+    {
+        if (newPosition < 0)
+        {
+            throw new IllegalArgumentException("Position cannot be negative:" + newPosition);
+        }
+        position = newPosition;
+        return this;
+    }
+
+    public long size() throws IOException
+    {
+        return fc.size();
+    }
+
+    public SeekableByteChannel truncate(long size) throws IOException
+    {
+        throw new NonWritableChannelException();
+    }
+
+    public boolean isOpen()
+    {
+        return open && fc.isOpen();
+    }
+
+    public void close()
+    {
+        open = false;
+    }
+}
@@ -19,12 +19,14 @@
 package org.jaudiotagger.audio.generic;
 
 import org.jaudiotagger.audio.AudioFile;
-import org.jaudiotagger.utils.FileTypeUtil;
+import org.jaudiotagger.audio.SupportedFileFormat;
+import org.jaudiotagger.tag.TagOptionSingleton;
 
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -45,6 +47,16 @@ public class Utils
     private static final Logger logger = Logger.getLogger("org.jaudiotagger.audio.generic.utils");
     private static final int MAX_BASE_TEMP_FILENAME_LENGTH = 20;
 
+    //Reused by readUnsignedByte which is called once per byte when scanning backwards through Ogg pages
+    private static final ThreadLocal<ByteBuffer> singleByteBuffer = new ThreadLocal<ByteBuffer>()
+    {
+        @Override
+        protected ByteBuffer initialValue()
+        {
+            return ByteBuffer.allocate(1);
+        }
+    };
+
     /**
      * Returns the extension of the given file.
      * The extension is empty if there is no extension
@@ -72,10 +84,14 @@ public class Utils
      * @param f The file whose extension is requested
      * @return The extension of the given file
      */
-	public static String getMagicExtension(final File f) throws IOException{
-		final String fileType = FileTypeUtil.getMagicFileType(f);
-		return FileTypeUtil.getMagicExt(fileType);
-	}
+    public static String getMagicExtension(final File f) throws IOException
+    {
+        try (FileChannel fc = FileChannel.open(f.toPath()))
+        {
+            final SupportedFileFormat format = AudioFormatSniffer.sniff(fc, AudioFormatSniffer.readPrefix(fc));
+            return format == null ? "" : format.getFilesuffix();
+        }
+    }
 
     /**
      * Computes a number whereby the 1st byte is the least signifcant and the last
@@ -496,11 +512,9 @@ public class Utils
      * @return
      * @throws IOException
      */
-    public static ByteBuffer readFileDataIntoBufferLE(FileChannel fc, final int size) throws IOException
+    public static ByteBuffer readFileDataIntoBufferLE(SeekableByteChannel fc, final int size) throws IOException
     {
-        final ByteBuffer tagBuffer = ByteBuffer.allocateDirect(size);
-        fc.read(tagBuffer);
-        tagBuffer.position(0);
+        final ByteBuffer tagBuffer = readFileDataIntoBuffer(fc, size);
         tagBuffer.order(ByteOrder.LITTLE_ENDIAN);
         return tagBuffer;
     }
@@ -512,14 +526,148 @@ public class Utils
      * @return
      * @throws IOException
      */
-    public static ByteBuffer readFileDataIntoBufferBE(FileChannel fc, final int size) throws IOException
+    public static ByteBuffer readFileDataIntoBufferBE(SeekableByteChannel fc, final int size) throws IOException
+    {
+        final ByteBuffer tagBuffer = readFileDataIntoBuffer(fc, size);
+        tagBuffer.order(ByteOrder.BIG_ENDIAN);
+        return tagBuffer;
+    }
+
+    /**
+     * Read size bytes from the current position of the channel into a buffer positioned at zero.
+     *
+     * If the channel is a memory mapped file a read only view of the mapping is returned rather than a copy.
+     *
+     * @param fc
+     * @param size
+     * @return
+     * @throws IOException
+     */
+    public static ByteBuffer readFileDataIntoBuffer(SeekableByteChannel fc, final int size) throws IOException
     {
+        if (fc instanceof ByteBufferChannel)
+        {
+            final ByteBuffer slice = ((ByteBufferChannel) fc).readSlice(size);
+            if (slice != null)
+            {
+                return slice;
+            }
+        }
         final ByteBuffer tagBuffer = ByteBuffer.allocateDirect(size);
-        fc.read(tagBuffer);
+        //Channels may return fewer bytes than requested, so keep reading until full or the end is reached
+        while (tagBuffer.hasRemaining())
+        {
+            if (fc.read(tagBuffer) < 0)
+            {
+                break;
+            }
+        }
         tagBuffer.position(0);
-        tagBuffer.order(ByteOrder.BIG_ENDIAN);
         return tagBuffer;
     }
+
+    /**
+     * Map the whole of the file for reading if {@link TagOptionSingleton#isMemoryMappedReads()} is enabled
+     *
+     * The mapping remains valid after the file channel has been closed.
+     *
+     * @param fc file channel open for reading
+     * @return a channel over the mapped file, or fc itself if mapping is not enabled or the file is too large to map
+     * @throws IOException
+     */
+    public static SeekableByteChannel mapForReading(FileChannel fc) throws IOException
+    {
+        if (!TagOptionSingleton.getInstance().isMemoryMappedReads() || fc.size() > Integer.MAX_VALUE)
+        {
+            return fc;
+        }
+        return new ByteBufferChannel(fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size()));
+    }
+
+    /**
+     * Read into the array from the current position of the channel, the same as <code>RandomAccessFile.read(byte[])</code>
+     * the array is only partly filled if the end of the channel is reached
+     *
+     * @param fc
+     * @param b
+     * @return the number of bytes read, or -1 if already at the end of the channel
+     * @throws IOException
+     */
+    public static int read(SeekableByteChannel fc, byte[] b) throws IOException
+    {
+        final ByteBuffer bb = ByteBuffer.wrap(b);
+        while (bb.hasRemaining())
+        {
+            if (fc.read(bb) < 0)
+            {
+                break;
+            }
+        }
+        return bb.position() == 0 && b.length > 0 ? -1 : bb.position();
+    }
+
+    /**
+     * Read from the given position of the channel until the buffer is full or the end of the channel is reached,
+     * the position of the channel is moved to the end of the data read
+     *
+     * @param fc
+     * @param bb
+     * @param position
+     * @return the number of bytes read
+     * @throws IOException
+     */
+    public static int read(SeekableByteChannel fc, ByteBuffer bb, long position) throws IOException
+    {
+        final int start = bb.position();
+        fc.position(position);
+        while (bb.hasRemaining())
+        {
+            if (fc.read(bb) < 0)
+            {
+                break;
+            }
+        }
+        return bb.position() - start;
+    }
+
+    /**
+     * Fill the array from the current position of the channel
+     *
+     * @param fc
+     * @param b
+     * @throws EOFException if the end of the channel is reached first
+     * @throws IOException
+     */
+    public static void readFully(SeekableByteChannel fc, byte[] b) throws IOException
+    {
+        if (read(fc, b) < b.length)
+        {
+            throw new EOFException();
+        }
+    }
+
+    /**
+     * Read the next byte of the channel
+     *
+     * @param fc
+     * @return the byte as an unsigned value
+     * @throws EOFException if at the end of the channel
+     * @throws IOException
+     */
+    public static int readUnsignedByte(SeekableByteChannel fc) throws IOException
+    {
+        final ByteBuffer b = singleByteBuffer.get();
+        b.clear();
+        while (b.hasRemaining())
+        {
+            if (fc.read(b) < 0)
+            {
+                throw new EOFException();
+            }
+        }
+        return b.get(0) & 0xFF;
+    }
+
     /**
      * Copy src file to dst file. FileChannels are used to maximize performance.
      *
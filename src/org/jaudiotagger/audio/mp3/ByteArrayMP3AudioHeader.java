@@ -21,49 +21,40 @@ public class ByteArrayMP3AudioHeader extends MP3AudioHeader
         boolean syncFound = false;
         do
         {
-            if (MPEGFrameHeader.isMPEGFrame(bb))
+            MPEGFrameHeader frameHeader;
+            if (MPEGFrameHeader.isMPEGFrame(bb) && (frameHeader = MPEGFrameHeader.tryParseMPEGHeader(bb)) != null)
             {
-                try
+                mp3FrameHeader = frameHeader;
+                syncFound = true;
+                if ((header = XingFrame.isXingFrame(bb, mp3FrameHeader))!=null)
                 {
-
-                    mp3FrameHeader = MPEGFrameHeader.parseMPEGHeader(bb);
-                    syncFound = true;
-                    if ((header = XingFrame.isXingFrame(bb, mp3FrameHeader))!=null)
+                    try
                     {
-                        try
-                        {
-                            // Parses Xing frame without modifying position of main buffer
-                            mp3XingFrame = XingFrame.parseXingFrame(header);
-                        }
-                        catch (InvalidAudioFrameException ex)
-                        {
-                            // We Ignore because even if Xing Header is corrupted
-                            // doesn't mean file is corrupted
-                        }
-                        break;
+                        // Parses Xing frame without modifying position of main buffer
+                        mp3XingFrame = XingFrame.parseXingFrame(header);
                     }
-                    // There is a small but real chance that an unsynchronised ID3 Frame could fool the MPEG
-                    // Parser into thinking it was an MPEG Header. If this happens the chances of the next bytes
-                    // forming a Xing frame header are very remote. On the basis that most files these days have
-                    // Xing headers we do an additional check for when an apparent frame header has been found
-                    // but is not followed by a Xing Header:We check the next header this wont impose a large
-                    // overhead because wont apply to most Mpegs anyway ( Most likely to occur if audio
-                    // has an APIC frame which should have been unsynchronised but has not been) , or if the frame
-                    // has been encoded with as Unicode LE because these have a BOM of 0xFF 0xFE
-                    else
+                    catch (InvalidAudioFrameException ex)
                     {
-                        syncFound = isNextFrameValid(bb);
-                        if (syncFound)
-                        {
-                            break;
-                        }
+                        // We Ignore because even if Xing Header is corrupted
+                        // doesn't mean file is corrupted
                     }
-
+                    break;
                 }
-                catch (InvalidAudioFrameException ex)
+                // There is a small but real chance that an unsynchronised ID3 Frame could fool the MPEG
+                // Parser into thinking it was an MPEG Header. If this happens the chances of the next bytes
+                // forming a Xing frame header are very remote. On the basis that most files these days have
+                // Xing headers we do an additional check for when an apparent frame header has been found
+                // but is not followed by a Xing Header:We check the next header this wont impose a large
+                // overhead because wont apply to most Mpegs anyway ( Most likely to occur if audio
+                // has an APIC frame which should have been unsynchronised but has not been) , or if the frame
+                // has been encoded with as Unicode LE because these have a BOM of 0xFF 0xFE
+                else
                 {
-                    // We Ignore because likely to be incorrect sync bits ,
-                    // will just continue in loop
+                    syncFound = isNextFrameValid(bb);
+                    if (syncFound)
+                    {
+                        break;
+                    }
                 }
             }
             bb.position(bb.position() + 1);
@@ -88,16 +79,14 @@ public class ByteArrayMP3AudioHeader extends MP3AudioHeader
         bb.position(bb.position() + mp3FrameHeader.getFrameLength());
         if (MPEGFrameHeader.isMPEGFrame(bb))
         {
-            try
+            result = MPEGFrameHeader.checkHeader(MPEGFrameHeader.readHeader(bb)) == MPEGFrameHeader.HEADER_VALID;
+            if (result)
             {
-                MPEGFrameHeader.parseMPEGHeader(bb);
                 MP3AudioHeader.logger.finer("Check next frame confirms is an audio header ");
-                result = true;
             }
-            catch (InvalidAudioFrameException ex)
+            else
             {
                 MP3AudioHeader.logger.finer("Check next frame has identified this is not an audio header");
-                result = false;
             }
         }
         // Set back to the start of the previous frame
@@ -25,13 +25,15 @@ import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.logging.Hex;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.id3.ID3v24Tag;
 
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -67,12 +69,14 @@ public class MP3AudioHeader implements AudioHeader
     protected MPEGFrameHeader mp3FrameHeader;
     protected XingFrame mp3XingFrame;
     protected VbriFrame mp3VbriFrame;
+    private MP3FrameIndex frameIndex;
 
     private Long audioDataStartPosition;
     private Long audioDataEndPosition;
 
     private long    fileSize;
     private long    startByte;
+    private long    endByte;
     private double  timePerFrame;
     private double  trackLength;
     private long    numberOfFrames;
@@ -96,7 +100,21 @@ public class MP3AudioHeader implements AudioHeader
      * After testing the average location of the first MP3Header bit was at 5000 bytes so this is
      * why chosen as a default.
      */
-    private final static int FILE_BUFFER_SIZE = 5000;
+    final static int FILE_BUFFER_SIZE = 5000;
+    /**
+     * Size of the buffer used when searching for the first frame, large so that junk before the audio is read in
+     * few calls, it is kept for reuse by each thread
+     */
+    final static int SCAN_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<ByteBuffer> scanBuffer = new ThreadLocal<ByteBuffer>()
+    {
+        @Override
+        protected ByteBuffer initialValue()
+        {
+            return ByteBuffer.allocateDirect(SCAN_BUFFER_SIZE);
+        }
+    };
+
     private final static int MIN_BUFFER_REMAINING_REQUIRED = MPEGFrameHeader.HEADER_SIZE + XingFrame.MAX_BUFFER_SIZE_NEEDED_TO_READ_XING;
     private static final int NO_SECONDS_IN_HOUR = 3600;
 
@@ -147,6 +165,25 @@ public class MP3AudioHeader implements AudioHeader
         }
     }
 
+    /**
+     * Search for the first MP3Header using a channel that is already open
+     *
+     * @param fc        channel to read from, it is not closed
+     * @param fileStart the bytes already read from the start of the file (indexed by file offset) if any, these are
+     *                  searched before reading anything further from the channel
+     * @param startByte
+     * @param loggingName
+     * @throws IOException
+     * @throws InvalidAudioFrameException
+     */
+    public MP3AudioHeader(final SeekableByteChannel fc, final ByteBuffer fileStart, long startByte, String loggingName) throws IOException, InvalidAudioFrameException
+    {
+        if (!seek(fc, fileStart, startByte, loggingName))
+        {
+            throw new InvalidAudioFrameException(ErrorMessage.NO_AUDIO_HEADER_FOUND.getMsg(loggingName));
+        }
+    }
+
     /**
      * Returns true if the first MP3 frame can be found for the MP3 file
      *
@@ -158,6 +195,24 @@ public class MP3AudioHeader implements AudioHeader
      * @throws IOException on any I/O error
      */
     public boolean seek(final File seekFile, long startByte) throws IOException
+    {
+        try (FileInputStream fis = new FileInputStream(seekFile))
+        {
+            return seek(fis.getChannel(), null, startByte, seekFile.getName());
+        }
+    }
+
+    /**
+     * Returns true if the first MP3 frame can be found
+     *
+     * @param fc        channel to read from, it is not closed
+     * @param fileStart the bytes already read from the start of the file (indexed by file offset), or null
+     * @param startByte if there is an ID3v2tag we dont want to start reading from the start of the tag
+     * @param loggingName
+     * @return true if the first MP3 frame can be found
+     * @throws IOException on any I/O error
+     */
+    public boolean seek(final SeekableByteChannel fc, final ByteBuffer fileStart, long startByte, String loggingName) throws IOException
     {
         //References to Xing/VRbi Header
         ByteBuffer header;
@@ -165,35 +220,44 @@ public class MP3AudioHeader implements AudioHeader
         //This is substantially faster than updating the filechannels position
         long filePointerCount;
 
-        final FileInputStream fis = new FileInputStream(seekFile);
-        final FileChannel fc = fis.getChannel();
-
-        //Read into Byte Buffer in Chunks
-        ByteBuffer bb = ByteBuffer.allocateDirect(FILE_BUFFER_SIZE);
-
-        //Move FileChannel to the starting position (skipping over tag if any)
-        fc.position(startByte);
+        //Search what we already have in memory first, only allocating a buffer to read into once that is used up
+        ByteBuffer readBuffer = null;
+        ByteBuffer bb;
+        if (fileStart != null && startByte + MIN_BUFFER_REMAINING_REQUIRED < fileStart.limit())
+        {
+            bb = fileStart.duplicate();
+            bb.position((int) startByte);
+            bb = bb.slice();
+        }
+        else
+        {
+            //Read from here into the byte buffer
+            readBuffer = getScanBuffer();
+            bb = readBuffer;
+            Utils.read(fc, bb, startByte);
+            bb.flip();
+        }
 
         //Update filePointerCount
         filePointerCount = startByte;
 
-        //Read from here into the byte buffer , doesn't move location of filepointer
-        fc.read(bb, startByte);
-        bb.flip();
+        long scanLimit = TagOptionSingleton.getInstance().getMp3SyncScanLimit();
+        long scanEnd = scanLimit > 0 ? startByte + scanLimit : Long.MAX_VALUE;
 
         boolean syncFound = false;
         try
         {
             do
             {
-                //TODO remaining() is quite an expensive operation, isn't there a way we can work this out without
-                //interrogating the bytebuffer. Also this is rarely going to be true, and could be made less true
-                //by increasing FILE_BUFFER_SIZE
                 if (bb.remaining() <= MIN_BUFFER_REMAINING_REQUIRED)
                 {
+                    if (readBuffer == null)
+                    {
+                        readBuffer = getScanBuffer();
+                    }
+                    bb = readBuffer;
                     bb.clear();
-                    fc.position(filePointerCount);
-                    fc.read(bb, fc.position());
+                    Utils.read(fc, bb, filePointerCount);
                     bb.flip();
                     if (bb.limit() <= MIN_BUFFER_REMAINING_REQUIRED)
                     {
@@ -201,87 +265,96 @@ public class MP3AudioHeader implements AudioHeader
                         return false;
                     }
                 }
-                //MP3File.logger.finest("fc:"+fc.position() + "bb"+bb.position());
-                if (MPEGFrameHeader.isMPEGFrame(bb))
+                if (filePointerCount >= scanEnd)
+                {
+                    MP3AudioHeader.logger.warning(loggingName + ":No audio header found within scan limit of " + scanLimit + " bytes");
+                    return false;
+                }
+
+                //Skip straight to the next position that could be the start of a frame
+                int searchEnd = bb.limit() - MIN_BUFFER_REMAINING_REQUIRED;
+                if (searchEnd - bb.position() > scanEnd - filePointerCount)
+                {
+                    searchEnd = bb.position() + (int) (scanEnd - filePointerCount);
+                }
+                int syncPosition = MPEGSyncScanner.findSync(bb, bb.position(), searchEnd);
+                if (syncPosition == -1)
                 {
-                    try
+                    filePointerCount += searchEnd - bb.position();
+                    bb.position(searchEnd);
+                    continue;
+                }
+                filePointerCount += syncPosition - bb.position();
+                bb.position(syncPosition);
+
+                MPEGFrameHeader frameHeader = MPEGFrameHeader.tryParseMPEGHeader(bb);
+                if (frameHeader != null)
+                {
+                    if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
+                    {
+                        MP3AudioHeader.logger.finest("Found Possible header at:" + filePointerCount);
+                    }
+
+                    mp3FrameHeader = frameHeader;
+                    syncFound = true;
+                    //if(2==1) use this line when you want to test getting the next frame without using xing
+
+                    if ((header = XingFrame.isXingFrame(bb, mp3FrameHeader)) != null)
                     {
                         if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
                         {
-                            MP3AudioHeader.logger.finest("Found Possible header at:" + filePointerCount);
+                            MP3AudioHeader.logger.finest("Found Possible XingHeader");
                         }
-
-                        mp3FrameHeader = MPEGFrameHeader.parseMPEGHeader(bb);
-                        syncFound = true;
-                        //if(2==1) use this line when you want to test getting the next frame without using xing
-
-                        if ((header = XingFrame.isXingFrame(bb, mp3FrameHeader)) != null)
+                        try
                         {
-                            if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
-                            {
-                                MP3AudioHeader.logger.finest("Found Possible XingHeader");
-                            }
-                            try
-                            {
-                                //Parses Xing frame without modifying position of main buffer
-                                mp3XingFrame = XingFrame.parseXingFrame(header);
-                            }
-                            catch (InvalidAudioFrameException ex)
-                            {
-                                // We Ignore because even if Xing Header is corrupted
-                                //doesn't mean file is corrupted
-                            }
-                            break;
+                            //Parses Xing frame without modifying position of main buffer
+                            mp3XingFrame = XingFrame.parseXingFrame(header);
                         }
-                        else if ((header = VbriFrame.isVbriFrame(bb, mp3FrameHeader)) != null)
+                        catch (InvalidAudioFrameException ex)
                         {
-                            if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
-                            {
-                                MP3AudioHeader.logger.finest("Found Possible VbriHeader");
-                            }
-                            try
-                            {
-                                //Parses Vbri frame without modifying position of main buffer
-                                mp3VbriFrame = VbriFrame.parseVBRIFrame(header);
-                            }
-                            catch (InvalidAudioFrameException ex)
-                            {
-                                // We Ignore because even if Vbri Header is corrupted
-                                //doesn't mean file is corrupted
-                            }
-                            break;
+                            // We Ignore because even if Xing Header is corrupted
+                            //doesn't mean file is corrupted
                         }
-                        // There is a small but real chance that an unsynchronised ID3 Frame could fool the MPEG
-                        // Parser into thinking it was an MPEG Header. If this happens the chances of the next bytes
-                        // forming a Xing frame header are very remote. On the basis that  most files these days have
-                        // Xing headers we do an additional check for when an apparent frame header has been found
-                        // but is not followed by a Xing Header:We check the next header this wont impose a large
-                        // overhead because wont apply to most Mpegs anyway ( Most likely to occur if audio
-                        // has an  APIC frame which should have been unsynchronised but has not been) , or if the frame
-                        // has been encoded with as Unicode LE because these have a BOM of 0xFF 0xFE
-                        else
+                        break;
+                    }
+                    else if ((header = VbriFrame.isVbriFrame(bb, mp3FrameHeader)) != null)
+                    {
+                        if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
                         {
-                            syncFound = isNextFrameValid(seekFile, filePointerCount, bb, fc);
-                            if (syncFound)
-                            {
-                                break;
-                            }
+                            MP3AudioHeader.logger.finest("Found Possible VbriHeader");
                         }
-
+                        try
+                        {
+                            //Parses Vbri frame without modifying position of main buffer
+                            mp3VbriFrame = VbriFrame.parseVBRIFrame(header);
+                        }
+                        catch (InvalidAudioFrameException ex)
+                        {
+                            // We Ignore because even if Vbri Header is corrupted
+                            //doesn't mean file is corrupted
+                        }
+                        break;
                     }
-                    catch (InvalidAudioFrameException ex)
+                    // There is a small but real chance that an unsynchronised ID3 Frame could fool the MPEG
+                    // Parser into thinking it was an MPEG Header. If this happens the chances of the next bytes
+                    // forming a Xing frame header are very remote. On the basis that  most files these days have
+                    // Xing headers we do an additional check for when an apparent frame header has been found
+                    // but is not followed by a Xing Header:We check the next header this wont impose a large
+                    // overhead because wont apply to most Mpegs anyway ( Most likely to occur if audio
+                    // has an  APIC frame which should have been unsynchronised but has not been) , or if the frame
+                    // has been encoded with as Unicode LE because these have a BOM of 0xFF 0xFE
+                    else
                     {
-                        // We Ignore because likely to be incorrect sync bits ,
-                        // will just continue in loop
+                        syncFound = isNextFrameValid(loggingName, filePointerCount, bb, fc);
+                        if (syncFound)
+                        {
+                            break;
+                        }
                     }
                 }
 
-                //TODO position() is quite an expensive operation, isn't there a way we can work this out without
-                //interrogating the bytebuffer
                 bb.position(bb.position() + 1);
                 filePointerCount++;
-
-
             }
             while (!syncFound);
         }
@@ -296,25 +369,14 @@ public class MP3AudioHeader implements AudioHeader
             syncFound = false;
             throw iox;
         }
-        finally
-        {
-            if (fc != null)
-            {
-                fc.close();
-            }
-
-            if (fis != null)
-            {
-                fis.close();
-            }
-        }
 
         //Return to start of audio header
         if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
         {
             MP3AudioHeader.logger.finer("Return found matching mp3 header starting at" + filePointerCount);
         }
-        setFileSize(seekFile.length());
+        setFileSize(fc.size());
+        setMp3EndByte(findMp3EndByte(fc));
         setMp3StartByte(filePointerCount);
         setTimePerFrame();
         setNumberOfFrames();
@@ -323,27 +385,37 @@ public class MP3AudioHeader implements AudioHeader
         setEncoder();
         /*if((filePointerCount - startByte )>0)
         {
-            logger.severe(seekFile.getName()+"length:"+startByte+"Difference:"+(filePointerCount - startByte));
+            logger.severe(loggingName+"length:"+startByte+"Difference:"+(filePointerCount - startByte));
         }
         */
         return syncFound;
     }
 
+    /**
+     * @return the buffer this thread uses to search for the first frame, cleared
+     */
+    private static ByteBuffer getScanBuffer()
+    {
+        ByteBuffer bb = scanBuffer.get();
+        bb.clear();
+        return bb;
+    }
+
     /**
      * Called in some circumstances to check the next frame to ensure we have the correct audio header
      *
-     * @param seekFile
+     * @param loggingName
      * @param filePointerCount
      * @param bb
      * @param fc
      * @return true if frame is valid
      * @throws java.io.IOException
      */
-    private boolean isNextFrameValid(File seekFile, long filePointerCount, ByteBuffer bb, FileChannel fc) throws IOException
+    private boolean isNextFrameValid(String loggingName, long filePointerCount, ByteBuffer bb, SeekableByteChannel fc) throws IOException
     {
         if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
         {
-            MP3AudioHeader.logger.finer("Checking next frame" + seekFile.getName() + ":fpc:" + filePointerCount + "skipping to:" + (filePointerCount + mp3FrameHeader.getFrameLength()));
+            MP3AudioHeader.logger.finer("Checking next frame" + loggingName + ":fpc:" + filePointerCount + "skipping to:" + (filePointerCount + mp3FrameHeader.getFrameLength()));
         }
         boolean result = false;
 
@@ -362,11 +434,11 @@ public class MP3AudioHeader implements AudioHeader
         if (bb.remaining() <= MIN_BUFFER_REMAINING_REQUIRED + mp3FrameHeader.getFrameLength())
         {
             MP3AudioHeader.logger.finer("Buffer too small, need to reload, buffer size:" + bb.remaining());
-            bb.clear();
-            fc.position(filePointerCount);
-            fc.read(bb, fc.position());
+            //Read into a separate buffer so the callers buffer is left as it was
+            bb = ByteBuffer.allocate(FILE_BUFFER_SIZE);
+            Utils.read(fc, bb, filePointerCount);
             bb.flip();
-            //So now original buffer has been replaced, so set current position to start of buffer
+            //So now using new buffer, so set current position to start of buffer
             currentPosition = 0;
             //Not enough left
             if (bb.limit() <= MIN_BUFFER_REMAINING_REQUIRED)
@@ -389,16 +461,14 @@ public class MP3AudioHeader implements AudioHeader
         bb.position(bb.position() + mp3FrameHeader.getFrameLength());
         if (MPEGFrameHeader.isMPEGFrame(bb))
         {
-            try
+            result = MPEGFrameHeader.checkHeader(MPEGFrameHeader.readHeader(bb)) == MPEGFrameHeader.HEADER_VALID;
+            if (result)
             {
-                MPEGFrameHeader.parseMPEGHeader(bb);
                 MP3AudioHeader.logger.finer("Check next frame confirms is an audio header ");
-                result = true;
             }
-            catch (InvalidAudioFrameException ex)
+            else
             {
                 MP3AudioHeader.logger.finer("Check next frame has identified this is not an audio header");
-                result = false;
             }
         }
         else
@@ -435,11 +505,47 @@ public class MP3AudioHeader implements AudioHeader
 
 
     /**
-     * Set number of frames in this file, use Xing if exists otherwise ((File Size - Non Audio Part)/Frame Size)
+     * Set the location of where the audio ends in the file
+     *
+     * @param endByte
+     */
+    protected void setMp3EndByte(final long endByte)
+    {
+        this.endByte = endByte;
+    }
+
+    /**
+     * Returns the byte position after the audio, this is the start of any ID3v24 tag appended to the end of the
+     * file, otherwise the start of any ID3v1 tag, otherwise the end of the file.
+     *
+     * @return the byte position after the audio
+     */
+    public long getMp3EndByte()
+    {
+        return endByte;
+    }
+
+    /**
+     * @param fc
+     * @return the start of any tag appended to the file or ID3v1 tag, otherwise the end of the file
+     * @throws IOException
+     */
+    private static long findMp3EndByte(final SeekableByteChannel fc) throws IOException
+    {
+        long appendedTagStart = ID3v24Tag.getAppendedTagStart(fc);
+        if (appendedTagStart != -1)
+        {
+            return appendedTagStart;
+        }
+        return ID3v24Tag.getAppendedTagEnd(fc);
+    }
+
+    /**
+     * Set number of frames in this file, use Xing if exists otherwise ((Audio End - Audio Start)/Frame Size)
      */
     protected void setNumberOfFrames()
     {
-        numberOfFramesEstimate = (fileSize - startByte) / mp3FrameHeader.getFrameLength();
+        numberOfFramesEstimate = (endByte - startByte) / mp3FrameHeader.getFrameLength();
 
         if (mp3XingFrame != null && mp3XingFrame.isFrameCountEnabled())
         {
@@ -456,6 +562,92 @@ public class MP3AudioHeader implements AudioHeader
 
     }
 
+    /**
+     * Read every frame header to find the exact number of frames and track length, rather than relying on the
+     * estimate made from the first frame
+     *
+     * @param fc          channel containing the mp3 data, it is not closed
+     * @param keepOffsets true to keep the offset of every frame in the index
+     * @return the index, also available from {@link #getFrameIndex()}
+     * @throws IOException on any I/O error
+     */
+    public MP3FrameIndex readFrameIndex(final SeekableByteChannel fc, boolean keepOffsets) throws IOException
+    {
+        frameIndex = MP3FrameIndex.read(fc, startByte, endByte, mp3FrameHeader, mp3XingFrame != null || mp3VbriFrame != null, keepOffsets);
+        numberOfFrames = frameIndex.getFrameCount();
+        trackLength = frameIndex.getPreciseTrackLength();
+        setBitRate();
+        return frameIndex;
+    }
+
+    /**
+     * @return the index created by {@link #readFrameIndex(SeekableByteChannel, boolean)}, or null if every frame
+     *         has not been read
+     */
+    public MP3FrameIndex getFrameIndex()
+    {
+        return frameIndex;
+    }
+
+    /**
+     * Seek table for finding the position in the file of a time in the audio, uses the most accurate source
+     * available. In order of preference the frame index if it was read with offsets, the table of contents of the Xing
+     * or VBRI header, or if the file is constant bit rate the audio is assumed to be evenly spread.
+     *
+     * @return the seek table, or null if variable bit rate and the file has no table of contents
+     */
+    public SeekTable getSeekTable()
+    {
+        if (frameIndex != null && frameIndex.hasFrameOffsets() && frameIndex.getFrameCount() > 0)
+        {
+            return frameIndex;
+        }
+
+        long audioStart = startByte;
+        if (mp3XingFrame != null || mp3VbriFrame != null)
+        {
+            audioStart += mp3FrameHeader.getFrameLength();
+        }
+
+        if (mp3XingFrame != null && mp3XingFrame.isTocEnabled())
+        {
+            //Audio size includes the Xing frame itself
+            long audioSize = mp3XingFrame.isAudioSizeEnabled() && mp3XingFrame.getAudioSize() > 0 ? mp3XingFrame.getAudioSize() : endByte - startByte;
+            int[] toc = mp3XingFrame.getToc();
+            double[] times = new double[toc.length + 1];
+            long[] offsets = new long[toc.length + 1];
+            for (int i = 0; i < toc.length; i++)
+            {
+                times[i] = trackLength * i / toc.length;
+                offsets[i] = Math.max(audioStart, startByte + toc[i] * audioSize / 256);
+            }
+            times[toc.length] = trackLength;
+            offsets[toc.length] = startByte + audioSize;
+            return new TocSeekTable(times, offsets);
+        }
+
+        if (mp3VbriFrame != null && mp3VbriFrame.isTocEnabled())
+        {
+            long[] entries = mp3VbriFrame.getTocEntries();
+            double[] times = new double[entries.length + 1];
+            long[] offsets = new long[entries.length + 1];
+            offsets[0] = audioStart;
+            for (int i = 0; i < entries.length; i++)
+            {
+                times[i + 1] = Math.min(trackLength, (i + 1) * mp3VbriFrame.getFramesPerTocEntry() * timePerFrame);
+                offsets[i + 1] = offsets[i] + entries[i];
+            }
+            times[entries.length] = trackLength;
+            return new TocSeekTable(times, offsets);
+        }
+
+        if (!isVariableBitRate() && trackLength > 0)
+        {
+            return new TocSeekTable(new double[]{0, trackLength}, new long[]{audioStart, audioStart + numberOfFrames * mp3FrameHeader.getFrameLength()});
+        }
+        return null;
+    }
+
     /**
      * @return The number of frames within the Audio File, calculated as accurately as possible
      */
@@ -487,19 +679,6 @@ public class MP3AudioHeader implements AudioHeader
     protected void setTimePerFrame()
     {
         timePerFrame = mp3FrameHeader.getNoOfSamples() / mp3FrameHeader.getSamplingRate().doubleValue();
-
-        //Because when calculating framelength we may have altered the calculation slightly for MPEGVersion2
-        //to account for mono/stereo we seem to have to make a corresponding modification to get the correct time
-        if ((mp3FrameHeader.getVersion() == MPEGFrameHeader.VERSION_2) || (mp3FrameHeader.getVersion() == MPEGFrameHeader.VERSION_2_5))
-        {
-            if ((mp3FrameHeader.getLayer() == MPEGFrameHeader.LAYER_II) || (mp3FrameHeader.getLayer() == MPEGFrameHeader.LAYER_III))
-            {
-                if (mp3FrameHeader.getNumberOfChannels() == 1)
-                {
-                    timePerFrame = timePerFrame / 2;
-                }
-            }
-        }
     }
 
     /**
@@ -595,7 +774,7 @@ public class MP3AudioHeader implements AudioHeader
             }
             else
             {
-                bitrate = (long) (((fileSize - startByte) * BITS_IN_BYTE_MULTIPLIER) / (timePerFrame * getNumberOfFrames() * Utils.KILOBYTE_MULTIPLIER));
+                bitrate = (long) (((endByte - startByte) * BITS_IN_BYTE_MULTIPLIER) / (timePerFrame * getNumberOfFrames() * Utils.KILOBYTE_MULTIPLIER));
             }
         }
         else if (mp3VbriFrame != null)
@@ -606,7 +785,7 @@ public class MP3AudioHeader implements AudioHeader
             }
             else
             {
-                bitrate = (long) (((fileSize - startByte) * BITS_IN_BYTE_MULTIPLIER) / (timePerFrame * getNumberOfFrames() *  Utils.KILOBYTE_MULTIPLIER));
+                bitrate = (long) (((endByte - startByte) * BITS_IN_BYTE_MULTIPLIER) / (timePerFrame * getNumberOfFrames() *  Utils.KILOBYTE_MULTIPLIER));
             }
         }
         else
@@ -789,6 +968,7 @@ public class MP3AudioHeader implements AudioHeader
     protected void setFileSize(long fileSize)
     {
         this.fileSize = fileSize;
+        this.endByte = fileSize;
     }
 
 
@@ -23,8 +23,11 @@ package org.jaudiotagger.audio.mp3;
 
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.ReadMode;
 import org.jaudiotagger.audio.exceptions.*;
+import org.jaudiotagger.audio.generic.ByteBufferChannel;
 import org.jaudiotagger.audio.generic.Permissions;
+import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.logging.*;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagException;
@@ -37,6 +40,7 @@ import org.jaudiotagger.tag.reference.ID3V2Version;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -51,6 +55,16 @@ public class MP3File extends AudioFile
 {
     private static final int MINIMUM_FILESIZE = 150;
 
+    /**
+     * Size of the chunks used to move the audio when inserting a Xing frame
+     */
+    private static final int XING_INSERT_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * Number of entries in a Xing table of contents
+     */
+    private static final int XING_TOC_SIZE = 100;
+
     protected static AbstractTagDisplayFormatter tagFormatter;
 
     /**
@@ -63,6 +77,11 @@ public class MP3File extends AudioFile
      */
     private ID3v24Tag id3v2Asv24tag = null;
 
+    /**
+     * True if the idv24 representation has not been created yet, it is only converted when first asked for
+     */
+    private boolean id3v2Asv24tagPending = false;
+
     /**
      * The Lyrics3 tag that this file contains.
      */
@@ -129,19 +148,29 @@ public class MP3File extends AudioFile
     /**
      * Read v1 tag
      *
+     * Both v1 and v1.1 are checked from a single read of the end of the file
+     *
      * @param file
-     * @param newFile
+     * @param fc
      * @param loadOptions
      * @throws IOException
      */
-    private void readV1Tag(File file, RandomAccessFile newFile, int loadOptions) throws IOException
+    private void readV1Tag(String loggingName, SeekableByteChannel fc, int loadOptions) throws IOException
     {
         if ((loadOptions & LOAD_IDV1TAG) != 0)
         {
             logger.finer("Attempting to read id3v1tags");
+            if (fc.size() < AbstractID3v1Tag.TAG_LENGTH)
+            {
+                throw new IOException("File not large enough to contain a tag");
+            }
+
+            ByteBuffer fileEnd = ByteBuffer.allocate(AbstractID3v1Tag.TAG_LENGTH);
+            Utils.read(fc, fileEnd, fc.size() - AbstractID3v1Tag.TAG_LENGTH);
+            fileEnd.flip();
             try
             {
-                id3v1tag = new ID3v11Tag(newFile, file.getName());
+                id3v1tag = new ID3v11Tag(fileEnd.duplicate(), loggingName);
             }
             catch (TagNotFoundException ex)
             {
@@ -152,7 +181,7 @@ public class MP3File extends AudioFile
             {
                 if (id3v1tag == null)
                 {
-                    id3v1tag = new ID3v1Tag(newFile, file.getName());
+                    id3v1tag = new ID3v1Tag(fileEnd.duplicate(), loggingName);
                 }
             }
             catch (TagNotFoundException ex)
@@ -168,29 +197,28 @@ public class MP3File extends AudioFile
      * TODO:shouldn't we be handing TagExceptions:when will they be thrown
      *
      * @param file the file to read tags from
+     * @param fc
+     * @param fileStart bytes already read from start of file
      * @param loadOptions load options
      * @throws IOException IO issues
      * @throws TagException tag issues
      */
-    private void readV2Tag(File file, int loadOptions, int startByte) throws IOException, TagException
+    private void readV2Tag(String loggingName, SeekableByteChannel fc, ByteBuffer fileStart, int loadOptions, int startByte) throws IOException, TagException
     {
         //We know where the actual Audio starts so load all the file from start to that point into
         //a buffer then we can read the IDv2 information without needing any more File I/O
         if (startByte >= AbstractID3v2Tag.TAG_HEADER_LENGTH)
         {
             logger.finer("Attempting to read id3v2tags");
-            try (final FileInputStream fis = new FileInputStream(file))
             {
-                final ByteBuffer bb = ByteBuffer.allocateDirect(startByte);
-                fis.getChannel().read(bb,0);
-                bb.rewind();
+                final ByteBuffer bb = readFilePortion(fc, fileStart, 0, startByte);
 
                 if ((loadOptions & LOAD_IDV2TAG) != 0)
                 {
                     logger.config("Attempting to read id3v2tags");
                     try
                     {
-                        this.setID3v2Tag(new ID3v24Tag(bb, file.getName()));
+                        this.setID3v2Tag(new ID3v24Tag(bb, loggingName));
                     }
                     catch (TagNotFoundException ex)
                     {
@@ -201,7 +229,7 @@ public class MP3File extends AudioFile
                     {
                         if (id3v2tag == null)
                         {
-                            this.setID3v2Tag(new ID3v23Tag(bb, file.getName()));
+                            this.setID3v2Tag(new ID3v23Tag(bb, loggingName));
                         }
                     }
                     catch (TagNotFoundException ex)
@@ -213,7 +241,7 @@ public class MP3File extends AudioFile
                     {
                         if (id3v2tag == null)
                         {
-                            this.setID3v2Tag(new ID3v22Tag(bb, file.getName()));
+                            this.setID3v2Tag(new ID3v22Tag(bb, loggingName));
                         }
                     }
                     catch (TagNotFoundException ex)
@@ -229,6 +257,38 @@ public class MP3File extends AudioFile
         }
     }
 
+    /**
+     * Read an ID3v24 tag appended to the end of the file, its frames replace those of the tag at the start of the file
+     *
+     * @param loggingName
+     * @param fc
+     * @throws IOException
+     */
+    private void readAppendedV2Tag(String loggingName, SeekableByteChannel fc) throws IOException
+    {
+        try
+        {
+            ID3v24Tag appendedTag = ID3v24Tag.readAppendedTag(fc, loggingName);
+            if (appendedTag == null)
+            {
+                return;
+            }
+            logger.config(loggingName + ":Found appended id3v24 tag");
+            if (id3v2tag instanceof ID3v24Tag)
+            {
+                ((ID3v24Tag) id3v2tag).mergeAppendedTag(appendedTag);
+            }
+            else
+            {
+                this.setID3v2Tag(appendedTag);
+            }
+        }
+        catch (TagException te)
+        {
+            logger.warning(loggingName + ":Unable to read appended id3v24 tag:" + te.getMessage());
+        }
+    }
+
     /**
      * Read lyrics3 Tag
      *
@@ -275,61 +335,99 @@ public class MP3File extends AudioFile
      * @return true if all the bytes between in the file between startByte and endByte are null, false
      * otherwise
      */
-    private boolean isFilePortionNull(int startByte, int endByte) throws IOException
+    private boolean isFilePortionNull(SeekableByteChannel fc, ByteBuffer fileStart, int startByte, int endByte) throws IOException
     {
         logger.config("Checking file portion:" + Hex.asHex(startByte) + ":" + Hex.asHex(endByte));
-        FileInputStream fis=null;
-        FileChannel     fc=null;
-        try
+        ByteBuffer bb = readFilePortion(fc, fileStart, startByte, endByte);
+        while(bb.hasRemaining())
         {
-            fis = new FileInputStream(file);
-            fc = fis.getChannel();
-            fc.position(startByte);
-            ByteBuffer bb = ByteBuffer.allocateDirect(endByte - startByte);
-            fc.read(bb);
-            while(bb.hasRemaining())
+            if(bb.get()!=0)
             {
-                if(bb.get()!=0)
-                {
-                    return false;
-                }
+                return false;
             }
         }
-        finally
+        return true;
+    }
+
+    /**
+     * Get the bytes between startByte and endByte, using the bytes already read from the start of the file if
+     * they cover the range
+     *
+     * @param fc
+     * @param fileStart
+     * @param startByte
+     * @param endByte
+     * @return buffer containing just the requested range
+     * @throws IOException
+     */
+    private ByteBuffer readFilePortion(SeekableByteChannel fc, ByteBuffer fileStart, int startByte, int endByte) throws IOException
+    {
+        if (endByte <= fileStart.limit())
         {
-            if (fc != null)
-            {
-                fc.close();
-            }
+            ByteBuffer bb = fileStart.duplicate();
+            bb.limit(endByte);
+            bb.position(startByte);
+            return bb.slice();
+        }
+        ByteBuffer bb = ByteBuffer.allocate(endByte - startByte);
+        Utils.read(fc, bb, startByte);
+        bb.flip();
+        return bb;
+    }
 
-            if (fis != null)
-            {
-                fis.close();
-            }
+    /**
+     * Read the start of the file, large enough to hold any ID3v2 tag and the first audio frames following it, so
+     * that it can be used both for parsing the tag and for finding the start of the audio
+     *
+     * @param fc
+     * @return buffer indexed by file offset
+     * @throws IOException
+     */
+    private static ByteBuffer readFileStart(SeekableByteChannel fc) throws IOException
+    {
+        //Already in memory so use all of it, then the audio frames never need to be read separately
+        if (fc instanceof ByteBufferChannel)
+        {
+            fc.position(0);
+            return ((ByteBufferChannel) fc).readSlice((int) fc.size());
         }
-        return true;
+
+        ByteBuffer tagHeader = ByteBuffer.allocate(AbstractID3v2Tag.TAG_HEADER_LENGTH);
+        Utils.read(fc, tagHeader, 0);
+        tagHeader.flip();
+        long tagSize = AbstractID3v2Tag.getV2TagSizeIfExists(tagHeader.duplicate());
+        logger.config("TagHeaderSize:" + Hex.asHex(tagSize));
+
+        ByteBuffer fileStart = ByteBuffer.allocate((int) Math.min(fc.size(), tagSize + MP3AudioHeader.FILE_BUFFER_SIZE));
+        fileStart.put(tagHeader);
+        Utils.read(fc, fileStart, fileStart.position());
+        fileStart.flip();
+        return fileStart;
     }
+
     /**
      * Regets the audio header starting from start of file, and write appropriate logging to indicate
      * potential problem to user.
      *
+     * @param fc
+     * @param fileStart
      * @param startByte
      * @param firstHeaderAfterTag
      * @return
      * @throws IOException
      * @throws InvalidAudioFrameException
      */
-    private MP3AudioHeader checkAudioStart(long startByte, MP3AudioHeader firstHeaderAfterTag) throws IOException, InvalidAudioFrameException
+    private MP3AudioHeader checkAudioStart(SeekableByteChannel fc, ByteBuffer fileStart, long startByte, MP3AudioHeader firstHeaderAfterTag, String loggingName) throws IOException, InvalidAudioFrameException
     {
         MP3AudioHeader headerOne;
         MP3AudioHeader headerTwo;
 
-        logger.warning(ErrorMessage.MP3_ID3TAG_LENGTH_INCORRECT.getMsg(file.getPath(), Hex.asHex(startByte), Hex.asHex(firstHeaderAfterTag.getMp3StartByte())));
+        logger.warning(ErrorMessage.MP3_ID3TAG_LENGTH_INCORRECT.getMsg(loggingName, Hex.asHex(startByte), Hex.asHex(firstHeaderAfterTag.getMp3StartByte())));
 
         //because we cant agree on start location we reread the audioheader from the start of the file, at least
         //this way we cant overwrite the audio although we might overwrite part of the tag if we write this file
         //back later
-        headerOne = new MP3AudioHeader(file, 0);
+        headerOne = new MP3AudioHeader(fc, fileStart, 0, loggingName);
         logger.config("Checking from start:" + headerOne);
 
         //Although the id3 tag size appears to be incorrect at least we have found the same location for the start
@@ -337,7 +435,7 @@ public class MP3File extends AudioFile
         //problem
         if (firstHeaderAfterTag.getMp3StartByte() == headerOne.getMp3StartByte())
         {
-            logger.config(ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(file.getPath(),
+            logger.config(ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(loggingName,
                     Hex.asHex(headerOne.getMp3StartByte())));
             return firstHeaderAfterTag;
         }
@@ -345,13 +443,13 @@ public class MP3File extends AudioFile
         {
 
             //We get a different value if read from start, can't guarantee 100% correct lets do some more checks
-            logger.config((ErrorMessage.MP3_RECALCULATED_POSSIBLE_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+            logger.config((ErrorMessage.MP3_RECALCULATED_POSSIBLE_START_OF_MP3_AUDIO.getMsg(loggingName,
                             Hex.asHex(headerOne.getMp3StartByte()))));
 
             //Same frame count so probably both audio headers with newAudioHeader being the first one
             if (firstHeaderAfterTag.getNumberOfFrames() == headerOne.getNumberOfFrames())
             {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(loggingName,
                                 Hex.asHex(headerOne.getMp3StartByte()))));
                 return headerOne;
             }
@@ -359,20 +457,20 @@ public class MP3File extends AudioFile
             //If the size reported by the tag header is a little short and there is only nulls between the recorded value
             //and the start of the first audio found then we stick with the original header as more likely that currentHeader
             //DataInputStream not really a header
-            if(isFilePortionNull((int) startByte,(int) firstHeaderAfterTag.getMp3StartByte()))
+            if(isFilePortionNull(fc, fileStart, (int) startByte,(int) firstHeaderAfterTag.getMp3StartByte()))
             {
                 return firstHeaderAfterTag;
             }
 
             //Skip to the next header (header 2, counting from start of file)
-            headerTwo = new MP3AudioHeader(file, headerOne.getMp3StartByte()
-                    + headerOne.mp3FrameHeader.getFrameLength());
+            headerTwo = new MP3AudioHeader(fc, fileStart, headerOne.getMp3StartByte()
+                    + headerOne.mp3FrameHeader.getFrameLength(), loggingName);
 
             //It matches the header we found when doing the original search from after the ID3Tag therefore it
             //seems that newAudioHeader was a false match and the original header was correct
             if (headerTwo.getMp3StartByte() == firstHeaderAfterTag.getMp3StartByte())
             {
-                logger.warning((ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(loggingName,
                                 Hex.asHex(firstHeaderAfterTag.getMp3StartByte()))));
                 return firstHeaderAfterTag;
             }
@@ -381,14 +479,14 @@ public class MP3File extends AudioFile
             //however it maybe that neither are really headers and just contain the same data being misrepresented as headers.
             if (headerTwo.getNumberOfFrames() == headerOne.getNumberOfFrames())
             {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(loggingName,
                                 Hex.asHex(headerOne.getMp3StartByte()))));
                 return headerOne;
             }
             ///Doesnt match the frameCount lets go back to the original header
             else
             {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(loggingName,
                                 Hex.asHex(firstHeaderAfterTag.getMp3StartByte()))));
                 return firstHeaderAfterTag;
             }
@@ -408,52 +506,116 @@ public class MP3File extends AudioFile
      * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
      */
     public MP3File(File file, int loadOptions, boolean readOnly) throws IOException, TagException, ReadOnlyFileException, CannotReadException, InvalidAudioFrameException
+    {
+        this(file, loadOptions, readOnly, ReadMode.FULL);
+    }
+
+    /**
+     * Creates a new MP3File dataType and parse the audio header and/or tag from the given file Object
+     *
+     * When reading tags only the search for the first audio frame is skipped and the ID3v2 tag is read using the
+     * size given in its header, the audio header is then null. When reading the audio header only no tags are read.
+     *
+     * @param file        MP3 file
+     * @param loadOptions decide what tags to load
+     * @param readOnly    causes the files to be opened readonly
+     * @param mode        whether to read the audio header, the tags or both
+     * @throws IOException  on any I/O error
+     * @throws TagException on any exception generated by this library.
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public MP3File(File file, int loadOptions, boolean readOnly, ReadMode mode) throws IOException, TagException, ReadOnlyFileException, CannotReadException, InvalidAudioFrameException
     {
         RandomAccessFile newFile = null;
         try
         {
             this.file = file;
 
-            //Check File accessibility
+            //Check File accessibility, this is the only time the file is opened
             newFile = checkFilePermissions(file, readOnly);
+            FileChannel fc = newFile.getChannel();
 
-            //Read ID3v2 tag size (if tag exists) to allow audioHeader parsing to skip over tag
-            long tagSizeReportedByHeader = AbstractID3v2Tag.getV2TagSizeIfExists(file);
-            logger.config("TagHeaderSize:" + Hex.asHex(tagSizeReportedByHeader));
-            audioHeader = new MP3AudioHeader(file, tagSizeReportedByHeader);
-
-            //If the audio header is not straight after the end of the tag then search from start of file
-            if (tagSizeReportedByHeader != ((MP3AudioHeader) audioHeader).getMp3StartByte())
+            read(Utils.mapForReading(fc), file.getName(), loadOptions, mode);
+        }
+        finally
+        {
+            if (newFile != null)
             {
-                logger.config("First header found after tag:" + audioHeader);
-                audioHeader = checkAudioStart(tagSizeReportedByHeader, (MP3AudioHeader) audioHeader);
+                newFile.close();
             }
+        }
+    }
+
+    /**
+     * Creates a new MP3File dataType and parse the audio header and/or tag from the given channel, for mp3 data that
+     * is not held in a file of its own
+     *
+     * The channel is not closed, the MP3File returned has no file and so cannot be saved.
+     *
+     * @param fc          channel containing the mp3 data, the whole channel is treated as the mp3 file
+     * @param loggingName name of the data for use in log messages
+     * @param loadOptions decide what tags to load
+     * @param mode        whether to read the audio header, the tags or both
+     * @throws IOException  on any I/O error
+     * @throws TagException on any exception generated by this library.
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public MP3File(SeekableByteChannel fc, String loggingName, int loadOptions, ReadMode mode) throws IOException, TagException, InvalidAudioFrameException
+    {
+        read(fc, loggingName, loadOptions, mode);
+    }
 
-            //Read v1 tags (if any)
-            readV1Tag(file, newFile, loadOptions);
+    private void read(SeekableByteChannel fc, String loggingName, int loadOptions, ReadMode mode) throws IOException, TagException, InvalidAudioFrameException
+    {
+        //Read ID3v2 tag (if tag exists) and start of audio in one go, the tag size allows audioHeader parsing
+        //to skip over tag
+        ByteBuffer fileStart = readFileStart(fc);
+        long tagSizeReportedByHeader = AbstractID3v2Tag.getV2TagSizeIfExists(fileStart.duplicate());
+        if (!mode.isReadTag())
+        {
+            loadOptions = 0;
+        }
 
-            //Read v2 tags (if any)
-            readV2Tag(file, loadOptions, (int)((MP3AudioHeader) audioHeader).getMp3StartByte());
+        if (mode.isReadHeader())
+        {
+            audioHeader = new MP3AudioHeader(fc, fileStart, tagSizeReportedByHeader, loggingName);
 
-            //If we have a v2 tag use that, if we do not but have v1 tag use that
-            //otherwise use nothing
-            //TODO:if have both should we merge
-            //rather than just returning specific ID3v22 tag, would it be better to return v24 version ?
-            if (this.getID3v2Tag() != null)
+            //If the audio header is not straight after the end of the tag then search from start of file
+            if (tagSizeReportedByHeader != ((MP3AudioHeader) audioHeader).getMp3StartByte())
             {
-                tag = this.getID3v2Tag();
+                logger.config("First header found after tag:" + audioHeader);
+                audioHeader = checkAudioStart(fc, fileStart, tagSizeReportedByHeader, (MP3AudioHeader) audioHeader, loggingName);
             }
-            else if (id3v1tag != null)
+
+            if (TagOptionSingleton.getInstance().isMp3PreciseDuration())
             {
-                tag = id3v1tag;
+                ((MP3AudioHeader) audioHeader).readFrameIndex(fc, TagOptionSingleton.getInstance().isMp3FrameIndex());
             }
         }
-        finally
+
+        //Read v1 tags (if any)
+        readV1Tag(loggingName, fc, loadOptions);
+
+        //Read v2 tags (if any), without the audio header we have to trust the size in the tag header
+        long tagEnd = audioHeader != null ? ((MP3AudioHeader) audioHeader).getMp3StartByte() : tagSizeReportedByHeader;
+        readV2Tag(loggingName, fc, fileStart, loadOptions, (int) tagEnd);
+        if ((loadOptions & LOAD_IDV2TAG) != 0)
         {
-            if (newFile != null)
-            {
-                newFile.close();
-            }
+            readAppendedV2Tag(loggingName, fc);
+        }
+
+        //If we have a v2 tag use that, if we do not but have v1 tag use that
+        //otherwise use nothing
+        //TODO:if have both should we merge
+        //rather than just returning specific ID3v22 tag, would it be better to return v24 version ?
+        if (this.getID3v2Tag() != null)
+        {
+            tag = this.getID3v2Tag();
+        }
+        else if (id3v1tag != null)
+        {
+            tag = id3v1tag;
         }
     }
 
@@ -467,16 +629,17 @@ public class MP3File extends AudioFile
      */
     public long getMP3StartByte(File file) throws InvalidAudioFrameException, IOException
     {
-        try
+        try (FileChannel fc = FileChannel.open(file.toPath()))
         {
             //Read ID3v2 tag size (if tag exists) to allow audio header parsing to skip over tag
-            long startByte = AbstractID3v2Tag.getV2TagSizeIfExists(file);
+            ByteBuffer fileStart = readFileStart(fc);
+            long startByte = AbstractID3v2Tag.getV2TagSizeIfExists(fileStart.duplicate());
 
-            MP3AudioHeader audioHeader = new MP3AudioHeader(file, startByte);
+            MP3AudioHeader audioHeader = new MP3AudioHeader(fc, fileStart, startByte, file.getName());
             if (startByte != audioHeader.getMp3StartByte())
             {
                 logger.config("First header found after tag:" + audioHeader);
-                audioHeader = checkAudioStart(startByte, audioHeader);
+                audioHeader = checkAudioStart(fc, fileStart, startByte, audioHeader, file.getPath());
             }
             return audioHeader.getMp3StartByte();
         }
@@ -490,6 +653,27 @@ public class MP3File extends AudioFile
         }
     }
 
+    /**
+     * @return the location within the file that the audio starts, located now if the file was read without its
+     * audio header
+     * @throws IOException if the audio cannot be found
+     */
+    private long getMp3StartByte() throws IOException
+    {
+        if (audioHeader != null)
+        {
+            return ((MP3AudioHeader) audioHeader).getMp3StartByte();
+        }
+        try
+        {
+            return getMP3StartByte(file);
+        }
+        catch (InvalidAudioFrameException iafe)
+        {
+            throw new IOException(iafe.getMessage(), iafe);
+        }
+    }
+
     /**
      * Extracts the raw ID3v2 tag data into a file.
      *
@@ -504,7 +688,7 @@ public class MP3File extends AudioFile
      */
     public File extractID3v2TagDataIntoFile(File outputFile) throws TagNotFoundException, IOException
     {
-        int startByte = (int) ((MP3AudioHeader) audioHeader).getMp3StartByte();
+        int startByte = (int) getMp3StartByte();
         if (startByte >= 0)
         {
 
@@ -739,7 +923,7 @@ public class MP3File extends AudioFile
     /**
      * Sets the v2 tag to the v2 tag provided as an argument.
      * Also store a v24 version of tag as v24 is the interface to be used
-     * when talking with client applications.
+     * when talking with client applications, this is converted when first asked for.
      *
      * @param id3v2tag
      */
@@ -749,10 +933,12 @@ public class MP3File extends AudioFile
         if (id3v2tag instanceof ID3v24Tag)
         {
             this.id3v2Asv24tag = (ID3v24Tag) this.id3v2tag;
+            this.id3v2Asv24tagPending = false;
         }
         else
         {
-            this.id3v2Asv24tag = new ID3v24Tag(id3v2tag);
+            this.id3v2Asv24tag = null;
+            this.id3v2Asv24tagPending = true;
         }
     }
 
@@ -767,6 +953,7 @@ public class MP3File extends AudioFile
     {
         this.id3v2tag = id3v2tag;
         this.id3v2Asv24tag = null;
+        this.id3v2Asv24tagPending = false;
     }
 
     /**
@@ -780,10 +967,18 @@ public class MP3File extends AudioFile
     }
 
     /**
+     * Frame bodies that are the same in both versions are only shared with the original tag rather than converted
+     * when {@link TagOptionSingleton#isId3v2LazyFrameBodies()} is enabled, otherwise every body is decoded and copied.
+     *
      * @return a representation of tag as v24
      */
     public ID3v24Tag getID3v2TagAsv24()
     {
+        if (id3v2Asv24tagPending)
+        {
+            id3v2Asv24tag = new ID3v24Tag(id3v2tag);
+            id3v2Asv24tagPending = false;
+        }
         return id3v2Asv24tag;
     }
 
@@ -861,6 +1056,32 @@ public class MP3File extends AudioFile
         save(this.file);
     }
 
+    /**
+     * Move an ID3v24 tag that was appended to the end of the file back to the start of the file, moving the audio
+     * if there is not enough room before it.
+     *
+     * @throws IOException on any I/O error
+     * @see TagOptionSingleton#isId3v24AppendTag()
+     */
+    public void compactID3v2Tag() throws IOException
+    {
+        if (!(id3v2tag instanceof ID3v24Tag))
+        {
+            return;
+        }
+        File fileToCompact = file.getAbsoluteFile();
+        precheck(fileToCompact);
+
+        final MP3AudioHeader mp3AudioHeader = (MP3AudioHeader) this.getAudioHeader();
+        final long mp3StartByte = getMp3StartByte();
+        final long newMp3StartByte = ((ID3v24Tag) id3v2tag).compact(fileToCompact, mp3StartByte);
+        if (mp3AudioHeader != null && mp3StartByte != newMp3StartByte)
+        {
+            logger.config("New mp3 start byte: " + newMp3StartByte);
+            mp3AudioHeader.setMp3StartByte(newMp3StartByte);
+        }
+    }
+
     /**
      * Overridden for compatibility with merged code
      *
@@ -869,6 +1090,14 @@ public class MP3File extends AudioFile
      */
     public void commit() throws CannotWriteException
     {
+        if (file == null)
+        {
+            throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_NO_FILE.getMsg());
+        }
+        if (isPartialTag())
+        {
+            throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_PARTIAL_TAG.getMsg(file));
+        }
         try
         {
             save();
@@ -920,11 +1149,26 @@ public class MP3File extends AudioFile
      * Saves the tags in this dataType to the file argument. It will be saved as
      * TagConstants.MP3_FILE_SAVE_WRITE
      *
+     * The file is saved with the options it was read with, see {@link AudioFile#commit()}.
+     *
      * @param fileToSave file to save the this dataTypes tags to
      * @throws FileNotFoundException if unable to find file
      * @throws IOException           on any I/O error
      */
     public void save(File fileToSave) throws IOException
+    {
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(getTagOptions());
+        try
+        {
+            saveWithOptions(fileToSave);
+        }
+        finally
+        {
+            scope.close();
+        }
+    }
+
+    private void saveWithOptions(File fileToSave) throws IOException
     {
         //Ensure we are dealing with absolute filepaths not relative ones
         File file = fileToSave.getAbsoluteFile();
@@ -937,6 +1181,14 @@ public class MP3File extends AudioFile
         RandomAccessFile rfile = null;
         try
         {
+            //Xing header, inserted before the tags are written so it does not move a tag appended to the end of the file
+            if (TagOptionSingleton.getInstance().isMp3WriteXingHeader())
+            {
+                rfile = new RandomAccessFile(file, "rw");
+                insertXingFrame(rfile, file.getName());
+                rfile.close();
+            }
+
             //ID3v2 Tag
             if (TagOptionSingleton.getInstance().isId3v2Save())
             {
@@ -953,13 +1205,21 @@ public class MP3File extends AudioFile
                 {
                     logger.config("Writing ID3v2 tag:"+file.getName());
                     final MP3AudioHeader mp3AudioHeader = (MP3AudioHeader) this.getAudioHeader();
-                    final long mp3StartByte = mp3AudioHeader.getMp3StartByte();
+                    final long mp3StartByte = getMp3StartByte();
                     final long newMp3StartByte = id3v2tag.write(file, mp3StartByte);
-                    if (mp3StartByte != newMp3StartByte) {
+                    if (mp3AudioHeader != null && mp3StartByte != newMp3StartByte) {
                         logger.config("New mp3 start byte: " + newMp3StartByte);
                         mp3AudioHeader.setMp3StartByte(newMp3StartByte);
                     }
 
+                    //Earlier versions cannot be appended so remove any appended tag left by a v24 tag
+                    if (!(id3v2tag instanceof ID3v24Tag))
+                    {
+                        rfile = new RandomAccessFile(file, "rw");
+                        ID3v24Tag.deleteAppendedTag(rfile.getChannel());
+                        rfile.close();
+                    }
+
                 }
             }
             rfile = new RandomAccessFile(file, "rw");
@@ -1012,6 +1272,93 @@ public class MP3File extends AudioFile
         }
     }
 
+    /**
+     * Insert a Xing frame in front of the audio if it does not already start with a Xing or VBRI frame, the audio
+     * is moved to make room for it and the audio header is read again.
+     *
+     * @param rfile       the file, before the tags have been written
+     * @param loggingName
+     * @throws IOException
+     */
+    private void insertXingFrame(RandomAccessFile rfile, String loggingName) throws IOException
+    {
+        MP3AudioHeader mp3AudioHeader = (MP3AudioHeader) this.getAudioHeader();
+        if (mp3AudioHeader == null || mp3AudioHeader.mp3XingFrame != null || mp3AudioHeader.mp3VbriFrame != null)
+        {
+            return;
+        }
+
+        FileChannel fc = rfile.getChannel();
+        long audioStart = mp3AudioHeader.getMp3StartByte();
+        MPEGFrameHeader firstFrameHeader = mp3AudioHeader.mp3FrameHeader;
+        MP3FrameIndex frameIndex = MP3FrameIndex.read(fc, audioStart, mp3AudioHeader.getMp3EndByte(), firstFrameHeader, false, true);
+        long[] offsets = frameIndex.getFrameOffsets();
+        int frameHeader = XingFrame.createXingFrameHeader(firstFrameHeader);
+        if (offsets.length < 2 || frameHeader == -1)
+        {
+            logger.warning(loggingName + ":Unable to create Xing frame");
+            return;
+        }
+
+        //Find where the audio ends from the length of the last frame
+        ByteBuffer lastHeader = ByteBuffer.allocate(MPEGFrameHeader.HEADER_SIZE);
+        Utils.read(fc, lastHeader, offsets[offsets.length - 1]);
+        long audioEnd = offsets[offsets.length - 1] + MPEGFrameHeader.getFrameLength(lastHeader.getInt(0));
+
+        //Frames only differ by the padding byte if it is constant bitrate
+        long minFrameLength = Long.MAX_VALUE;
+        long maxFrameLength = 0;
+        for (int i = 1; i < offsets.length; i++)
+        {
+            long frameLength = offsets[i] - offsets[i - 1];
+            minFrameLength = Math.min(minFrameLength, frameLength);
+            maxFrameLength = Math.max(maxFrameLength, frameLength);
+        }
+        boolean vbr = maxFrameLength - minFrameLength > 1;
+
+        //Positions in the table of contents are relative to the start of the Xing frame
+        int xingFrameLength = MPEGFrameHeader.getFrameLength(frameHeader);
+        long audioSize = xingFrameLength + audioEnd - audioStart;
+        int[] toc = new int[XING_TOC_SIZE];
+        for (int i = 0; i < XING_TOC_SIZE; i++)
+        {
+            long offset = xingFrameLength + offsets[(int) ((long) i * offsets.length / XING_TOC_SIZE)] - audioStart;
+            toc[i] = (int) Math.min(255, offset * 256 / audioSize);
+        }
+        ByteBuffer xingFrame = XingFrame.createXingFrame(frameHeader, firstFrameHeader, vbr, offsets.length, (int) audioSize, toc);
+
+        //Move everything after the start of the audio back, starting from the end so nothing is overwritten
+        logger.config(loggingName + ":Inserting Xing frame of " + xingFrameLength + " bytes at " + audioStart);
+        long fileLength = rfile.length();
+        rfile.setLength(fileLength + xingFrameLength);
+        byte[] buf = new byte[(int) Math.min(XING_INSERT_CHUNK_SIZE, fileLength - audioStart)];
+        for (long pos = fileLength; pos > audioStart; )
+        {
+            int chunkSize = (int) Math.min(pos - audioStart, buf.length);
+            rfile.seek(pos - chunkSize);
+            rfile.readFully(buf, 0, chunkSize);
+            rfile.seek(pos - chunkSize + xingFrameLength);
+            rfile.write(buf, 0, chunkSize);
+            pos -= chunkSize;
+        }
+        rfile.seek(audioStart);
+        rfile.write(xingFrame.array());
+
+        try
+        {
+            mp3AudioHeader = new MP3AudioHeader(fc, null, audioStart, loggingName);
+        }
+        catch (InvalidAudioFrameException iafe)
+        {
+            throw new IOException(iafe);
+        }
+        if (TagOptionSingleton.getInstance().isMp3PreciseDuration())
+        {
+            mp3AudioHeader.readFrameIndex(fc, TagOptionSingleton.getInstance().isMp3FrameIndex());
+        }
+        audioHeader = mp3AudioHeader;
+    }
+
     /**
      * Displays MP3File Structure
      */
@@ -1093,20 +1440,28 @@ public class MP3File extends AudioFile
     @Override
     public Tag createDefaultTag()
     {
-        if(TagOptionSingleton.getInstance().getID3V2Version()==ID3V2Version.ID3_V24)
-        {    
-            return new ID3v24Tag();
-        }
-        else if(TagOptionSingleton.getInstance().getID3V2Version()==ID3V2Version.ID3_V23)
+        TagOptionSingleton.Scope scope = TagOptionSingleton.use(getTagOptions());
+        try
         {
-            return new ID3v23Tag();
+            if(getID3V2Version()==ID3V2Version.ID3_V24)
+            {
+                return new ID3v24Tag();
+            }
+            else if(getID3V2Version()==ID3V2Version.ID3_V23)
+            {
+                return new ID3v23Tag();
+            }
+            else if(getID3V2Version()==ID3V2Version.ID3_V22)
+            {
+                return new ID3v22Tag();
+            }
+            //Default in case not set somehow
+            return new ID3v24Tag();
         }
-        else if(TagOptionSingleton.getInstance().getID3V2Version()==ID3V2Version.ID3_V22)
+        finally
         {
-            return new ID3v22Tag();
+            scope.close();
         }
-        //Default in case not set somehow
-        return new ID3v24Tag();
     }
 
 
@@ -1138,7 +1493,7 @@ public class MP3File extends AudioFile
     public Tag getTagAndConvertOrCreateDefault()
     {
         Tag tag          = getTagOrCreateDefault();
-        Tag convertedTag = convertID3Tag((AbstractID3v2Tag)tag, TagOptionSingleton.getInstance().getID3V2Version());
+        Tag convertedTag = convertID3Tag((AbstractID3v2Tag)tag, getID3V2Version());
         if(convertedTag!=null)
         {
             return convertedTag;
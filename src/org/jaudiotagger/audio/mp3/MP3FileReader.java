@@ -1,17 +1,25 @@
 package org.jaudiotagger.audio.mp3;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.ReadMode;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
 import org.jaudiotagger.audio.generic.AudioFileReader;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
+import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagException;
+import org.jaudiotagger.tag.TagVisitor;
+import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
+import org.jaudiotagger.tag.id3.ID3v24Tag;
+import org.jaudiotagger.tag.id3.ID3v2TagEventReader;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Read Mp3 Info (retrofitted to entagged ,done differently to entagged which is why some methods throw RuntimeException)
@@ -31,15 +39,52 @@ public class MP3FileReader extends AudioFileReader
 
     /**
      * @param f
+     * @param mode
      * @return
      */
     //Override because we read mp3s differently to the entagged code
-    public AudioFile read(File f) throws IOException, TagException, ReadOnlyFileException, CannotReadException, InvalidAudioFrameException
+    public AudioFile read(File f, ReadMode mode) throws IOException, TagException, ReadOnlyFileException, CannotReadException, InvalidAudioFrameException
     {
-        MP3File mp3File = new MP3File(f, MP3File.LOAD_IDV1TAG | MP3File.LOAD_IDV2TAG, true);
+        MP3File mp3File = new MP3File(f, MP3File.LOAD_IDV1TAG | MP3File.LOAD_IDV2TAG, true, mode);
         return mp3File;
     }
 
+    /**
+     * @param fc
+     * @param loggingName
+     * @param mode
+     * @return
+     */
+    @Override
+    public AudioFile read(SeekableByteChannel fc, String loggingName, ReadMode mode) throws IOException, TagException, ReadOnlyFileException, CannotReadException, InvalidAudioFrameException
+    {
+        return new MP3File(fc, loggingName, MP3File.LOAD_IDV1TAG | MP3File.LOAD_IDV2TAG, mode);
+    }
+
+    /**
+     * Visit the ID3v2 tag straight from the file, if there is only an ID3v1 tag, or an ID3v24 tag has been appended
+     * to the end of the file, the tags are read and merged as by {@link MP3File} and then visited
+     *
+     * @param fc
+     * @param loggingName
+     * @param visitor
+     */
+    @Override
+    protected void visitTag(SeekableByteChannel fc, String loggingName, TagVisitor visitor) throws CannotReadException, IOException
+    {
+        long start = fc.position();
+        int tagSize = ID3v2TagEventReader.getTagSize(Utils.readFileDataIntoBuffer(fc, (int) Math.min(AbstractID3v2Tag.TAG_HEADER_LENGTH, fc.size() - start)));
+        long appendedTagStart = ID3v24Tag.getAppendedTagStart(fc);
+        fc.position(start);
+        if (tagSize == 0 || appendedTagStart != -1)
+        {
+            super.visitTag(fc, loggingName, visitor);
+            return;
+        }
+        ByteBuffer tag = Utils.readFileDataIntoBuffer(fc, (int) Math.min(tagSize, fc.size() - start));
+        ID3v2TagEventReader.read(tag, start, loggingName, visitor);
+    }
+
     /**
      * Read
      *
@@ -0,0 +1,516 @@
+package org.jaudiotagger.audio.mp3;
+
+import org.jaudiotagger.audio.generic.Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * The exact number of frames, samples and duration of the audio in an MP3 file, found by reading every frame header
+ * rather than estimating from the file size and the first frame.
+ *
+ * Only frames with the same MPEG version, layer and sampling rate as the first frame are counted, anything else
+ * between frames such as junk or a trailing tag is skipped. Every counted frame therefore has the same number of
+ * samples and the same sampling rate.
+ *
+ * Optionally keeps the offset of every frame so that a position in the audio can be found from a time, the offsets
+ * can be stored by the caller and the index recreated from them later.
+ */
+public class MP3FrameIndex implements SeekTable
+{
+    //Logger
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.mp3");
+
+    /**
+     * Files smaller than this are read by a single thread, larger files are split into ranges of at least this size
+     * which are read at the same time
+     */
+    static final int MIN_RANGE_SIZE = 4 * 1024 * 1024;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Number of consecutive frames that must be found after searching for sync before we accept it is audio
+     */
+    private static final int FRAMES_TO_CONFIRM_SYNC = 3;
+
+    /**
+     * The bits of a header that are the same for every frame of the stream, sync, version, layer and sampling rate
+     */
+    private static final int STREAM_MASK = 0xFFFE0C00;
+
+    private final long[] frameOffsets;
+    private final long frameCount;
+    private final int samplesPerFrame;
+    private final int samplingRate;
+
+    /**
+     * Create from offsets read previously with {@link #getFrameOffsets()}
+     *
+     * @param frameOffsets    offset of each audio frame in the file, the array is copied
+     * @param samplesPerFrame
+     * @param samplingRate    in Hz
+     */
+    public MP3FrameIndex(long[] frameOffsets, int samplesPerFrame, int samplingRate)
+    {
+        this(frameOffsets.clone(), frameOffsets.length, samplesPerFrame, samplingRate);
+    }
+
+    private MP3FrameIndex(long[] frameOffsets, long frameCount, int samplesPerFrame, int samplingRate)
+    {
+        this.frameOffsets = frameOffsets;
+        this.frameCount = frameCount;
+        this.samplesPerFrame = samplesPerFrame;
+        this.samplingRate = samplingRate;
+    }
+
+    /**
+     * @return the number of audio frames, not including a Xing or VBRI frame
+     */
+    public long getFrameCount()
+    {
+        return frameCount;
+    }
+
+    /**
+     * @return the number of samples in each channel
+     */
+    public long getSampleCount()
+    {
+        return frameCount * samplesPerFrame;
+    }
+
+    public int getSamplesPerFrame()
+    {
+        return samplesPerFrame;
+    }
+
+    public int getSamplingRate()
+    {
+        return samplingRate;
+    }
+
+    /**
+     * @return Track Length in seconds
+     */
+    @Override
+    public double getPreciseTrackLength()
+    {
+        return getSampleCount() / (double) samplingRate;
+    }
+
+    /**
+     * @return true if the offset of each audio frame was kept
+     */
+    public boolean hasFrameOffsets()
+    {
+        return frameOffsets != null;
+    }
+
+    /**
+     * @return a copy of the offset of each audio frame in the file, or null if they were not kept
+     */
+    public long[] getFrameOffsets()
+    {
+        return frameOffsets == null ? null : frameOffsets.clone();
+    }
+
+    /**
+     * @param seconds time from the start of the audio
+     * @return the number of the frame containing the sample at this time, the last frame if beyond the end
+     */
+    public long getFrameForTime(double seconds)
+    {
+        long frame = (long) (seconds * samplingRate / samplesPerFrame);
+        return Math.max(0, Math.min(frame, frameCount - 1));
+    }
+
+    /**
+     * @param seconds time from the start of the audio
+     * @return the offset in the file of the frame containing the sample at this time
+     * @throws IllegalStateException if the frame offsets were not kept
+     */
+    @Override
+    public long getOffsetForTime(double seconds)
+    {
+        if (frameOffsets == null)
+        {
+            throw new IllegalStateException("Frame offsets were not kept");
+        }
+        return frameOffsets[(int) getFrameForTime(seconds)];
+    }
+
+    /**
+     * Read every frame header from the first audio frame to the end of the audio
+     *
+     * @param fc               the channel, the position is not used and may be changed
+     * @param audioStart       offset of the first audio frame
+     * @param audioEnd         offset after the audio, so tags at the end of the file are not searched for frames
+     * @param firstFrameHeader the header of the first audio frame
+     * @param skipFirstFrame   true if the first frame is a Xing or VBRI frame and so contains no audio
+     * @param keepOffsets      true to keep the offset of every frame
+     * @return the index
+     * @throws IOException
+     */
+    public static MP3FrameIndex read(SeekableByteChannel fc, long audioStart, long audioEnd, MPEGFrameHeader firstFrameHeader, boolean skipFirstFrame, boolean keepOffsets) throws IOException
+    {
+        //Split into ranges of at least MIN_RANGE_SIZE, one for each processor at most
+        long audioSize = Math.min(audioEnd, fc.size()) - audioStart;
+        int noOfRanges = (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), audioSize / MIN_RANGE_SIZE));
+        return read(fc, audioStart, audioEnd, firstFrameHeader, skipFirstFrame, keepOffsets, noOfRanges);
+    }
+
+    static MP3FrameIndex read(SeekableByteChannel fc, long audioStart, long audioEnd, MPEGFrameHeader firstFrameHeader, boolean skipFirstFrame, boolean keepOffsets, int noOfRanges) throws IOException
+    {
+        final Scan scan = new Scan(fc, Math.min(audioEnd, fc.size()), firstFrameHeader.getHeader() & STREAM_MASK);
+        long audioSize = scan.audioEnd - audioStart;
+        long[] rangeStarts = new long[noOfRanges + 1];
+        for (int i = 0; i < noOfRanges; i++)
+        {
+            rangeStarts[i] = audioStart + audioSize * i / noOfRanges;
+        }
+        rangeStarts[noOfRanges] = scan.audioEnd;
+
+        Range[] ranges = new Range[noOfRanges];
+        if (noOfRanges == 1)
+        {
+            ranges[0] = scan.readRange(audioStart, scan.audioEnd, false);
+        }
+        else
+        {
+            List<Callable<Range>> tasks = new ArrayList<Callable<Range>>(noOfRanges);
+            for (int i = 0; i < noOfRanges; i++)
+            {
+                final long start = rangeStarts[i];
+                final long end = rangeStarts[i + 1];
+                final boolean findSync = i > 0;
+                tasks.add(new Callable<Range>()
+                {
+                    public Range call() throws IOException
+                    {
+                        return scan.readRange(start, end, findSync);
+                    }
+                });
+            }
+            List<Future<Range>> results = ForkJoinPool.commonPool().invokeAll(tasks);
+            for (int i = 0; i < noOfRanges; i++)
+            {
+                try
+                {
+                    ranges[i] = results.get(i).get();
+                }
+                catch (InterruptedException ie)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted reading frames", ie);
+                }
+                catch (ExecutionException ee)
+                {
+                    if (ee.getCause() instanceof IOException)
+                    {
+                        throw (IOException) ee.getCause();
+                    }
+                    throw new IOException(ee.getCause());
+                }
+            }
+        }
+
+        Offsets offsets = scan.stitch(ranges);
+        long frameCount = offsets.size;
+        long[] frameOffsets = null;
+        int first = 0;
+        if (skipFirstFrame && offsets.size > 0 && offsets.values[0] == audioStart)
+        {
+            first = 1;
+            frameCount--;
+        }
+        if (keepOffsets)
+        {
+            frameOffsets = Arrays.copyOfRange(offsets.values, first, offsets.size);
+        }
+        logger.finer("Read " + frameCount + " frames using " + noOfRanges + " ranges");
+        return new MP3FrameIndex(frameOffsets, frameCount, MPEGFrameHeader.getNoOfSamples(firstFrameHeader.getHeader()), firstFrameHeader.getSamplingRate());
+    }
+
+    /**
+     * Growable list of frame offsets, in ascending order
+     */
+    private static class Offsets
+    {
+        private long[] values = new long[1024];
+        private int size;
+
+        private void add(long offset)
+        {
+            if (size == values.length)
+            {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = offset;
+        }
+
+        private void addAll(Offsets other, int from)
+        {
+            for (int i = from; i < other.size; i++)
+            {
+                add(other.values[i]);
+            }
+        }
+
+        private int indexOf(long offset)
+        {
+            return Arrays.binarySearch(values, 0, size, offset);
+        }
+    }
+
+    /**
+     * The frames found in one range of the file
+     */
+    private static class Range
+    {
+        private final long end;
+        private final Offsets offsets = new Offsets();
+
+        /**
+         * Where the frame following the last frame in this range starts, -1 if the audio has ended
+         */
+        private long next;
+
+        private Range(long end)
+        {
+            this.end = end;
+        }
+    }
+
+    /**
+     * Reads frame headers from one channel, may be used by several threads each with its own {@link Reader}
+     */
+    private static class Scan
+    {
+        private final SeekableByteChannel fc;
+        private final long audioEnd;
+        private final int stream;
+
+        private Scan(SeekableByteChannel fc, long audioEnd, int stream)
+        {
+            this.fc = fc;
+            this.audioEnd = audioEnd;
+            this.stream = stream;
+        }
+
+        /**
+         * @param findSync false if start is known to be the start of a frame, otherwise the first frame is found
+         *                 by searching from the start
+         */
+        private Range readRange(long start, long end, boolean findSync) throws IOException
+        {
+            Reader reader = new Reader();
+            Range range = new Range(end);
+            long pos = findSync ? findConfirmedSync(reader, start, end) : start;
+            if (pos < 0)
+            {
+                range.next = end;
+                return range;
+            }
+            while (pos >= 0 && pos < end)
+            {
+                pos = next(reader, pos, end, range.offsets);
+            }
+            range.next = pos;
+            return range;
+        }
+
+        /**
+         * Join the ranges together. Each range after the first may have started on a false sync, so we only use its
+         * frames from the first one that we also reach by counting on from the frames of the range before it.
+         */
+        private Offsets stitch(Range[] ranges) throws IOException
+        {
+            Reader reader = new Reader();
+            Offsets offsets = ranges[0].offsets;
+            long next = ranges[0].next;
+            for (int i = 1; i < ranges.length; i++)
+            {
+                Range range = ranges[i];
+                while (next >= 0 && next < range.end)
+                {
+                    int index = range.offsets.indexOf(next);
+                    if (index >= 0)
+                    {
+                        offsets.addAll(range.offsets, index);
+                        next = range.next;
+                        break;
+                    }
+                    next = next(reader, next, range.end, offsets);
+                }
+            }
+            return offsets;
+        }
+
+        /**
+         * Add the frame at pos, or if there is not a frame at pos find the next one before end
+         *
+         * @return the position to continue from, end if no frame found, or -1 if the audio has ended
+         */
+        private long next(Reader reader, long pos, long end, Offsets offsets) throws IOException
+        {
+            int header = reader.readHeader(pos);
+            if (isFrame(header))
+            {
+                long next = pos + MPEGFrameHeader.getFrameLength(header);
+                if (next > audioEnd)
+                {
+                    //Truncated frame
+                    return -1;
+                }
+                offsets.add(pos);
+                return next;
+            }
+            long sync = findConfirmedSync(reader, pos + 1, end);
+            return sync < 0 ? end : sync;
+        }
+
+        private boolean isFrame(int header)
+        {
+            return (header & STREAM_MASK) == stream && MPEGFrameHeader.checkHeader(header) == MPEGFrameHeader.HEADER_VALID;
+        }
+
+        /**
+         * Find the start of a frame that is followed by further frames, to avoid mistaking junk for audio
+         *
+         * @return the start of the frame or -1 if there is none starting before end
+         */
+        private long findConfirmedSync(Reader reader, long from, long end) throws IOException
+        {
+            long candidate = from;
+            while ((candidate = reader.findSync(candidate, end)) >= 0)
+            {
+                if (isConfirmed(reader, candidate))
+                {
+                    return candidate;
+                }
+                candidate++;
+            }
+            return -1;
+        }
+
+        private boolean isConfirmed(Reader reader, long pos) throws IOException
+        {
+            for (int i = 0; i < FRAMES_TO_CONFIRM_SYNC; i++)
+            {
+                if (pos == audioEnd && i > 0)
+                {
+                    return true;
+                }
+                int header = reader.readHeader(pos);
+                if (!isFrame(header))
+                {
+                    return false;
+                }
+                pos += MPEGFrameHeader.getFrameLength(header);
+                if (pos > audioEnd)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Buffered reads from the channel, each thread needs its own
+         */
+        private class Reader
+        {
+            private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            private long bufferStart;
+
+            private Reader()
+            {
+                buffer.limit(0);
+            }
+
+            /**
+             * @return the four bytes at pos, or -1 (never a valid header) if fewer than four bytes remain
+             */
+            private int readHeader(long pos) throws IOException
+            {
+                if (pos < bufferStart || pos + MPEGFrameHeader.HEADER_SIZE > bufferStart + buffer.limit())
+                {
+                    fill(pos);
+                    if (buffer.limit() < MPEGFrameHeader.HEADER_SIZE)
+                    {
+                        return -1;
+                    }
+                }
+                return buffer.getInt((int) (pos - bufferStart));
+            }
+
+            /**
+             * @return the first position from pos before end that could be a frame sync, or -1 if none
+             */
+            private long findSync(long pos, long end) throws IOException
+            {
+                while (pos < end)
+                {
+                    //Only read again if pos is not already buffered, false syncs are retried one byte on
+                    if (pos < bufferStart || pos >= bufferStart + buffer.limit() - (MPEGFrameHeader.HEADER_SIZE - 1))
+                    {
+                        fill(pos);
+                    }
+                    int searchStart = (int) (pos - bufferStart);
+                    int searchEnd = (int) Math.min(buffer.limit() - (MPEGFrameHeader.HEADER_SIZE - 1), end - bufferStart);
+                    if (searchEnd <= searchStart)
+                    {
+                        return -1;
+                    }
+                    int sync = MPEGSyncScanner.findSync(buffer, searchStart, searchEnd);
+                    if (sync >= 0)
+                    {
+                        return bufferStart + sync;
+                    }
+                    pos = bufferStart + searchEnd;
+                }
+                return -1;
+            }
+
+            private void fill(long pos) throws IOException
+            {
+                buffer.clear();
+                if (fc instanceof FileChannel)
+                {
+                    //Positional reads can be made by many threads at once
+                    FileChannel fileChannel = (FileChannel) fc;
+                    long readPos = pos;
+                    while (buffer.hasRemaining())
+                    {
+                        int read = fileChannel.read(buffer, readPos);
+                        if (read < 0)
+                        {
+                            break;
+                        }
+                        readPos += read;
+                    }
+                }
+                else
+                {
+                    synchronized (fc)
+                    {
+                        Utils.read(fc, buffer, pos);
+                    }
+                }
+                buffer.flip();
+                bufferStart = pos;
+            }
+        }
+    }
+}
@@ -20,6 +20,9 @@ import java.util.Map;
 /**
  * Represents a MPEGFrameHeader, an MP3 is made up of a number of frames each frame starts with a four
  * byte frame header.
+ *
+ * The header is held as a single int and decoded using lookup arrays, so checking a candidate header with
+ * {@link #checkHeader(int)} does not allocate and can be done by any number of threads at once.
  */
 @SuppressWarnings({"PointlessArithmeticExpression"})
 public class MPEGFrameHeader
@@ -43,8 +46,15 @@ public class MPEGFrameHeader
     public static final int SYNC_BYTE2 = 0xE0;
     public static final int SYNC_BIT_ANDSAMPING_BYTE3 = 0xFC;
 
-    private static final byte[] header = new byte[HEADER_SIZE];
-
+    /**
+     * Results of {@link #checkHeader(int)}
+     */
+    public static final int HEADER_VALID = 0;
+    public static final int HEADER_INVALID_SYNC = 1;
+    public static final int HEADER_INVALID_BITRATE = 2;
+    public static final int HEADER_INVALID_VERSION = 3;
+    public static final int HEADER_INVALID_LAYER = 4;
+    public static final int HEADER_INVALID_SAMPLING_RATE = 5;
 
     /**
      * Constants for MPEG Version
@@ -54,11 +64,13 @@ public class MPEGFrameHeader
     public final static int VERSION_2 = 2;
     public final static int VERSION_1 = 3;
 
+    private static final String[] VERSION_NAMES = {"MPEG-2.5", null, "MPEG-2", "MPEG-1"};
+
     static
     {
-        mpegVersionMap.put(VERSION_2_5, "MPEG-2.5");
-        mpegVersionMap.put(VERSION_2, "MPEG-2");
-        mpegVersionMap.put(VERSION_1, "MPEG-1");
+        mpegVersionMap.put(VERSION_2_5, VERSION_NAMES[VERSION_2_5]);
+        mpegVersionMap.put(VERSION_2, VERSION_NAMES[VERSION_2]);
+        mpegVersionMap.put(VERSION_1, VERSION_NAMES[VERSION_1]);
     }
 
     /**
@@ -69,11 +81,13 @@ public class MPEGFrameHeader
     public final static int LAYER_II = 2;
     public final static int LAYER_III = 1;
 
+    private static final String[] LAYER_NAMES = {null, "Layer 3", "Layer 2", "Layer 1"};
+
     static
     {
-        mpegLayerMap.put(LAYER_I, "Layer 1");
-        mpegLayerMap.put(LAYER_II, "Layer 2");
-        mpegLayerMap.put(LAYER_III, "Layer 3");
+        mpegLayerMap.put(LAYER_I, LAYER_NAMES[LAYER_I]);
+        mpegLayerMap.put(LAYER_II, LAYER_NAMES[LAYER_II]);
+        mpegLayerMap.put(LAYER_III, LAYER_NAMES[LAYER_III]);
     }
 
     /**
@@ -85,101 +99,34 @@ public class MPEGFrameHeader
 
     /**
      * Bit Rates, the setBitrate varies for different Version and Layer
+     *
+     * Indexed by the bitrate bits of the third byte combined with the version id and layer bits of the second byte,
+     * zero for combinations that are not valid.
      */
-    private static final Map<Integer, Integer> bitrateMap = new HashMap<Integer, Integer>();
+    private static final int[] BITRATES = new int[256];
 
     static
     {
         // MPEG-1, Layer I (E)
-        bitrateMap.put(0x1E, 32);
-        bitrateMap.put(0x2E, 64);
-        bitrateMap.put(0x3E, 96);
-        bitrateMap.put(0x4E, 128);
-        bitrateMap.put(0x5E, 160);
-        bitrateMap.put(0x6E, 192);
-        bitrateMap.put(0x7E, 224);
-        bitrateMap.put(0x8E, 256);
-        bitrateMap.put(0x9E, 288);
-        bitrateMap.put(0xAE, 320);
-        bitrateMap.put(0xBE, 352);
-        bitrateMap.put(0xCE, 384);
-        bitrateMap.put(0xDE, 416);
-        bitrateMap.put(0xEE, 448);
+        setBitrates(0xE, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448);
         // MPEG-1, Layer II (C)
-        bitrateMap.put(0x1C, 32);
-        bitrateMap.put(0x2C, 48);
-        bitrateMap.put(0x3C, 56);
-        bitrateMap.put(0x4C, 64);
-        bitrateMap.put(0x5C, 80);
-        bitrateMap.put(0x6C, 96);
-        bitrateMap.put(0x7C, 112);
-        bitrateMap.put(0x8C, 128);
-        bitrateMap.put(0x9C, 160);
-        bitrateMap.put(0xAC, 192);
-        bitrateMap.put(0xBC, 224);
-        bitrateMap.put(0xCC, 256);
-        bitrateMap.put(0xDC, 320);
-        bitrateMap.put(0xEC, 384);
+        setBitrates(0xC, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384);
         // MPEG-1, Layer III (A)
-        bitrateMap.put(0x1A, 32);
-        bitrateMap.put(0x2A, 40);
-        bitrateMap.put(0x3A, 48);
-        bitrateMap.put(0x4A, 56);
-        bitrateMap.put(0x5A, 64);
-        bitrateMap.put(0x6A, 80);
-        bitrateMap.put(0x7A, 96);
-        bitrateMap.put(0x8A, 112);
-        bitrateMap.put(0x9A, 128);
-        bitrateMap.put(0xAA, 160);
-        bitrateMap.put(0xBA, 192);
-        bitrateMap.put(0xCA, 224);
-        bitrateMap.put(0xDA, 256);
-        bitrateMap.put(0xEA, 320);
+        setBitrates(0xA, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320);
         // MPEG-2, Layer I (6)
-        bitrateMap.put(0x16, 32);
-        bitrateMap.put(0x26, 48);
-        bitrateMap.put(0x36, 56);
-        bitrateMap.put(0x46, 64);
-        bitrateMap.put(0x56, 80);
-        bitrateMap.put(0x66, 96);
-        bitrateMap.put(0x76, 112);
-        bitrateMap.put(0x86, 128);
-        bitrateMap.put(0x96, 144);
-        bitrateMap.put(0xA6, 160);
-        bitrateMap.put(0xB6, 176);
-        bitrateMap.put(0xC6, 192);
-        bitrateMap.put(0xD6, 224);
-        bitrateMap.put(0xE6, 256);
+        setBitrates(0x6, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256);
         // MPEG-2, Layer II (4)
-        bitrateMap.put(0x14, 8);
-        bitrateMap.put(0x24, 16);
-        bitrateMap.put(0x34, 24);
-        bitrateMap.put(0x44, 32);
-        bitrateMap.put(0x54, 40);
-        bitrateMap.put(0x64, 48);
-        bitrateMap.put(0x74, 56);
-        bitrateMap.put(0x84, 64);
-        bitrateMap.put(0x94, 80);
-        bitrateMap.put(0xA4, 96);
-        bitrateMap.put(0xB4, 112);
-        bitrateMap.put(0xC4, 128);
-        bitrateMap.put(0xD4, 144);
-        bitrateMap.put(0xE4, 160);
+        setBitrates(0x4, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160);
         // MPEG-2, Layer III (2)
-        bitrateMap.put(0x12, 8);
-        bitrateMap.put(0x22, 16);
-        bitrateMap.put(0x32, 24);
-        bitrateMap.put(0x42, 32);
-        bitrateMap.put(0x52, 40);
-        bitrateMap.put(0x62, 48);
-        bitrateMap.put(0x72, 56);
-        bitrateMap.put(0x82, 64);
-        bitrateMap.put(0x92, 80);
-        bitrateMap.put(0xA2, 96);
-        bitrateMap.put(0xB2, 112);
-        bitrateMap.put(0xC2, 128);
-        bitrateMap.put(0xD2, 144);
-        bitrateMap.put(0xE2, 160);
+        setBitrates(0x2, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160);
+    }
+
+    private static void setBitrates(int versionAndLayer, int... bitrates)
+    {
+        for (int i = 0; i < bitrates.length; i++)
+        {
+            BITRATES[((i + 1) << 4) | versionAndLayer] = bitrates[i];
+        }
     }
 
     /**
@@ -191,110 +138,47 @@ public class MPEGFrameHeader
     public final static int MODE_DUAL_CHANNEL = 2;
     public final static int MODE_MONO = 3;
 
+    private static final String[] MODE_NAMES = {"Stereo", "Joint Stereo", "Dual", "Mono"};
+
     static
     {
-        modeMap.put(MODE_STEREO, "Stereo");
-        modeMap.put(MODE_JOINT_STEREO, "Joint Stereo");
-        modeMap.put(MODE_DUAL_CHANNEL, "Dual");
-        modeMap.put(MODE_MONO, "Mono");
+        for (int i = 0; i < MODE_NAMES.length; i++)
+        {
+            modeMap.put(i, MODE_NAMES[i]);
+        }
     }
 
     /**
      * Constants for Emphasis
      */
-    private static final Map<Integer, String> emphasisMap = new HashMap<Integer, String>();
     public final static int EMPHASIS_NONE = 0;
     public final static int EMPHASIS_5015MS = 1;
     public final static int EMPHASIS_RESERVED = 2;
     public final static int EMPHASIS_CCITT = 3;
 
-    static
-    {
-        emphasisMap.put(EMPHASIS_NONE, "None");
-        emphasisMap.put(EMPHASIS_5015MS, "5015MS");
-        emphasisMap.put(EMPHASIS_RESERVED, "Reserved");
-        emphasisMap.put(EMPHASIS_CCITT, "CCITT");
-    }
-
-
-    private static final Map<Integer, String> modeExtensionMap = new HashMap<Integer, String>();
-    private final static int MODE_EXTENSION_NONE = 0;
-    private final static int MODE_EXTENSION_ONE = 1;
-    private final static int MODE_EXTENSION_TWO = 2;
-    private final static int MODE_EXTENSION_THREE = 3;
-
-    private static final Map<Integer, String> modeExtensionLayerIIIMap = new HashMap<Integer, String>();
-    private final static int MODE_EXTENSION_OFF_OFF = 0;
-    private final static int MODE_EXTENSION_ON_OFF = 1;
-    private final static int MODE_EXTENSION_OFF_ON = 2;
-    private final static int MODE_EXTENSION_ON_ON = 3;
-
-    static
-    {
-        modeExtensionMap.put(MODE_EXTENSION_NONE, "4-31");
-        modeExtensionMap.put(MODE_EXTENSION_ONE, "8-31");
-        modeExtensionMap.put(MODE_EXTENSION_TWO, "12-31");
-        modeExtensionMap.put(MODE_EXTENSION_THREE, "16-31");
-
-        modeExtensionLayerIIIMap.put(MODE_EXTENSION_OFF_OFF, "off-off");
-        modeExtensionLayerIIIMap.put(MODE_EXTENSION_ON_OFF, "on-off");
-        modeExtensionLayerIIIMap.put(MODE_EXTENSION_OFF_ON, "off-on");
-        modeExtensionLayerIIIMap.put(MODE_EXTENSION_ON_ON, "on-on");
-    }
+    private static final String[] EMPHASIS_NAMES = {"None", "5015MS", "Reserved", "CCITT"};
 
     /**
-     * Sampling Rate in Hz
+     * Mode extension, indexed by the two mode extension bits
      */
-    private static final Map<Integer, Map<Integer, Integer>> samplingRateMap = new HashMap<Integer, Map<Integer, Integer>>();
-    private static final Map<Integer, Integer> samplingV1Map = new HashMap<Integer, Integer>();
-    private static final Map<Integer, Integer> samplingV2Map = new HashMap<Integer, Integer>();
-    private static final Map<Integer, Integer> samplingV25Map = new HashMap<Integer, Integer>();
-
-    static
-    {
-        samplingV1Map.put(0, 44100);
-        samplingV1Map.put(1, 48000);
-        samplingV1Map.put(2, 32000);
-
-        samplingV2Map.put(0, 22050);
-        samplingV2Map.put(1, 24000);
-        samplingV2Map.put(2, 16000);
-
-        samplingV25Map.put(0, 11025);
-        samplingV25Map.put(1, 12000);
-        samplingV25Map.put(2, 8000);
-
-        samplingRateMap.put(VERSION_1, samplingV1Map);
-        samplingRateMap.put(VERSION_2, samplingV2Map);
-        samplingRateMap.put(VERSION_2_5, samplingV25Map);
-    }
-
-    /* Samples Per Frame */
-    private static final Map<Integer, Map<Integer, Integer>> samplesPerFrameMap = new HashMap<Integer, Map<Integer, Integer>>();
-    private static final Map<Integer, Integer> samplesPerFrameV1Map = new HashMap<Integer, Integer>();
-    private static final Map<Integer, Integer> samplesPerFrameV2Map = new HashMap<Integer, Integer>();
-    private static final Map<Integer, Integer> samplesPerFrameV25Map = new HashMap<Integer, Integer>();
+    private static final String[] MODE_EXTENSION_NAMES = {"4-31", "8-31", "12-31", "16-31"};
+    private static final String[] MODE_EXTENSION_LAYER_III_NAMES = {"off-off", "on-off", "off-on", "on-on"};
 
-    static
-    {
-        samplesPerFrameV1Map.put(LAYER_I, 384);
-        samplesPerFrameV1Map.put(LAYER_II, 1152);
-        samplesPerFrameV1Map.put(LAYER_III, 1152);
-
-        samplesPerFrameV2Map.put(LAYER_I, 384);
-        samplesPerFrameV2Map.put(LAYER_II, 1152);
-        samplesPerFrameV2Map.put(LAYER_III, 1152);
-
-        samplesPerFrameV25Map.put(LAYER_I, 384);
-        samplesPerFrameV25Map.put(LAYER_II, 1152);
-        samplesPerFrameV25Map.put(LAYER_III, 1152);
-
-        samplesPerFrameMap.put(VERSION_1, samplesPerFrameV1Map);
-        samplesPerFrameMap.put(VERSION_2, samplesPerFrameV2Map);
-        samplesPerFrameMap.put(VERSION_2_5, samplesPerFrameV25Map);
-
-    }
+    /**
+     * Sampling Rate in Hz, indexed by version then by the frequency bits, zero if not valid
+     */
+    private static final int[][] SAMPLING_RATES =
+            {
+                    {11025, 12000, 8000, 0},
+                    {0, 0, 0, 0},
+                    {22050, 24000, 16000, 0},
+                    {44100, 48000, 32000, 0}
+            };
 
+    /**
+     * Samples Per Frame for MPEG-1, indexed by layer, Layer III frames of the other versions have half as many
+     */
+    private static final int[] SAMPLES_PER_FRAME = {0, 1152, 1152, 384};
 
     private static final int SCALE_BY_THOUSAND = 1000;
     private static final int LAYER_I_FRAME_SIZE_COEFFICIENT = 12;
@@ -366,257 +250,207 @@ public class MPEGFrameHeader
      */
     private static final int MASK_MP3_EMPHASIS = FileConstants.BIT1 | FileConstants.BIT0;
 
-
-    private byte[] mpegBytes;
+    /**
+     * The four header bytes, first byte in the most significant bits
+     */
+    private final int mpegHeader;
 
     /**
      * The version of this MPEG frame (see the constants)
      */
-    private int version;
-
-    private String versionAsString;
+    private final int version;
 
     /**
      * Contains the mpeg layer of this frame (see constants)
      */
-    private int layer;
+    private final int layer;
 
-    private String layerAsString;
     /**
      * Bitrate of this frame
      */
-    private Integer bitRate;
+    private final int bitRate;
 
     /**
      * Channel Mode of this Frame (see constants)
      */
-    private int channelMode;
-
-    /**
-     * Channel Mode of this Frame As English String
-     */
-    private String channelModeAsString;
+    private final int channelMode;
 
     /**
      * Emphasis of this frame
      */
-    private int emphasis;
-
-    /**
-     * Emphasis mode string
-     */
-    private String emphasisAsString;
+    private final int emphasis;
 
     /**
      * Mode Extension
      */
-    private String modeExtension;
+    private final int modeExtension;
 
     /**
      * Flag indicating if this frame has padding byte
      */
-    private boolean isPadding;
+    private final boolean isPadding;
 
     /**
      * Flag indicating if this frame contains copyrighted material
      */
-    private boolean isCopyrighted;
+    private final boolean isCopyrighted;
 
     /**
      * Flag indicating if this frame contains original material
      */
-    private boolean isOriginal;
+    private final boolean isOriginal;
 
     /**
      * Flag indicating if this frame is protected
      */
-    private boolean isProtected;
-
+    private final boolean isProtected;
 
     /**
      * Flag indicating if this frame is private
      */
-    private boolean isPrivate;
-
-    private Integer samplingRate;
+    private final boolean isPrivate;
 
+    private final int samplingRate;
 
     /**
-     * Gets the layerVersion attribute of the MPEGFrame object
+     * Decode a header already known to be valid
      *
-     * @return The layerVersion value
+     * @param header the four header bytes as returned by {@link #readHeader(ByteBuffer)}
      */
-    public int getLayer()
+    private MPEGFrameHeader(int header)
     {
-        return layer;
-    }
+        int byte2 = byte2(header);
+        int byte3 = byte3(header);
+        int byte4 = byte4(header);
 
-    public String getLayerAsString()
-    {
-        return layerAsString;
+        mpegHeader = header;
+        bitRate = BITRATES[bitrateIndex(header)];
+        version = (byte2 & MASK_MP3_VERSION) >>> 3;
+        layer = (byte2 & MASK_MP3_LAYER) >>> 1;
+        isProtected = (byte2 & MASK_MP3_PROTECTION) == 0x00;
+        samplingRate = SAMPLING_RATES[version][(byte3 & MASK_MP3_FREQUENCY) >>> 2];
+        isPadding = (byte3 & MASK_MP3_PADDING) != 0;
+        isPrivate = (byte3 & MASK_MP3_PRIVACY) != 0;
+        channelMode = (byte4 & MASK_MP3_MODE) >>> 6;
+        modeExtension = (byte4 & MASK_MP3_MODE_EXTENSION) >>> 4;
+        isCopyrighted = (byte4 & MASK_MP3_COPY) != 0;
+        isOriginal = (byte4 & MASK_MP3_HOME) != 0;
+        emphasis = byte4 & MASK_MP3_EMPHASIS;
     }
 
-    /**
-     * Gets the copyrighted attribute of the MPEGFrame object
-     */
-    private void setCopyrighted()
+    private static int byte2(int header)
     {
-        isCopyrighted = (mpegBytes[BYTE_4] & MASK_MP3_COPY) != 0;
+        return (header >>> 16) & 0xFF;
     }
 
-
-    /**
-     * Set the version of this frame as an int value (see constants)
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-     */
-    private void setVersion() throws InvalidAudioFrameException
+    private static int byte3(int header)
     {
-        //MPEG Version
-        version = (byte) ((mpegBytes[BYTE_2] & MASK_MP3_VERSION) >> 3);
-        versionAsString = mpegVersionMap.get(version);
-        if (versionAsString == null)
-        {
-            throw new InvalidAudioFrameException("Invalid mpeg version");
-        }
+        return (header >>> 8) & 0xFF;
     }
 
-    /**
-     * Sets the original attribute of the MPEGFrame object
-     */
-    private void setOriginal()
+    private static int byte4(int header)
     {
-        isOriginal = (mpegBytes[BYTE_4] & MASK_MP3_HOME) != 0;
+        return header & 0xFF;
     }
 
-    /**
-     * Sets the protected attribute of the MPEGFrame object
-     */
-    private void setProtected()
+    private static int bitrateIndex(int header)
     {
-        isProtected = (mpegBytes[BYTE_2] & MASK_MP3_PROTECTION) == 0x00;
+        return (byte3(header) & MASK_MP3_BITRATE) | (byte2(header) & (MASK_MP3_ID | MASK_MP3_LAYER));
     }
 
     /**
-     * Sets the private attribute of the MPEGFrame object
+     * Read the four bytes at the current position of the buffer as a header, the position is not changed
+     *
+     * @param bb
+     * @return the header bytes, first byte in the most significant bits
      */
-    private void setPrivate()
+    public static int readHeader(ByteBuffer bb)
     {
-        isPrivate = (mpegBytes[BYTE_3] & MASK_MP3_PRIVACY) != 0;
+        int position = bb.position();
+        return ((bb.get(position) & 0xFF) << 24)
+                | ((bb.get(position + BYTE_2) & 0xFF) << 16)
+                | ((bb.get(position + BYTE_3) & 0xFF) << 8)
+                | (bb.get(position + BYTE_4) & 0xFF);
     }
 
     /**
-     * Get the setBitrate of this frame
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     * Check whether the four bytes form a valid frame header
+     *
+     * @param header as returned by {@link #readHeader(ByteBuffer)}
+     * @return {@link #HEADER_VALID} or the reason the header is not valid
      */
-    private void setBitrate() throws InvalidAudioFrameException
+    public static int checkHeader(int header)
     {
-        /* BitRate, get by checking header setBitrate bits and MPEG Version and Layer */
-        int bitRateIndex = mpegBytes[BYTE_3] & MASK_MP3_BITRATE | mpegBytes[BYTE_2] & MASK_MP3_ID | mpegBytes[BYTE_2] & MASK_MP3_LAYER;
-
-        bitRate = bitrateMap.get(bitRateIndex);
-        if (bitRate == null)
+        if ((header >>> 24) != SYNC_BYTE1 || (byte2(header) & SYNC_BYTE2) != SYNC_BYTE2)
         {
-            throw new InvalidAudioFrameException("Invalid bitrate");
+            return HEADER_INVALID_SYNC;
         }
+        return checkFields(header);
     }
 
-
     /**
-     * Set the Mpeg channel mode of this frame as a constant (see constants)
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     * Checked in the same order the fields have always been decoded, so the first problem found is reported
      */
-    private void setChannelMode() throws InvalidAudioFrameException
+    private static int checkFields(int header)
     {
-        channelMode = (mpegBytes[BYTE_4] & MASK_MP3_MODE) >>> 6;
-        channelModeAsString = modeMap.get(channelMode);
-        if (channelModeAsString == null)
+        if (BITRATES[bitrateIndex(header)] == 0)
         {
-            throw new InvalidAudioFrameException("Invalid channel mode");
+            return HEADER_INVALID_BITRATE;
         }
-    }
-
-    /**
-     * Get the setEmphasis mode of this frame in a string representation
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-     */
-    private void setEmphasis() throws InvalidAudioFrameException
-    {
-        emphasis = mpegBytes[BYTE_4] & MASK_MP3_EMPHASIS;
-        emphasisAsString = emphasisMap.get(emphasis);
-        if (getEmphasisAsString() == null)
+        int version = (byte2(header) & MASK_MP3_VERSION) >>> 3;
+        if (VERSION_NAMES[version] == null)
+        {
+            return HEADER_INVALID_VERSION;
+        }
+        if (LAYER_NAMES[(byte2(header) & MASK_MP3_LAYER) >>> 1] == null)
         {
-            throw new InvalidAudioFrameException("Invalid emphasis");
+            return HEADER_INVALID_LAYER;
         }
+        if (SAMPLING_RATES[version][(byte3(header) & MASK_MP3_FREQUENCY) >>> 2] == 0)
+        {
+            return HEADER_INVALID_SAMPLING_RATE;
+        }
+        return HEADER_VALID;
     }
 
-
-    /**
-     * Set whether this frame uses padding bytes
-     */
-    private void setPadding()
+    private static String getErrorMessage(int result)
     {
-        isPadding = (mpegBytes[BYTE_3] & MASK_MP3_PADDING) != 0;
+        switch (result)
+        {
+            case HEADER_INVALID_SYNC:
+                return "Invalid sync";
+            case HEADER_INVALID_BITRATE:
+                return "Invalid bitrate";
+            case HEADER_INVALID_VERSION:
+                return "Invalid mpeg version";
+            case HEADER_INVALID_LAYER:
+                return "Invalid Layer";
+            default:
+                return "Invalid sampling rate";
+        }
     }
 
-
     /**
-     * Get the layer version of this frame as a constant int value (see constants)
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     * @return the four header bytes, first byte in the most significant bits
      */
-    private void setLayer() throws InvalidAudioFrameException
+    public int getHeader()
     {
-        layer = (mpegBytes[BYTE_2] & MASK_MP3_LAYER) >>> 1;
-        layerAsString = mpegLayerMap.get(layer);
-        if (layerAsString == null)
-        {
-            throw new InvalidAudioFrameException("Invalid Layer");
-        }
+        return mpegHeader;
     }
 
-
     /**
-     * Sets the string representation of the mode extension of this frame
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     * Gets the layerVersion attribute of the MPEGFrame object
+     *
+     * @return The layerVersion value
      */
-    private void setModeExtension() throws InvalidAudioFrameException
+    public int getLayer()
     {
-        int index = (mpegBytes[BYTE_4] & MASK_MP3_MODE_EXTENSION) >> 4;
-        if (layer == LAYER_III)
-        {
-            modeExtension = modeExtensionLayerIIIMap.get(index);
-            if (getModeExtension() == null)
-            {
-                throw new InvalidAudioFrameException("Invalid Mode Extension");
-            }
-        }
-        else
-        {
-            modeExtension = modeExtensionMap.get(index);
-            if (getModeExtension() == null)
-            {
-                throw new InvalidAudioFrameException("Invalid Mode Extension");
-            }
-        }
+        return layer;
     }
 
-    /**
-     * set the sampling rate in Hz of this frame
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-     */
-    private void setSamplingRate() throws InvalidAudioFrameException
+    public String getLayerAsString()
     {
-        //Frequency
-        int index = (mpegBytes[BYTE_3] & MASK_MP3_FREQUENCY) >>> 2;
-        Map<Integer, Integer> samplingRateMapForVersion = samplingRateMap.get(version);
-        if (samplingRateMapForVersion == null)
-        {
-            throw new InvalidAudioFrameException("Invalid version");
-        }
-        samplingRate = samplingRateMapForVersion.get(index);
-        if (samplingRate == null)
-        {
-            throw new InvalidAudioFrameException("Invalid sampling rate");
-        }
+        return LAYER_NAMES[layer];
     }
 
     /**
@@ -648,7 +482,7 @@ public class MPEGFrameHeader
 
     public String getChannelModeAsString()
     {
-        return channelModeAsString;
+        return MODE_NAMES[channelMode];
     }
 
     /**
@@ -663,7 +497,7 @@ public class MPEGFrameHeader
 
     public String getVersionAsString()
     {
-        return versionAsString;
+        return VERSION_NAMES[version];
     }
 
     /**
@@ -699,73 +533,74 @@ public class MPEGFrameHeader
      * Calculation is Bitrate (scaled to bps) divided by sampling frequency (in Hz), The larger the bitrate the larger
      * the frame but the more samples per second the smaller the value, also have to take into account frame padding
      * Have to multiple by a coefficient constant depending upon the layer it is encoded in,
-
      */
     public int getFrameLength()
     {
-        switch (version)
-        {
-            case VERSION_2:
-            case VERSION_2_5:
-                switch (layer)
-                {
-                    case LAYER_I:
-                        return (LAYER_I_FRAME_SIZE_COEFFICIENT * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength()) * LAYER_I_SLOT_SIZE;
-
-                    case LAYER_II:
-                        return (LAYER_II_FRAME_SIZE_COEFFICIENT ) * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength() * LAYER_II_SLOT_SIZE;
-
-                    case LAYER_III:
-                        if (this.getChannelMode() == MODE_MONO)
-                        {
-                            return (LAYER_III_FRAME_SIZE_COEFFICIENT / 2 ) * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength() * LAYER_III_SLOT_SIZE;
-                        }
-                        else
-                        {
-                            return (LAYER_III_FRAME_SIZE_COEFFICIENT) * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength() * LAYER_III_SLOT_SIZE;
-                        }
-
+        return getFrameLength(mpegHeader);
+    }
 
-                    default:
-                        throw new RuntimeException("Mp3 Unknown Layer:" + layer);
+    /**
+     * Get the number of samples in a frame, all frames in a file have a set number of samples as defined by their MPEG Versiona
+     * and Layer
+     * @return
+     */
+    public int getNoOfSamples()
+    {
+        return getNoOfSamples(mpegHeader);
+    }
 
-                }
+    /**
+     * @param header a header that {@link #checkHeader(int)} reports as valid
+     * @return the length in bytes of the frame with this header
+     */
+    public static int getFrameLength(int header)
+    {
+        int bitRate = BITRATES[bitrateIndex(header)] * SCALE_BY_THOUSAND;
+        int samplingRate = getSamplingRate(header);
+        int padding = (byte3(header) & MASK_MP3_PADDING) != 0 ? 1 : 0;
+        switch ((byte2(header) & MASK_MP3_LAYER) >>> 1)
+        {
+            case LAYER_I:
+                return (LAYER_I_FRAME_SIZE_COEFFICIENT * bitRate / samplingRate + padding) * LAYER_I_SLOT_SIZE;
 
+            case LAYER_II:
+                return LAYER_II_FRAME_SIZE_COEFFICIENT * bitRate / samplingRate + padding * LAYER_II_SLOT_SIZE;
 
-            case VERSION_1:
-                switch (layer)
+            case LAYER_III:
+                //Half as many samples per frame for MPEG-2 and MPEG-2.5
+                if (((byte2(header) & MASK_MP3_VERSION) >>> 3) == VERSION_1)
                 {
-                    case LAYER_I:
-                        return (LAYER_I_FRAME_SIZE_COEFFICIENT * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength()) * LAYER_I_SLOT_SIZE;
-
-                    case LAYER_II:
-                        return LAYER_II_FRAME_SIZE_COEFFICIENT * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength() * LAYER_II_SLOT_SIZE;
-
-                    case LAYER_III:
-                        return LAYER_III_FRAME_SIZE_COEFFICIENT * (getBitRate() * SCALE_BY_THOUSAND) / getSamplingRate() + getPaddingLength() * LAYER_III_SLOT_SIZE;
-
-                    default:
-                        throw new RuntimeException("Mp3 Unknown Layer:" + layer);
-
+                    return LAYER_III_FRAME_SIZE_COEFFICIENT * bitRate / samplingRate + padding * LAYER_III_SLOT_SIZE;
                 }
+                return (LAYER_III_FRAME_SIZE_COEFFICIENT / 2) * bitRate / samplingRate + padding * LAYER_III_SLOT_SIZE;
 
             default:
-                throw new RuntimeException("Mp3 Unknown Version:" + version);
-
+                throw new RuntimeException("Mp3 Unknown Layer:" + ((byte2(header) & MASK_MP3_LAYER) >>> 1));
         }
     }
 
     /**
-     * Get the number of samples in a frame, all frames in a file have a set number of samples as defined by their MPEG Versiona
-     * and Layer
-     * @return
+     * @param header a header that {@link #checkHeader(int)} reports as valid
+     * @return the number of samples in the frame with this header
      */
-    public int getNoOfSamples()
+    public static int getNoOfSamples(int header)
     {
-        Integer noOfSamples = samplesPerFrameMap.get(version).get(layer);
-        return noOfSamples;
+        int layer = (byte2(header) & MASK_MP3_LAYER) >>> 1;
+        if (layer == LAYER_III && ((byte2(header) & MASK_MP3_VERSION) >>> 3) != VERSION_1)
+        {
+            return SAMPLES_PER_FRAME[layer] / 2;
+        }
+        return SAMPLES_PER_FRAME[layer];
     }
 
+    /**
+     * @param header a header that {@link #checkHeader(int)} reports as valid
+     * @return the sampling rate in Hz of the frame with this header
+     */
+    public static int getSamplingRate(int header)
+    {
+        return SAMPLING_RATES[(byte2(header) & MASK_MP3_VERSION) >>> 3][(byte3(header) & MASK_MP3_FREQUENCY) >>> 2];
+    }
 
     public boolean isPadding()
     {
@@ -804,63 +639,50 @@ public class MPEGFrameHeader
 
     public String getEmphasisAsString()
     {
-        return emphasisAsString;
+        return EMPHASIS_NAMES[emphasis];
     }
 
     public String getModeExtension()
     {
-        return modeExtension;
+        return layer == LAYER_III ? MODE_EXTENSION_LAYER_III_NAMES[modeExtension] : MODE_EXTENSION_NAMES[modeExtension];
     }
 
-
     /**
-     * Hide Constructor
-     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
-     */
-    private MPEGFrameHeader() throws InvalidAudioFrameException
-    {
-
-    }
-
-    /**
-     * Try and create a new MPEG frame with the given byte array and decodes its contents
-     * If decoding header causes a problem it is not a valid header
+     * Parse the MPEGFrameHeader of an MP3File, the position of the buffer is not changed
      *
-     * @param b the array of bytes representing this mpeg frame
-     * @throws InvalidAudioFrameException if does not match expected format
+     * @param bb the byte buffer containing the header
+     * @return
+     * @throws InvalidAudioFrameException if there is no header at this point
      */
-    private MPEGFrameHeader(byte[] b) throws InvalidAudioFrameException
+    public static MPEGFrameHeader parseMPEGHeader(ByteBuffer bb) throws InvalidAudioFrameException
     {
-        mpegBytes = b;
-        setBitrate();
-        setVersion();
-        setLayer();
-        setProtected();
-        setSamplingRate();
-        setPadding();
-        setPrivate();
-        setChannelMode();
-        setModeExtension();
-        setCopyrighted();
-        setOriginal();
-        setEmphasis();
+        int header = readHeader(bb);
+        int result = checkFields(header);
+        if (result != HEADER_VALID)
+        {
+            throw new InvalidAudioFrameException(getErrorMessage(result));
+        }
+        return new MPEGFrameHeader(header);
     }
 
     /**
-     * Parse the MPEGFrameHeader of an MP3File, file pointer returns at end of the frame header
+     * Parse the MPEGFrameHeader at the current position of the buffer if it is valid, the position of the buffer is
+     * not changed.
+     *
+     * Use this rather than {@link #parseMPEGHeader(ByteBuffer)} when searching for a header because most candidates
+     * are not valid, and nothing is allocated for them.
      *
      * @param bb the byte buffer containing the header
-     * @return
-     * @throws InvalidAudioFrameException if there is no header at this point
+     * @return the header, or null if {@link #checkHeader(int)} does not return {@link #HEADER_VALID}
      */
-    public static MPEGFrameHeader parseMPEGHeader(ByteBuffer bb) throws InvalidAudioFrameException
+    public static MPEGFrameHeader tryParseMPEGHeader(ByteBuffer bb)
     {
-        int position = bb.position();
-        bb.get(header, 0, HEADER_SIZE);
-        bb.position(position);
-        MPEGFrameHeader frameHeader = new MPEGFrameHeader(header);
-
-        return frameHeader;
+        int header = readHeader(bb);
+        if (checkHeader(header) != HEADER_VALID)
+        {
+            return null;
+        }
+        return new MPEGFrameHeader(header);
     }
 
     /**
@@ -884,9 +706,9 @@ public class MPEGFrameHeader
     {
         return "MPEG Frame Header:\n"
                 + "\tframe length:" + getFrameLength() +"\n"
-                + "\tversion:" + versionAsString  +"\n"
-                + "\tlayer:" + layerAsString  +"\n"
-                + "\tchannelMode:" + channelModeAsString +"\n"
+                + "\tversion:" + getVersionAsString()  +"\n"
+                + "\tlayer:" + getLayerAsString()  +"\n"
+                + "\tchannelMode:" + getChannelModeAsString() +"\n"
                 + "\tnoOfSamples:" + getNoOfSamples() +"\n"
                 + "\tsamplingRate:" + samplingRate  +"\n"
                 + "\tisPadding:" + isPadding  +"\n"
@@ -896,10 +718,9 @@ public class MPEGFrameHeader
                 + "\tisOriginal:" + isCopyrighted +"\n"
                 + "\tisVariableBitRate" + this.isVariableBitRate() +"\n"
                 + "\theader as binary:" +"\n"
-                + "\t" + AbstractTagDisplayFormatter.displayAsBinary(mpegBytes[BYTE_1]) + " "
-                + "\t" + AbstractTagDisplayFormatter.displayAsBinary(mpegBytes[BYTE_2]) + " "
-                + "\t" + AbstractTagDisplayFormatter.displayAsBinary(mpegBytes[BYTE_3]) + " "
-                + "\t" + AbstractTagDisplayFormatter.displayAsBinary(mpegBytes[BYTE_4]) +"\n";
+                + "\t" + AbstractTagDisplayFormatter.displayAsBinary((byte) (mpegHeader >>> 24)) + " "
+                + "\t" + AbstractTagDisplayFormatter.displayAsBinary((byte) byte2(mpegHeader)) + " "
+                + "\t" + AbstractTagDisplayFormatter.displayAsBinary((byte) byte3(mpegHeader)) + " "
+                + "\t" + AbstractTagDisplayFormatter.displayAsBinary((byte) byte4(mpegHeader)) +"\n";
     }
 }
-
@@ -0,0 +1,72 @@
+package org.jaudiotagger.audio.mp3;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Finds candidate MPEG frame sync positions in a buffer.
+ *
+ * Audio data and most junk preceding it rarely contain 0xFF, so the buffer is read eight bytes at a time and a word
+ * is only examined byte by byte if it contains a 0xFF byte. The test for a 0xFF byte does not depend on the byte
+ * order of the buffer.
+ */
+public class MPEGSyncScanner
+{
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    /**
+     * Find the first position that matches {@link MPEGFrameHeader#isMPEGFrame(ByteBuffer)}
+     *
+     * @param bb   the buffer, its position and limit are not changed
+     * @param from first position to check
+     * @param to   position after the last position to check, must be at least three before the limit so the
+     *             candidate can be checked
+     * @return the position of the candidate or -1 if there is none
+     */
+    public static int findSync(ByteBuffer bb, int from, int to)
+    {
+        int i = from;
+        while (i + Long.SIZE / Byte.SIZE <= to)
+        {
+            if (hasFFByte(bb.getLong(i)))
+            {
+                int end = i + Long.SIZE / Byte.SIZE;
+                for (; i < end; i++)
+                {
+                    if (isSync(bb, i))
+                    {
+                        return i;
+                    }
+                }
+            }
+            else
+            {
+                i += Long.SIZE / Byte.SIZE;
+            }
+        }
+        for (; i < to; i++)
+        {
+            if (isSync(bb, i))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A byte of the inverted word is zero only if that byte of the word is 0xFF
+     */
+    private static boolean hasFFByte(long word)
+    {
+        long inverted = ~word;
+        return ((inverted - ONES) & ~inverted & HIGHS) != 0;
+    }
+
+    private static boolean isSync(ByteBuffer bb, int i)
+    {
+        return bb.get(i) == (byte) MPEGFrameHeader.SYNC_BYTE1
+                && (bb.get(i + 1) & MPEGFrameHeader.SYNC_BYTE2) == MPEGFrameHeader.SYNC_BYTE2
+                && (bb.get(i + 2) & MPEGFrameHeader.SYNC_BIT_ANDSAMPING_BYTE3) != MPEGFrameHeader.SYNC_BIT_ANDSAMPING_BYTE3;
+    }
+}
@@ -0,0 +1,20 @@
+package org.jaudiotagger.audio.mp3;
+
+/**
+ * Finds the position in an MP3 file to start reading audio from in order to play from a given time
+ *
+ * @see MP3AudioHeader#getSeekTable()
+ */
+public interface SeekTable
+{
+    /**
+     * @param seconds time from the start of the audio
+     * @return the offset in the file to read from, at or before the frame containing the sample at this time
+     */
+    long getOffsetForTime(double seconds);
+
+    /**
+     * @return Track Length in seconds
+     */
+    double getPreciseTrackLength();
+}
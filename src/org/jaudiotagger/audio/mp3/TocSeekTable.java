@@ -0,0 +1,68 @@
+package org.jaudiotagger.audio.mp3;
+
+import java.util.Arrays;
+
+/**
+ * Seek table made from a list of points in the audio with their offset in the file, such as the table of contents
+ * of a Xing or VBRI header. Offsets between the points are estimated assuming a constant bitrate between them.
+ */
+public class TocSeekTable implements SeekTable
+{
+    private final double[] times;
+    private final long[] offsets;
+
+    /**
+     * @param times   time of each point in seconds, in increasing order, the first is usually zero and the last the
+     *                length of the track
+     * @param offsets offset of each point in the file
+     */
+    public TocSeekTable(double[] times, long[] offsets)
+    {
+        if (times.length != offsets.length || times.length < 2)
+        {
+            throw new IllegalArgumentException("Seek table needs at least two points, times:" + times.length + " offsets:" + offsets.length);
+        }
+        this.times = times;
+        this.offsets = offsets;
+    }
+
+    @Override
+    public long getOffsetForTime(double seconds)
+    {
+        int last = times.length - 1;
+        if (seconds <= times[0])
+        {
+            return offsets[0];
+        }
+        if (seconds >= times[last])
+        {
+            return offsets[last];
+        }
+
+        int index = Arrays.binarySearch(times, seconds);
+        if (index >= 0)
+        {
+            return offsets[index];
+        }
+
+        //Interpolate between the points either side
+        int after = -index - 1;
+        int before = after - 1;
+        double fraction = (seconds - times[before]) / (times[after] - times[before]);
+        return offsets[before] + (long) (fraction * (offsets[after] - offsets[before]));
+    }
+
+    @Override
+    public double getPreciseTrackLength()
+    {
+        return times[times.length - 1];
+    }
+
+    /**
+     * @return number of points in the table
+     */
+    public int getNoOfPoints()
+    {
+        return times.length;
+    }
+}
@@ -45,6 +45,8 @@ public class VbriFrame
     private static final int VBRI_AUDIOSIZE_BUFFER_SIZE = 4;
     private static final int VBRI_FRAMECOUNT_BUFFER_SIZE = 4;
     private static final int VBRI_TOC_ENTRY_BUFFER_SIZE = 2;
+    private static final int VBRI_TOC_HEADER_BUFFER_SIZE = 8;
+    private static final int VBRI_MAX_TOC_ENTRY_SIZE = 4;
 
     public static final int MAX_BUFFER_SIZE_NEEDED_TO_READ_VBRI = VBRI_OFFSET + VBRI_HEADER_BUFFER_SIZE;
 
@@ -63,6 +65,8 @@ public class VbriFrame
     private boolean vbr = false;
     private int frameCount = -1;
     private int audioSize = -1;
+    private int framesPerTocEntry = -1;
+    private long[] tocEntries;
     private LameFrame lameFrame;
 
     /**
@@ -76,6 +80,7 @@ public class VbriFrame
         header.position(10);
         setAudioSize();
         setFrameCount();
+        setToc();
     }
 
     /**
@@ -100,6 +105,36 @@ public class VbriFrame
         frameCount = (frameCountBuffer[BYTE_1] << 24) & 0xFF000000 | (frameCountBuffer[BYTE_2] << 16) & 0x00FF0000 | (frameCountBuffer[BYTE_3] << 8) & 0x0000FF00 | frameCountBuffer[BYTE_4] & 0x000000FF;
     }
 
+    /**
+     * Set the table of contents, only read if the header was read far enough to hold all of it
+     */
+    private void setToc()
+    {
+        if (header.remaining() < VBRI_TOC_HEADER_BUFFER_SIZE)
+        {
+            return;
+        }
+        int noOfEntries = header.getShort() & 0xFFFF;
+        int scale = header.getShort() & 0xFFFF;
+        int entrySize = header.getShort() & 0xFFFF;
+        int framesPerEntry = header.getShort() & 0xFFFF;
+        if (entrySize < 1 || entrySize > VBRI_MAX_TOC_ENTRY_SIZE || framesPerEntry == 0 || header.remaining() < noOfEntries * entrySize)
+        {
+            return;
+        }
+
+        tocEntries = new long[noOfEntries];
+        for (int i = 0; i < noOfEntries; i++)
+        {
+            long entry = 0;
+            for (int j = 0; j < entrySize; j++)
+            {
+                entry = (entry << 8) | (header.get() & 0xFF);
+            }
+            tocEntries[i] = entry * scale;
+        }
+        framesPerTocEntry = framesPerEntry;
+    }
 
     /**
      * @return count of frames
@@ -117,6 +152,33 @@ public class VbriFrame
         return audioSize;
     }
 
+    /**
+     * @return true if the table of contents was read
+     */
+    public final boolean isTocEnabled()
+    {
+        return tocEntries != null;
+    }
+
+    /**
+     * Entry i is the size in bytes of the audio covered by entry i, which starts {@link #getFramesPerTocEntry()}
+     * frames after the start of the previous entry
+     *
+     * @return sizes of each part of the audio, already multiplied by the scale factor, or null if not read
+     */
+    public final long[] getTocEntries()
+    {
+        return tocEntries;
+    }
+
+    /**
+     * @return count of frames covered by each table of contents entry
+     */
+    public final int getFramesPerTocEntry()
+    {
+        return framesPerTocEntry;
+    }
+
     /**
      * Parse the VBRIFrame of an MP3File, cannot be called until we have validated that
      * this is a VBRIFrame
@@ -188,6 +250,7 @@ public class VbriFrame
                 + "\tvbr:" + vbr +"\n"
                 + "\tframeCount:" + frameCount+"\n"
                 + "\taudioFileSize:" + audioSize +"\n"
+                + "\ttocEnabled:" + isTocEnabled() +"\n"
                 + "\tencoder:" + getEncoder()+"\n" ;
     }
 }
@@ -37,6 +37,14 @@ public class XingFrame
     private static final int XING_FLAG_BUFFER_SIZE = 4;
     private static final int XING_FRAMECOUNT_BUFFER_SIZE = 4;
     private static final int XING_AUDIOSIZE_BUFFER_SIZE = 4;
+    private static final int XING_TOC_BUFFER_SIZE = 100;
+
+    /**
+     * Flags, in the fourth byte, for the optional fields we write
+     */
+    private static final int XING_FLAG_FRAMECOUNT = 1;
+    private static final int XING_FLAG_AUDIOSIZE = 1 << 1;
+    private static final int XING_FLAG_TOC = 1 << 2;
 
     public static final int MAX_BUFFER_SIZE_NEEDED_TO_READ_XING = MPEG_VERSION_1_MODE_STEREO_OFFSET + XING_HEADER_BUFFER_SIZE + LameFrame.LAME_HEADER_BUFFER_SIZE;
 
@@ -64,6 +72,7 @@ public class XingFrame
     private int frameCount = -1;
     private boolean isAudioSizeEnabled = false;
     private int audioSize = -1;
+    private int[] toc;
     private LameFrame lameFrame;
 
     /**
@@ -95,7 +104,12 @@ public class XingFrame
             setAudioSize();
         }
 
-        //TODO TOC
+        //Read TOC if flag set
+        if ((flagBuffer[BYTE_4] & (byte) (1 << 2)) != 0 && header.remaining() >= XING_TOC_BUFFER_SIZE)
+        {
+            setToc();
+        }
+
         //TODO VBR Quality
 
         //Look for LAME Header as long as we have enough bytes to do it properly
@@ -180,6 +194,39 @@ public class XingFrame
         return audioSize;
     }
 
+    /**
+     * Set table of contents
+     */
+    private void setToc()
+    {
+        byte tocBuffer[] = new byte[XING_TOC_BUFFER_SIZE];
+        header.get(tocBuffer);
+        toc = new int[XING_TOC_BUFFER_SIZE];
+        for (int i = 0; i < XING_TOC_BUFFER_SIZE; i++)
+        {
+            toc[i] = tocBuffer[i] & 0xFF;
+        }
+    }
+
+    /**
+     * @return true if the table of contents has been specified in header
+     */
+    public final boolean isTocEnabled()
+    {
+        return toc != null;
+    }
+
+    /**
+     * The table of contents has 100 entries, entry i is the position in the audio at i percent of the track length as
+     * a fraction of the audio size scaled to 256
+     *
+     * @return the table of contents, or null if not specified
+     */
+    public final int[] getToc()
+    {
+        return toc;
+    }
+
     /**
      * Parse the XingFrame of an MP3File, cannot be called until we have validated that
      * this is a XingFrame
@@ -206,29 +253,7 @@ public class XingFrame
         int startPosition = bb.position();
 
         //Get to Start of where Xing Frame Should be ( we dont know if it is one at this point)
-        if (mpegFrameHeader.getVersion() == MPEGFrameHeader.VERSION_1)
-        {
-            if (mpegFrameHeader.getChannelMode() == MPEGFrameHeader.MODE_MONO)
-            {
-                bb.position(startPosition + MPEG_VERSION_1_MODE_MONO_OFFSET);
-            }
-            else
-            {
-                bb.position(startPosition + MPEG_VERSION_1_MODE_STEREO_OFFSET);
-            }
-        }
-        //MPEGVersion 2 and 2.5
-        else
-        {
-            if (mpegFrameHeader.getChannelMode() == MPEGFrameHeader.MODE_MONO)
-            {
-                bb.position(startPosition + MPEG_VERSION_2_MODE_MONO_OFFSET);
-            }
-            else
-            {
-                bb.position(startPosition + MPEG_VERSION_2_MODE_STEREO_OFFSET);
-            }
-        }
+        bb.position(startPosition + getXingOffset(mpegFrameHeader));
 
         //Create header from here
         ByteBuffer header = bb.slice();
@@ -247,6 +272,81 @@ public class XingFrame
         return header;
     }
 
+    /**
+     * The Xing header follows the side information, which is a different size for mono
+     *
+     * @param mpegFrameHeader
+     * @return offset of the Xing header from the start of the frame
+     */
+    private static int getXingOffset(MPEGFrameHeader mpegFrameHeader)
+    {
+        if (mpegFrameHeader.getVersion() == MPEGFrameHeader.VERSION_1)
+        {
+            if (mpegFrameHeader.getChannelMode() == MPEGFrameHeader.MODE_MONO)
+            {
+                return MPEG_VERSION_1_MODE_MONO_OFFSET;
+            }
+            return MPEG_VERSION_1_MODE_STEREO_OFFSET;
+        }
+        //MPEGVersion 2 and 2.5
+        if (mpegFrameHeader.getChannelMode() == MPEGFrameHeader.MODE_MONO)
+        {
+            return MPEG_VERSION_2_MODE_MONO_OFFSET;
+        }
+        return MPEG_VERSION_2_MODE_STEREO_OFFSET;
+    }
+
+    /**
+     * Header for a frame to hold a Xing header, with the smallest bitrate that leaves room for the Xing header
+     *
+     * @param audioHeader header of the first audio frame, the new frame has the same version, layer, sampling rate
+     *                    and channel mode
+     * @return the header, or -1 if no bitrate gives a large enough frame
+     */
+    static int createXingFrameHeader(MPEGFrameHeader audioHeader)
+    {
+        //No CRC, padding or mode extension
+        int base = (audioHeader.getHeader() & 0xFFFF0FCF & ~0x200) | 0x10000;
+        int required = getXingOffset(audioHeader) + XING_HEADER_BUFFER_SIZE;
+        for (int bitrateIndex = 1; bitrateIndex < 15; bitrateIndex++)
+        {
+            int header = base | (bitrateIndex << 12);
+            if (MPEGFrameHeader.checkHeader(header) == MPEGFrameHeader.HEADER_VALID && MPEGFrameHeader.getFrameLength(header) >= required)
+            {
+                return header;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Create a frame holding a Xing header with a table of contents, the audio part of the frame is silent
+     *
+     * @param frameHeader as returned by {@link #createXingFrameHeader(MPEGFrameHeader)}
+     * @param audioHeader header of the first audio frame
+     * @param vbr         true for a Xing header, false for an Info header
+     * @param frameCount  number of audio frames, not including this frame
+     * @param audioSize   size of the audio in bytes, including this frame
+     * @param toc         the 100 entry table of contents, see {@link #getToc()}
+     * @return the frame
+     */
+    static ByteBuffer createXingFrame(int frameHeader, MPEGFrameHeader audioHeader, boolean vbr, int frameCount, int audioSize, int[] toc)
+    {
+        ByteBuffer frame = ByteBuffer.allocate(MPEGFrameHeader.getFrameLength(frameHeader));
+        frame.putInt(frameHeader);
+        frame.position(getXingOffset(audioHeader));
+        frame.put(vbr ? XING_VBR_ID : XING_CBR_ID);
+        frame.putInt(XING_FLAG_FRAMECOUNT | XING_FLAG_AUDIOSIZE | XING_FLAG_TOC);
+        frame.putInt(frameCount);
+        frame.putInt(audioSize);
+        for (int next : toc)
+        {
+            frame.put((byte) next);
+        }
+        frame.rewind();
+        return frame;
+    }
+
     /**
      * Is this XingFrame detailing a variable bit rate MPEG
      *
@@ -267,6 +367,7 @@ public class XingFrame
                 + "\tframeCountEnabled:" + isFrameCountEnabled+"\n"
                 + "\tframeCount:" + frameCount +"\n"
                 + "\taudioSizeEnabled:" + isAudioSizeEnabled+"\n"
-                + "\taudioFileSize:" + audioSize+"\n";
+                + "\taudioFileSize:" + audioSize+"\n"
+                + "\ttocEnabled:" + isTocEnabled()+"\n";
     }
 }
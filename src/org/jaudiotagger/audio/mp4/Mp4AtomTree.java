@@ -2,6 +2,7 @@ package org.jaudiotagger.audio.mp4;
 
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.NullBoxIdException;
+import org.jaudiotagger.audio.generic.ByteBufferChannel;
 import org.jaudiotagger.audio.mp4.atom.Mp4BoxHeader;
 import org.jaudiotagger.audio.mp4.atom.Mp4MetaBox;
 import org.jaudiotagger.audio.mp4.atom.Mp4StcoBox;
@@ -14,7 +15,7 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
@@ -84,6 +85,18 @@ public class Mp4AtomTree
         buildTree(raf, closeOnExit);
     }
 
+    /**
+     * Create Atom Tree from a channel, the channel is not closed
+     *
+     * @param fc
+     * @throws IOException
+     * @throws CannotReadException
+     */
+    public Mp4AtomTree(SeekableByteChannel fc) throws IOException, CannotReadException
+    {
+        buildTree(fc, false);
+    }
+
     /**
      * Build a tree of the atoms in the file
      *
@@ -95,11 +108,22 @@ public class Mp4AtomTree
      */
     public DefaultTreeModel buildTree(RandomAccessFile raf, boolean closeExit) throws IOException, CannotReadException
     {
-        FileChannel fc = null;
+        return buildTree(raf.getChannel(), closeExit);
+    }
+
+    /**
+     * Build a tree of the atoms in the channel
+     *
+     * @param fc
+     * @param closeExit false to keep channel open, only used when channel already being used
+     * @return
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException
+     */
+    public DefaultTreeModel buildTree(SeekableByteChannel fc, boolean closeExit) throws IOException, CannotReadException
+    {
         try
         {
-            fc = raf.getChannel();
-
             //make sure at start of file
             fc.position(0);
 
@@ -155,16 +179,21 @@ public class Mp4AtomTree
                     moovHeader  = boxHeader;
 
                     long filePosStart = fc.position();
-                    moovBuffer = ByteBuffer.allocate(boxHeader.getDataLength());
-                    int bytesRead = fc.read(moovBuffer);
-
-                    //If Moov atom is incomplete we are not going to be able to read this file properly
-                    if(bytesRead < boxHeader.getDataLength())
+                    //Use the data directly if the file is memory mapped
+                    moovBuffer = fc instanceof ByteBufferChannel ? ((ByteBufferChannel) fc).readSlice(boxHeader.getDataLength()) : null;
+                    if (moovBuffer == null)
                     {
-                        String msg = ErrorMessage.ATOM_LENGTH_LARGER_THAN_DATA.getMsg(boxHeader.getId(), boxHeader.getDataLength(),bytesRead);
-                        throw new CannotReadException(msg);
+                        moovBuffer = ByteBuffer.allocate(boxHeader.getDataLength());
+                        int bytesRead = fc.read(moovBuffer);
+
+                        //If Moov atom is incomplete we are not going to be able to read this file properly
+                        if(bytesRead < boxHeader.getDataLength())
+                        {
+                            String msg = ErrorMessage.ATOM_LENGTH_LARGER_THAN_DATA.getMsg(boxHeader.getId(), boxHeader.getDataLength(),bytesRead);
+                            throw new CannotReadException(msg);
+                        }
+                        moovBuffer.rewind();
                     }
-                    moovBuffer.rewind();
                     buildChildrenOfNode(moovBuffer, newAtom);
                     fc.position(filePosStart);
                 }
@@ -22,9 +22,11 @@ import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagVisitor;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Mp4 File Reader
@@ -45,4 +47,22 @@ public class Mp4FileReader extends AudioFileReader
     {
         return tr.read(raf);
     }
+
+    @Override
+    protected GenericAudioHeader getEncodingInfo(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        return ir.read(fc);
+    }
+
+    @Override
+    protected Tag getTag(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        return tr.read(fc);
+    }
+
+    @Override
+    protected void visitTag(SeekableByteChannel fc, String loggingName, TagVisitor visitor) throws CannotReadException, IOException
+    {
+        tr.visit(fc, visitor);
+    }
 }
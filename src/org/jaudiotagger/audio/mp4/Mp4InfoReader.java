@@ -28,8 +28,7 @@ import org.jaudiotagger.logging.ErrorMessage;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.util.logging.Logger;
 
 /**
@@ -89,7 +88,11 @@ public class Mp4InfoReader
 
     public GenericAudioHeader read(RandomAccessFile raf) throws CannotReadException, IOException
     {
-        FileChannel fc = raf.getChannel();
+        return read(raf.getChannel());
+    }
+
+    public GenericAudioHeader read(SeekableByteChannel fc) throws CannotReadException, IOException
+    {
         Mp4AudioHeader info = new Mp4AudioHeader();
 
         //File Identification
@@ -98,9 +101,7 @@ public class Mp4InfoReader
         {
             throw new CannotReadException(ErrorMessage.MP4_FILE_NOT_CONTAINER.getMsg());
         }
-        ByteBuffer ftypBuffer = ByteBuffer.allocate(ftypHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH);
-        fc.read(ftypBuffer);
-        ftypBuffer.rewind();
+        ByteBuffer ftypBuffer = Utils.readFileDataIntoBuffer(fc, ftypHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH);
         Mp4FtypBox ftyp = new Mp4FtypBox(ftypHeader, ftypBuffer);
         ftyp.processData();
         info.setBrand(ftyp.getMajorBrand());
@@ -112,10 +113,7 @@ public class Mp4InfoReader
         {
             throw new CannotReadException(ErrorMessage.MP4_FILE_NOT_AUDIO.getMsg());
         }
-        ByteBuffer moovBuffer = ByteBuffer.allocate(moovHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH);
-        moovBuffer.order(ByteOrder.LITTLE_ENDIAN);
-        fc.read(moovBuffer);
-        moovBuffer.rewind();
+        ByteBuffer moovBuffer = Utils.readFileDataIntoBufferLE(fc, moovHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH);
 
         //Level 2-Searching for "mvhd" somewhere within "moov", we make a slice after finding header
         //so all get() methods will be relative to mvdh positions
@@ -353,7 +351,7 @@ public class Mp4InfoReader
         info.setFormat(info.getEncodingType());
 
         //Build AtomTree to ensure it is valid, this means we can detect any problems early on
-        new Mp4AtomTree(raf,false);
+        new Mp4AtomTree(fc);
         return info;
     }
 
@@ -23,19 +23,26 @@ import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.mp4.atom.Mp4BoxHeader;
 import org.jaudiotagger.audio.mp4.atom.Mp4MetaBox;
 import org.jaudiotagger.logging.ErrorMessage;
+import org.jaudiotagger.tag.FieldKey;
 import org.jaudiotagger.tag.TagField;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagVisitor;
 import org.jaudiotagger.tag.mp4.Mp4FieldKey;
 import org.jaudiotagger.tag.mp4.Mp4NonStandardFieldKey;
 import org.jaudiotagger.tag.mp4.Mp4Tag;
 import org.jaudiotagger.tag.mp4.atom.Mp4DataBox;
+import org.jaudiotagger.tag.mp4.atom.Mp4MeanBox;
+import org.jaudiotagger.tag.mp4.atom.Mp4NameBox;
 import org.jaudiotagger.tag.mp4.field.*;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Set;
 import java.util.logging.Logger;
 
 /**
@@ -85,8 +92,14 @@ public class Mp4TagReader
      */
     public Mp4Tag read(RandomAccessFile raf) throws CannotReadException, IOException
     {
-        FileChannel fc = raf.getChannel();
+        return read(raf.getChannel());
+    }
+
+    public Mp4Tag read(SeekableByteChannel fc) throws CannotReadException, IOException
+    {
         Mp4Tag tag = new Mp4Tag();
+        Set<FieldKey> readFieldKeys = TagOptionSingleton.getInstance().getReadFieldKeys();
+        Set<String> readFieldIds = readFieldKeys != null ? Mp4Tag.getFieldIds(readFieldKeys) : null;
 
         //Get to the facts everything we are interested in is within the moov box, so just load data from file
         //once so no more file I/O needed
@@ -95,10 +108,52 @@ public class Mp4TagReader
         {
             throw new CannotReadException(ErrorMessage.MP4_FILE_NOT_CONTAINER.getMsg());
         }
-        ByteBuffer moovBuffer = ByteBuffer.allocate(moovHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH);
-        raf.getChannel().read(moovBuffer);
-        moovBuffer.rewind();
+        ByteBuffer moovBuffer = Utils.readFileDataIntoBuffer(fc, moovHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH);
+
+        Mp4BoxHeader boxHeader = seekMetadata(moovBuffer);
+        if (boxHeader == null)
+        {
+            return tag;
+        }
+
+        //Size of metadata (exclude the size of the ilst parentHeader), take a slice starting at
+        //metadata children to make things safer
+        int length = boxHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH;
+        ByteBuffer metadataBuffer = moovBuffer.slice();
+        //Datalength is longer are there boxes after ilst at this level?
+        logger.config("headerlengthsays:" + length + "datalength:" + metadataBuffer.limit());
+        int read = 0;
+        logger.config("Started to read metadata fields at position is in metadata buffer:" + metadataBuffer.position());
+        while (read < length)
+        {
+            //Read the boxHeader
+            boxHeader.update(metadataBuffer);
+
+            //Create the corresponding datafield from the id, and slice the buffer so position of main buffer
+            //wont get affected
+            logger.config("Next position is at:" + metadataBuffer.position());
+            if (readFieldIds == null || readFieldIds.contains(boxHeader.getId()) || boxHeader.getId().equals(Mp4TagReverseDnsField.IDENTIFIER))
+            {
+                createMp4Field(tag, boxHeader, metadataBuffer.slice(), readFieldIds);
+            }
+
+            //Move position in buffer to the start of the next parentHeader
+            metadataBuffer.position(metadataBuffer.position() + boxHeader.getDataLength());
+            read += boxHeader.getLength();
+        }
+        return tag;
+    }
 
+    /**
+     * Find the ilst atom within the moov data, positioning the buffer at the start of its children
+     *
+     * @param moovBuffer
+     * @return the ilst header, or null if there is no metadata
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    private Mp4BoxHeader seekMetadata(ByteBuffer moovBuffer) throws CannotReadException, IOException
+    {
         //Level 2-Searching for "udta" within "moov"
         Mp4BoxHeader boxHeader = Mp4BoxHeader.seekWithinLevel(moovBuffer, Mp4AtomIdentifier.UDTA.getFieldName());
         if (boxHeader != null)
@@ -108,7 +163,7 @@ public class Mp4TagReader
             if (boxHeader == null)
             {
                 logger.warning(ErrorMessage.MP4_FILE_HAS_NO_METADATA.getMsg());
-                return tag;
+                return null;
             }
             Mp4MetaBox meta = new Mp4MetaBox(boxHeader, moovBuffer);
             meta.processData();
@@ -119,7 +174,7 @@ public class Mp4TagReader
             if (boxHeader == null)
             {
                 logger.warning(ErrorMessage.MP4_FILE_HAS_NO_METADATA.getMsg());
-                return tag;
+                return null;
             }
         }
         else
@@ -129,7 +184,7 @@ public class Mp4TagReader
             if (boxHeader == null)
             {
                 logger.warning(ErrorMessage.MP4_FILE_HAS_NO_METADATA.getMsg());
-                return tag;
+                return null;
             }
             Mp4MetaBox meta = new Mp4MetaBox(boxHeader, moovBuffer);
             meta.processData();
@@ -141,33 +196,163 @@ public class Mp4TagReader
             if (boxHeader == null)
             {
                 logger.warning(ErrorMessage.MP4_FILE_HAS_NO_METADATA.getMsg());
-                return tag;
+                return null;
             }
         }
+        return boxHeader;
+    }
+
+    /**
+     * Pass the metadata fields to the visitor without creating a tag, artwork and any other field that is not text
+     * or a number is reported as binary with its position in the file
+     *
+     * @param fc
+     * @param visitor
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public void visit(SeekableByteChannel fc, TagVisitor visitor) throws CannotReadException, IOException
+    {
+        Mp4BoxHeader moovHeader = Mp4BoxHeader.seekWithinLevel(fc, Mp4AtomIdentifier.MOOV.getFieldName());
+        if (moovHeader == null)
+        {
+            throw new CannotReadException(ErrorMessage.MP4_FILE_NOT_CONTAINER.getMsg());
+        }
+        long moovDataStart = fc.position();
+        ByteBuffer moovBuffer = Utils.readFileDataIntoBuffer(fc, moovHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH);
+        Mp4BoxHeader boxHeader = seekMetadata(moovBuffer);
+        if (boxHeader == null)
+        {
+            return;
+        }
 
-        //Size of metadata (exclude the size of the ilst parentHeader), take a slice starting at
-        //metadata children to make things safer
         int length = boxHeader.getLength() - Mp4BoxHeader.HEADER_LENGTH;
+        long metadataStart = moovDataStart + moovBuffer.position();
         ByteBuffer metadataBuffer = moovBuffer.slice();
-        //Datalength is longer are there boxes after ilst at this level?
-        logger.config("headerlengthsays:" + length + "datalength:" + metadataBuffer.limit());
         int read = 0;
-        logger.config("Started to read metadata fields at position is in metadata buffer:" + metadataBuffer.position());
         while (read < length)
         {
-            //Read the boxHeader
-            boxHeader.update(metadataBuffer);
-
-            //Create the corresponding datafield from the id, and slice the buffer so position of main buffer
-            //wont get affected
-            logger.config("Next position is at:" + metadataBuffer.position());
-            createMp4Field(tag, boxHeader, metadataBuffer.slice());
+            try
+            {
+                boxHeader.update(metadataBuffer);
+            }
+            catch (RuntimeException re)
+            {
+                logger.warning(ErrorMessage.MP4_UNABLE_TO_FIND_NEXT_ATOM_BECAUSE_IDENTIFIER_IS_INVALID.getMsg(re.getMessage()));
+                break;
+            }
+            int dataStart = metadataBuffer.position();
+            if (boxHeader.getDataLength() > metadataBuffer.remaining())
+            {
+                break;
+            }
+            ByteBuffer data = metadataBuffer.duplicate();
+            data.limit(dataStart + boxHeader.getDataLength());
+            visitMp4Field(boxHeader.getId(), data.slice(), metadataStart + dataStart, visitor);
 
-            //Move position in buffer to the start of the next parentHeader
-            metadataBuffer.position(metadataBuffer.position() + boxHeader.getDataLength());
+            metadataBuffer.position(dataStart + boxHeader.getDataLength());
             read += boxHeader.getLength();
         }
-        return tag;
+    }
+
+    /**
+     * Report the data atoms of one metadata field
+     *
+     * @param id
+     * @param raw the children of the field atom
+     * @param offset position of the children in the file
+     * @param visitor
+     */
+    private void visitMp4Field(String id, ByteBuffer raw, long offset, TagVisitor visitor)
+    {
+        String fieldId = id;
+        String issuer = "";
+        Mp4BoxHeader header = new Mp4BoxHeader();
+        while (raw.remaining() >= Mp4BoxHeader.HEADER_LENGTH)
+        {
+            try
+            {
+                header.update(raw);
+            }
+            catch (RuntimeException re)
+            {
+                logger.warning(ErrorMessage.MP4_UNABLE_TO_FIND_NEXT_ATOM_BECAUSE_IDENTIFIER_IS_INVALID.getMsg(re.getMessage()));
+                return;
+            }
+            int dataStart = raw.position();
+            int dataLength = header.getDataLength();
+            if (dataLength > raw.remaining())
+            {
+                return;
+            }
+
+            //Mean and name hold a version and flags before their text
+            if (header.getId().equals(Mp4MeanBox.IDENTIFIER))
+            {
+                issuer = getText(raw, dataStart + 4, dataLength - 4, StandardCharsets.UTF_8).toString();
+            }
+            else if (header.getId().equals(Mp4NameBox.IDENTIFIER))
+            {
+                fieldId = id + ":" + issuer + ":" + getText(raw, dataStart + 4, dataLength - 4, StandardCharsets.UTF_8);
+            }
+            else if (header.getId().equals(Mp4DataBox.IDENTIFIER) && dataLength >= Mp4DataBox.PRE_DATA_LENGTH)
+            {
+                visitDataBox(fieldId, raw, dataStart, dataLength, offset, visitor);
+            }
+            raw.position(dataStart + dataLength);
+        }
+    }
+
+    private void visitDataBox(String fieldId, ByteBuffer raw, int dataStart, int dataLength, long offset, TagVisitor visitor)
+    {
+        int type = raw.getInt(dataStart) & 0x00ffffff;
+        int valueStart = dataStart + Mp4DataBox.PRE_DATA_LENGTH;
+        int valueLength = dataLength - Mp4DataBox.PRE_DATA_LENGTH;
+        FieldKey key = Mp4Tag.getFieldKey(fieldId);
+        if (type == Mp4FieldType.TEXT.getFileClassId())
+        {
+            visitor.onField(fieldId, key, getText(raw, valueStart, valueLength, StandardCharsets.UTF_8));
+        }
+        else if (type == Mp4FieldType.TEXT_UTF16BE.getFileClassId())
+        {
+            visitor.onField(fieldId, key, getText(raw, valueStart, valueLength, StandardCharsets.UTF_16BE));
+        }
+        else if ((fieldId.equals(Mp4FieldKey.TRACK.getFieldName()) || fieldId.equals(Mp4FieldKey.DISCNUMBER.getFieldName()))
+                && type == Mp4FieldType.IMPLICIT.getFileClassId() && valueLength >= 6)
+        {
+            //Reserved, number, total
+            boolean track = fieldId.equals(Mp4FieldKey.TRACK.getFieldName());
+            int number = raw.getShort(valueStart + 2) & 0xffff;
+            int total = raw.getShort(valueStart + 4) & 0xffff;
+            visitor.onField(fieldId, track ? FieldKey.TRACK : FieldKey.DISC_NO, String.valueOf(number));
+            if (total > 0)
+            {
+                visitor.onField(fieldId, track ? FieldKey.TRACK_TOTAL : FieldKey.DISC_TOTAL, String.valueOf(total));
+            }
+        }
+        else if ((type == Mp4FieldType.INTEGER.getFileClassId()
+                || (type == Mp4FieldType.IMPLICIT.getFileClassId() && fieldId.equals(Mp4FieldKey.GENRE.getFieldName())))
+                && valueLength > 0 && valueLength <= 8)
+        {
+            long number = raw.get(valueStart);
+            for (int i = 1; i < valueLength; i++)
+            {
+                number = (number << 8) | (raw.get(valueStart + i) & 0xff);
+            }
+            visitor.onField(fieldId, key, String.valueOf(number));
+        }
+        else
+        {
+            visitor.onBinary(fieldId, key, offset + valueStart, valueLength);
+        }
+    }
+
+    private static CharSequence getText(ByteBuffer raw, int start, int length, Charset charset)
+    {
+        ByteBuffer text = raw.duplicate();
+        text.limit(start + length);
+        text.position(start);
+        return charset.decode(text);
     }
 
     /**
@@ -179,10 +364,11 @@ public class Mp4TagReader
      * @param tag
      * @param header
      * @param raw
+     * @param readFieldIds ids of the fields being read, or null if reading all fields
      * @return
      * @throws UnsupportedEncodingException
      */
-    private void createMp4Field(Mp4Tag tag, Mp4BoxHeader header, ByteBuffer raw) throws UnsupportedEncodingException
+    private void createMp4Field(Mp4Tag tag, Mp4BoxHeader header, ByteBuffer raw, Set<String> readFieldIds) throws UnsupportedEncodingException
     {
         //Header with no data #JAUDIOTAGGER-463
          if(header.getDataLength()==0)
@@ -196,13 +382,19 @@ public class Mp4TagReader
             try
             {
                 TagField field = new Mp4TagReverseDnsField(header, raw);
-                tag.addField(field);
+                if (readFieldIds == null || readFieldIds.contains(field.getId()))
+                {
+                    tag.addField(field);
+                }
             }
             catch (Exception e)
             {
                 logger.warning(ErrorMessage.MP4_UNABLE_READ_REVERSE_DNS_FIELD.getMsg(e.getMessage()));
-                TagField field = new Mp4TagRawBinaryField(header, raw);
-                tag.addField(field);
+                if (readFieldIds == null)
+                {
+                    TagField field = new Mp4TagRawBinaryField(header, raw);
+                    tag.addField(field);
+                }
             }
         }
         //Normal Parent with Data atom
@@ -20,12 +20,14 @@ package org.jaudiotagger.audio.mp4;
 
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
+import org.jaudiotagger.audio.generic.PaddingMetrics;
 import org.jaudiotagger.audio.mp4.atom.*;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.mp4.Mp4Tag;
 import org.jaudiotagger.tag.mp4.Mp4TagCreator;
+import org.jaudiotagger.tag.options.PaddingPolicy;
 import org.jaudiotagger.utils.tree.DefaultMutableTreeNode;
 
 import java.io.IOException;
@@ -500,6 +502,7 @@ public class Mp4TagWriter
         if (sizeOfExistingIlstAtom == sizeRequiredByNewIlstAtom)
         {
             writeMetadataSameSize(fileReadChannel, fileWriteChannel, ilstHeader, newIlstData, neroTagsHeader);
+            PaddingMetrics.getInstance().recordInPlace();
         }
         //.. we just need to increase the size of the free atom below the meta atom, and replace the metadata
         //no other changes necessary and total file size remains the same
@@ -517,6 +520,7 @@ public class Mp4TagWriter
                     newIlstData,
                     stcos,
                     sizeOfExistingMetaLevelFreeAtom);
+            PaddingMetrics.getInstance().recordInPlace();
         }
         //Size of metadata has increased, the most complex situation, more atoms affected
         else
@@ -532,6 +536,7 @@ public class Mp4TagWriter
                         sizeOfExistingMetaLevelFreeAtom,
                         newIlstData,
                         additionalSpaceRequiredForMetadata);
+                PaddingMetrics.getInstance().recordInPlace();
             }
             //There is not enough padding in the metadata free atom anyway
             else
@@ -542,7 +547,8 @@ public class Mp4TagWriter
                 writeUpToMoovHeader(fileReadChannel, fileWriteChannel, moovHeader);
                 if (udtaHeader == null)
                 {
-                    writeNoExistingUdtaAtom(fileReadChannel,
+                    writeNoExistingUdtaAtom(tag,
+                                            fileReadChannel,
                                             fileWriteChannel,
                                             newIlstData,
                                             moovHeader,
@@ -560,7 +566,7 @@ public class Mp4TagWriter
                 }
                 else if (metaHeader == null)
                 {
-                    writeNoExistingMetaAtom(
+                    writeNoExistingMetaAtom(tag,
                             udtaHeader,
                             fileReadChannel,
                             fileWriteChannel,
@@ -580,7 +586,8 @@ public class Mp4TagWriter
                 }
                 else
                 {
-                    writeHaveExistingMetadata(udtaHeader,
+                    writeHaveExistingMetadata(tag,
+                            udtaHeader,
                             metaHeader,
                             fileReadChannel,
                             fileWriteChannel,
@@ -884,6 +891,10 @@ public class Mp4TagWriter
      * Use when we need to write metadata and there is no existing {@code udta} atom so we have to create the complete
      * udta/metadata structure.
      *
+     * <p>If {@code mdat} has to be moved anyway a {@code free} atom sized by the {@link PaddingPolicy} is left after
+     * the {@code ilst} atom, as for {@link #writeHaveExistingMetadata}.
+     *
+     * @param tag
      * @param fileWriteChannel
      * @param newIlstData
      * @param moovHeader
@@ -895,7 +906,8 @@ public class Mp4TagWriter
      * @throws IOException
      * @throws CannotWriteException
      */
-    private void writeNoExistingUdtaAtom(FileChannel fileReadChannel,
+    private void writeNoExistingUdtaAtom(Tag tag,
+                                         FileChannel fileReadChannel,
                                          FileChannel fileWriteChannel,
                                          ByteBuffer newIlstData,
                                          Mp4BoxHeader moovHeader,
@@ -920,6 +932,13 @@ public class Mp4TagWriter
         Mp4BoxHeader udtaHeader = new Mp4BoxHeader(Mp4AtomIdentifier.UDTA.getFieldName());
         udtaHeader.setLength(Mp4BoxHeader.HEADER_LENGTH + metaBox.getHeader().getLength());
 
+        int padding = getPaddingIfMdatDataMoved(tag, newIlstData, sizeOfExistingTopLevelFreeAtom, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, udtaHeader.getLength(), moovHeader, mdatHeader);
+        if (padding > 0)
+        {
+            metaBox = Mp4MetaBox.createiTunesStyleMetaBox(hdlrBox.getHeader().getLength() + newIlstData.limit() + padding);
+            udtaHeader.setLength(Mp4BoxHeader.HEADER_LENGTH + metaBox.getHeader().getLength());
+        }
+
         boolean isMdatDataMoved = adjustStcosIfNoSuitableTopLevelAtom(sizeOfExistingTopLevelFreeAtom, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, udtaHeader.getLength(), stcos, moovHeader, mdatHeader);
 
         //Edit the Moov header to length and rewrite to account for new udta atom
@@ -938,6 +957,9 @@ public class Mp4TagWriter
         //Now write ilst data
         fileWriteChannel.write(newIlstData);
 
+        //Then the padding, found as the meta level free atom on the next write
+        writePadding(fileWriteChannel, padding);
+
         //Skip over the read channel existing ilst(if exists) and metadata free atom
         fileReadChannel.position(positionInExistingFileOfWhereNewIlstAtomShouldBeWritten + existingSizeOfIlstData  + sizeOfExistingMetaLevelFreeAtom);
         //Write the remainder of any data in the moov buffer thats comes after existing ilst/metadata level free atoms
@@ -957,10 +979,12 @@ public class Mp4TagWriter
         if (!isMdatDataMoved)
         {
             adjustFreeAtom(fileReadChannel, fileWriteChannel, topLevelFreeSize, additionalMetaSizeThatWontFitWithinMetaAtom);
+            PaddingMetrics.getInstance().recordInPlace();
         }
         else
         {
             logger.config("Writing:Option 9;Top Level Free comes after Mdat or before Metadata or not large enough");
+            PaddingMetrics.getInstance().recordAudioMoved(padding);
         }
         writeDataInChunks(fileReadChannel, fileWriteChannel);
     }
@@ -969,6 +993,10 @@ public class Mp4TagWriter
      * Use when we need to write metadata, we have a {@code udta} atom but there is no existing meta atom so we
      * have to create the complete metadata structure.
      *
+     * <p>If {@code mdat} has to be moved anyway a {@code free} atom sized by the {@link PaddingPolicy} is left after
+     * the {@code ilst} atom, as for {@link #writeHaveExistingMetadata}.
+     *
+     * @param tag
      * @param fileWriteChannel
      * @param newIlstData
      * @param moovHeader
@@ -980,7 +1008,8 @@ public class Mp4TagWriter
      * @throws IOException
      * @throws CannotWriteException
      */
-    private void writeNoExistingMetaAtom(Mp4BoxHeader udtaHeader,
+    private void writeNoExistingMetaAtom(Tag tag,
+                                         Mp4BoxHeader udtaHeader,
                                          FileChannel fileReadChannel,
                                          FileChannel fileWriteChannel,
                                          ByteBuffer newIlstData,
@@ -1017,6 +1046,14 @@ public class Mp4TagWriter
 
         int increaseInSizeOfUdtaAtom = udtaHeader.getDataLength() - existingUdtaDataLength;
 
+        int padding = getPaddingIfMdatDataMoved(tag, newIlstData, sizeOfExistingTopLevelFreeAtom, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, increaseInSizeOfUdtaAtom, moovHeader, mdatHeader);
+        if (padding > 0)
+        {
+            metaBox = Mp4MetaBox.createiTunesStyleMetaBox(hdlrBox.getHeader().getLength() + newIlstDataSize + padding);
+            udtaHeader.setLength(Mp4BoxHeader.HEADER_LENGTH + metaBox.getHeader().getLength() + existingUdtaDataLength);
+            increaseInSizeOfUdtaAtom = udtaHeader.getDataLength() - existingUdtaDataLength;
+        }
+
         boolean isMdatDataMoved = adjustStcosIfNoSuitableTopLevelAtom(sizeOfExistingTopLevelFreeAtom, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, increaseInSizeOfUdtaAtom, stcos, moovHeader, mdatHeader);
 
         //Edit and rewrite the Moov header upto start of Udta
@@ -1046,6 +1083,9 @@ public class Mp4TagWriter
         //Now write ilst data
         fileWriteChannel.write(newIlstData);
 
+        //Then the padding, found as the meta level free atom on the next write
+        writePadding(fileWriteChannel, padding);
+
         //Skip over the read channel existing ilst(if exists) and metadata free atom
         fileReadChannel.position(positionInExistingFileOfWhereNewIlstAtomShouldBeWritten + existingSizeOfIlstData  + sizeOfExistingMetaLevelFreeAtom);
         //Write the remainder of any data in the moov buffer thats comes after existing ilst/metadata level free atoms
@@ -1065,10 +1105,12 @@ public class Mp4TagWriter
         if (!isMdatDataMoved)
         {
             adjustFreeAtom(fileReadChannel, fileWriteChannel, topLevelFreeSize, additionalMetaSizeThatWontFitWithinMetaAtom);
+            PaddingMetrics.getInstance().recordInPlace();
         }
         else
         {
             logger.config("Writing:Option 9;Top Level Free comes after Mdat or before Metadata or not large enough");
+            PaddingMetrics.getInstance().recordAudioMoved(padding);
         }
         writeDataInChunks(fileReadChannel, fileWriteChannel);
     }
@@ -1076,6 +1118,10 @@ public class Mp4TagWriter
     /**
      * We have existing structure but we need more space.
      *
+     * <p>If {@code mdat} has to be moved anyway a {@code free} atom is left after the {@code ilst} atom, sized by the
+     * {@link PaddingPolicy}, so later edits can be written without moving it again.
+     *
+     * @param tag
      * @param udtaHeader
      * @param fileWriteChannel
      * @param positionOfNewIlstAtomRelativeToMoovAtom
@@ -1089,7 +1135,8 @@ public class Mp4TagWriter
      * @throws IOException
      * @throws CannotWriteException
      */
-    private void  writeHaveExistingMetadata(Mp4BoxHeader udtaHeader,
+    private void  writeHaveExistingMetadata(Tag tag,
+                                           Mp4BoxHeader udtaHeader,
                                            Mp4BoxHeader metaHeader,
                                            FileChannel fileReadChannel,
                                            FileChannel fileWriteChannel,
@@ -1110,6 +1157,9 @@ public class Mp4TagWriter
     {
         logger.config("Writing:Option 5.3;udta and meta atom exists");
 
+        int padding = getPaddingIfMdatDataMoved(tag, newIlstData, topLevelFreeSize, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, additionalMetaSizeThatWontFitWithinMetaAtom, moovHeader, mdatHeader);
+        additionalMetaSizeThatWontFitWithinMetaAtom += padding;
+
         boolean isMdatDataMoved = adjustStcosIfNoSuitableTopLevelAtom(topLevelFreeSize, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, additionalMetaSizeThatWontFitWithinMetaAtom, stcos, moovHeader, mdatHeader);
 
         long endOfMoov = moovHeader.getFileEndPos();
@@ -1126,6 +1176,9 @@ public class Mp4TagWriter
         //Now write ilst data
         fileWriteChannel.write(newIlstData);
 
+        //Then the padding, found as the meta level free atom on the next write
+        writePadding(fileWriteChannel, padding);
+
         //Write the remainder of any data in the moov buffer thats comes after existing ilst/metadata level free atoms
         //but we replace any neroTags atoms with free atoms as these cause problems
         if (neroTagsHeader != null)
@@ -1148,10 +1201,12 @@ public class Mp4TagWriter
         if (!isMdatDataMoved)
         {
             adjustFreeAtom(fileReadChannel, fileWriteChannel, topLevelFreeSize, additionalMetaSizeThatWontFitWithinMetaAtom);
+            PaddingMetrics.getInstance().recordInPlace();
         }
         else
         {
             logger.config("Writing:Option 9;Top Level Free comes after Mdat or before Metadata or not large enough");
+            PaddingMetrics.getInstance().recordAudioMoved(padding);
         }
         writeDataInChunks(fileReadChannel, fileWriteChannel);
     }
@@ -1220,6 +1275,61 @@ public class Mp4TagWriter
         }
     }
 
+    /**
+     * Size of the {@code free} atom to leave after the {@code ilst} atom so later edits can be written without
+     * moving {@code mdat} again, only used if {@code mdat} has to be moved for this write anyway.
+     *
+     * @param tag
+     * @param newIlstData
+     * @param topLevelFreeSize
+     * @param topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata
+     * @param additionalSizeRequired size the metadata grows by without any padding
+     * @param moovHeader
+     * @param mdatHeader
+     * @return size of the free atom including its header, or zero if no padding is to be added
+     */
+    private int getPaddingIfMdatDataMoved(Tag tag,
+                                          ByteBuffer newIlstData,
+                                          int topLevelFreeSize,
+                                          boolean topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata,
+                                          int additionalSizeRequired,
+                                          Mp4BoxHeader moovHeader,
+                                          Mp4BoxHeader mdatHeader)
+    {
+        if (!isMdatDataMoved(topLevelFreeSize, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, additionalSizeRequired, moovHeader, mdatHeader))
+        {
+            return 0;
+        }
+        int padding = PaddingPolicy.getPadding(newIlstData.limit(), PaddingPolicy.getArtworkSize(tag), 0);
+        if (padding > 0 && padding < Mp4BoxHeader.HEADER_LENGTH)
+        {
+            padding = Mp4BoxHeader.HEADER_LENGTH;
+        }
+        //With the padding the metadata could exactly fill the top level free atom, then no padding is added
+        if (!isMdatDataMoved(topLevelFreeSize, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, additionalSizeRequired + padding, moovHeader, mdatHeader))
+        {
+            return 0;
+        }
+        return padding;
+    }
+
+    /**
+     * Write a {@code free} atom of the given size
+     *
+     * @param fileWriteChannel
+     * @param padding size including the header, nothing is written if zero
+     * @throws IOException
+     */
+    private void writePadding(FileChannel fileWriteChannel, int padding) throws IOException
+    {
+        if (padding > 0)
+        {
+            Mp4FreeBox freeBox = new Mp4FreeBox(padding - Mp4BoxHeader.HEADER_LENGTH);
+            fileWriteChannel.write(freeBox.getHeader().getHeaderData());
+            fileWriteChannel.write(freeBox.getData());
+        }
+    }
+
     /**
      * May need to rewrite the {@code stco} offsets, if the location of {@code mdat} (audio) header is going to move.
      *
@@ -1241,23 +1351,39 @@ public class Mp4TagWriter
                                                         Mp4BoxHeader mdatHeader)
     {
         //We don't bother using the top level free atom coz not big enough anyway, we need to adjust offsets
-        //by the amount mdat is going to be shifted as long as mdat is after moov
-        if (mdatHeader.getFilePos() > moovHeader.getFilePos())
+        //by the amount mdat is going to be shifted
+        if (isMdatDataMoved(topLevelFreeSize, topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata, additionalSizeRequired, moovHeader, mdatHeader))
         {
-            //Edit stco atoms within moov header, if the free atom comes after mdat OR
-            //(there is not enough space in the top level free atom
-            //or special case (of not matching exactly the free atom plus header so could remove free atom completely)
-            if ((!topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata) ||
-                    ((topLevelFreeSize - Mp4BoxHeader.HEADER_LENGTH < additionalSizeRequired)
-                            && (topLevelFreeSize != additionalSizeRequired)))
+            for (final Mp4StcoBox stoc : stcos)
             {
-                for (final Mp4StcoBox stoc : stcos)
-                {
-                    stoc.adjustOffsets(additionalSizeRequired);
-                }
-                return true;
+                stoc.adjustOffsets(additionalSizeRequired);
             }
+            return true;
         }
         return false;
     }
+
+    /**
+     * @param topLevelFreeSize
+     * @param topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata
+     * @param additionalSizeRequired
+     * @param moovHeader
+     * @param mdatHeader
+     *
+     * @return {@code true}, if the {@code mdat} header has to be shifted further down to fit in the new metadata
+     */
+    private boolean isMdatDataMoved(int topLevelFreeSize,
+                                    boolean topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata,
+                                    int additionalSizeRequired,
+                                    Mp4BoxHeader moovHeader,
+                                    Mp4BoxHeader mdatHeader)
+    {
+        //Only moves if mdat is after moov, and the free atom comes after mdat OR
+        //(there is not enough space in the top level free atom
+        //or special case (of not matching exactly the free atom plus header so could remove free atom completely)
+        return mdatHeader.getFilePos() > moovHeader.getFilePos()
+                && ((!topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata) ||
+                    ((topLevelFreeSize - Mp4BoxHeader.HEADER_LENGTH < additionalSizeRequired)
+                            && (topLevelFreeSize != additionalSizeRequired)));
+    }
 }
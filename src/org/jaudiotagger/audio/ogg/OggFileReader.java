@@ -24,10 +24,12 @@ import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.audio.ogg.util.OggInfoReader;
 import org.jaudiotagger.audio.ogg.util.OggPageHeader;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagVisitor;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.SeekableByteChannel;
 import java.util.logging.Logger;
 
 /**
@@ -59,6 +61,24 @@ public class OggFileReader extends AudioFileReader
         return vtr.read(raf);
     }
 
+    @Override
+    protected GenericAudioHeader getEncodingInfo(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        return ir.read(fc);
+    }
+
+    @Override
+    protected Tag getTag(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        return vtr.read(fc);
+    }
+
+    @Override
+    protected void visitTag(SeekableByteChannel fc, String loggingName, TagVisitor visitor) throws CannotReadException, IOException
+    {
+        vtr.visit(fc, visitor);
+    }
+
     /**
      * Return count Ogg Page header, count starts from zero
      *
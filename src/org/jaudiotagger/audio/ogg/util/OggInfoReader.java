@@ -28,6 +28,7 @@ import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.SeekableByteChannel;
 import java.util.Arrays;
 import java.util.logging.Logger;
 
@@ -41,23 +42,28 @@ public class OggInfoReader
 
     public GenericAudioHeader read(RandomAccessFile raf) throws CannotReadException, IOException
     {
-        long start = raf.getFilePointer();
+        return read(raf.getChannel());
+    }
+
+    public GenericAudioHeader read(SeekableByteChannel fc) throws CannotReadException, IOException
+    {
+        long start = fc.position();
         GenericAudioHeader info = new GenericAudioHeader();
         logger.fine("Started");
         long oldPos;
 
         //Check start of file does it have Ogg pattern
         byte[] b = new byte[OggPageHeader.CAPTURE_PATTERN.length];
-        raf.read(b);
+        Utils.read(fc, b);
         if (!(Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
         {
-            raf.seek(0);
-            if(AbstractID3v2Tag.isId3Tag(raf))
+            fc.position(0);
+            if(AbstractID3v2Tag.isId3Tag(fc))
             {
-                raf.read(b);
+                Utils.read(fc, b);
                 if ((Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
                 {
-                    start=raf.getFilePointer();
+                    start=fc.position();
                 }
             }
             else
@@ -69,35 +75,35 @@ public class OggInfoReader
         //Now work backwards from file looking for the last ogg page, it reads the granule position for this last page
         //which must be set.
         //TODO should do buffering to cut down the number of file reads
-        raf.seek(start);
+        fc.position(start);
         double pcmSamplesNumber = -1;
-        raf.seek(raf.length() - 2);
-        while (raf.getFilePointer() >= 4)
+        fc.position(fc.size() - 2);
+        while (fc.position() >= 4)
         {
-            if (raf.read() == OggPageHeader.CAPTURE_PATTERN[3])
+            if (Utils.readUnsignedByte(fc) == OggPageHeader.CAPTURE_PATTERN[3])
             {
-                raf.seek(raf.getFilePointer() - OggPageHeader.FIELD_CAPTURE_PATTERN_LENGTH);
+                fc.position(fc.position() - OggPageHeader.FIELD_CAPTURE_PATTERN_LENGTH);
                 byte[] ogg = new byte[3];
-                raf.readFully(ogg);
+                Utils.readFully(fc, ogg);
                 if (ogg[0] == OggPageHeader.CAPTURE_PATTERN[0] && ogg[1] == OggPageHeader.CAPTURE_PATTERN[1] && ogg[2] == OggPageHeader.CAPTURE_PATTERN[2])
                 {
-                    raf.seek(raf.getFilePointer() - 3);
+                    fc.position(fc.position() - 3);
 
-                    oldPos = raf.getFilePointer();
-                    raf.seek(raf.getFilePointer() + OggPageHeader.FIELD_PAGE_SEGMENTS_POS);
-                    int pageSegments = raf.readByte() & 0xFF; //Unsigned
-                    raf.seek(oldPos);
+                    oldPos = fc.position();
+                    fc.position(fc.position() + OggPageHeader.FIELD_PAGE_SEGMENTS_POS);
+                    int pageSegments = Utils.readUnsignedByte(fc); //Unsigned
+                    fc.position(oldPos);
 
                     b = new byte[OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageSegments];
-                    raf.readFully(b);
+                    Utils.readFully(fc, b);
 
                     OggPageHeader pageHeader = new OggPageHeader(b);
-                    raf.seek(0);
+                    fc.position(0);
                     pcmSamplesNumber = pageHeader.getAbsoluteGranulePosition();
                     break;
                 }
             }
-            raf.seek(raf.getFilePointer() - 2);
+            fc.position(fc.position() - 2);
         }
 
         if (pcmSamplesNumber == -1)
@@ -107,14 +113,14 @@ public class OggInfoReader
         }
 
         //1st page = Identification Header
-        OggPageHeader pageHeader = OggPageHeader.read(raf);
+        OggPageHeader pageHeader = OggPageHeader.read(fc);
         byte[] vorbisData = new byte[pageHeader.getPageLength()];
 
         if(vorbisData.length < OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH)
         {
             throw new CannotReadException("Invalid Identification header for this Ogg File");
         }
-        raf.read(vorbisData);
+        Utils.read(fc, vorbisData);
         VorbisIdentificationHeader vorbisIdentificationHeader = new VorbisIdentificationHeader(vorbisData);
 
         //Map to generic encodingInfo
@@ -144,7 +150,7 @@ public class OggInfoReader
         else
         {
             //TODO need to remove comment from raf.getLength()
-            info.setBitRate(computeBitrate(info.getTrackLength(), raf.length()));
+            info.setBitRate(computeBitrate(info.getTrackLength(), fc.size()));
             info.setVariableBitRate(true);
         }
         return info;
@@ -160,4 +166,3 @@ public class OggInfoReader
         return (int) ((size / Utils.KILOBYTE_MULTIPLIER) * Utils.BITS_IN_BYTE_MULTIPLIER / length);
     }
 }
-
@@ -25,6 +25,7 @@ import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -145,22 +146,34 @@ public class OggPageHeader
      */
     public static OggPageHeader read(RandomAccessFile raf) throws IOException, CannotReadException
     {
-        long start = raf.getFilePointer();
+        return read(raf.getChannel());
+    }
+
+    /**
+     * Read next PageHeader from file
+     * @param fc
+     * @return
+     * @throws IOException
+     * @throws CannotReadException
+     */
+    public static OggPageHeader read(SeekableByteChannel fc) throws IOException, CannotReadException
+    {
+        long start = fc.position();
         logger.fine("Trying to read OggPage at:" + start);
 
         byte[] b = new byte[OggPageHeader.CAPTURE_PATTERN.length];
-        raf.read(b);
+        Utils.read(fc, b);
         if (!(Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
         {
-            raf.seek(start);
-            if(AbstractID3v2Tag.isId3Tag(raf))
+            fc.position(start);
+            if(AbstractID3v2Tag.isId3Tag(fc))
             {
-                logger.warning(ErrorMessage.OGG_CONTAINS_ID3TAG.getMsg(raf.getFilePointer() - start));
-                raf.read(b);
+                logger.warning(ErrorMessage.OGG_CONTAINS_ID3TAG.getMsg(fc.position() - start));
+                Utils.read(fc, b);
                 if ((Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
                 {
                     //Go to the end of the ID3 header
-                    start=raf.getFilePointer() - OggPageHeader.CAPTURE_PATTERN.length;
+                    start=fc.position() - OggPageHeader.CAPTURE_PATTERN.length;
                 }
             }
             else
@@ -169,12 +182,12 @@ public class OggPageHeader
             }
         }
 
-        raf.seek(start + OggPageHeader.FIELD_PAGE_SEGMENTS_POS);
-        int pageSegments = raf.readByte() & 0xFF; //unsigned
-        raf.seek(start);
+        fc.position(start + OggPageHeader.FIELD_PAGE_SEGMENTS_POS);
+        int pageSegments = Utils.readUnsignedByte(fc); //unsigned
+        fc.position(start);
 
         b = new byte[OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageSegments];
-        raf.read(b);
+        Utils.read(fc, b);
 
 
         OggPageHeader pageHeader = new OggPageHeader(b);
@@ -12,6 +12,7 @@ import org.jaudiotagger.tag.Tag;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Real Media File Format: Major Chunks: .RMF PROP MDPR CONT DATA INDX
@@ -21,9 +22,15 @@ public class RealFileReader extends AudioFileReader
 
     @Override
     protected GenericAudioHeader getEncodingInfo(RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        return getEncodingInfo(raf.getChannel(), null);
+    }
+
+    @Override
+    protected GenericAudioHeader getEncodingInfo(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
     {
         final GenericAudioHeader info = new GenericAudioHeader();
-        final RealChunk prop = findPropChunk(raf);
+        final RealChunk prop = findPropChunk(fc);
         final DataInputStream dis = prop.getDataInputStream();
         final int objVersion = Utils.readUint16(dis);
         if (objVersion == 0)
@@ -47,26 +54,32 @@ public class RealFileReader extends AudioFileReader
         return info;
     }
 
-    private RealChunk findPropChunk(RandomAccessFile raf) throws IOException, CannotReadException
+    private RealChunk findPropChunk(SeekableByteChannel fc) throws IOException, CannotReadException
     {
-        final RealChunk rmf = RealChunk.readChunk(raf);
-        final RealChunk prop = RealChunk.readChunk(raf);
+        final RealChunk rmf = RealChunk.readChunk(fc);
+        final RealChunk prop = RealChunk.readChunk(fc);
         return prop;
     }
 
-    private RealChunk findContChunk(RandomAccessFile raf) throws IOException, CannotReadException
+    private RealChunk findContChunk(SeekableByteChannel fc) throws IOException, CannotReadException
     {
-        final RealChunk rmf = RealChunk.readChunk(raf);
-        final RealChunk prop = RealChunk.readChunk(raf);
-        RealChunk rv = RealChunk.readChunk(raf);
-        while (!rv.isCONT()) rv = RealChunk.readChunk(raf);
+        final RealChunk rmf = RealChunk.readChunk(fc);
+        final RealChunk prop = RealChunk.readChunk(fc);
+        RealChunk rv = RealChunk.readChunk(fc);
+        while (!rv.isCONT()) rv = RealChunk.readChunk(fc);
         return rv;
     }
 
     @Override
     protected Tag getTag(RandomAccessFile raf) throws CannotReadException, IOException
     {
-        final RealChunk cont = findContChunk(raf);
+        return getTag(raf.getChannel(), null);
+    }
+
+    @Override
+    protected Tag getTag(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        final RealChunk cont = findContChunk(fc);
         final DataInputStream dis = cont.getDataInputStream();
         final String title = Utils.readString(dis, Utils.readUint16(dis));
         final String author = Utils.readString(dis, Utils.readUint16(dis));
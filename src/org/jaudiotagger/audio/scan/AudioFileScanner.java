@@ -0,0 +1,192 @@
+package org.jaudiotagger.audio.scan;
+
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Walks a directory tree reading every audio file found using a fixed pool of worker threads.
+ *
+ * <p>The tree is walked on the calling thread, which blocks whenever {@link ScanOptions#getMaxPendingFiles()}
+ * files are waiting to be read, so only a small window of the library is ever held in memory. Each result is
+ * passed to the {@link ScanListener} as soon as the file has been read and is not retained by the scanner.
+ *
+ * <p>Each worker thread uses its own {@link AudioFileIO} instance, created with {@link ScanOptions#getTagOptions()}
+ * if set.
+ */
+public class AudioFileScanner
+{
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.scan");
+
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final ScanOptions options;
+
+    private final ThreadLocal<AudioFileIO> audioFileIO = new ThreadLocal<AudioFileIO>()
+    {
+        @Override
+        protected AudioFileIO initialValue()
+        {
+            TagOptionSingleton tagOptions = options.getTagOptions();
+            return tagOptions == null ? new AudioFileIO() : new AudioFileIO(tagOptions);
+        }
+    };
+
+    public AudioFileScanner(ScanOptions options)
+    {
+        this.options = options;
+    }
+
+    public AudioFileScanner()
+    {
+        this(new ScanOptions());
+    }
+
+    /**
+     * Read all matching files below root, returning once every file has been read and reported.
+     *
+     * @param root     file or directory to scan
+     * @param listener receives the result for each file
+     * @return totals for the scan
+     * @throws IOException if root cannot be walked
+     * @throws InterruptedException if interrupted whilst waiting for files to be read, files already submitted
+     * are still reported but no further files are read
+     */
+    public ScanStatistics scan(Path root, final ScanListener listener) throws IOException, InterruptedException
+    {
+        //The root is always followed even if links within the tree are not
+        if (Files.isSymbolicLink(root))
+        {
+            root = root.toRealPath();
+        }
+
+        final ScanStatistics statistics = new ScanStatistics();
+        final Semaphore pending = new Semaphore(options.getMaxPendingFiles());
+        final ExecutorService executor = Executors.newFixedThreadPool(options.getThreads(), new ScanThreadFactory());
+        try
+        {
+            Set<FileVisitOption> visitOptions = options.isFollowLinks()
+                    ? EnumSet.of(FileVisitOption.FOLLOW_LINKS)
+                    : EnumSet.noneOf(FileVisitOption.class);
+
+            Files.walkFileTree(root, visitOptions, Integer.MAX_VALUE, new SimpleFileVisitor<Path>()
+            {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException
+                {
+                    if (!attrs.isRegularFile() || !options.getFileFilter().accept(file.toFile()))
+                    {
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    try
+                    {
+                        pending.acquire();
+                    }
+                    catch (InterruptedException ie)
+                    {
+                        Thread.currentThread().interrupt();
+                        return FileVisitResult.TERMINATE;
+                    }
+
+                    executor.execute(new Runnable()
+                    {
+                        public void run()
+                        {
+                            try
+                            {
+                                report(read(file, attrs.size()), statistics, listener);
+                            }
+                            finally
+                            {
+                                pending.release();
+                            }
+                        }
+                    });
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException ioe)
+                {
+                    report(new ScanResult(file, null, ioe, 0, 0), statistics, listener);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        if (Thread.currentThread().isInterrupted())
+        {
+            throw new InterruptedException();
+        }
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        statistics.finish();
+        return statistics;
+    }
+
+    private ScanResult read(Path file, long size)
+    {
+        long start = System.nanoTime();
+        try
+        {
+            File f = file.toFile();
+            AudioFile audioFile = options.isUseMagic()
+                    ? audioFileIO.get().readFileMagic(f)
+                    : audioFileIO.get().readFile(f);
+            return new ScanResult(file, audioFile, null, size, System.nanoTime() - start);
+        }
+        catch (Exception e)
+        {
+            return new ScanResult(file, null, e, size, System.nanoTime() - start);
+        }
+    }
+
+    private void report(ScanResult result, ScanStatistics statistics, ScanListener listener)
+    {
+        statistics.record(result);
+        try
+        {
+            listener.onResult(result);
+        }
+        catch (RuntimeException re)
+        {
+            logger.log(Level.WARNING, "Scan listener failed for:" + result.getPath(), re);
+        }
+    }
+
+    private static class ScanThreadFactory implements ThreadFactory
+    {
+        private final int pool = POOL_COUNT.incrementAndGet();
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread(Runnable r)
+        {
+            Thread t = new Thread(r, "jaudiotagger-scan-" + pool + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.jaudiotagger.audio.scan;
+
+/**
+ * Receives the result of each file read by an {@link AudioFileScanner}.
+ *
+ * <p>Results are delivered from the worker threads as soon as each file has been read, so implementations must
+ * be thread safe and should hand the result on rather than keep it, otherwise the whole library ends up in memory.
+ */
+public interface ScanListener
+{
+    /**
+     * Called once for every file read, whether or not it could be read
+     *
+     * @param result
+     */
+    void onResult(ScanResult result);
+}
@@ -0,0 +1,123 @@
+package org.jaudiotagger.audio.scan;
+
+import org.jaudiotagger.audio.AudioFileFilter;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.FileFilter;
+
+/**
+ * Options controlling how an {@link AudioFileScanner} walks a directory tree.
+ *
+ * <p>The defaults read every supported audio file below the root using one worker per available processor,
+ * with at most four files per worker queued at any time so memory use stays flat however large the library is.
+ */
+public class ScanOptions
+{
+    /**
+     * Number of worker threads reading files
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of files submitted but not yet reported, zero means four per thread
+     */
+    private int maxPendingFiles = 0;
+
+    /**
+     * Whether symbolic links to directories are followed
+     */
+    private boolean followLinks = false;
+
+    /**
+     * Whether the format is identified from the file contents rather than the extension
+     */
+    private boolean useMagic = false;
+
+    /**
+     * Decides which files are read, directories are always walked
+     */
+    private FileFilter fileFilter = new AudioFileFilter(false);
+
+    /**
+     * Options used to read the files, null to use the shared options
+     */
+    private TagOptionSingleton tagOptions = null;
+
+    public int getThreads()
+    {
+        return threads;
+    }
+
+    /**
+     * @param threads number of worker threads, must be at least one
+     */
+    public void setThreads(int threads)
+    {
+        if (threads < 1)
+        {
+            throw new IllegalArgumentException("Threads must be at least one:" + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * @return the maximum number of files that may be queued or in progress at once
+     */
+    public int getMaxPendingFiles()
+    {
+        if (maxPendingFiles <= 0)
+        {
+            return threads * 4;
+        }
+        return Math.max(maxPendingFiles, threads);
+    }
+
+    public void setMaxPendingFiles(int maxPendingFiles)
+    {
+        this.maxPendingFiles = maxPendingFiles;
+    }
+
+    public boolean isFollowLinks()
+    {
+        return followLinks;
+    }
+
+    public void setFollowLinks(boolean followLinks)
+    {
+        this.followLinks = followLinks;
+    }
+
+    public boolean isUseMagic()
+    {
+        return useMagic;
+    }
+
+    public void setUseMagic(boolean useMagic)
+    {
+        this.useMagic = useMagic;
+    }
+
+    public FileFilter getFileFilter()
+    {
+        return fileFilter;
+    }
+
+    public void setFileFilter(FileFilter fileFilter)
+    {
+        this.fileFilter = fileFilter;
+    }
+
+    public TagOptionSingleton getTagOptions()
+    {
+        return tagOptions;
+    }
+
+    /**
+     * @param tagOptions options to read with, each worker thread takes its own copy so scans with different
+     *                   options can run at the same time
+     */
+    public void setTagOptions(TagOptionSingleton tagOptions)
+    {
+        this.tagOptions = tagOptions;
+    }
+}
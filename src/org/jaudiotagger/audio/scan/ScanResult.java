@@ -0,0 +1,74 @@
+package org.jaudiotagger.audio.scan;
+
+import org.jaudiotagger.audio.AudioFile;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of reading a single file during a scan, either the {@link AudioFile} or the error that prevented it
+ * from being read.
+ */
+public class ScanResult
+{
+    private final Path path;
+    private final AudioFile audioFile;
+    private final Exception error;
+    private final long size;
+    private final long elapsedNanos;
+
+    ScanResult(Path path, AudioFile audioFile, Exception error, long size, long elapsedNanos)
+    {
+        this.path = path;
+        this.audioFile = audioFile;
+        this.error = error;
+        this.size = size;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Path getPath()
+    {
+        return path;
+    }
+
+    /**
+     * @return the file read, or null if it could not be read
+     */
+    public AudioFile getAudioFile()
+    {
+        return audioFile;
+    }
+
+    /**
+     * @return the reason the file could not be read, or null if it was read successfully
+     */
+    public Exception getError()
+    {
+        return error;
+    }
+
+    public boolean isSuccess()
+    {
+        return error == null;
+    }
+
+    /**
+     * @return size of the file in bytes
+     */
+    public long getSize()
+    {
+        return size;
+    }
+
+    /**
+     * @return time spent reading the file
+     */
+    public long getElapsedNanos()
+    {
+        return elapsedNanos;
+    }
+
+    public String toString()
+    {
+        return path + (isSuccess() ? ":ok" : ":failed:" + error.getMessage());
+    }
+}
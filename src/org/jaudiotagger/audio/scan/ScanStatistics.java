@@ -0,0 +1,95 @@
+package org.jaudiotagger.audio.scan;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running totals for a scan, safe to read from any thread while the scan is in progress.
+ */
+public class ScanStatistics
+{
+    private final AtomicLong filesRead = new AtomicLong();
+    private final AtomicLong filesFailed = new AtomicLong();
+    private final AtomicLong bytesScanned = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    void record(ScanResult result)
+    {
+        if (result.isSuccess())
+        {
+            filesRead.incrementAndGet();
+        }
+        else
+        {
+            filesFailed.incrementAndGet();
+        }
+        bytesScanned.addAndGet(result.getSize());
+    }
+
+    void finish()
+    {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * @return number of files read successfully
+     */
+    public long getFilesRead()
+    {
+        return filesRead.get();
+    }
+
+    /**
+     * @return number of files that could not be read
+     */
+    public long getFilesFailed()
+    {
+        return filesFailed.get();
+    }
+
+    /**
+     * @return total size of all files processed, whether or not they could be read, this is not the number of bytes
+     * actually read as readers only read the parts of a file they need
+     */
+    public long getBytesScanned()
+    {
+        return bytesScanned.get();
+    }
+
+    /**
+     * @return time elapsed since the scan started, or the duration of the scan once it has finished
+     */
+    public long getElapsedMillis()
+    {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+
+    public double getFilesPerSecond()
+    {
+        return perSecond(filesRead.get() + filesFailed.get());
+    }
+
+    public double getBytesPerSecond()
+    {
+        return perSecond(bytesScanned.get());
+    }
+
+    private double perSecond(long count)
+    {
+        long millis = getElapsedMillis();
+        if (millis == 0)
+        {
+            return 0;
+        }
+        return count * 1000.0 / millis;
+    }
+
+    public String toString()
+    {
+        return String.format("Read:%d Failed:%d Bytes:%d Millis:%d Files/sec:%.1f MB/sec:%.1f",
+                getFilesRead(), getFilesFailed(), getBytesScanned(), getElapsedMillis(),
+                getFilesPerSecond(), getBytesPerSecond() / (1024 * 1024));
+    }
+}
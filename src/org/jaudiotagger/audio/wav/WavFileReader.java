@@ -18,17 +18,18 @@
  */
 package org.jaudiotagger.audio.wav;
 
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.ReadMode;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
-import org.jaudiotagger.audio.generic.AudioFileReader;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.wav.WavTag;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.nio.file.Path;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Reads Audio and Metadata information contained in Wav file.
@@ -40,15 +41,37 @@ public class WavFileReader extends AudioFileReader2
 
     }
 
-    protected GenericAudioHeader getEncodingInfo(Path path) throws CannotReadException, IOException
+    /**
+     * Build the audio header and the tag from a single walk of the chunks, when only one of them is wanted
+     * just that reader is used
+     */
+    @Override
+    protected AudioFile read(File f, SeekableByteChannel fc, String loggingName, ReadMode mode) throws CannotReadException, IOException
+    {
+        if (mode != ReadMode.FULL)
+        {
+            return super.read(f, fc, loggingName, mode);
+        }
+        WavInfoReader infoReader = new WavInfoReader(loggingName);
+        GenericAudioHeader info = new GenericAudioHeader();
+        WavTag tag = new WavTagReader(loggingName).read(fc, infoReader, info);
+        infoReader.finish(info);
+        return new AudioFile(f, info, syncTags(tag));
+    }
+
+    protected GenericAudioHeader getEncodingInfo(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
     {
-        return new WavInfoReader(path.toString()).read(path);
+        return new WavInfoReader(loggingName).read(fc);
     }
 
     @Override
-    protected Tag getTag(Path path) throws IOException, CannotReadException
-    {           
-        WavTag tag =  new WavTagReader(path.toString()).read(path);
+    protected Tag getTag(SeekableByteChannel fc, String loggingName) throws IOException, CannotReadException
+    {
+        return syncTags(new WavTagReader(loggingName).read(fc));
+    }
+
+    private WavTag syncTags(WavTag tag)
+    {
         switch (TagOptionSingleton.getInstance().getWavOptions())
         {
             case READ_ID3_ONLY_AND_SYNC:
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
@@ -56,26 +57,42 @@ public class WavInfoReader
 
     public GenericAudioHeader read(Path path) throws CannotReadException, IOException
     {
-        GenericAudioHeader info = new GenericAudioHeader();
         try(FileChannel fc = FileChannel.open(path))
         {
-            if(WavRIFFHeader.isValidHeader(loggingName, fc))
+            return read(fc);
+        }
+    }
+
+    public GenericAudioHeader read(SeekableByteChannel fc) throws CannotReadException, IOException
+    {
+        GenericAudioHeader info = new GenericAudioHeader();
+        if(WavRIFFHeader.isValidHeader(loggingName, fc))
+        {
+            while (fc.position() < fc.size())
             {
-                while (fc.position() < fc.size())
+                //Problem reading chunk and no way to workround it so exit loop
+                if (!readChunk(fc, info))
                 {
-                    //Problem reading chunk and no way to workround it so exit loop
-                    if (!readChunk(fc, info))
-                    {
-                        break;
-                    }
+                    break;
                 }
             }
-            else
-            {
-                throw new CannotReadException(loggingName + " Wav RIFF Header not valid");
-            }
         }
+        else
+        {
+            throw new CannotReadException(loggingName + " Wav RIFF Header not valid");
+        }
+        return finish(info);
+    }
 
+    /**
+     * Check the audio header is complete once all chunks have been read
+     *
+     * @param info
+     * @return
+     * @throws CannotReadException
+     */
+    GenericAudioHeader finish(GenericAudioHeader info) throws CannotReadException
+    {
         if(isFoundFormat && isFoundAudio)
         {
             info.setFormat(SupportedFileFormat.WAV.getDisplayName());
@@ -117,10 +134,62 @@ public class WavInfoReader
         }
     }
 
+    /**
+     * Reads the data of a chunk that contributes to the audio header, fc is positioned after the chunk header
+     *
+     * @param fc
+     * @param chunkHeader
+     * @param chunkType one of FACT, DATA or FORMAT
+     * @param info
+     * @return false if the chunk could not be read
+     * @throws IOException
+     */
+    boolean readInfoChunk(SeekableByteChannel fc, ChunkHeader chunkHeader, WavChunkType chunkType, GenericAudioHeader info) throws IOException
+    {
+        Chunk chunk;
+        switch (chunkType)
+        {
+            case FACT:
+            {
+                ByteBuffer fmtChunkData = Utils.readFileDataIntoBufferLE(fc, (int) chunkHeader.getSize());
+                chunk = new WavFactChunk(fmtChunkData, chunkHeader, info);
+                if (!chunk.readChunk())
+                {
+                    return false;
+                }
+                break;
+            }
+
+            case DATA:
+            {
+                //We just need this value from header dont actually need to read data itself
+                info.setAudioDataLength(chunkHeader.getSize());
+                info.setAudioDataStartPosition(fc.position());
+                info.setAudioDataEndPosition(fc.position() + chunkHeader.getSize());
+                fc.position(fc.position() + chunkHeader.getSize());
+                isFoundAudio = true;
+                break;
+            }
+
+            case FORMAT:
+            {
+                ByteBuffer fmtChunkData = Utils.readFileDataIntoBufferLE(fc, (int) chunkHeader.getSize());
+                chunk = new WavFormatChunk(fmtChunkData, chunkHeader, info);
+                if (!chunk.readChunk())
+                {
+                    return false;
+                }
+                isFoundFormat = true;
+                break;
+            }
+        }
+        return true;
+    }
+
     /**
      * Reads a Wav Chunk.
      */
-    protected boolean readChunk(FileChannel fc, GenericAudioHeader info) throws IOException, CannotReadException
+    protected boolean readChunk(SeekableByteChannel fc, GenericAudioHeader info) throws IOException, CannotReadException
     {
         Chunk chunk;
         ChunkHeader chunkHeader = new ChunkHeader(ByteOrder.LITTLE_ENDIAN);
@@ -139,38 +208,13 @@ public class WavInfoReader
             switch (chunkType)
             {
                 case FACT:
-                {
-                    ByteBuffer fmtChunkData = Utils.readFileDataIntoBufferLE(fc, (int) chunkHeader.getSize());
-                    chunk = new WavFactChunk(fmtChunkData, chunkHeader, info);
-                    if (!chunk.readChunk())
-                    {
-                        return false;
-                    }
-                    break;
-                }
-
                 case DATA:
-                {
-                    //We just need this value from header dont actually need to read data itself
-                    info.setAudioDataLength(chunkHeader.getSize());
-                    info.setAudioDataStartPosition(fc.position());
-                    info.setAudioDataEndPosition(fc.position() + chunkHeader.getSize());
-                    fc.position(fc.position() + chunkHeader.getSize());
-                    isFoundAudio = true;
-                    break;
-                }
-
                 case FORMAT:
-                {
-                    ByteBuffer fmtChunkData = Utils.readFileDataIntoBufferLE(fc, (int) chunkHeader.getSize());
-                    chunk = new WavFormatChunk(fmtChunkData, chunkHeader, info);
-                    if (!chunk.readChunk())
+                    if (!readInfoChunk(fc, chunkHeader, chunkType, info))
                     {
                         return false;
                     }
-                    isFoundFormat = true;
                     break;
-                }
 
                 //Dont need to do anything with these just skip
                 default:
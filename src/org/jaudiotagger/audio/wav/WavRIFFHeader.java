@@ -23,7 +23,7 @@ import org.jaudiotagger.audio.generic.Utils;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 
 import static org.jaudiotagger.audio.iff.IffHeaderChunk.*;
 
@@ -37,7 +37,7 @@ public class WavRIFFHeader
     public static final String RIFF_SIGNATURE = "RIFF";
     public static final String WAVE_SIGNATURE = "WAVE";
 
-    public static boolean isValidHeader(String loggingName, FileChannel fc) throws IOException, CannotReadException
+    public static boolean isValidHeader(String loggingName, SeekableByteChannel fc) throws IOException, CannotReadException
     {
         if (fc.size() - fc.position() < FORM_HEADER_LENGTH)
         {
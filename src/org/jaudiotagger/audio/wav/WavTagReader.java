@@ -19,6 +19,7 @@
 package org.jaudiotagger.audio.wav;
 
 import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.iff.*;
 import org.jaudiotagger.audio.wav.chunk.WavCorruptChunkType;
@@ -33,6 +34,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
@@ -44,6 +46,11 @@ public class WavTagReader
     public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.wav");
 
     private String loggingName;
+
+    //Only set when reading audio header at same time as the tag
+    private WavInfoReader infoReader;
+    private GenericAudioHeader info;
+
     public WavTagReader(String loggingName)
     {
         this.loggingName = loggingName;
@@ -59,25 +66,48 @@ public class WavTagReader
      * @throws IOException
      */
     public WavTag read(Path path) throws CannotReadException, IOException
+    {
+        try(FileChannel fc = FileChannel.open(path))
+        {
+            return read(fc);
+        }
+    }
+
+    public WavTag read(SeekableByteChannel fc) throws CannotReadException, IOException
+    {
+        return read(fc, null, null);
+    }
+
+    /**
+     * Read tag metadata, and if an info reader is supplied pass it the chunks it needs to populate the audio header
+     * so that the header and tag come from a single walk of the chunks.
+     *
+     * @param fc
+     * @param infoReader
+     * @param info audio header to populate, only required if infoReader not null
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    WavTag read(SeekableByteChannel fc, WavInfoReader infoReader, GenericAudioHeader info) throws CannotReadException, IOException
     {
         logger.config(loggingName + " Read Tag:start");
+        this.infoReader = infoReader;
+        this.info = info;
         WavTag tag = new WavTag(TagOptionSingleton.getInstance().getWavOptions());
-        try(FileChannel fc = FileChannel.open(path))
+        if (WavRIFFHeader.isValidHeader(loggingName, fc))
         {
-            if (WavRIFFHeader.isValidHeader(loggingName, fc))
+            while (fc.position() < fc.size())
             {
-                while (fc.position() < fc.size())
+                if (!readChunk(fc, tag))
                 {
-                    if (!readChunk(fc, tag))
-                    {
-                        break;
-                    }
+                    break;
                 }
             }
-            else
-            {
-                throw new CannotReadException(loggingName+ " Wav RIFF Header not valid");
-            }
+        }
+        else
+        {
+            throw new CannotReadException(loggingName+ " Wav RIFF Header not valid");
         }
         createDefaultMetadataTagsIfMissing(tag);
         logger.config(loggingName + " Read Tag:end");
@@ -102,6 +132,32 @@ public class WavTagReader
         }
     }
 
+    /**
+     * A metadata chunk could not be read so no more of the tag is read, but the remaining chunks are still passed
+     * to the info reader as they would have been by a separate WavInfoReader pass
+     *
+     * @param fc positioned at the end of the data of the chunk that failed
+     * @param chunkHeader of the chunk that failed
+     * @return false, so the tag is not read any further
+     * @throws IOException
+     * @throws CannotReadException
+     */
+    private boolean readRemainingInfoChunks(SeekableByteChannel fc, ChunkHeader chunkHeader) throws IOException, CannotReadException
+    {
+        if(infoReader != null)
+        {
+            IffHeaderChunk.ensureOnEqualBoundary(fc, chunkHeader);
+            while (fc.position() < fc.size())
+            {
+                if (!infoReader.readChunk(fc, info))
+                {
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * Reads Wavs Chunk that contain tag metadata
      *
@@ -111,7 +167,7 @@ public class WavTagReader
      * @return
      * @throws IOException
      */
-    protected boolean readChunk(FileChannel fc, WavTag tag)throws IOException, CannotReadException
+    protected boolean readChunk(SeekableByteChannel fc, WavTag tag)throws IOException, CannotReadException
     {
         Chunk chunk;
         ChunkHeader chunkHeader = new ChunkHeader(ByteOrder.LITTLE_ENDIAN);
@@ -139,7 +195,7 @@ public class WavTagReader
                         if (!chunk.readChunk())
                         {
                             logger.severe(loggingName + " LIST readChunkFailed");
-                            return false;
+                            return readRemainingInfoChunks(fc, chunkHeader);
                         }
                     }
                     else
@@ -161,7 +217,7 @@ public class WavTagReader
                         if (!chunk.readChunk())
                         {
                             logger.severe(loggingName + " ID3 readChunkFailed");
-                            return false;
+                            return readRemainingInfoChunks(fc, chunkHeader);
                         }
 
                         logger.severe(loggingName + " ID3 chunk should be id3:" + chunkHeader.getID() + ":"
@@ -187,7 +243,7 @@ public class WavTagReader
                         if (!chunk.readChunk())
                         {
                             logger.severe(loggingName + " id3 readChunkFailed");
-                            return false;
+                            return readRemainingInfoChunks(fc, chunkHeader);
                         }
                     }
                     else
@@ -217,6 +273,27 @@ public class WavTagReader
                     fc.position(fc.position() -  (ChunkHeader.CHUNK_HEADER_SIZE - 1));
                     return true;
 
+                case FACT:
+                case DATA:
+                case FORMAT:
+                    tag.addChunkSummary(new ChunkSummary(chunkHeader.getID(), chunkHeader.getStartLocationInFile(), chunkHeader.getSize()));
+                    if(infoReader != null)
+                    {
+                        long endOfChunk = fc.position() + chunkHeader.getSize();
+                        if (!infoReader.readInfoChunk(fc, chunkHeader, chunkType, info))
+                        {
+                            //Audio header cannot be trusted beyond this point but the tag may still be readable
+                            logger.severe(loggingName + " " + chunkHeader.getID() + " readChunkFailed");
+                            infoReader = null;
+                        }
+                        fc.position(endOfChunk);
+                    }
+                    else
+                    {
+                        fc.position(fc.position() + chunkHeader.getSize());
+                    }
+                    break;
+
                 default:
                     tag.addChunkSummary(new ChunkSummary(chunkHeader.getID(), chunkHeader.getStartLocationInFile(), chunkHeader.getSize()));
                     fc.position(fc.position() + chunkHeader.getSize());
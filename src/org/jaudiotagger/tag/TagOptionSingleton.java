@@ -21,6 +21,9 @@
  * Description:
  * Options that are used for every datatype and class in this library.
  *
+ * A single set of options is shared by default, independent copies can be used for particular threads or
+ * AudioFileIO instances.
+ *
  */
 package org.jaudiotagger.tag;
 
@@ -37,17 +40,23 @@ import org.jaudiotagger.tag.id3.framebody.ID3v24FrameBody;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.tag.lyrics3.Lyrics3v2Fields;
 import org.jaudiotagger.tag.options.PadNumberOption;
+import org.jaudiotagger.tag.options.PaddingPolicy;
 import org.jaudiotagger.tag.reference.GenreTypes;
 import org.jaudiotagger.tag.reference.ID3V2Version;
 import org.jaudiotagger.tag.reference.Languages;
 import org.jaudiotagger.tag.vorbiscomment.VorbisAlbumArtistReadOptions;
 import org.jaudiotagger.tag.vorbiscomment.VorbisAlbumArtistSaveOptions;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class TagOptionSingleton
+public class TagOptionSingleton implements Cloneable
 {
     private boolean   isWriteWavForTwonky = false;
 
@@ -114,7 +123,12 @@ public class TagOptionSingleton
     /**
      *
      */
-    private static HashMap<String, TagOptionSingleton> tagOptionTable = new HashMap<String, TagOptionSingleton>();
+    private static ConcurrentHashMap<String, TagOptionSingleton> tagOptionTable = new ConcurrentHashMap<String, TagOptionSingleton>();
+
+    /**
+     * Options in use by the current thread, overriding the instance given by {@link #getInstanceKey()}
+     */
+    private static final ThreadLocal<TagOptionSingleton> threadOptions = new ThreadLocal<TagOptionSingleton>();
 
     /**
      *
@@ -124,7 +138,7 @@ public class TagOptionSingleton
     /**
      *
      */
-    private static String defaultOptions = DEFAULT;
+    private static volatile String defaultOptions = DEFAULT;
 
     /**
      *
@@ -380,6 +394,56 @@ public class TagOptionSingleton
      */
     private boolean preserveFileIdentity = true;
 
+    /**
+     * Read files through a read only memory mapping rather than copying data from the file
+     */
+    private boolean memoryMappedReads = false;
+
+    /**
+     * Maximum number of bytes searched for the first MP3 audio frame, zero for no limit
+     */
+    private long mp3SyncScanLimit = 0;
+
+    /**
+     * Read every MP3 frame header to find the exact duration
+     */
+    private boolean mp3PreciseDuration = false;
+
+    /**
+     * Keep the offset of every MP3 frame when reading the exact duration
+     */
+    private boolean mp3FrameIndex = false;
+
+    /**
+     * When saving an MP3 file without a Xing or VBRI header insert a Xing header with a table of contents
+     */
+    private boolean mp3WriteXingHeader = false;
+
+    /**
+     * Only decode the body of an ID3v2 frame when it is first used
+     */
+    private boolean id3v2LazyFrameBodies = false;
+
+    /**
+     * When an ID3v24 tag no longer fits before the audio append it to the end of the file instead of moving the audio
+     */
+    private boolean id3v24AppendTag = false;
+
+    /**
+     * Padding to leave when the audio has to be moved to fit the metadata, null to use the default for the format
+     */
+    private PaddingPolicy paddingPolicy = null;
+
+    /**
+     * ID3v23 and ID3v24 frame bodies larger than this are compressed when written, 0 to never compress
+     */
+    private int id3v2CompressionThreshold = 0;
+
+    /**
+     * The only fields to read from a tag, null to read all fields
+     */
+    private Set<FieldKey> readFieldKeys = null;
+
     /**
      * 
      */
@@ -395,13 +459,28 @@ public class TagOptionSingleton
 
 
     /**
-     * @return
+     * @return the options set for the current thread by {@link #use(TagOptionSingleton)}, otherwise the shared
+     * default options
      */
     public static TagOptionSingleton getInstance()
     {
+        TagOptionSingleton tagOptions = threadOptions.get();
+        if (tagOptions != null)
+        {
+            return tagOptions;
+        }
         return getInstance(defaultOptions);
     }
 
+    /**
+     * @return the options set for the current thread by {@link #use(TagOptionSingleton)}, or null if the shared
+     * default options are in use
+     */
+    public static TagOptionSingleton getThreadInstance()
+    {
+        return threadOptions.get();
+    }
+
     /**
      * @param instanceKey
      * @return
@@ -412,13 +491,99 @@ public class TagOptionSingleton
 
         if (tagOptions == null)
         {
-            tagOptions = new TagOptionSingleton();
-            tagOptionTable.put(instanceKey, tagOptions);
+            TagOptionSingleton newOptions = new TagOptionSingleton();
+            tagOptions = tagOptionTable.putIfAbsent(instanceKey, newOptions);
+            if (tagOptions == null)
+            {
+                tagOptions = newOptions;
+            }
         }
 
         return tagOptions;
     }
 
+    /**
+     * Create an independent copy of these options, changes to the copy do not affect these options or vice versa.
+     *
+     * The copy is not registered as an instance, it is used by passing it to
+     * {@link org.jaudiotagger.audio.AudioFileIO#AudioFileIO(TagOptionSingleton)} or {@link #use(TagOptionSingleton)}.
+     *
+     * @return the copy
+     */
+    public TagOptionSingleton copy()
+    {
+        try
+        {
+            TagOptionSingleton copy = (TagOptionSingleton) super.clone();
+            copy.keywordMap = new HashMap<Class<? extends ID3v24FrameBody>, LinkedList<String>>();
+            for (Map.Entry<Class<? extends ID3v24FrameBody>, LinkedList<String>> entry : keywordMap.entrySet())
+            {
+                copy.keywordMap.put(entry.getKey(), new LinkedList<String>(entry.getValue()));
+            }
+            copy.lyrics3SaveFieldMap = new HashMap<String, Boolean>(lyrics3SaveFieldMap);
+            copy.parenthesisMap = new HashMap<String, String>(parenthesisMap);
+            copy.replaceWordMap = new HashMap<String, String>(replaceWordMap);
+            return copy;
+        }
+        catch (CloneNotSupportedException cnse)
+        {
+            throw new AssertionError(cnse);
+        }
+    }
+
+    /**
+     * Use the given options for everything done by the current thread until the returned scope is closed, this
+     * allows different threads to read and write with different options at the same time.
+     *
+     * <pre>
+     * try (TagOptionSingleton.Scope scope = TagOptionSingleton.use(options))
+     * {
+     *     tag.setField(FieldKey.TITLE, title);
+     * }
+     * </pre>
+     *
+     * Scopes can be nested, closing a scope restores the options in use when it was opened.
+     *
+     * @param options the options to use, or null to keep using the current options
+     * @return scope that must be closed on the same thread
+     */
+    public static Scope use(TagOptionSingleton options)
+    {
+        Scope scope = new Scope(threadOptions.get());
+        if (options != null)
+        {
+            threadOptions.set(options);
+        }
+        return scope;
+    }
+
+    /**
+     * Restores the options of the current thread when closed
+     *
+     * @see #use(TagOptionSingleton)
+     */
+    public static final class Scope implements AutoCloseable
+    {
+        private final TagOptionSingleton previous;
+
+        private Scope(TagOptionSingleton previous)
+        {
+            this.previous = previous;
+        }
+
+        public void close()
+        {
+            if (previous == null)
+            {
+                threadOptions.remove();
+            }
+            else
+            {
+                threadOptions.set(previous);
+            }
+        }
+    }
+
     /**
      * @param filenameTagSave
      */
@@ -957,6 +1122,16 @@ public class TagOptionSingleton
         id3v2Version = ID3V2Version.ID3_V23;
         checkIsWritable = false;
         preserveFileIdentity = true;
+        memoryMappedReads = false;
+        mp3SyncScanLimit = 0;
+        mp3PreciseDuration = false;
+        mp3FrameIndex = false;
+        mp3WriteXingHeader = false;
+        id3v2LazyFrameBodies = false;
+        id3v24AppendTag = false;
+        paddingPolicy = null;
+        id3v2CompressionThreshold = 0;
+        readFieldKeys = null;
         //default all lyrics3 fields to save. id3v1 fields are individual
         // settings. id3v2 fields are always looked at to save.
         Iterator<String> iterator = Lyrics3v2Fields.getInstanceOf().getIdToValueMap().keySet().iterator();
@@ -1409,6 +1584,243 @@ public class TagOptionSingleton
         this.preserveFileIdentity = preserveFileIdentity;
     }
 
+    /**
+     * <p>
+     *     If set to {@code true} files are mapped into memory with {@code FileChannel.map} when read, and the
+     *     parsers work directly on views of the mapping rather than on buffers copied from the file. This avoids
+     *     most of the copying and system calls when the file is already in the page cache.
+     * </p>
+     * <p>
+     *     Files too large to be mapped in one piece are read as normal. On some platforms, notably Windows, a
+     *     mapped file cannot be written until the mapping has been garbage collected, so this is best used when
+     *     files are only being read.
+     * </p>
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     */
+    public boolean isMemoryMappedReads()
+    {
+        return memoryMappedReads;
+    }
+
+    /**
+     * @param memoryMappedReads {@code true} to read files through a memory mapping
+     * @see #isMemoryMappedReads()
+     */
+    public void setMemoryMappedReads(boolean memoryMappedReads)
+    {
+        this.memoryMappedReads = memoryMappedReads;
+    }
+
+    /**
+     * Limits how far into an MP3 file we search for the first audio frame, counted from the end of the ID3v2 tag.
+     *
+     * A file without a valid audio frame is otherwise searched to the end, which for a large file full of junk can
+     * dominate the time taken to read it. If no frame is found within the limit the file is treated as having no
+     * audio.
+     *
+     * @return the maximum number of bytes searched, zero if the whole file is searched. Default is zero.
+     */
+    public long getMp3SyncScanLimit()
+    {
+        return mp3SyncScanLimit;
+    }
+
+    /**
+     * @param mp3SyncScanLimit the maximum number of bytes searched, zero to search the whole file
+     * @see #getMp3SyncScanLimit()
+     */
+    public void setMp3SyncScanLimit(long mp3SyncScanLimit)
+    {
+        this.mp3SyncScanLimit = mp3SyncScanLimit;
+    }
+
+    /**
+     * Whether the frame count and duration of an MP3 file are found by reading every frame header.
+     *
+     * Otherwise they come from the Xing or VBRI header if there is one, or are estimated from the file size and the
+     * first frame, which is wrong if the bitrate changes or there is junk after the audio. Reading every frame
+     * header takes longer, large files are split into ranges that are read by several threads.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     * @see org.jaudiotagger.audio.mp3.MP3AudioHeader#getFrameIndex()
+     */
+    public boolean isMp3PreciseDuration()
+    {
+        return mp3PreciseDuration;
+    }
+
+    /**
+     * @param mp3PreciseDuration {@code true} to read every frame header
+     * @see #isMp3PreciseDuration()
+     */
+    public void setMp3PreciseDuration(boolean mp3PreciseDuration)
+    {
+        this.mp3PreciseDuration = mp3PreciseDuration;
+    }
+
+    /**
+     * Whether the offset of every frame is kept when reading every frame header, so that a position in the audio
+     * can be found from a time. Only used if {@link #isMp3PreciseDuration()} is enabled.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     */
+    public boolean isMp3FrameIndex()
+    {
+        return mp3FrameIndex;
+    }
+
+    /**
+     * @param mp3FrameIndex {@code true} to keep the offset of every frame
+     * @see #isMp3FrameIndex()
+     */
+    public void setMp3FrameIndex(boolean mp3FrameIndex)
+    {
+        this.mp3FrameIndex = mp3FrameIndex;
+    }
+
+    /**
+     * Whether saving an MP3 file that has no Xing or VBRI header inserts a Xing header, holding the frame count,
+     * audio size and a table of contents, in front of the audio. This lets players find the duration and seek
+     * without reading the whole file. Every frame header is read to create it so saving takes longer.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     * @see org.jaudiotagger.audio.mp3.MP3AudioHeader#getSeekTable()
+     */
+    public boolean isMp3WriteXingHeader()
+    {
+        return mp3WriteXingHeader;
+    }
+
+    /**
+     * @param mp3WriteXingHeader {@code true} to insert a Xing header on save if there is none
+     * @see #isMp3WriteXingHeader()
+     */
+    public void setMp3WriteXingHeader(boolean mp3WriteXingHeader)
+    {
+        this.mp3WriteXingHeader = mp3WriteXingHeader;
+    }
+
+    /**
+     * Whether reading an ID3v2 tag only reads the frame headers, keeping the raw frame data and decoding a frame
+     * body the first time it is used. Frames that are not changed are written back exactly as they were read
+     * without being decoded. Frames keep a copy of their raw data until decoded, so the buffer the tag was read from
+     * is not retained and later changes to it do not affect the tag.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     * @see org.jaudiotagger.tag.id3.AbstractID3v2Frame#isBodyLoaded()
+     */
+    public boolean isId3v2LazyFrameBodies()
+    {
+        return id3v2LazyFrameBodies;
+    }
+
+    /**
+     * @param id3v2LazyFrameBodies {@code true} to decode frame bodies when first used
+     * @see #isId3v2LazyFrameBodies()
+     */
+    public void setId3v2LazyFrameBodies(boolean id3v2LazyFrameBodies)
+    {
+        this.id3v2LazyFrameBodies = id3v2LazyFrameBodies;
+    }
+
+    /**
+     * Whether an ID3v24 tag that no longer fits in the space before the audio is appended to the end of the file,
+     * with a footer, instead of moving the audio to make room. The tag at the start of the file is replaced by a
+     * SEEK frame pointing to the appended tag, so only a few KB are written however large the file. Use
+     * {@link org.jaudiotagger.audio.mp3.MP3File#compactID3v2Tag()} to move the tag back to the start of the file.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     */
+    public boolean isId3v24AppendTag()
+    {
+        return id3v24AppendTag;
+    }
+
+    /**
+     * @param id3v24AppendTag {@code true} to append ID3v24 tags that do not fit before the audio
+     * @see #isId3v24AppendTag()
+     */
+    public void setId3v24AppendTag(boolean id3v24AppendTag)
+    {
+        this.id3v24AppendTag = id3v24AppendTag;
+    }
+
+    /**
+     * How much padding to leave for future edits when writing ID3v2, Flac or Mp4 metadata that no longer fits
+     * before the audio.
+     *
+     * @return the policy, or null if each format uses its default padding. Default is null.
+     * @see org.jaudiotagger.audio.generic.PaddingMetrics
+     */
+    public PaddingPolicy getPaddingPolicy()
+    {
+        return paddingPolicy;
+    }
+
+    /**
+     * @param paddingPolicy the policy, or null to use the default padding for each format
+     * @see #getPaddingPolicy()
+     */
+    public void setPaddingPolicy(PaddingPolicy paddingPolicy)
+    {
+        this.paddingPolicy = paddingPolicy;
+    }
+
+    /**
+     * ID3v23 and ID3v24 frames with a body larger than this are written compressed with zlib, unless that does not
+     * make them smaller. Large lyrics, GEOB objects and chapter text usually compress well, artwork usually does not.
+     *
+     * @return size in bytes, 0 if frames are never compressed. Default is 0.
+     */
+    public int getId3v2CompressionThreshold()
+    {
+        return id3v2CompressionThreshold;
+    }
+
+    /**
+     * @param id3v2CompressionThreshold size in bytes, 0 to never compress frames
+     * @see #getId3v2CompressionThreshold()
+     */
+    public void setId3v2CompressionThreshold(int id3v2CompressionThreshold)
+    {
+        this.id3v2CompressionThreshold = id3v2CompressionThreshold;
+    }
+
+    /**
+     * The fields read from a tag, all other fields are skipped without being decoded. Artwork is only read if
+     * {@link FieldKey#COVER_ART} is included.
+     *
+     * This is supported by ID3v2 tags, Vorbis comments, Flac pictures and Mp4 tags. The tag read contains only
+     * these fields so the file it was read from cannot be written.
+     *
+     * @return the fields to read, or null if all fields are read. Default is null.
+     * @see org.jaudiotagger.audio.AudioFileIO#readFields(java.io.File, Set)
+     * @see org.jaudiotagger.audio.AudioFile#isPartialTag()
+     */
+    public Set<FieldKey> getReadFieldKeys()
+    {
+        return readFieldKeys;
+    }
+
+    /**
+     * @param readFieldKeys the fields to read, or null to read all fields
+     * @see #getReadFieldKeys()
+     */
+    public void setReadFieldKeys(Set<FieldKey> readFieldKeys)
+    {
+        if (readFieldKeys == null)
+        {
+            this.readFieldKeys = null;
+        }
+        else
+        {
+            EnumSet<FieldKey> keys = EnumSet.noneOf(FieldKey.class);
+            keys.addAll(readFieldKeys);
+            this.readFieldKeys = Collections.unmodifiableSet(keys);
+        }
+    }
+
     public boolean isWriteWavForTwonky()
     {
         return isWriteWavForTwonky;
@@ -0,0 +1,32 @@
+package org.jaudiotagger.tag;
+
+/**
+ * Receives the fields of a tag as they are parsed, without a {@link Tag} or any {@link TagField}s being built.
+ *
+ * <p>Values are reported as stored in the file, so for example an ID3 genre may be a numeric reference and an
+ * ID3 track may include the total. Where the format stores one field for several keys, such as the ID3 track
+ * frame holding both {@link FieldKey#TRACK} and {@link FieldKey#TRACK_TOTAL}, the first key is reported.
+ *
+ * @see org.jaudiotagger.audio.AudioFileIO#visitTag(java.io.File, TagVisitor)
+ */
+public interface TagVisitor
+{
+    /**
+     * Called for each text field
+     *
+     * @param id the id of the field within the format, e.g TIT2 or TXXX:MusicBrainz Album Id
+     * @param key the generic key for the field, or null if it does not map to one
+     * @param value the text of the field, only valid for the duration of the call
+     */
+    void onField(String id, FieldKey key, CharSequence value);
+
+    /**
+     * Called for each binary field, such as artwork, the data itself is not read
+     *
+     * @param id the id of the field within the format
+     * @param key the generic key for the field, or null if it does not map to one
+     * @param offset position of the data in the file, or -1 if the data is not stored as is, e.g it is compressed
+     * @param length length of the data
+     */
+    void onBinary(String id, FieldKey key, long offset, int length);
+}
@@ -23,6 +23,7 @@
  */
 package org.jaudiotagger.tag.datatype;
 
+import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 
@@ -31,6 +32,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * A partial implementation for String based ID3 fields
@@ -113,7 +115,7 @@ public abstract class AbstractString extends AbstractDataType
         final byte textEncoding = this.getBody().getTextEncoding();
         final TextEncoding encoding = TextEncoding.getInstanceOf();
         final Charset charset = encoding.getCharsetForId(textEncoding);
-        CharsetEncoder encoder = charset.newEncoder();
+        CharsetEncoder encoder = TextCodecs.getEncoder(charset);
 
         if (encoder.canEncode((String) value))
         {
@@ -132,46 +134,64 @@ public abstract class AbstractString extends AbstractDataType
      * specified decoder
      *
      * @param inBuffer
-     * @return
+     * @return a reset decoder, only to be used by the current thread
      */
     protected CharsetDecoder getCorrectDecoder(ByteBuffer inBuffer)
     {
-        CharsetDecoder decoder=null;
+        final Charset charset = getTextEncodingCharSet();
         if(inBuffer.remaining()<=2)
         {
-            decoder = getTextEncodingCharSet().newDecoder();
-            decoder.reset();
-            return decoder;
+            return TextCodecs.getDecoder(charset);
         }
 
-        if(getTextEncodingCharSet()== StandardCharsets.UTF_16)
+        if(charset== StandardCharsets.UTF_16)
         {
             if(inBuffer.getChar(0)==0xfffe || inBuffer.getChar(0)==0xfeff)
             {
                 //Get the Specified Decoder
-                decoder = getTextEncodingCharSet().newDecoder();
-                decoder.reset();
+                return TextCodecs.getDecoder(charset);
             }
             else
             {
                 if(inBuffer.get(0)==0)
                 {
-                    decoder = StandardCharsets.UTF_16BE.newDecoder();
-                    decoder.reset();
+                    return TextCodecs.getDecoder(StandardCharsets.UTF_16BE);
                 }
                 else
                 {
-                    decoder = StandardCharsets.UTF_16LE.newDecoder();
-                    decoder.reset();
+                    return TextCodecs.getDecoder(StandardCharsets.UTF_16LE);
                 }
             }
         }
+        return TextCodecs.getDecoder(charset);
+    }
+
+    /**
+     * Decode text held in the text encoding of the frame, single byte text is converted without a decoder
+     *
+     * @param arr
+     * @param offset
+     * @param length
+     * @return the text, decoding stops at the first malformed input
+     */
+    protected String decodeText(byte[] arr, int offset, int length)
+    {
+        if (TextCodecs.isSingleByteText(getTextEncodingCharSet(), arr, offset, length))
+        {
+            return new String(arr, offset, length, StandardCharsets.ISO_8859_1);
+        }
+
+        ByteBuffer inBuffer;
+        if(TagOptionSingleton.getInstance().isAndroid())
+        {
+            //#302 [dallen] truncating array manually since the decoder.decode() does not honor the offset in the in buffer
+            inBuffer = ByteBuffer.wrap(Arrays.copyOfRange(arr, offset, offset + length));
+        }
         else
         {
-            decoder = getTextEncodingCharSet().newDecoder();
-            decoder.reset();
+            inBuffer = ByteBuffer.wrap(arr, offset, length).slice();
         }
-        return decoder;
+        return TextCodecs.decode(getCorrectDecoder(inBuffer), inBuffer);
     }
 
     /**
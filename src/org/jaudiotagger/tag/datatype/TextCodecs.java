@@ -0,0 +1,251 @@
+package org.jaudiotagger.tag.datatype;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Encoders and decoders for the charsets used by ID3 text, kept for reuse by each thread because creating them is
+ * expensive compared to coding the short values held by most text fields.
+ *
+ * Latin-1 text, and UTF-8 or UTF-16 text that is only made up of the characters it can hold, is converted directly
+ * rather than through a coder.
+ */
+public final class TextCodecs
+{
+    //Logger
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.tag.datatype");
+
+    private static final Charset[] CHARSETS = {StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16, StandardCharsets.UTF_16LE, StandardCharsets.UTF_16BE, StandardCharsets.UTF_8};
+
+    /**
+     * Buffers larger than this are not kept once used
+     */
+    private static final int MAX_CACHED_BUFFER_SIZE = 16 * 1024;
+
+    private static final ThreadLocal<TextCodecs> codecs = new ThreadLocal<TextCodecs>()
+    {
+        @Override
+        protected TextCodecs initialValue()
+        {
+            return new TextCodecs();
+        }
+    };
+
+    private final CharsetDecoder[] decoders = new CharsetDecoder[CHARSETS.length];
+    private final CharsetEncoder[] encoders = new CharsetEncoder[CHARSETS.length];
+    private CharBuffer chars = CharBuffer.allocate(256);
+    private ByteBuffer bytes = ByteBuffer.allocate(256);
+
+    private TextCodecs()
+    {
+    }
+
+    private static int indexOf(Charset charset)
+    {
+        for (int i = 0; i < CHARSETS.length; i++)
+        {
+            if (CHARSETS[i] == charset)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param charset
+     * @return a reset decoder for the charset that reports errors, only to be used by the current thread
+     */
+    public static CharsetDecoder getDecoder(Charset charset)
+    {
+        int index = indexOf(charset);
+        if (index == -1)
+        {
+            return charset.newDecoder();
+        }
+        CharsetDecoder[] decoders = codecs.get().decoders;
+        if (decoders[index] == null)
+        {
+            decoders[index] = charset.newDecoder();
+        }
+        return decoders[index].reset();
+    }
+
+    /**
+     * @param charset
+     * @return a reset encoder for the charset that ignores characters it cannot encode, only to be used by the
+     * current thread
+     */
+    public static CharsetEncoder getEncoder(Charset charset)
+    {
+        int index = indexOf(charset);
+        if (index == -1)
+        {
+            return newEncoder(charset);
+        }
+        CharsetEncoder[] encoders = codecs.get().encoders;
+        if (encoders[index] == null)
+        {
+            encoders[index] = newEncoder(charset);
+        }
+        return encoders[index].reset();
+    }
+
+    private static CharsetEncoder newEncoder(Charset charset)
+    {
+        CharsetEncoder encoder = charset.newEncoder();
+        encoder.onMalformedInput(CodingErrorAction.IGNORE);
+        encoder.onUnmappableCharacter(CodingErrorAction.IGNORE);
+        return encoder;
+    }
+
+    /**
+     * @param charset
+     * @param data
+     * @param offset
+     * @param length
+     * @return true if the data can be converted to text a byte at a time, because it is Latin-1 or ASCII only UTF-8
+     */
+    public static boolean isSingleByteText(Charset charset, byte[] data, int offset, int length)
+    {
+        if (charset == StandardCharsets.ISO_8859_1)
+        {
+            return true;
+        }
+        if (charset != StandardCharsets.UTF_8)
+        {
+            return false;
+        }
+        int end = offset + length;
+        for (int i = offset; i < end; i++)
+        {
+            if (data[i] < 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decode the remaining bytes of the buffer, decoding stops at the first malformed input
+     *
+     * @param decoder a reset decoder
+     * @param inBuffer
+     * @return the text decoded
+     */
+    public static String decode(CharsetDecoder decoder, ByteBuffer inBuffer)
+    {
+        int maxChars = (int) Math.ceil(inBuffer.remaining() * (double) decoder.maxCharsPerByte());
+        TextCodecs threadCodecs = codecs.get();
+        CharBuffer outBuffer = threadCodecs.chars;
+        if (outBuffer.capacity() < maxChars)
+        {
+            outBuffer = CharBuffer.allocate(maxChars);
+            if (maxChars <= MAX_CACHED_BUFFER_SIZE)
+            {
+                threadCodecs.chars = outBuffer;
+            }
+        }
+        outBuffer.clear();
+
+        CoderResult coderResult = decoder.decode(inBuffer, outBuffer, true);
+        if (coderResult.isError())
+        {
+            logger.warning("Problem decoding text with " + decoder.charset() + ":" + coderResult.toString());
+        }
+        decoder.flush(outBuffer);
+        outBuffer.flip();
+        return outBuffer.toString();
+    }
+
+    /**
+     * Encode text, characters that cannot be encoded are left out
+     *
+     * @param charset
+     * @param value
+     * @return the encoded text in an array of exactly the size needed
+     * @throws CharacterCodingException
+     */
+    public static byte[] encode(Charset charset, String value) throws CharacterCodingException
+    {
+        int length = value.length();
+        if (charset == StandardCharsets.ISO_8859_1 || charset == StandardCharsets.UTF_8)
+        {
+            char max = charset == StandardCharsets.ISO_8859_1 ? '\u00ff' : '\u007f';
+            byte[] data = new byte[length];
+            for (int i = 0; i < length; i++)
+            {
+                char c = value.charAt(i);
+                if (c > max)
+                {
+                    return encode(getEncoder(charset), value);
+                }
+                data[i] = (byte) c;
+            }
+            return data;
+        }
+        else if (charset == StandardCharsets.UTF_16LE || charset == StandardCharsets.UTF_16BE)
+        {
+            int high = charset == StandardCharsets.UTF_16BE ? 0 : 1;
+            byte[] data = new byte[length * 2];
+            for (int i = 0; i < length; i++)
+            {
+                char c = value.charAt(i);
+                if (Character.isSurrogate(c))
+                {
+                    return encode(getEncoder(charset), value);
+                }
+                data[i * 2 + high] = (byte) (c >> 8);
+                data[i * 2 + 1 - high] = (byte) c;
+            }
+            return data;
+        }
+        return encode(getEncoder(charset), value);
+    }
+
+    /**
+     * Encode text with an encoder
+     *
+     * @param encoder a reset encoder
+     * @param value
+     * @return the encoded text in an array of exactly the size needed
+     * @throws CharacterCodingException
+     */
+    public static byte[] encode(CharsetEncoder encoder, CharSequence value) throws CharacterCodingException
+    {
+        int maxBytes = (int) Math.ceil(value.length() * (double) encoder.maxBytesPerChar());
+        TextCodecs threadCodecs = codecs.get();
+        ByteBuffer outBuffer = threadCodecs.bytes;
+        if (outBuffer.capacity() < maxBytes)
+        {
+            outBuffer = ByteBuffer.allocate(maxBytes);
+            if (maxBytes <= MAX_CACHED_BUFFER_SIZE)
+            {
+                threadCodecs.bytes = outBuffer;
+            }
+        }
+        outBuffer.clear();
+
+        CoderResult coderResult = encoder.encode(CharBuffer.wrap(value), outBuffer, true);
+        if (!coderResult.isUnderflow())
+        {
+            coderResult.throwException();
+        }
+        coderResult = encoder.flush(outBuffer);
+        if (!coderResult.isUnderflow())
+        {
+            coderResult.throwException();
+        }
+        return Arrays.copyOf(outBuffer.array(), outBuffer.position());
+    }
+}
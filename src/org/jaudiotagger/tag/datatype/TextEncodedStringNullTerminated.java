@@ -6,7 +6,6 @@ import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.*;
 
 /**
@@ -175,19 +174,7 @@ public class TextEncodedStringNullTerminated extends AbstractString
         }
         else
         {
-            //Decode sliced inBuffer
-            ByteBuffer inBuffer = ByteBuffer.wrap(arr, offset, bufferSize).slice();
-            CharBuffer outBuffer = CharBuffer.allocate(bufferSize);
-
-            final CharsetDecoder decoder = getCorrectDecoder(inBuffer);
-            CoderResult coderResult = decoder.decode(inBuffer, outBuffer, true);
-            if (coderResult.isError())
-            {
-                logger.warning("Problem decoding text encoded null terminated string:" + coderResult.toString());
-            }
-            decoder.flush(outBuffer);
-            outBuffer.flip();
-            value = outBuffer.toString();
+            value = decodeText(arr, offset, bufferSize);
         }
         //Set Size so offset is ready for next field (includes the null terminator)
         logger.config("Read NullTerminatedString:" + value + " size inc terminator:" + size);
@@ -209,38 +196,19 @@ public class TextEncodedStringNullTerminated extends AbstractString
         {
             if (StandardCharsets.UTF_16.equals(charset))
             {
+                //Note remember LE BOM is ff fe but this is handled by encoder Unicode char is fe ff
                 if(TagOptionSingleton.getInstance().isEncodeUTF16BomAsLittleEndian())
                 {
-                    final CharsetEncoder encoder = StandardCharsets.UTF_16LE.newEncoder();
-                    encoder.onMalformedInput(CodingErrorAction.IGNORE);
-                    encoder.onUnmappableCharacter(CodingErrorAction.IGNORE);
-
-                    //Note remember LE BOM is ff fe but this is handled by encoder Unicode char is fe ff
-                    final ByteBuffer bb = encoder.encode(CharBuffer.wrap('\ufeff' + (String) value + '\0'));
-                    data = new byte[bb.limit()];
-                    bb.get(data, 0, bb.limit());
+                    data = TextCodecs.encode(StandardCharsets.UTF_16LE, '\ufeff' + (String) value + '\0');
                 }
                 else
                 {
-                     final CharsetEncoder encoder = StandardCharsets.UTF_16BE.newEncoder();
-                     encoder.onMalformedInput(CodingErrorAction.IGNORE);
-                     encoder.onUnmappableCharacter(CodingErrorAction.IGNORE);
-
-                     //Note  BE BOM will leave as fe ff
-                     final ByteBuffer bb = encoder.encode(CharBuffer.wrap('\ufeff' + (String) value + '\0'));
-                     data = new byte[bb.limit()];
-                     bb.get(data, 0, bb.limit());
+                    data = TextCodecs.encode(StandardCharsets.UTF_16BE, '\ufeff' + (String) value + '\0');
                 }
             }
             else
             {
-                final CharsetEncoder encoder = charset.newEncoder();
-                encoder.onMalformedInput(CodingErrorAction.IGNORE);
-                encoder.onUnmappableCharacter(CodingErrorAction.IGNORE);
-
-                final ByteBuffer bb = encoder.encode(CharBuffer.wrap((String) value + '\0'));
-                data = new byte[bb.limit()];
-                bb.get(data, 0, bb.limit());
+                data = TextCodecs.encode(charset, (String) value + '\0');
             }
         }
         //https://bitbucket.org/ijabz/jaudiotagger/issue/1/encoding-metadata-to-utf-16-can-fail-if
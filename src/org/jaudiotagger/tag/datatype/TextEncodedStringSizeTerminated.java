@@ -6,7 +6,6 @@ import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.*;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -82,44 +81,20 @@ public class TextEncodedStringSizeTerminated extends AbstractString
         logger.finest("Reading from array from offset:" + offset);
 
 
-        //Decode sliced inBuffer
-        ByteBuffer inBuffer;
-        if(TagOptionSingleton.getInstance().isAndroid())
-        {
-           //#302 [dallen] truncating array manually since the decoder.decode() does not honor the offset in the in buffer
-           byte[] truncArr = new byte[arr.length - offset];
-           System.arraycopy(arr, offset, truncArr, 0, truncArr.length);
-           inBuffer = ByteBuffer.wrap(truncArr);
-        }
-        else
-        {
-           inBuffer = ByteBuffer.wrap(arr, offset, arr.length - offset).slice();
-        }
-
-        CharBuffer outBuffer = CharBuffer.allocate(arr.length - offset);
-
-
-        CharsetDecoder decoder = getCorrectDecoder(inBuffer);
-        CoderResult coderResult = decoder.decode(inBuffer, outBuffer, true);
-        if (coderResult.isError())
-        {
-            logger.warning("Decoding error:" + coderResult.toString());
-        }
-        decoder.flush(outBuffer);
-        outBuffer.flip();
+        String text = decodeText(arr, offset, arr.length - offset);
 
         //If using UTF16 with BOM we then search through the text removing any BOMs that could exist
         //for multiple values, BOM could be Big Endian or Little Endian
         if (StandardCharsets.UTF_16.equals(getTextEncodingCharSet()))
         {
             //Remove addtional bom
-            value = outBuffer.toString().replace("\ufeff","").replace("\ufffe","");
+            value = text.replace("\ufeff","").replace("\ufffe","");
             //Remove unmappable chars caused by problem with decoding
             value = ((String)value).replace("\ufdff","").replace("\ufffd","");
         }
         else
         {
-            value = outBuffer.toString();
+            value = text;
         }
         //SetSize, important this is correct for finding the next datatype
         setSize(arr.length - offset);
@@ -142,18 +117,11 @@ public class TextEncodedStringSizeTerminated extends AbstractString
     protected ByteBuffer writeString( CharsetEncoder encoder, String next, int i, int noOfValues)
             throws CharacterCodingException
     {
-
-        ByteBuffer bb;
         if(( i + 1) == noOfValues )
         {
-            bb = encoder.encode(CharBuffer.wrap(next));
-        }
-        else
-        {
-            bb = encoder.encode(CharBuffer.wrap(next + '\0'));
+            return ByteBuffer.wrap(TextCodecs.encode(encoder.charset(), next));
         }
-        bb.rewind();
-        return bb;
+        return ByteBuffer.wrap(TextCodecs.encode(encoder.charset(), next + '\0'));
     }
 
 
@@ -174,22 +142,12 @@ public class TextEncodedStringSizeTerminated extends AbstractString
     protected ByteBuffer writeStringUTF16LEBOM(final String next, final int i, final int noOfValues)
             throws CharacterCodingException
     {
-        final CharsetEncoder encoder = StandardCharsets.UTF_16LE.newEncoder();
-        encoder.onMalformedInput(CodingErrorAction.IGNORE);
-        encoder.onUnmappableCharacter(CodingErrorAction.IGNORE);
-
-        ByteBuffer bb;
         //Note remember LE BOM is ff fe but this is handled by encoder Unicode char is fe ff
         if(( i + 1)==noOfValues)
         {
-            bb = encoder.encode(CharBuffer.wrap('\ufeff' + next ));
+            return ByteBuffer.wrap(TextCodecs.encode(StandardCharsets.UTF_16LE, '\ufeff' + next));
         }
-        else
-        {
-            bb = encoder.encode(CharBuffer.wrap('\ufeff' + next + '\0'));
-        }
-        bb.rewind();
-        return bb;
+        return ByteBuffer.wrap(TextCodecs.encode(StandardCharsets.UTF_16LE, '\ufeff' + next + '\0'));
     }
 
     /**
@@ -206,22 +164,12 @@ public class TextEncodedStringSizeTerminated extends AbstractString
     protected ByteBuffer writeStringUTF16BEBOM(final String next, final int i, final int noOfValues)
             throws CharacterCodingException
     {
-        final CharsetEncoder encoder = StandardCharsets.UTF_16BE.newEncoder();
-        encoder.onMalformedInput(CodingErrorAction.IGNORE);
-        encoder.onUnmappableCharacter(CodingErrorAction.IGNORE);
-
-        ByteBuffer bb;
         //Add BOM
         if(( i + 1)==noOfValues)
         {
-            bb = encoder.encode(CharBuffer.wrap('\ufeff' + next ));
+            return ByteBuffer.wrap(TextCodecs.encode(StandardCharsets.UTF_16BE, '\ufeff' + next));
         }
-        else
-        {
-            bb = encoder.encode(CharBuffer.wrap('\ufeff' + next + '\0'));
-        }
-        bb.rewind();
-        return bb;
+        return ByteBuffer.wrap(TextCodecs.encode(StandardCharsets.UTF_16BE, '\ufeff' + next + '\0'));
     }
 
     /**
@@ -296,38 +244,41 @@ public class TextEncodedStringSizeTerminated extends AbstractString
                 }
             }
 
-            //Ensure large enough for any encoding
-            ByteBuffer outputBuffer = ByteBuffer.allocate((stringValue.length() + 3)* 3);
-
             //Ensure each string (if multiple values) is written with BOM by writing separately
             List<String> values = splitByNullSeperator(stringValue);
             checkTrailingNull(values, stringValue);
 
             //For each value
+            ByteBuffer[] encoded = new ByteBuffer[values.size()];
+            int length = 0;
             for (int i=0;i<values.size();i++)
             {
                 String next = values.get(i);
 
                 if (StandardCharsets.UTF_16LE.equals(actualCharSet))
                 {
-                    outputBuffer.put(writeStringUTF16LEBOM( next, i, values.size()));
+                    encoded[i] = writeStringUTF16LEBOM( next, i, values.size());
                 }
                 else if (StandardCharsets.UTF_16BE.equals(actualCharSet))
                 {
-                    outputBuffer.put(writeStringUTF16BEBOM( next, i, values.size()));
+                    encoded[i] = writeStringUTF16BEBOM( next, i, values.size());
                 }
                 else
                 {
-                    final CharsetEncoder charsetEncoder = charset.newEncoder();
-                    charsetEncoder.onMalformedInput(CodingErrorAction.IGNORE);
-                    charsetEncoder.onUnmappableCharacter(CodingErrorAction.IGNORE);
-                    outputBuffer.put(writeString(charsetEncoder, next, i, values.size()));
+                    encoded[i] = writeString(TextCodecs.getEncoder(charset), next, i, values.size());
                 }
+                length += encoded[i].remaining();
+            }
+
+            //Sized exactly for the encoded values
+            data = new byte[length];
+            int position = 0;
+            for (ByteBuffer next : encoded)
+            {
+                int size = next.remaining();
+                next.get(data, position, size);
+                position += size;
             }
-            outputBuffer.flip();
-            data = new byte[outputBuffer.limit()];
-            outputBuffer.rewind();
-            outputBuffer.get(data, 0, outputBuffer.limit());
             setSize(data.length);
         }
         //https://bitbucket.org/ijabz/jaudiotagger/issue/1/encoding-metadata-to-utf-16-can-fail-if
@@ -19,13 +19,12 @@ import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.tag.*;
 import org.jaudiotagger.tag.id3.framebody.AbstractID3v2FrameBody;
 import org.jaudiotagger.tag.id3.framebody.FrameBodyEncrypted;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyFactory;
 import org.jaudiotagger.tag.id3.framebody.FrameBodyUnsupported;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.utils.EqualsUtil;
 
 import java.io.ByteArrayOutputStream;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.logging.Level;
@@ -55,6 +54,28 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
     //when processing many files
     private String loggingFilename = "";
 
+    /**
+     * When the body is read lazily a copy of the part of the tag buffer holding this frame, header and body, it is
+     * written back as it is unless the body has been changed
+     */
+    private ByteBuffer rawFrame;
+
+    /**
+     * Offset of the body data within the raw frame
+     */
+    private int rawBodyOffset;
+
+    /**
+     * True if the raw body data is the body as written by the frame body, not unsynchronised or compressed
+     */
+    private boolean rawBodyPlain;
+
+    /**
+     * True if the raw data is only the body, shared with the frame of another version this frame was converted from,
+     * so it cannot be written as it is
+     */
+    private boolean rawBodyShared;
+
     /**
      *
      * @return size in bytes of the frameid field
@@ -119,30 +140,12 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
         logger.config("Creating empty frame of type" + identifier);
         this.identifier = identifier;
 
-        // Use reflection to map id to frame body, which makes things much easier
-        // to keep things up to date.
-        try
-        {
-            Class<AbstractID3v2FrameBody> c = (Class<AbstractID3v2FrameBody>) Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + identifier);
-            frameBody = c.newInstance();
-        }
-        catch (ClassNotFoundException cnfe)
+        frameBody = FrameBodyFactory.createFrameBody(identifier);
+        if (frameBody == null)
         {
-            logger.severe(cnfe.getMessage());
+            logger.severe("No framebody for identifier:" + identifier);
             frameBody = new FrameBodyUnsupported(identifier);
         }
-        //Instantiate Interface/Abstract should not happen
-        catch (InstantiationException ie)
-        {
-            logger.log(Level.SEVERE, "InstantiationException:" + identifier, ie);
-            throw new RuntimeException(ie);
-        }
-        //Private Constructor shouild not happen
-        catch (IllegalAccessException iae)
-        {
-            logger.log(Level.SEVERE, "IllegalAccessException:" + identifier, iae);
-            throw new RuntimeException(iae);
-        }
         frameBody.setHeader(this);
         if (this instanceof ID3v24Frame)
         {
@@ -205,6 +208,200 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
 
     }
 
+    /**
+     * Whether the body should be skipped over when reading, and only decoded when first used. This is also done
+     * when only some fields are read, so the frames not wanted are never decoded.
+     *
+     * @return true if reading lazily
+     * @see TagOptionSingleton#isId3v2LazyFrameBodies()
+     * @see TagOptionSingleton#getReadFieldKeys()
+     */
+    protected boolean isLazyRead()
+    {
+        TagOptionSingleton options = TagOptionSingleton.getInstance();
+        return options.isId3v2LazyFrameBodies() || options.getReadFieldKeys() != null;
+    }
+
+    /**
+     * Called by read once the header has been read to keep a copy of the raw frame and skip over the body, the body
+     * is decoded with {@link #readFrameBody(ByteBuffer, int)} when first used.
+     *
+     * @param byteBuffer positioned at the start of the body data, it is moved to the end of the frame
+     * @param frameStart position in the buffer of the start of the frame header
+     * @param bodySize   number of bytes of body data
+     * @param plain      true if the body data is not unsynchronised or compressed
+     */
+    protected void skipBody(ByteBuffer byteBuffer, int frameStart, int bodySize, boolean plain)
+    {
+        ByteBuffer raw = byteBuffer.duplicate();
+        raw.limit(byteBuffer.position() + bodySize);
+        raw.position(frameStart);
+        //Always a copy, the buffer could belong to the caller or be mapped from the file being written to, and a slice
+        //would keep all of it in memory
+        rawFrame = ByteBuffer.allocate(raw.remaining());
+        rawFrame.put(raw);
+        rawFrame.flip();
+        rawBodyOffset = byteBuffer.position() - frameStart;
+        rawBodyPlain = plain;
+        rawBodyShared = false;
+        frameBody = null;
+        byteBuffer.position(byteBuffer.position() + bodySize);
+    }
+
+    /**
+     * Decode the body from the body data of the frame
+     *
+     * @param bodyBuffer the body data, following the header and any extra header bytes
+     * @param bodySize   number of bytes of body data
+     * @throws InvalidFrameException
+     * @throws InvalidDataTypeException
+     */
+    protected abstract void readFrameBody(ByteBuffer bodyBuffer, int bodySize) throws InvalidFrameException, InvalidDataTypeException;
+
+    /**
+     * @return false if the body was skipped when read and has not been decoded yet
+     */
+    public boolean isBodyLoaded()
+    {
+        return frameBody != null || rawFrame == null;
+    }
+
+    /**
+     * @return size of the frame as read, only valid if the frame was read lazily
+     */
+    protected int getRawFrameSize()
+    {
+        if (rawBodyShared)
+        {
+            return rawFrame.limit() + getFrameHeaderSize();
+        }
+        return rawFrame.limit();
+    }
+
+    /**
+     * Used when converting a frame from another version whose body data is the same in both versions. If the body of
+     * the frame has not been decoded yet share its body data instead of decoding and copying the body, each frame
+     * then decodes its own body when first used so changes to one do not affect the other.
+     *
+     * @param frame the frame being converted
+     * @return true if the body data is shared, otherwise the body must be converted
+     */
+    protected boolean shareRawBody(AbstractID3v2Frame frame)
+    {
+        if (frame.rawFrame == null || frame.frameBody != null || !frame.rawBodyPlain)
+        {
+            return false;
+        }
+        ByteBuffer rawBody = frame.rawFrame.duplicate();
+        rawBody.position(frame.rawBodyOffset);
+        rawFrame = rawBody.slice();
+        rawBodyOffset = 0;
+        rawBodyPlain = true;
+        rawBodyShared = true;
+        frameBody = null;
+        return true;
+    }
+
+    /**
+     * @return true if the body is decoded from body data shared with the frame this frame was converted from
+     */
+    protected boolean isRawBodyShared()
+    {
+        return rawBodyShared;
+    }
+
+    /**
+     * Decode the body skipped when read, if it cannot be decoded the body data is kept unchanged
+     */
+    private void loadBody()
+    {
+        ByteBuffer bodyBuffer = rawFrame.duplicate();
+        bodyBuffer.position(rawBodyOffset);
+        bodyBuffer = bodyBuffer.slice();
+        try
+        {
+            readFrameBody(bodyBuffer, bodyBuffer.limit());
+        }
+        catch (InvalidTagException ite)
+        {
+            logger.warning(getLoggingFilename() + ":" + "Unable to decode frame body:" + identifier + ":" + ite.getMessage());
+            byte[] data = new byte[bodyBuffer.limit()];
+            bodyBuffer.rewind();
+            bodyBuffer.get(data);
+            frameBody = new FrameBodyUnsupported(identifier, data);
+            frameBody.setHeader(this);
+        }
+    }
+
+    @Override
+    public AbstractTagFrameBody getBody()
+    {
+        if (frameBody == null && rawFrame != null)
+        {
+            loadBody();
+        }
+        return frameBody;
+    }
+
+    @Override
+    public void setBody(AbstractTagFrameBody frameBody)
+    {
+        rawFrame = null;
+        super.setBody(frameBody);
+    }
+
+    /**
+     * If the frame was read lazily and the body has not been changed write the frame as it was read
+     *
+     * @param tagBuffer
+     * @return true if the frame was written
+     */
+    protected boolean writeRawFrame(ByteArrayOutputStream tagBuffer)
+    {
+        if (rawFrame == null || rawBodyShared)
+        {
+            return false;
+        }
+
+        ByteBuffer rawBody = rawFrame.duplicate();
+        rawBody.position(rawBodyOffset);
+        rawBody = rawBody.slice();
+        if (!isRawFrameWritable(rawBody))
+        {
+            return false;
+        }
+
+        //Once decoded the body may have been changed, so only use the raw frame if writing the body gives the same data
+        if (frameBody != null)
+        {
+            if (!rawBodyPlain)
+            {
+                return false;
+            }
+            ID3ByteArrayOutputStream bodyOutputStream = new ID3ByteArrayOutputStream(rawBody.remaining());
+            ((AbstractID3v2FrameBody) frameBody).write(bodyOutputStream);
+            if (!rawBody.equals(bodyOutputStream.toByteBuffer()))
+            {
+                return false;
+            }
+        }
+
+        logger.config("Writing unchanged frame to file:" + getIdentifier());
+        tagBuffer.write(rawFrame.array(), rawFrame.arrayOffset(), rawFrame.limit());
+        return true;
+    }
+
+    /**
+     * Whether the frame as read is still valid to write with the current options
+     *
+     * @param rawBody the body data as read
+     * @return true if the frame can be written as read
+     */
+    protected boolean isRawFrameWritable(ByteBuffer rawBody)
+    {
+        return true;
+    }
+
     /**
      * Read the frameBody when frame marked as encrypted
      *
@@ -231,18 +428,14 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
         }
     }
 
-    protected boolean isPadding(byte[] buffer)
+    /**
+     * @param byteBuffer holding the frame, the position is not changed
+     * @param offset absolute position of the frame identifier
+     * @return true if the frame identifier is all zeros, so have reached the padding
+     */
+    protected boolean isPadding(ByteBuffer byteBuffer, int offset)
     {
-        if(
-                (buffer[0]=='\0')&&
-                (buffer[1]=='\0')&&
-                (buffer[2]=='\0')&&
-                (buffer[3]=='\0')
-           )
-        {
-            return true;
-        }
-        return false;
+        return ID3v2FrameIdentifiers.isPadding(byteBuffer, offset, getFrameIdSize());
     }
 
     /**
@@ -254,86 +447,41 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
      * @return a newly created FrameBody
      * @throws InvalidFrameException unable to construct a framebody from the data
      */
-    @SuppressWarnings("unchecked")
-    //TODO using reflection is rather slow perhaps we should change this
     protected AbstractID3v2FrameBody readBody(String identifier, ByteBuffer byteBuffer, int frameSize)
             throws InvalidFrameException, InvalidDataTypeException
     {
-        //Use reflection to map id to frame body, which makes things much easier
-        //to keep things up to date,although slight performance hit.
         logger.finest("Creating framebody:start");
 
         AbstractID3v2FrameBody frameBody;
         try
         {
-            Class<AbstractID3v2FrameBody> c = (Class<AbstractID3v2FrameBody>) Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + identifier);
-            Class<?>[] constructorParameterTypes = {Class.forName("java.nio.ByteBuffer"), Integer.TYPE};
-            Object[] constructorParameterValues = {byteBuffer, frameSize};
-            Constructor<AbstractID3v2FrameBody> construct = c.getConstructor(constructorParameterTypes);
-            frameBody = (construct.newInstance(constructorParameterValues));
-        }
-        //No class defined for this frame type,use FrameUnsupported
-        catch (ClassNotFoundException cex)
-        {
-            logger.config(getLoggingFilename() + ":" + "Identifier not recognised:" + identifier + " using FrameBodyUnsupported");
-            try
+            FrameBodyFactory.Reader reader = FrameBodyFactory.getReader(identifier);
+            //No class defined for this frame type,use FrameUnsupported
+            if (reader == null)
             {
+                if (FrameBodyFactory.isFrameBodyAvailable(identifier))
+                {
+                    logger.severe(getLoggingFilename() + ":" + "Framebody cannot be read:" + identifier);
+                    throw new RuntimeException("FrameBody" + identifier + " cannot be read from a buffer");
+                }
+                logger.config(getLoggingFilename() + ":" + "Identifier not recognised:" + identifier + " using FrameBodyUnsupported");
                 frameBody = new FrameBodyUnsupported(byteBuffer, frameSize);
             }
-            //Should only throw InvalidFrameException but unfortunately legacy hierachy forces
-            //read method to declare it can throw InvalidtagException
-            catch (InvalidFrameException ife)
-            {
-                throw ife;
-            }
-            catch (InvalidTagException te)
-            {
-                throw new InvalidFrameException(te.getMessage());
-            }
-        }
-        //An error has occurred during frame instantiation, if underlying cause is an unchecked exception or error
-        //propagate it up otherwise mark this frame as invalid
-        catch (InvocationTargetException ite)
-        {
-            logger.severe(getLoggingFilename() + ":" + "An error occurred within abstractID3v2FrameBody for identifier:" + identifier + ":" + ite.getCause().getMessage());
-            if (ite.getCause() instanceof Error)
-            {
-                throw (Error) ite.getCause();
-            }
-            else if (ite.getCause() instanceof RuntimeException)
-            {
-                throw (RuntimeException) ite.getCause();
-            }
-            else if(ite.getCause() instanceof  InvalidFrameException )
-            {
-                throw (InvalidFrameException)ite.getCause();
-            }
-            else if(ite.getCause() instanceof  InvalidDataTypeException )
-            {
-                throw (InvalidDataTypeException)ite.getCause();
-            }
             else
             {
-                throw new InvalidFrameException(ite.getCause().getMessage());
+                frameBody = reader.read(byteBuffer, frameSize);
             }
         }
-        //No Such Method should not happen
-        catch (NoSuchMethodException sme)
-        {
-            logger.log(Level.SEVERE, getLoggingFilename() + ":" + "No such method:" + sme.getMessage(), sme);
-            throw new RuntimeException(sme.getMessage());
-        }
-        //Instantiate Interface/Abstract should not happen
-        catch (InstantiationException ie)
+        //An error has occurred reading the frame, if underlying cause is an unchecked exception or error
+        //it is propagated up otherwise mark this frame as invalid
+        catch (InvalidFrameException | InvalidDataTypeException ex)
         {
-            logger.log(Level.SEVERE, getLoggingFilename() + ":" + "Instantiation exception:" + ie.getMessage(), ie);
-            throw new RuntimeException(ie.getMessage());
+            throw ex;
         }
-        //Private Constructor shouild not happen
-        catch (IllegalAccessException iae)
+        catch (InvalidTagException te)
         {
-            logger.log(Level.SEVERE, getLoggingFilename() + ":" + "Illegal access exception :" + iae.getMessage(), iae);
-            throw new RuntimeException(iae.getMessage());
+            logger.severe(getLoggingFilename() + ":" + "An error occurred within abstractID3v2FrameBody for identifier:" + identifier + ":" + te.getMessage());
+            throw new InvalidFrameException(te.getMessage());
         }
         logger.finest(getLoggingFilename() + ":" + "Created framebody:end" + frameBody.getIdentifier());
         frameBody.setHeader(this);
@@ -350,15 +498,15 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
      */
     protected String readIdentifier(ByteBuffer byteBuffer) throws PaddingException,InvalidFrameException
     {
-        byte[] buffer = new byte[getFrameIdSize()];
-
-        //Read the Frame Identifier
-        if(getFrameIdSize()<=byteBuffer.remaining())
+        //Read the Frame Identifier, not enough left for an identifier is treated as padding
+        int start = byteBuffer.position();
+        if(getFrameIdSize()>byteBuffer.remaining())
         {
-            byteBuffer.get(buffer, 0, getFrameIdSize());
+            throw new PaddingException(getLoggingFilename() + ":only padding found");
         }
+        byteBuffer.position(start + getFrameIdSize());
 
-        if(isPadding(buffer))
+        if(isPadding(byteBuffer, start))
         {
             throw new PaddingException(getLoggingFilename() + ":only padding found");
         }
@@ -369,9 +517,11 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
             throw new InvalidFrameException(getLoggingFilename() + ":" + "No space to find another frame");
         }
 
-
-        identifier = new String(buffer);
-        logger.fine(getLoggingFilename() + ":" + "Identifier is" + identifier);
+        identifier = ID3v2FrameIdentifiers.getIdentifier(byteBuffer, start, getFrameIdSize());
+        if (logger.isLoggable(Level.FINE))
+        {
+            logger.fine(getLoggingFilename() + ":" + "Identifier is" + identifier);
+        }
         return identifier;
     }
 
@@ -392,63 +542,20 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
      * @return newly created framebody for this type
      * @throws InvalidFrameException if unable to construct a framebody for the identifier and body provided.
      */
-    @SuppressWarnings("unchecked")
-    //TODO using reflection is rather slow perhaps we should change this
     protected AbstractID3v2FrameBody readBody(String identifier, AbstractID3v2FrameBody body) throws InvalidFrameException
     {
-        /* Use reflection to map id to frame body, which makes things much easier
-         * to keep things up to date, although slight performance hit.
-         */
-        AbstractID3v2FrameBody frameBody;
-        try
-        {
-            Class<AbstractID3v2FrameBody> c = (Class<AbstractID3v2FrameBody>) Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + identifier);
-            Class<?>[] constructorParameterTypes = {body.getClass()};
-            Object[] constructorParameterValues = {body};
-            Constructor<AbstractID3v2FrameBody> construct = c.getConstructor(constructorParameterTypes);
-            frameBody = (construct.newInstance(constructorParameterValues));
-        }
-        catch (ClassNotFoundException cex)
+        if (!FrameBodyFactory.isFrameBodyAvailable(identifier))
         {
             logger.config("Identifier not recognised:" + identifier + " unable to create framebody");
             throw new InvalidFrameException("FrameBody" + identifier + " does not exist");
         }
+        AbstractID3v2FrameBody frameBody = FrameBodyFactory.convertFrameBody(identifier, body);
         //If suitable constructor does not exist
-        catch (NoSuchMethodException sme)
+        if (frameBody == null)
         {
-            logger.log(Level.SEVERE, "No such method:" + sme.getMessage(), sme);
+            logger.severe("No constructor for FrameBody" + identifier + " that takes:" + body.getClass().getName());
             throw new InvalidFrameException("FrameBody" + identifier + " does not have a constructor that takes:" + body.getClass().getName());
         }
-        catch (InvocationTargetException ite)
-        {
-            logger.severe("An error occurred within abstractID3v2FrameBody");
-            logger.log(Level.SEVERE, "Invocation target exception:" + ite.getCause().getMessage(), ite.getCause());
-            if (ite.getCause() instanceof Error)
-            {
-                throw (Error) ite.getCause();
-            }
-            else if (ite.getCause() instanceof RuntimeException)
-            {
-                throw (RuntimeException) ite.getCause();
-            }
-            else
-            {
-                throw new InvalidFrameException(ite.getCause().getMessage());
-            }
-        }
-
-        //Instantiate Interface/Abstract should not happen
-        catch (InstantiationException ie)
-        {
-            logger.log(Level.SEVERE, "Instantiation exception:" + ie.getMessage(), ie);
-            throw new RuntimeException(ie.getMessage());
-        }
-        //Private Constructor shouild not happen
-        catch (IllegalAccessException iae)
-        {
-            logger.log(Level.SEVERE, "Illegal access exception :" + iae.getMessage(), iae);
-            throw new RuntimeException(iae.getMessage());
-        }
 
         logger.finer("frame Body created" + frameBody.getIdentifier());
         frameBody.setHeader(this);
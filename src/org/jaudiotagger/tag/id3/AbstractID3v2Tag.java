@@ -19,6 +19,7 @@ import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.UnableToCreateFileException;
 import org.jaudiotagger.audio.exceptions.UnableToModifyFileException;
 import org.jaudiotagger.audio.exceptions.UnableToRenameFileException;
+import org.jaudiotagger.audio.generic.PaddingMetrics;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.logging.ErrorMessage;
@@ -31,6 +32,7 @@ import org.jaudiotagger.tag.id3.framebody.*;
 import org.jaudiotagger.tag.id3.valuepair.ID3NumberTotalFields;
 import org.jaudiotagger.tag.id3.valuepair.StandardIPLSKey;
 import org.jaudiotagger.tag.images.Artwork;
+import org.jaudiotagger.tag.options.PaddingPolicy;
 import org.jaudiotagger.tag.reference.Languages;
 import org.jaudiotagger.tag.reference.PictureTypes;
 
@@ -38,7 +40,9 @@ import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.FileLock;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -89,15 +93,18 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
     //The max size we try to write in one go during "in place" operations to avoid memory issues
     private static final int IN_PLACE_CHUNK_SIZE = 1024 * 1024;
 
+    //Zeros shared by all writes of padding, written in as many pieces as needed
+    private static final ByteBuffer PADDING_BUFFER = ByteBuffer.allocateDirect(64 * 1024).asReadOnlyBuffer();
+
     /**
      * Map of all frames for this tag
      */
-    public HashMap<String, Object> frameMap = null;
+    public ID3v2FrameMap frameMap = null;
 
     /**
      * Map of all encrypted frames, these cannot be unencrypted by jaudiotagger
      */
-    public HashMap<String, Object> encryptedFrameMap = null;
+    public ID3v2FrameMap encryptedFrameMap = null;
 
     /**
      * Holds the ids of invalid duplicate frames
@@ -149,7 +156,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
         return true;
     }
 
-    private static boolean isID3V2Header(FileChannel fc) throws IOException
+    private static boolean isID3V2Header(SeekableByteChannel fc) throws IOException
     {
         long start = fc.position();
         ByteBuffer headerBuffer = Utils.readFileDataIntoBufferBE(fc, FIELD_TAGID_LENGTH);
@@ -193,7 +200,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * @return
      * @throws IOException
      */
-    public static boolean isId3Tag(FileChannel fc) throws IOException
+    public static boolean isId3Tag(SeekableByteChannel fc) throws IOException
     {
         if (!isID3V2Header(fc))
         {
@@ -250,8 +257,8 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
     //TODO Copy Encrypted frames needs implementing
     protected void copyFrames(AbstractID3v2Tag copyObject)
     {
-        frameMap = new LinkedHashMap<String, Object>();
-        encryptedFrameMap = new LinkedHashMap<String, Object>();
+        frameMap = new ID3v2FrameMap(copyObject.frameMap.size());
+        encryptedFrameMap = new ID3v2FrameMap();
 
         //Copy Frames that are a valid 2.4 type
         for (Object o1 : copyObject.frameMap.keySet())
@@ -400,18 +407,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     public boolean hasFrameOfType(String identifier)
     {
-        Iterator<String> iterator = frameMap.keySet().iterator();
-        String key;
-        boolean found = false;
-        while (iterator.hasNext() && !found)
-        {
-            key = iterator.next();
-            if (key.startsWith(identifier))
-            {
-                found = true;
-            }
-        }
-        return found;
+        return frameMap.hasIdentifierStartingWith(identifier);
     }
 
 
@@ -492,19 +488,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     public AbstractID3v2Frame getFirstField(String identifier)
     {
-        Object object = getFrame(identifier);
-        if (object == null)
-        {
-            return null;
-        }
-        if (object instanceof List)
-        {
-            return ((List<AbstractID3v2Frame>) object).get(0);
-        }
-        else
-        {
-            return (AbstractID3v2Frame) object;
-        }
+        return frameMap.getFirstFrame(identifier);
     }
 
     /**
@@ -665,7 +649,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * @param existingFrame
      * @param frame
      */
-    private void addNewFrameToMap(List<TagField> list, HashMap frameMap, AbstractID3v2Frame existingFrame, AbstractID3v2Frame frame)
+    private void addNewFrameToMap(List<TagField> list, Map<String, Object> frameMap, AbstractID3v2Frame existingFrame, AbstractID3v2Frame frame)
     {
         if (list.size() == 0)
         {
@@ -688,7 +672,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * @param existingFrame
      * @param frame
      */
-    private void addNewFrameOrAddField(List<TagField> list, HashMap frameMap, AbstractID3v2Frame existingFrame, AbstractID3v2Frame frame)
+    private void addNewFrameOrAddField(List<TagField> list, Map<String, Object> frameMap, AbstractID3v2Frame existingFrame, AbstractID3v2Frame frame)
     {
         ArrayList<TagField> mergedList = new ArrayList<TagField>();
         if (existingFrame != null)
@@ -794,26 +778,18 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
         {
             AbstractID3v2Frame newFrame = (AbstractID3v2Frame) field;
 
-            Object obj = frameMap.get(field.getId());
-
+            List<AbstractID3v2Frame> frames = frameMap.getFrames(field.getId());
 
             //If no frame of this type exist or if multiples are not allowed
-            if (obj == null)
+            if (frames.isEmpty())
             {
                 frameMap.put(field.getId(), field);
             }
-            //frame of this type already exists
-            else if (obj instanceof AbstractID3v2Frame)
+            //One or more frames of this type already exist
+            else
             {
-                List<AbstractID3v2Frame> frames = new ArrayList<AbstractID3v2Frame>();
-                frames.add((AbstractID3v2Frame) obj);
                 mergeDuplicateFrames(newFrame, frames);
             }
-            //Multiple frames of this type already exist
-            else if (obj instanceof List)
-            {
-                mergeDuplicateFrames(newFrame, (List<AbstractID3v2Frame>) obj);
-            }
         }
         else
         //TODO not handling multiple aggregated frames of same type
@@ -925,29 +901,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     public Iterator getFrameOfType(String identifier)
     {
-        Iterator<String> iterator = frameMap.keySet().iterator();
-        HashSet<Object> result = new HashSet<Object>();
-        String key;
-        while (iterator.hasNext())
-        {
-            key = iterator.next();
-            if (key.startsWith(identifier))
-            {
-                Object o = frameMap.get(key);
-                if (o instanceof List)
-                {
-                    for (Object next : (List) o)
-                    {
-                        result.add(next);
-                    }
-                }
-                else
-                {
-                    result.add(o);
-                }
-            }
-        }
-        return result.iterator();
+        return frameMap.getFramesStartingWith(identifier).iterator();
     }
 
 
@@ -1042,19 +996,8 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     public void removeFrameOfType(String identifier)
     {
-        //First fine matching keys
-        HashSet<String> result = new HashSet<String>();
-        for (Object match : frameMap.keySet())
-        {
-            String key = (String) match;
-            if (key.startsWith(identifier))
-            {
-                result.add(key);
-            }
-        }
-        //Then deleteField outside of loop to prevent concurrent modificatioon eception if there are two keys
-        //with the same id
-        for (String match : result)
+        //The matching keys are copied so they can be deleted in the loop
+        for (String match : frameMap.getIdentifiersStartingWith(identifier))
         {
             logger.finest("Removing frame with identifier:" + match + "because starts with:" + identifier);
             frameMap.remove(match);
@@ -1163,9 +1106,66 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     protected void writePadding(WritableByteChannel channel, int padding) throws IOException
     {
-        if (padding > 0)
+        for (ByteBuffer next : getPaddingBuffers(padding))
+        {
+            while (next.hasRemaining())
+            {
+                channel.write(next);
+            }
+        }
+    }
+
+    /**
+     * @param padding
+     * @return buffers holding padding bytes of the given total size
+     */
+    private static ByteBuffer[] getPaddingBuffers(int padding)
+    {
+        int pieces = (padding + PADDING_BUFFER.capacity() - 1) / PADDING_BUFFER.capacity();
+        ByteBuffer[] buffers = new ByteBuffer[pieces];
+        for (int i = 0; i < pieces; i++)
+        {
+            buffers[i] = PADDING_BUFFER.duplicate();
+            buffers[i].limit(Math.min(PADDING_BUFFER.capacity(), padding - i * PADDING_BUFFER.capacity()));
+        }
+        return buffers;
+    }
+
+    /**
+     * Write the header, body and padding of the tag to the channel, in a single gathering write if the channel
+     * supports it
+     *
+     * @param channel
+     * @param headerBuffer
+     * @param bodyBuffer
+     * @param padding
+     * @throws IOException
+     */
+    protected void writeBuffers(WritableByteChannel channel, ByteBuffer headerBuffer, ByteBuffer bodyBuffer, int padding) throws IOException
+    {
+        if (!(channel instanceof GatheringByteChannel))
+        {
+            while (headerBuffer.hasRemaining())
+            {
+                channel.write(headerBuffer);
+            }
+            while (bodyBuffer.hasRemaining())
+            {
+                channel.write(bodyBuffer);
+            }
+            writePadding(channel, padding);
+            return;
+        }
+
+        ByteBuffer[] paddingBuffers = getPaddingBuffers(padding);
+        ByteBuffer[] buffers = new ByteBuffer[paddingBuffers.length + 2];
+        buffers[0] = headerBuffer;
+        buffers[1] = bodyBuffer;
+        System.arraycopy(paddingBuffers, 0, buffers, 2, paddingBuffers.length);
+        long remaining = headerBuffer.remaining() + bodyBuffer.remaining() + (long) padding;
+        while (remaining > 0)
         {
-            channel.write(ByteBuffer.wrap(new byte[padding]));
+            remaining -= ((GatheringByteChannel) channel).write(buffers);
         }
     }
 
@@ -1210,6 +1210,22 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
                 fis.close();
             }
         }
+        return getV2TagSizeIfExists(bb);
+    }
+
+    /**
+     * Checks to see if the buffer starts with an ID3tag header and if so return the size of the tag (including
+     * header) as reported in the header, if no such tag exists return zero.
+     *
+     * @param bb buffer positioned at the start of the file, position is advanced past the header
+     * @return the end of the tag in the file or zero if no tag exists.
+     */
+    public static long getV2TagSizeIfExists(ByteBuffer bb)
+    {
+        if (bb.remaining() < TAG_HEADER_LENGTH)
+        {
+            return 0;
+        }
 
         //ID3 identifier
         byte[] tagIdentifier = new byte[FIELD_TAGID_LENGTH];
@@ -1287,7 +1303,24 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
         /** There is not enough room as we need to move the audio file we might
          *  as well increase it more than neccessary for future changes
          */
-        return tagSize + TAG_SIZE_INCREMENT;
+        return tagSize + PaddingPolicy.getPadding(tagSize, getArtworkSize(), TAG_SIZE_INCREMENT);
+    }
+
+    /**
+     * @return size of the picture frames in the tag
+     */
+    private int getArtworkSize()
+    {
+        int size = 0;
+        for (AbstractID3v2Frame frame : frameMap.getFrames(ID3v24Frames.FRAME_ID_ATTACHED_PICTURE))
+        {
+            size += frame.getSize();
+        }
+        for (AbstractID3v2Frame frame : frameMap.getFrames(ID3v22Frames.FRAME_ID_V2_ATTACHED_PICTURE))
+        {
+            size += frame.getSize();
+        }
+        return size;
     }
 
     /**
@@ -1573,6 +1606,22 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * @throws IOException
      */
     protected void writeBufferToFile(File file, ByteBuffer headerBuffer, byte[] bodyByteBuffer, int padding, int sizeIncPadding, long audioStartLocation) throws IOException
+    {
+        writeBufferToFile(file, headerBuffer, ByteBuffer.wrap(bodyByteBuffer), padding, sizeIncPadding, audioStartLocation);
+    }
+
+    /**
+     * Write the data from the buffers to the file, the header, body and padding are written together
+     *
+     * @param file
+     * @param headerBuffer
+     * @param bodyBuffer
+     * @param padding
+     * @param sizeIncPadding
+     * @param audioStartLocation
+     * @throws IOException
+     */
+    protected void writeBufferToFile(File file, ByteBuffer headerBuffer, ByteBuffer bodyBuffer, int padding, int sizeIncPadding, long audioStartLocation) throws IOException
     {
         FileChannel fc = null;
         FileLock fileLock = null;
@@ -1582,15 +1631,19 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
         {
             logger.finest("Adjusting Padding");
             adjustPadding(file, sizeIncPadding, audioStartLocation);
+            PaddingMetrics.getInstance().recordAudioMoved(padding);
+        }
+        else
+        {
+            PaddingMetrics.getInstance().recordInPlace();
         }
 
         try
         {
             fc = new RandomAccessFile(file, "rw").getChannel();
             fileLock = getFileLockForWriting(fc, file.getPath());
-            fc.write(headerBuffer);
-            fc.write(ByteBuffer.wrap(bodyByteBuffer));
-            fc.write(ByteBuffer.wrap(new byte[padding]));
+            writeBuffers(fc, headerBuffer, bodyBuffer, padding);
+            writeBuffersCompleted(fc);
         }
         catch (FileNotFoundException fe)
         {
@@ -1633,6 +1686,16 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
         }
     }
 
+    /**
+     * Called once the tag has been written to the start of the file, while the file is still open and locked
+     *
+     * @param fc
+     * @throws IOException
+     */
+    protected void writeBuffersCompleted(FileChannel fc) throws IOException
+    {
+    }
+
     /**
      * Replace originalFile with the contents of newFile
      * <p/>
@@ -1750,6 +1813,93 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
         }
     }
 
+    /**
+     * The identifiers, in any ID3v2 version, of the frames holding the fields given by
+     * {@link TagOptionSingleton#getReadFieldKeys()}
+     *
+     * @return the frame identifiers to read, or null if all frames are read
+     */
+    protected static Set<String> getReadFrameIds()
+    {
+        Set<FieldKey> fieldKeys = TagOptionSingleton.getInstance().getReadFieldKeys();
+        if (fieldKeys == null)
+        {
+            return null;
+        }
+
+        Set<String> frameIds = new HashSet<String>();
+        for (FieldKey fieldKey : fieldKeys)
+        {
+            ID3v24FieldKey v24FieldKey = ID3v24Frames.getInstanceOf().getId3KeyFromGenericKey(fieldKey);
+            if (v24FieldKey != null)
+            {
+                frameIds.add(v24FieldKey.getFrameId());
+            }
+            ID3v23FieldKey v23FieldKey = ID3v23Frames.getInstanceOf().getId3KeyFromGenericKey(fieldKey);
+            if (v23FieldKey != null)
+            {
+                frameIds.add(v23FieldKey.getFrameId());
+            }
+            ID3v22FieldKey v22FieldKey = ID3v22Frames.getInstanceOf().getId3KeyFromGenericKey(fieldKey);
+            if (v22FieldKey != null)
+            {
+                frameIds.add(v22FieldKey.getFrameId());
+            }
+        }
+
+        //In v23 the date is combined with the year
+        if (fieldKeys.contains(FieldKey.YEAR))
+        {
+            frameIds.add(ID3v23Frames.FRAME_ID_V3_TDAT);
+        }
+        return frameIds;
+    }
+
+    /**
+     * Skip the frame at the buffer position if it is not one of the frames being read. Only the identifier and size
+     * in the frame header are looked at, so the frame is never read.
+     *
+     * @param byteBuffer positioned at the start of a frame
+     * @param readFrameIds the frame identifiers to read, or null if all frames are read
+     * @param frameIdSize the frame identifier size for the tag version
+     * @return true if the frame was skipped and the buffer is positioned at the next frame
+     */
+    protected boolean skipFrameNotRead(ByteBuffer byteBuffer, Set<String> readFrameIds, int frameIdSize)
+    {
+        int frameStart = byteBuffer.position();
+        if (readFrameIds == null || !ID3v2FrameIdentifiers.isValid(byteBuffer, frameStart, frameIdSize))
+        {
+            return false;
+        }
+
+        String identifier = ID3v2FrameIdentifiers.getIdentifier(byteBuffer, frameStart, frameIdSize);
+        if (readFrameIds.contains(identifier))
+        {
+            return false;
+        }
+
+        int frameSize = getFrameSizeWithoutReading(byteBuffer, frameStart);
+        if (frameSize == -1)
+        {
+            return false;
+        }
+        logger.config(getLoggingFilename() + ":Skipping frame not being read:" + identifier);
+        byteBuffer.position(frameStart + frameSize);
+        return true;
+    }
+
+    /**
+     * Find the size of the frame starting at frameStart from its header, without reading the frame
+     *
+     * @param byteBuffer
+     * @param frameStart
+     * @return the size of the frame including its header, or -1 if the frame has to be read to find it
+     */
+    protected int getFrameSizeWithoutReading(ByteBuffer byteBuffer, int frameStart)
+    {
+        return -1;
+    }
+
     /**
      * Add frame to the frame map
      *
@@ -1758,7 +1908,8 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     protected void loadFrameIntoMap(String frameId, AbstractID3v2Frame next)
     {
-        if (next.getBody() instanceof FrameBodyEncrypted)
+        //Encrypted frames are always decoded when read
+        if (next.isBodyLoaded() && next.getBody() instanceof FrameBodyEncrypted)
         {
             loadFrameIntoSpecifiedMap(encryptedFrameMap, frameId, next);
         }
@@ -1779,36 +1930,15 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * @param frameId
      * @param next
      */
-    protected void loadFrameIntoSpecifiedMap(HashMap map, String frameId, AbstractID3v2Frame next)
+    protected void loadFrameIntoSpecifiedMap(ID3v2FrameMap map, String frameId, AbstractID3v2Frame next)
     {
         if ((ID3v24Frames.getInstanceOf().isMultipleAllowed(frameId)) ||
                 (ID3v23Frames.getInstanceOf().isMultipleAllowed(frameId)) ||
                 (ID3v22Frames.getInstanceOf().isMultipleAllowed(frameId)))
         {
-            //If a frame already exists of this type
-            if (map.containsKey(frameId))
-            {
-                Object o = map.get(frameId);
-                if (o instanceof ArrayList)
-                {
-                    ArrayList<AbstractID3v2Frame> multiValues = (ArrayList<AbstractID3v2Frame>) o;
-                    multiValues.add(next);
-                    logger.finer("Adding Multi Frame(1)" + frameId);
-                }
-                else
-                {
-                    ArrayList<AbstractID3v2Frame> multiValues = new ArrayList<AbstractID3v2Frame>();
-                    multiValues.add((AbstractID3v2Frame) o);
-                    multiValues.add(next);
-                    map.put(frameId, multiValues);
-                    logger.finer("Adding Multi Frame(2)" + frameId);
-                }
-            }
-            else
-            {
-                logger.finer("Adding Multi FrameList(3)" + frameId);
-                map.put(frameId, next);
-            }
+            //If a frame already exists of this type they are held in a list
+            logger.finer("Adding Multi Frame" + frameId);
+            map.addFrame(frameId, next);
         }
         //If duplicate frame just stores the name of the frame and the number of bytes the frame contains
         else if (map.containsKey(frameId))
@@ -1839,33 +1969,9 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
     public int getSize()
     {
         int size = 0;
-        Iterator iterator = frameMap.values().iterator();
-        AbstractID3v2Frame frame;
-        while (iterator.hasNext())
+        for (AbstractID3v2Frame frame : frameMap.getAllFrames())
         {
-            Object o = iterator.next();
-            if (o instanceof AbstractID3v2Frame)
-            {
-                frame = (AbstractID3v2Frame) o;
-                size += frame.getSize();
-            }
-            else if (o instanceof AggregatedFrame)
-            {
-                AggregatedFrame af = (AggregatedFrame) o;
-                for (AbstractID3v2Frame next : af.frames)
-                {
-                    size += next.getSize();
-                }
-            }
-            else if (o instanceof List)
-            {
-                ArrayList<AbstractID3v2Frame> multiFrames = (ArrayList<AbstractID3v2Frame>) o;
-                for (ListIterator<AbstractID3v2Frame> li = multiFrames.listIterator(); li.hasNext(); )
-                {
-                    frame = li.next();
-                    size += frame.getSize();
-                }
-            }
+            size += frame.getSize();
         }
         return size;
     }
@@ -1876,12 +1982,13 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * <p>Currently Write all frames, defaults to the order in which they were loaded, newly
      * created frames will be at end of tag.
      *
-     * @return ByteBuffer Contains all the frames written within the tag ready for writing to file
+     * @return stream sized from the current size of the frames containing all the frames written within the tag
+     * ready for writing to file
      * @throws IOException
      */
-    protected ByteArrayOutputStream writeFramesToBuffer() throws IOException
+    protected ID3ByteArrayOutputStream writeFramesToBuffer() throws IOException
     {
-        ByteArrayOutputStream bodyBuffer = new ByteArrayOutputStream();
+        ID3ByteArrayOutputStream bodyBuffer = new ID3ByteArrayOutputStream(getSize());
         writeFramesToBufferStream(frameMap, bodyBuffer);
         writeFramesToBufferStream(encryptedFrameMap, bodyBuffer);
         return bodyBuffer;
@@ -1956,23 +2063,9 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
     {
         MP3File.getStructureFormatter().openHeadingElement(TYPE_BODY, "");
 
-        AbstractID3v2Frame frame;
-        for (Object o : frameMap.values())
+        for (AbstractID3v2Frame frame : frameMap.getAllFrames())
         {
-            if (o instanceof AbstractID3v2Frame)
-            {
-                frame = (AbstractID3v2Frame) o;
-                frame.createStructure();
-            }
-            else
-            {
-                ArrayList<AbstractID3v2Frame> multiFrames = (ArrayList<AbstractID3v2Frame>) o;
-                for (ListIterator<AbstractID3v2Frame> li = multiFrames.listIterator(); li.hasNext(); )
-                {
-                    frame = li.next();
-                    frame.createStructure();
-                }
-            }
+            frame.createStructure();
         }
         MP3File.getStructureFormatter().closeHeadingElement(TYPE_BODY);
     }
@@ -2026,29 +2119,12 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
 
     /**
      * Retrieve the values that exists for this id3 frame id
+     *
+     * @return a copy of the frames with this id, changing the list does not change the tag
      */
     public List<TagField> getFields(String id) throws KeyNotFoundException
     {
-        Object o = getFrame(id);
-        if (o == null)
-        {
-            return new ArrayList<TagField>();
-        }
-        else if (o instanceof List)
-        {
-            //TODO should return copy
-            return (List<TagField>) o;
-        }
-        else if (o instanceof AbstractID3v2Frame)
-        {
-            List<TagField> list = new ArrayList<TagField>();
-            list.add((TagField) o);
-            return list;
-        }
-        else
-        {
-            throw new RuntimeException("Found entry in frameMap that was not a frame or a list:" + o);
-        }
+        return new ArrayList<TagField>(frameMap.getFrames(id));
     }
 
 
@@ -2815,65 +2891,35 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
         if (formatKey.getSubId() != null)
         {
             //Get list of frames that this uses
-            List<TagField> list = getFields(formatKey.getFrameId());
-            ListIterator<TagField> li = list.listIterator();
-            while (li.hasNext())
+            for (AbstractID3v2Frame frame : frameMap.getFrames(formatKey.getFrameId()))
             {
-                AbstractTagFrameBody next = ((AbstractID3v2Frame) li.next()).getBody();
+                AbstractTagFrameBody next = frame.getBody();
                 if (next instanceof FrameBodyTXXX)
                 {
                     if (((FrameBodyTXXX) next).getDescription().equals(formatKey.getSubId()))
                     {
-                        if (list.size() == 1)
-                        {
-                            removeFrame(formatKey.getFrameId());
-                        }
-                        else
-                        {
-                            li.remove();
-                        }
+                        frameMap.removeFrame(formatKey.getFrameId(), frame);
                     }
                 }
                 else if (next instanceof FrameBodyCOMM)
                 {
                     if (((FrameBodyCOMM) next).getDescription().equals(formatKey.getSubId()))
                     {
-                        if (list.size() == 1)
-                        {
-                            removeFrame(formatKey.getFrameId());
-                        }
-                        else
-                        {
-                            li.remove();
-                        }
+                        frameMap.removeFrame(formatKey.getFrameId(), frame);
                     }
                 }
                 else if (next instanceof FrameBodyWXXX)
                 {
                     if (((FrameBodyWXXX) next).getDescription().equals(formatKey.getSubId()))
                     {
-                        if (list.size() == 1)
-                        {
-                            removeFrame(formatKey.getFrameId());
-                        }
-                        else
-                        {
-                            li.remove();
-                        }
+                        frameMap.removeFrame(formatKey.getFrameId(), frame);
                     }
                 }
                 else if (next instanceof FrameBodyUFID)
                 {
                     if (((FrameBodyUFID) next).getOwner().equals(formatKey.getSubId()))
                     {
-                        if (list.size() == 1)
-                        {
-                            removeFrame(formatKey.getFrameId());
-                        }
-                        else
-                        {
-                            li.remove();
-                        }
+                        frameMap.removeFrame(formatKey.getFrameId(), frame);
                     }
                 }
                 //A single TIPL frame is used for multiple fields, so we just delete the matching pairs rather than
@@ -0,0 +1,29 @@
+package org.jaudiotagger.tag.id3;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Output stream used when writing frames and tags, the data written can be used without being copied.
+ *
+ * Created with the expected size of the data so that in most cases the stream does not have to grow.
+ */
+public class ID3ByteArrayOutputStream extends ByteArrayOutputStream
+{
+    /**
+     * @param expectedSize expected size of the data, the stream grows if more is written
+     */
+    public ID3ByteArrayOutputStream(int expectedSize)
+    {
+        super(Math.max(expectedSize, 32));
+    }
+
+    /**
+     * @return buffer holding the data written so far, it shares the data of this stream so is only valid until
+     * more is written
+     */
+    public ByteBuffer toByteBuffer()
+    {
+        return ByteBuffer.wrap(buf, 0, count);
+    }
+}
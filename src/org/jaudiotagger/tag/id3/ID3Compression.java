@@ -2,29 +2,78 @@ package org.jaudiotagger.tag.id3;
 
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.InvalidFrameException;
+import org.jaudiotagger.tag.TagOptionSingleton;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 
 /**
- * compresses frame data
- *
- * Is currently required for V23Frames and V24Frames
+ * Compresses and decompresses frame data
  *
+ * Is currently required for V23Frames and V24Frames. Inflaters and Deflaters hold native memory that is only freed
+ * when they are ended, so a few are kept for reuse rather than creating one for each frame.
  */
-//TODO also need to support compress framedata
 public class ID3Compression
 {
     //Logger
     public static Logger logger = Logger.getLogger("org.jaudiotagger.tag.id3");
 
+    /**
+     * Number of Inflaters and Deflaters kept for reuse
+     */
+    private static final int POOL_SIZE = 4;
+
+    /**
+     * Size of the chunks read from buffers without a backing array
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final BlockingQueue<Inflater> inflaters = new ArrayBlockingQueue<Inflater>(POOL_SIZE);
+    private static final BlockingQueue<Deflater> deflaters = new ArrayBlockingQueue<Deflater>(POOL_SIZE);
+
+    private static Inflater getInflater()
+    {
+        Inflater inflater = inflaters.poll();
+        return inflater != null ? inflater : new Inflater();
+    }
+
+    private static void releaseInflater(Inflater inflater)
+    {
+        inflater.reset();
+        if (!inflaters.offer(inflater))
+        {
+            inflater.end();
+        }
+    }
+
+    private static Deflater getDeflater()
+    {
+        Deflater deflater = deflaters.poll();
+        return deflater != null ? deflater : new Deflater();
+    }
+
+    private static void releaseDeflater(Deflater deflater)
+    {
+        deflater.reset();
+        if (!deflaters.offer(deflater))
+        {
+            deflater.end();
+        }
+    }
+
     /**
      * Decompress realFrameSize bytes to decompressedFrameSize bytes and return as ByteBuffer
      *
-     * @param byteBuffer
+     * The compressed data is read from the buffer where it is, or a chunk at a time if the buffer has no backing
+     * array, and decompressed straight into the array of the buffer returned.
+     *
+     * @param byteBuffer positioned at the start of the compressed data, the position is not changed
      * @param decompressedFrameSize
      * @param realFrameSize
      * @return
@@ -36,19 +85,41 @@ public class ID3Compression
         logger.config(filename + ":About to decompress " + realFrameSize + " bytes, expect result to be:" + decompressedFrameSize + " bytes");
         // Decompress the bytes into this buffer, size initialized from header field
         byte[] result = new byte[decompressedFrameSize];
-        byte[] input = new byte[realFrameSize];
-
-        //Store position ( just after frame header and any extra bits)
-        //Read frame data into array, and then put buffer back to where it was
-        int position = byteBuffer.position();
-        byteBuffer.get(input, 0, realFrameSize);
-        byteBuffer.position(position);
 
-        Inflater decompresser = new Inflater();
-        decompresser.setInput(input);
+        Inflater decompresser = getInflater();
         try
         {
-            int inflatedTo = decompresser.inflate(result);
+            int inflatedTo = 0;
+            if (byteBuffer.hasArray())
+            {
+                decompresser.setInput(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), realFrameSize);
+                inflatedTo = decompresser.inflate(result);
+            }
+            else
+            {
+                ByteBuffer input = byteBuffer.duplicate();
+                input.limit(input.position() + realFrameSize);
+                byte[] chunk = new byte[Math.min(realFrameSize, CHUNK_SIZE)];
+                while (inflatedTo < result.length && !decompresser.finished())
+                {
+                    if (decompresser.needsInput())
+                    {
+                        if (!input.hasRemaining())
+                        {
+                            break;
+                        }
+                        int chunkSize = Math.min(chunk.length, input.remaining());
+                        input.get(chunk, 0, chunkSize);
+                        decompresser.setInput(chunk, 0, chunkSize);
+                    }
+                    int inflated = decompresser.inflate(result, inflatedTo, result.length - inflatedTo);
+                    if (inflated == 0 && !decompresser.needsInput())
+                    {
+                        break;
+                    }
+                    inflatedTo += inflated;
+                }
+            }
             logger.config(filename + ":Decompressed to " + inflatedTo + " bytes");
         }
         catch (DataFormatException dfe)
@@ -59,8 +130,72 @@ public class ID3Compression
             byteBuffer.position(byteBuffer.position() + realFrameSize);
             throw new InvalidFrameException(ErrorMessage.ID3_UNABLE_TO_DECOMPRESS_FRAME.getMsg(identifier,filename,dfe.getMessage()));
         }
-        decompresser.end();
+        finally
+        {
+            releaseInflater(decompresser);
+        }
         return ByteBuffer.wrap(result);
     }
 
-}
\ No newline at end of file
+    /**
+     * @param bodySize size of the frame body before compression
+     * @return true if a frame body of this size should be compressed when written
+     * @see TagOptionSingleton#getId3v2CompressionThreshold()
+     */
+    protected static boolean isCompressionRequired(int bodySize)
+    {
+        int threshold = TagOptionSingleton.getInstance().getId3v2CompressionThreshold();
+        return threshold > 0 && bodySize > threshold;
+    }
+
+    /**
+     * Compress the frame body if required
+     *
+     * @param body     the frame body data, the position is not changed
+     * @param overhead extra bytes written in the frame header when the frame is compressed
+     * @return the compressed data, or null if the frame is not to be compressed or compressing does not make it
+     * smaller
+     */
+    protected static ByteBuffer compress(ByteBuffer body, int overhead)
+    {
+        int size = body.remaining();
+        if (!isCompressionRequired(size) || size <= overhead)
+        {
+            return null;
+        }
+
+        //Only worth having if smaller, so give up once the output reaches that size
+        byte[] output = new byte[size - overhead];
+        int deflatedTo = 0;
+        Deflater compresser = getDeflater();
+        try
+        {
+            if (body.hasArray())
+            {
+                compresser.setInput(body.array(), body.arrayOffset() + body.position(), size);
+            }
+            else
+            {
+                byte[] input = new byte[size];
+                body.duplicate().get(input);
+                compresser.setInput(input);
+            }
+            compresser.finish();
+            while (!compresser.finished() && deflatedTo < output.length)
+            {
+                deflatedTo += compresser.deflate(output, deflatedTo, output.length - deflatedTo);
+            }
+            if (!compresser.finished() || deflatedTo == output.length)
+            {
+                logger.config("Frame data of " + size + " bytes not made smaller by compression");
+                return null;
+            }
+        }
+        finally
+        {
+            releaseDeflater(compresser);
+        }
+        logger.config("Compressed frame data from " + size + " to " + deflatedTo + " bytes");
+        return ByteBuffer.wrap(output, 0, deflatedTo);
+    }
+}
@@ -55,9 +55,7 @@ public class ID3SyncSafeInteger
      */
     public static int bufferToValue(ByteBuffer buffer)
     {
-        byte byteBuffer[] = new byte[INTEGRAL_SIZE];
-        buffer.get(byteBuffer, 0, INTEGRAL_SIZE);
-        return bufferToValue(byteBuffer);
+        return ((buffer.get() & 0xff) << 21) + ((buffer.get() & 0xff) << 14) + ((buffer.get() & 0xff) << 7) + (buffer.get() & 0xff);
     }
 
     /**
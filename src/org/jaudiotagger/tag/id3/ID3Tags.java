@@ -16,6 +16,7 @@
 package org.jaudiotagger.tag.id3;
 
 import org.jaudiotagger.tag.TagException;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyFactory;
 
 import java.lang.reflect.Constructor;
 import java.util.logging.Logger;
@@ -290,11 +291,31 @@ public class ID3Tags
         return id;
     }
 
+    /**
+     * Copy constructor of each class copied by {@link #copyObject(Object)}, null if the class does not have one
+     */
+    private static final ClassValue<Constructor<?>> copyConstructors = new ClassValue<Constructor<?>>()
+    {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type)
+        {
+            try
+            {
+                return type.getConstructor(type);
+            }
+            catch (NoSuchMethodException ex)
+            {
+                return null;
+            }
+        }
+    };
+
     /**
      * Unable to instantiate abstract classes, so can't call the copy
      * constructor. So find out the instantiated class name and call the copy
-     * constructor through reflection (e.g for a a FrameBody would have to have a constructor
-     * that takes another frameBody as the same type as a parameter)
+     * constructor, frame bodies are copied using {@link FrameBodyFactory} and anything else
+     * through reflection (e.g for a a datatype would have to have a constructor
+     * that takes another datatype as the same type as a parameter)
      *
      * @param copyObject
      * @return
@@ -302,26 +323,27 @@ public class ID3Tags
      */
     public static Object copyObject(Object copyObject)
     {
-        Constructor<?> constructor;
-        Class<?>[] constructorParameterArray;
-        Object[] parameterArray;
         if (copyObject == null)
         {
             return null;
         }
-        try
+        if (copyObject instanceof AbstractTagFrameBody)
         {
-            constructorParameterArray = new Class[1];
-            constructorParameterArray[0] = copyObject.getClass();
-            constructor = copyObject.getClass().getConstructor(constructorParameterArray);
-            parameterArray = new Object[1];
-            parameterArray[0] = copyObject;
-            return constructor.newInstance(parameterArray);
+            AbstractTagFrameBody copy = FrameBodyFactory.copyFrameBody((AbstractTagFrameBody) copyObject);
+            if (copy != null)
+            {
+                return copy;
+            }
         }
-        catch (NoSuchMethodException ex)
+        Constructor<?> constructor = copyConstructors.get(copyObject.getClass());
+        if (constructor == null)
         {
             throw new IllegalArgumentException("NoSuchMethodException: Error finding constructor to create copy:"+copyObject.getClass().getName());
         }
+        try
+        {
+            return constructor.newInstance(copyObject);
+        }
         catch (IllegalAccessException ex)
         {
             throw new IllegalArgumentException("IllegalAccessException: No access to run constructor to create copy"+copyObject.getClass().getName());
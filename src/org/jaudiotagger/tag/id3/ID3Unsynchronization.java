@@ -2,8 +2,6 @@ package org.jaudiotagger.tag.id3;
 
 import org.jaudiotagger.audio.mp3.MPEGFrameHeader;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,21 +26,54 @@ public class ID3Unsynchronization
      */
     public static boolean requiresUnsynchronization(byte[] abySource)
     {
-        for (int i = 0; i < abySource.length - 1; i++)
+        return requiresUnsynchronization(abySource, 0, abySource.length);
+    }
+
+    /**
+     * Check if the remaining bytes of a buffer will require unsynchronization, the position of the buffer
+     * is not changed
+     *
+     * @param source the buffer to be examined
+     * @return true if unsynchronization is required, false otherwise
+     */
+    public static boolean requiresUnsynchronization(ByteBuffer source)
+    {
+        if (source.hasArray())
         {
-            if (((abySource[i] & MPEGFrameHeader.SYNC_BYTE1) == MPEGFrameHeader.SYNC_BYTE1) && ((abySource[i + 1] & MPEGFrameHeader.SYNC_BYTE2) == MPEGFrameHeader.SYNC_BYTE2))
+            return requiresUnsynchronization(source.array(), source.arrayOffset() + source.position(), source.remaining());
+        }
+        for (int i = source.position(); i < source.limit() - 1; i++)
+        {
+            if (isSyncPair(source.get(i), source.get(i + 1)))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean requiresUnsynchronization(byte[] abySource, int offset, int length)
+    {
+        int end = offset + length - 1;
+        for (int i = offset; i < end; i++)
+        {
+            if (isSyncPair(abySource[i], abySource[i + 1]))
             {
                 if (logger.isLoggable(Level.FINEST))
                 {
-                    logger.finest("Unsynchronisation required found bit at:" + i);
+                    logger.finest("Unsynchronisation required found bit at:" + (i - offset));
                 }
                 return true;
             }
         }
-
         return false;
     }
 
+    private static boolean isSyncPair(byte first, byte second)
+    {
+        return ((first & MPEGFrameHeader.SYNC_BYTE1) == MPEGFrameHeader.SYNC_BYTE1) && ((second & MPEGFrameHeader.SYNC_BYTE2) == MPEGFrameHeader.SYNC_BYTE2);
+    }
+
     /**
      * Unsynchronize an array of bytes, this should only be called if the decision has already been made to
      * unsynchronize the byte array
@@ -53,187 +84,178 @@ public class ID3Unsynchronization
      * $FF $00 $00
      *
      * @param abySource a byte array to be unsynchronized
-     * @return a unsynchronized representation of the source
+     * @return a unsynchronized representation of the source, the source itself if nothing had to be inserted
      */
     public static byte[] unsynchronize(byte[] abySource)
     {
-        ByteArrayInputStream input = new ByteArrayInputStream(abySource);
-        ByteArrayOutputStream output = new ByteArrayOutputStream(abySource.length);
+        int inserts = countInserts(abySource, 0, abySource.length);
+        if (inserts == 0)
+        {
+            return abySource;
+        }
+        byte[] output = new byte[abySource.length + inserts];
+        unsynchronize(abySource, 0, abySource.length, output);
+        return output;
+    }
 
-        int count = 0;
-        while (input.available() > 0)
+    /**
+     * Unsynchronize the remaining bytes of a buffer, this should only be called if the decision has already been
+     * made to unsynchronize the data
+     *
+     * @param source the data to be unsynchronized, its position is not changed
+     * @return a unsynchronized representation of the source backed by an array, the source itself if it is backed by
+     * an array and nothing had to be inserted
+     */
+    public static ByteBuffer unsynchronize(ByteBuffer source)
+    {
+        if (!source.hasArray())
+        {
+            byte[] data = new byte[source.remaining()];
+            source.duplicate().get(data);
+            return ByteBuffer.wrap(unsynchronize(data));
+        }
+
+        byte[] array = source.array();
+        int offset = source.arrayOffset() + source.position();
+        int length = source.remaining();
+        int inserts = countInserts(array, offset, length);
+        if (inserts == 0)
+        {
+            return source;
+        }
+        byte[] output = new byte[length + inserts];
+        unsynchronize(array, offset, length, output);
+        return ByteBuffer.wrap(output);
+    }
+
+    /**
+     * Count the zeros to insert so the output can be sized exactly
+     */
+    private static int countInserts(byte[] abySource, int offset, int length)
+    {
+        if (length == 0)
         {
-            int firstByte = input.read();
-            count++;
-            output.write(firstByte);
-            if ((firstByte & MPEGFrameHeader.SYNC_BYTE1) == MPEGFrameHeader.SYNC_BYTE1)
+            return 0;
+        }
+        int last = offset + length - 1;
+        int inserts = 0;
+        for (int i = offset; i < last; i++)
+        {
+            if (abySource[i] == (byte) MPEGFrameHeader.SYNC_BYTE1 && needsZeroAfterSync(abySource[i + 1]))
             {
-                // if byte is $FF, we must check the following byte if there is one
-                if (input.available() > 0)
-                {
-                    input.mark(1);  // remember where we were, if we don't need to unsynchronize
-                    int secondByte = input.read();
-                    if ((secondByte & MPEGFrameHeader.SYNC_BYTE2) == MPEGFrameHeader.SYNC_BYTE2)
-                    {
-                        // we need to unsynchronize here
-                        if (logger.isLoggable(Level.FINEST))
-                        {
-                            logger.finest("Writing unsynchronisation bit at:" + count);
-                        }
-                        output.write(0);
-
-                    }
-                    else if (secondByte == 0)
-                    {
-                        // we need to unsynchronize here
-                        if (logger.isLoggable(Level.FINEST))
-                        {
-                            logger.finest("Inserting zero unsynchronisation bit at:" + count);
-                        }
-                        output.write(0);
-                    }
-                    input.reset();
-                }
+                inserts++;
             }
         }
-        // if we needed to unsynchronize anything, and this tag ends with 0xff, we have to append a zero byte,
-        // which will be removed on de-unsynchronization later
-        if ((abySource[abySource.length - 1] & MPEGFrameHeader.SYNC_BYTE1) == MPEGFrameHeader.SYNC_BYTE1)
+        // if this tag ends with 0xff, we have to append a zero byte, which will be removed on de-unsynchronization later
+        if (abySource[last] == (byte) MPEGFrameHeader.SYNC_BYTE1)
+        {
+            inserts++;
+        }
+        if (inserts > 0 && logger.isLoggable(Level.FINEST))
         {
-            logger.finest("Adding unsynchronisation bit at end of stream");
-            output.write(0);
+            logger.finest("Inserting " + inserts + " unsynchronisation bits");
         }
-        return output.toByteArray();
+        return inserts;
     }
 
-
     /**
-     * Synchronize an array of bytes, this should only be called if it has been determined the tag is unsynchronised
-     *
-     * Any patterns of the form $FF $00 should be replaced by $FF
-     *
-     * @param source a ByteBuffer to be unsynchronized
-     * @return a synchronized representation of the source
+     * Copy the source to output inserting the zeros, output is already zeroed and of the size needed
      */
-    /*
-    public static ByteBuffer synchronize(ByteBuffer source)
+    private static void unsynchronize(byte[] abySource, int offset, int length, byte[] output)
     {
-        long start = System.nanoTime();
-
-        int bufferSize = source.limit();
-        ByteArrayOutputStream oBAOS = new ByteArrayOutputStream(bufferSize);
-        int position = 0;
-        while (position < bufferSize)
+        int end = offset + length;
+        int last = end - 1;
+        int from = offset;
+        int to = 0;
+        for (int i = offset; i < last; i++)
         {
-            int byteValue = source.get();
-            position ++;
-            oBAOS.write(byteValue);
-            if ((byteValue & MPEGFrameHeader.SYNC_BYTE1) == MPEGFrameHeader.SYNC_BYTE1)
+            if (abySource[i] == (byte) MPEGFrameHeader.SYNC_BYTE1 && needsZeroAfterSync(abySource[i + 1]))
             {
-                // we are skipping if $00 byte but check not an end of stream
-                if (position < bufferSize)
-                {
-                    int unsyncByteValue = source.get();
-                    position++;
-                    //If its the null byte we just ignore it
-                    if (unsyncByteValue != 0)
-                    {
-                        oBAOS.write(unsyncByteValue);
-                    }
-                }
+                //Copy up to and including the $FF, the zero is already in the output
+                int count = i + 1 - from;
+                System.arraycopy(abySource, from, output, to, count);
+                to += count + 1;
+                from = i + 1;
             }
         }
-        long time = System.nanoTime() - start;
-        ByteBuffer bb = ByteBuffer.wrap(oBAOS.toByteArray());
-        System.out.printf("Took %6.3f ms, was %d bytes, now %,d bytes%n", time/1e6, source.limit(), bb.limit());
-        return bb;
+        System.arraycopy(abySource, from, output, to, end - from);
+    }
+
+    private static boolean needsZeroAfterSync(byte next)
+    {
+        return next == 0 || ((next & MPEGFrameHeader.SYNC_BYTE2) == MPEGFrameHeader.SYNC_BYTE2);
     }
-    */
 
     /**
-     * Synchronize an array of bytes, this should only be called if it has been determined the tag is unsynchronised
+     * Synchronize part of an array of bytes in place, this should only be called if it has been determined the
+     * data is unsynchronised
      *
-     * Any patterns of the form $FF $00 should be replaced by $FF
+     * Any patterns of the form $FF $00 are replaced by $FF, the synchronized data starts at offset.
      *
-     * @param source a ByteBuffer to be unsynchronized
-     * @return a synchronized representation of the source
+     * @param data the array holding the unsynchronised data
+     * @param offset start of the data
+     * @param length length of the data
+     * @return the length of the synchronized data
      */
-    /*
-    public static ByteBuffer synchronize(ByteBuffer source)
+    public static int synchronize(byte[] data, int offset, int length)
+    {
+        return compact(data, offset, offset + length, offset) - offset;
+    }
+
+    /**
+     * Copy data[from..end) down to data[to..], dropping any $00 that follows a $FF
+     *
+     * @return the end of the compacted data
+     */
+    private static int compact(byte[] data, int from, int end, int to)
     {
-        long start = System.nanoTime();
-
-        int bufferSize = source.limit();
-        ByteBuffer output = ByteBuffer.allocate(bufferSize);
-        int position = 0;
-        int offset = 0;
-        int length = 0;
-        while (position < bufferSize)
+        for (; from < end; from++)
         {
-            int byteValue = source.get();
-            position++;
-            length++;
-            if ((byteValue & MPEGFrameHeader.SYNC_BYTE1) == MPEGFrameHeader.SYNC_BYTE1)
+            byte byteValue = data[from];
+            data[to++] = byteValue;
+            if (byteValue == (byte) MPEGFrameHeader.SYNC_BYTE1 && from + 1 < end && data[from + 1] == 0)
             {
-                // we are skipping if $00 byte but check not an end of stream
-                if (position < bufferSize)
-                {
-                    int unsyncByteValue = source.get();
-                    position++;
-                    //If this is null byte, then write upto this point
-                    if (unsyncByteValue == 0)
-                    {
-                        output.put(source.array(), source.arrayOffset() + offset, length);
-                        offset = position;
-                        length = 0;
-                    }
-                    else
-                    {
-                        length++;
-                    }
-                }
+                from++;
             }
         }
-        if (length > 0)
-        {
-            output.put(source.array(), source.arrayOffset() + offset, length);
-        }
-        output.flip();
-        long time = System.nanoTime() - start;
-        System.out.printf("Took %6.3f ms, was %d bytes, now %,d bytes%n", time/1e6, source.limit(), output.limit());
-        return output;
+        return to;
     }
-    */
 
     /**
-     * Synchronize an array of bytes, this should only be called if it has been determined the tag is unsynchronised
+     * Synchronize the remaining bytes of a buffer, this should only be called if it has been determined the tag
+     * is unsynchronised
      *
-     * Any patterns of the form $FF $00 should be replaced by $FF
+     * Any patterns of the form $FF $00 should be replaced by $FF. The source is not modified, if it holds no such
+     * pattern and is backed by an array a slice of it is returned rather than a copy. The returned buffer is always
+     * backed by an array.
      *
-     * @param source a ByteBuffer to be unsynchronized
+     * @param source a ByteBuffer to be synchronized
      * @return a synchronized representation of the source
      */
-
     public static ByteBuffer synchronize(ByteBuffer source)
     {
-        //long start = System.nanoTime();
-        
         int len = source.remaining();
-        byte[] bytes = new byte[len + 1]; // an extra byte saves a check later.
-        source.get(bytes, 0, len);
-        int from = 0, to = 0;
-        boolean copy = true; // whether to copy the byte, if false, check the byte != 0.
-        while (from < len)
+        if (!source.hasArray())
         {
-            byte byteValue = bytes[from++];
-            if (copy || byteValue != 0) bytes[to++] = byteValue;
-            copy = ((byteValue & MPEGFrameHeader.SYNC_BYTE1) != MPEGFrameHeader.SYNC_BYTE1);
+            byte[] bytes = new byte[len];
+            source.duplicate().get(bytes);
+            return ByteBuffer.wrap(bytes, 0, synchronize(bytes, 0, len));
         }
 
-        ByteBuffer bb2 = ByteBuffer.wrap(bytes, 0, to);
-        //long time = System.nanoTime() - start;
-        //System.out.printf("Took %6.3f ms, was %d bytes, now %,d bytes%n", time/1e6, source.limit(), bb2.limit());
-        return bb2;
+        byte[] array = source.array();
+        int start = source.arrayOffset() + source.position();
+        int end = start + len - 1;
+        for (int i = start; i < end; i++)
+        {
+            if (array[i] == (byte) MPEGFrameHeader.SYNC_BYTE1 && array[i + 1] == 0)
+            {
+                //Copy once then compact the copy from the first pattern found
+                int prefix = i + 1 - start;
+                byte[] bytes = new byte[len];
+                System.arraycopy(array, start, bytes, 0, len);
+                return ByteBuffer.wrap(bytes, 0, compact(bytes, prefix + 1, len, prefix));
+            }
+        }
+        return source.slice();
     }
-
 }
@@ -248,6 +248,19 @@ public class ID3v11Tag extends ID3v1Tag
 
     }
 
+    /**
+     * Creates a new ID3v11 datatype from the last bytes of the file.
+     *
+     * @param byteBuffer containing the last TAG_LENGTH bytes of the file
+     * @param loggingFilename
+     * @throws TagNotFoundException
+     */
+    public ID3v11Tag(ByteBuffer byteBuffer, String loggingFilename) throws TagNotFoundException
+    {
+        setLoggingFilename(loggingFilename);
+        read(byteBuffer);
+    }
+
     /**
      * Creates a new ID3v11 datatype.
      *
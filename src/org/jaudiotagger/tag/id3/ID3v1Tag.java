@@ -203,6 +203,19 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
         read(byteBuffer);
     }
 
+    /**
+     * Creates a new ID3v1 datatype from the last bytes of the file.
+     *
+     * @param byteBuffer containing the last TAG_LENGTH bytes of the file
+     * @param loggingFilename
+     * @throws TagNotFoundException
+     */
+    public ID3v1Tag(ByteBuffer byteBuffer, String loggingFilename) throws TagNotFoundException
+    {
+        setLoggingFilename(loggingFilename);
+        read(byteBuffer);
+    }
+
     /**
      * Creates a new ID3v1 datatype.
      *
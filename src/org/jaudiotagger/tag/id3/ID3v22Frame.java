@@ -22,19 +22,16 @@ import org.jaudiotagger.tag.InvalidFrameException;
 import org.jaudiotagger.tag.InvalidFrameIdentifierException;
 import org.jaudiotagger.tag.id3.framebody.AbstractID3v2FrameBody;
 import org.jaudiotagger.tag.id3.framebody.FrameBodyDeprecated;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyFactory;
 import org.jaudiotagger.tag.id3.framebody.FrameBodyUnsupported;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.utils.EqualsUtil;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.logging.Level;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Represents an ID3v2.2 frame.
@@ -45,8 +42,6 @@ import java.util.regex.Pattern;
  */
 public class ID3v22Frame extends AbstractID3v2Frame
 {
-    private static Pattern validFrameIdentifier = Pattern.compile("[A-Z][0-9A-Z]{2}");
-
     protected static final int FRAME_ID_SIZE = 3;
     protected static final int FRAME_SIZE_SIZE = 3;
     protected static final int FRAME_HEADER_SIZE = FRAME_ID_SIZE + FRAME_SIZE_SIZE;
@@ -116,7 +111,6 @@ public class ID3v22Frame extends AbstractID3v2Frame
      * create a new frame from scratch using user values
      * @param identifier
      */
-    @SuppressWarnings("unchecked")
     public ID3v22Frame(String identifier)
     {
 
@@ -152,30 +146,12 @@ public class ID3v22Frame extends AbstractID3v2Frame
             }
         }
 
-        // Use reflection to map id to frame body, which makes things much easier
-        // to keep things up to date.
-        try
-        {
-            Class<AbstractID3v2FrameBody> c = (Class<AbstractID3v2FrameBody>) Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + bodyIdentifier);
-            frameBody = c.newInstance();
-        }
-        catch (ClassNotFoundException cnfe)
+        frameBody = FrameBodyFactory.createFrameBody(bodyIdentifier);
+        if (frameBody == null)
         {
-            logger.log(Level.SEVERE, cnfe.getMessage(), cnfe);
+            logger.severe("No framebody for identifier:" + bodyIdentifier);
             frameBody = new FrameBodyUnsupported(identifier);
         }
-        //Instantiate Interface/Abstract should not happen
-        catch (InstantiationException ie)
-        {
-            logger.log(Level.SEVERE, ie.getMessage(), ie);
-            throw new RuntimeException(ie);
-        }
-        //Private Constructor shouild not happen
-        catch (IllegalAccessException iae)
-        {
-            logger.log(Level.SEVERE, iae.getMessage(), iae);
-            throw new RuntimeException(iae);
-        }
         frameBody.setHeader(this);
         logger.config("Created empty frame of type" + this.identifier + "with frame body of" + bodyIdentifier);
 
@@ -304,21 +280,11 @@ public class ID3v22Frame extends AbstractID3v2Frame
      */
     public int getSize()
     {
-        return frameBody.getSize() + getFrameHeaderSize();
-    }
-
-    @Override 
-    protected boolean isPadding(byte[] buffer)
-    {
-        if(
-                (buffer[0]=='\0')&&
-                (buffer[1]=='\0')&&
-                (buffer[2]=='\0')
-           )
+        if (!isBodyLoaded())
         {
-            return true;
+            return getRawFrameSize();
         }
-        return false;
+        return frameBody.getSize() + getFrameHeaderSize();
     }
 
     /**
@@ -329,10 +295,9 @@ public class ID3v22Frame extends AbstractID3v2Frame
      */
     public void read(ByteBuffer byteBuffer) throws InvalidFrameException, InvalidDataTypeException
     {
+        int frameStart = byteBuffer.position();
         String identifier = readIdentifier(byteBuffer);
 
-        byte[] buffer = new byte[getFrameSizeSize()];
-
         // Is this a valid identifier?
         if (!isValidID3v2FrameIdentifier(identifier))
         {
@@ -340,9 +305,8 @@ public class ID3v22Frame extends AbstractID3v2Frame
             byteBuffer.position(byteBuffer.position() - (getFrameIdSize() - 1));
             throw new InvalidFrameIdentifierException(getLoggingFilename() + ":" + identifier + ":is not a valid ID3v2.20 frame");
         }
-        //Read Frame Size (same size as Frame Id so reuse buffer)
-        byteBuffer.get(buffer, 0, getFrameSizeSize());
-        frameSize = decodeSize(buffer);
+        //Read Frame Size
+        frameSize = decodeSize(byteBuffer);
         if (frameSize < 0)
         {
             throw new InvalidFrameException(identifier + " has invalid size of:" + frameSize);
@@ -361,28 +325,11 @@ public class ID3v22Frame extends AbstractID3v2Frame
         else
         {
             logger.fine("Frame Size Is:" + frameSize);
-            //Convert v2.2 to v2.4 id just for reading the data
-            String id = ID3Tags.convertFrameID22To24(identifier);
-            if (id == null)
+            if (isLazyRead())
             {
-                //OK,it may be convertable to a v.3 id even though not valid v.4
-                id = ID3Tags.convertFrameID22To23(identifier);
-                if (id == null)
-                {
-                    // Is it a valid v22 identifier so should be able to find a
-                    // frame body for it.
-                    if (ID3Tags.isID3v22FrameIdentifier(identifier))
-                    {
-                        id = identifier;
-                    }
-                    // Unknown so will be created as FrameBodyUnsupported
-                    else
-                    {
-                        id = UNSUPPORTED_ID;
-                    }
-                }
+                skipBody(byteBuffer, frameStart, frameSize, true);
+                return;
             }
-            logger.fine("Identifier was:" + identifier + " reading using:" + id);
 
             //Create Buffer that only contains the body of this frame rather than the remainder of tag
             ByteBuffer frameBodyBuffer = byteBuffer.slice();
@@ -390,7 +337,7 @@ public class ID3v22Frame extends AbstractID3v2Frame
 
             try
             {
-                frameBody = readBody(id, frameBodyBuffer, frameSize);
+                readFrameBody(frameBodyBuffer, frameSize);
             }
             finally
             {
@@ -401,14 +348,71 @@ public class ID3v22Frame extends AbstractID3v2Frame
     }
 
     /**
-     * Read Frame Size, which has to be decoded
-     * @param buffer
+     * Read the body from the body data
+     *
+     * @param frameBodyBuffer
+     * @param frameSize
+     * @throws InvalidFrameException
+     * @throws InvalidDataTypeException
+     */
+    protected void readFrameBody(ByteBuffer frameBodyBuffer, int frameSize) throws InvalidFrameException, InvalidDataTypeException
+    {
+        //Convert v2.2 to v2.4 id just for reading the data
+        String id = ID3Tags.convertFrameID22To24(identifier);
+        if (id == null)
+        {
+            //OK,it may be convertable to a v.3 id even though not valid v.4
+            id = ID3Tags.convertFrameID22To23(identifier);
+            if (id == null)
+            {
+                // Is it a valid v22 identifier so should be able to find a
+                // frame body for it.
+                if (ID3Tags.isID3v22FrameIdentifier(identifier))
+                {
+                    id = identifier;
+                }
+                // Unknown so will be created as FrameBodyUnsupported
+                else
+                {
+                    id = UNSUPPORTED_ID;
+                }
+            }
+        }
+        logger.fine("Identifier was:" + identifier + " reading using:" + id);
+        frameBody = readBody(id, frameBodyBuffer, frameSize);
+    }
+
+    /**
+     * Find the size of the frame starting at frameStart, looking only at the frame header and without moving the
+     * buffer, so that a frame that is not wanted can be skipped without reading it
+     *
+     * @param byteBuffer
+     * @param frameStart
+     * @return the size of the frame including its header, or -1 if the frame should be read as usual
+     */
+    static int getFrameSizeWithoutReading(ByteBuffer byteBuffer, int frameStart)
+    {
+        if (byteBuffer.limit() - frameStart < FRAME_HEADER_SIZE)
+        {
+            return -1;
+        }
+        int sizeStart = frameStart + FRAME_ID_SIZE;
+        int frameSize = (byteBuffer.get(sizeStart) << 16) | ((byteBuffer.get(sizeStart + 1) & 0xff) << 8) | (byteBuffer.get(sizeStart + 2) & 0xff);
+        if (frameSize <= 0 || frameSize > byteBuffer.limit() - frameStart - FRAME_HEADER_SIZE)
+        {
+            return -1;
+        }
+        return FRAME_HEADER_SIZE + frameSize;
+    }
+
+    /**
+     * Read Frame Size, which has to be decoded, a signed three byte value as it has always been read
+     * @param byteBuffer
      * @return
      */
-    private int decodeSize(byte[] buffer)
+    private int decodeSize(ByteBuffer byteBuffer)
     {
-        BigInteger bi = new BigInteger(buffer);
-        int tmpSize = bi.intValue();
+        int tmpSize = (byteBuffer.get() << 16) | ((byteBuffer.get() & 0xff) << 8) | (byteBuffer.get() & 0xff);
         if (tmpSize < 0)
         {
             logger.warning("Invalid Frame Size of:" + tmpSize + "Decoded from bin:" + Integer.toBinaryString(tmpSize) + "Decoded from hex:" + Integer.toHexString(tmpSize));
@@ -423,19 +427,24 @@ public class ID3v22Frame extends AbstractID3v2Frame
      */
     public void write(ByteArrayOutputStream tagBuffer)
     {
+        if (writeRawFrame(tagBuffer))
+        {
+            return;
+        }
+
         logger.config("Write Frame to Buffer" + getIdentifier());
         //This is where we will write header, move position to where we can
         //write body
         ByteBuffer headerBuffer = ByteBuffer.allocate(getFrameHeaderSize());
 
         //Write Frame Body Data
-        ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
-        ((AbstractID3v2FrameBody) frameBody).write(bodyOutputStream);
+        ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream(getBody().getSize());
+        ((AbstractID3v2FrameBody) getBody()).write(bodyOutputStream);
 
         //Write Frame Header
         //Write Frame ID must adjust can only be 3 bytes long
         headerBuffer.put(getIdentifier().getBytes(StandardCharsets.ISO_8859_1), 0, getFrameIdSize());
-        encodeSize(headerBuffer, frameBody.getSize());
+        encodeSize(headerBuffer, getBody().getSize());
 
         //Add header to the Byte Array Output Stream
         try
@@ -443,7 +452,7 @@ public class ID3v22Frame extends AbstractID3v2Frame
             tagBuffer.write(headerBuffer.array());
 
             //Add body to the Byte Array Output Stream
-            tagBuffer.write(bodyOutputStream.toByteArray());
+            bodyOutputStream.writeTo(tagBuffer);
         }
         catch (IOException ioe)
         {
@@ -475,8 +484,7 @@ public class ID3v22Frame extends AbstractID3v2Frame
      */
     public boolean isValidID3v2FrameIdentifier(String identifier)
     {
-        Matcher m = ID3v22Frame.validFrameIdentifier.matcher(identifier);
-        return m.matches();
+        return ID3v2FrameIdentifiers.isValid(identifier, FRAME_ID_SIZE);
     }
 
     /**
@@ -486,7 +494,7 @@ public class ID3v22Frame extends AbstractID3v2Frame
     {
         MP3File.getStructureFormatter().openHeadingElement(TYPE_FRAME, getIdentifier());
         MP3File.getStructureFormatter().addElement(TYPE_FRAME_SIZE, frameSize);
-        frameBody.createStructure();
+        getBody().createStructure();
         MP3File.getStructureFormatter().closeHeadingElement(TYPE_FRAME);
     }
 
@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 
 /**
@@ -104,8 +105,8 @@ public class ID3v22Tag extends AbstractID3v2Tag
      */
     public ID3v22Tag()
     {
-        frameMap = new LinkedHashMap();
-        encryptedFrameMap = new LinkedHashMap();
+        frameMap = new ID3v2FrameMap();
+        encryptedFrameMap = new ID3v2FrameMap();
     }
 
     /**
@@ -158,8 +159,8 @@ public class ID3v22Tag extends AbstractID3v2Tag
      */
     public ID3v22Tag(AbstractTag mp3tag)
     {
-        frameMap = new LinkedHashMap();
-        encryptedFrameMap = new LinkedHashMap();
+        frameMap = new ID3v2FrameMap();
+        encryptedFrameMap = new ID3v2FrameMap();
         logger.config("Creating tag from a tag of a different version");
         //Default Superclass constructor does nothing
         if (mp3tag != null)
@@ -391,6 +392,15 @@ public class ID3v22Tag extends AbstractID3v2Tag
         logger.config(getLoggingFilename() + ":" + "Loaded Frames,there are:" + frameMap.keySet().size());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int getFrameSizeWithoutReading(ByteBuffer byteBuffer, int frameStart)
+    {
+        return ID3v22Frame.getFrameSizeWithoutReading(byteBuffer, frameStart);
+    }
+
     /**
      * Read frames from tag
      * @param byteBuffer
@@ -400,8 +410,9 @@ public class ID3v22Tag extends AbstractID3v2Tag
     {
         //Now start looking for frames
         ID3v22Frame next;
-        frameMap = new LinkedHashMap();
-        encryptedFrameMap = new LinkedHashMap();
+        Set<String> readFrameIds = getReadFrameIds();
+        frameMap = new ID3v2FrameMap();
+        encryptedFrameMap = new ID3v2FrameMap();
 
         //Read the size from the Tag Header
         this.fileReadSize = size;
@@ -417,8 +428,17 @@ public class ID3v22Tag extends AbstractID3v2Tag
             {
                 //Read Frame
                 logger.config(getLoggingFilename() + ":" + "looking for next frame at:" + byteBuffer.position());
+                if (skipFrameNotRead(byteBuffer, readFrameIds, ID3v22Frame.FRAME_ID_SIZE))
+                {
+                    continue;
+                }
                 next = new ID3v22Frame(byteBuffer, getLoggingFilename());
                 String id = next.getIdentifier();
+                if (readFrameIds != null && !readFrameIds.contains(id))
+                {
+                    logger.config(getLoggingFilename() + ":Skipping frame not being read:" + id);
+                    continue;
+                }
                 loadFrameIntoMap(id, next);
             }
             //Found Padding, no more frames
@@ -538,23 +558,23 @@ public class ID3v22Tag extends AbstractID3v2Tag
         logger.config("Writing tag to file:"+getLoggingFilename());
 
         // Write Body Buffer
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
+        ByteBuffer bodyByteBuffer = writeFramesToBuffer().toByteBuffer();
 
         // Unsynchronize if option enabled and unsync required
         unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyByteBuffer);
         if (isUnsynchronization())
         {
             bodyByteBuffer = ID3Unsynchronization.unsynchronize(bodyByteBuffer);
-            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.length);
+            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.remaining());
         }
 
-        int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) audioStartLocation);
-        int padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+        int sizeIncPadding = calculateTagSize(bodyByteBuffer.remaining() + TAG_HEADER_LENGTH, (int) audioStartLocation);
+        int padding = sizeIncPadding - (bodyByteBuffer.remaining() + TAG_HEADER_LENGTH);
         logger.config(getLoggingFilename() + ":Current audiostart:" + audioStartLocation);
         logger.config(getLoggingFilename() + ":Size including padding:" + sizeIncPadding);
         logger.config(getLoggingFilename() + ":Padding:" + padding);
 
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.remaining());
         writeBufferToFile(file,headerBuffer, bodyByteBuffer,padding,sizeIncPadding,audioStartLocation);
         return sizeIncPadding;
     }
@@ -568,28 +588,26 @@ public class ID3v22Tag extends AbstractID3v2Tag
     {
         logger.config(getLoggingFilename() + ":Writing tag to channel");
 
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
-        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.length);
+        ByteBuffer bodyByteBuffer = writeFramesToBuffer().toByteBuffer();
+        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.remaining());
 
         //Unsynchronize if option enabled and unsync required
         unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyByteBuffer);
         if (isUnsynchronization())
         {
             bodyByteBuffer = ID3Unsynchronization.unsynchronize(bodyByteBuffer);
-            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.length);
+            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.remaining());
         }
 
         int padding = 0;
         if(currentTagSize > 0)
         {
-            int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) currentTagSize);
-            padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+            int sizeIncPadding = calculateTagSize(bodyByteBuffer.remaining() + TAG_HEADER_LENGTH, (int) currentTagSize);
+            padding = sizeIncPadding - (bodyByteBuffer.remaining() + TAG_HEADER_LENGTH);
         }
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.remaining());
 
-        channel.write(headerBuffer);
-        channel.write(ByteBuffer.wrap(bodyByteBuffer));
-        writePadding(channel, padding);
+        writeBuffers(channel, headerBuffer, bodyByteBuffer, padding);
     }
 
     public void createStructure()
@@ -898,7 +916,8 @@ public class ID3v22Tag extends AbstractID3v2Tag
 
     protected void loadFrameIntoMap(String frameId, AbstractID3v2Frame next)
     {
-        if (next.getBody() instanceof FrameBodyTCON)
+        //Only decode genre frames, other frames may not have been decoded yet
+        if (next.getIdentifier().equals(ID3v22Frames.FRAME_ID_V2_GENRE) && next.getBody() instanceof FrameBodyTCON)
         {
             ((FrameBodyTCON)next.getBody()).setV23Format();
         }
@@ -34,8 +34,6 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Represents an ID3v2.3 frame.
@@ -46,8 +44,6 @@ import java.util.regex.Pattern;
  */
 public class ID3v23Frame extends AbstractID3v2Frame
 {
-    private static Pattern validFrameIdentifier = Pattern.compile("[A-Z][0-9A-Z]{3}");
-
     protected static final int FRAME_ID_SIZE = 4;
     protected static final int FRAME_FLAGS_SIZE = 2;
     protected static final int FRAME_SIZE_SIZE = 4;
@@ -67,6 +63,11 @@ public class ID3v23Frame extends AbstractID3v2Frame
      */
     private int groupIdentifier;
 
+    /**
+     * Size of the body data before compression, or -1 if not compressed
+     */
+    private int decompressedFrameSize = -1;
+
     protected int getFrameIdSize()
     {
         return FRAME_ID_SIZE;
@@ -159,6 +160,14 @@ public class ID3v23Frame extends AbstractID3v2Frame
 
         if (frame instanceof ID3v24Frame)
         {
+            //Same identifier has the same body in both versions, so share the body data if not decoded yet
+            if (frame.getIdentifier().equals(ID3Tags.convertFrameID24To23(frame.getIdentifier())) && shareRawBody(frame))
+            {
+                identifier = frame.getIdentifier();
+                logger.finer("V4:Sharing body data:" + identifier);
+                return;
+            }
+
             //Unknown Frame e.g NCON, also protects when known id but has unsupported frame body
             if (frame.getBody() instanceof FrameBodyUnsupported)
             {
@@ -321,6 +330,10 @@ public class ID3v23Frame extends AbstractID3v2Frame
      */
     public int getSize()
     {
+        if (!isBodyLoaded())
+        {
+            return getRawFrameSize();
+        }
         return frameBody.getSize() + ID3v23Frame.FRAME_HEADER_SIZE;
     }
 
@@ -354,6 +367,28 @@ public class ID3v23Frame extends AbstractID3v2Frame
 
     
 
+    /**
+     * Find the size of the frame starting at frameStart, looking only at the frame header and without moving the
+     * buffer, so that a frame that is not wanted can be skipped without reading it
+     *
+     * @param byteBuffer
+     * @param frameStart
+     * @return the size of the frame including its header, or -1 if the frame should be read as usual
+     */
+    static int getFrameSizeWithoutReading(ByteBuffer byteBuffer, int frameStart)
+    {
+        if (byteBuffer.limit() - frameStart < FRAME_HEADER_SIZE)
+        {
+            return -1;
+        }
+        int frameSize = byteBuffer.getInt(frameStart + FRAME_ID_SIZE);
+        if (frameSize <= 0 || frameSize > byteBuffer.limit() - frameStart - FRAME_HEADER_SIZE)
+        {
+            return -1;
+        }
+        return FRAME_HEADER_SIZE + frameSize;
+    }
+
     /**
      * Read the frame from a byteBuffer
      *
@@ -361,6 +396,7 @@ public class ID3v23Frame extends AbstractID3v2Frame
      */
     public void read(ByteBuffer byteBuffer) throws InvalidFrameException,  InvalidDataTypeException
     {
+        int frameStart = byteBuffer.position();
         String identifier = readIdentifier(byteBuffer);
         if (!isValidID3v2FrameIdentifier(identifier))
         {
@@ -393,33 +429,14 @@ public class ID3v23Frame extends AbstractID3v2Frame
         //Read the flag bytes
         statusFlags = new StatusFlags(byteBuffer.get());
         encodingFlags = new EncodingFlags(byteBuffer.get());
-        String id;
-
-        //If this identifier is a valid v24 identifier or easily converted to v24
-        id = ID3Tags.convertFrameID23To24(identifier);
-
-        // Cant easily be converted to v24 but is it a valid v23 identifier
-        if (id == null)
-        {
-            // It is a valid v23 identifier so should be able to find a
-            //  frame body for it.
-            if (ID3Tags.isID3v23FrameIdentifier(identifier))
-            {
-                id = identifier;
-            }
-            // Unknown so will be created as FrameBodyUnsupported
-            else
-            {
-                id = UNSUPPORTED_ID;
-            }
-        }
+        String id = getBodyIdentifier(identifier);
         logger.fine(getLoggingFilename() + ":Identifier was:" + identifier + " reading using:" + id + "with frame size:" + frameSize);
 
         //Read extra bits appended to frame header for various encodings
         //These are not included in header size but are included in frame size but won't be read when we actually
         //try to read the frame body data
         int extraHeaderBytesCount = 0;
-        int decompressedFrameSize = -1;
+        decompressedFrameSize = -1;
 
         if (((EncodingFlags) encodingFlags).isCompression())
         {
@@ -465,42 +482,28 @@ public class ID3v23Frame extends AbstractID3v2Frame
             throw new InvalidFrameException(identifier + " is invalid frame, realframeSize is:" + realFrameSize);
         }
 
-        ByteBuffer frameBodyBuffer;
+        //Encrypted frames are always read so the tag knows about them
+        if (isLazyRead() && !((EncodingFlags) encodingFlags).isEncryption())
+        {
+            skipBody(byteBuffer, frameStart, realFrameSize, !((EncodingFlags) encodingFlags).isCompression());
+            return;
+        }
+
         //Read the body data
         try
         {
-            if (((EncodingFlags) encodingFlags).isCompression())
-            {
-                frameBodyBuffer = ID3Compression.uncompress(identifier,getLoggingFilename(),byteBuffer, decompressedFrameSize, realFrameSize);
-                if(((EncodingFlags) encodingFlags).isEncryption())
-                {
-                    frameBody = readEncryptedBody(id, frameBodyBuffer, decompressedFrameSize);
-                }
-                else
-                {
-                    frameBody = readBody(id, frameBodyBuffer, decompressedFrameSize);
-                }
-            }
-            else if (((EncodingFlags) encodingFlags).isEncryption())
+            if (((EncodingFlags) encodingFlags).isEncryption() && !((EncodingFlags) encodingFlags).isCompression())
             {
-                frameBodyBuffer = byteBuffer.slice();
-                frameBodyBuffer.limit(frameSize);
-                frameBody = readEncryptedBody(identifier, frameBodyBuffer, frameSize);
+                ByteBuffer frameBodyBuffer = byteBuffer.slice();
+                frameBodyBuffer.limit(realFrameSize);
+                frameBody = readEncryptedBody(identifier, frameBodyBuffer, realFrameSize);
             }
             else
             {
                 //Create Buffer that only contains the body of this frame rather than the remainder of tag
-                frameBodyBuffer = byteBuffer.slice();
+                ByteBuffer frameBodyBuffer = byteBuffer.slice();
                 frameBodyBuffer.limit(realFrameSize);
-                frameBody = readBody(id, frameBodyBuffer, realFrameSize);
-            }
-            //TODO code seems to assume that if the frame created is not a v23FrameBody
-            //it should be deprecated, but what about if somehow a V24Frame has been put into a V23 Tag, shouldn't
-            //it then be created as FrameBodyUnsupported
-            if (!(frameBody instanceof ID3v23FrameBody))
-            {
-                logger.config(getLoggingFilename() + ":Converted frameBody with:" + identifier + " to deprecated frameBody");
-                frameBody = new FrameBodyDeprecated((AbstractID3v2FrameBody) frameBody);
+                readFrameBody(frameBodyBuffer, realFrameSize);
             }
         }
         finally
@@ -510,40 +513,165 @@ public class ID3v23Frame extends AbstractID3v2Frame
         }
     }
 
+    /**
+     * The identifier of the body used to read a frame with this identifier
+     *
+     * @param identifier
+     * @return the v24 identifier if it can be converted, the v23 identifier if it is a v23 frame or
+     * UNSUPPORTED_ID if unknown
+     */
+    private static String getBodyIdentifier(String identifier)
+    {
+        //If this identifier is a valid v24 identifier or easily converted to v24
+        String id = ID3Tags.convertFrameID23To24(identifier);
+
+        // Cant easily be converted to v24 but is it a valid v23 identifier
+        if (id == null)
+        {
+            // It is a valid v23 identifier so should be able to find a
+            //  frame body for it.
+            if (ID3Tags.isID3v23FrameIdentifier(identifier))
+            {
+                id = identifier;
+            }
+            // Unknown so will be created as FrameBodyUnsupported
+            else
+            {
+                id = UNSUPPORTED_ID;
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Read the body from the body data, uncompressing if required
+     *
+     * @param frameBodyBuffer
+     * @param realFrameSize
+     * @throws InvalidFrameException
+     * @throws InvalidDataTypeException
+     */
+    protected void readFrameBody(ByteBuffer frameBodyBuffer, int realFrameSize) throws InvalidFrameException, InvalidDataTypeException
+    {
+        String id = getBodyIdentifier(identifier);
+        if (((EncodingFlags) encodingFlags).isCompression())
+        {
+            frameBodyBuffer = ID3Compression.uncompress(identifier, getLoggingFilename(), frameBodyBuffer, decompressedFrameSize, realFrameSize);
+            if (((EncodingFlags) encodingFlags).isEncryption())
+            {
+                frameBody = readEncryptedBody(id, frameBodyBuffer, decompressedFrameSize);
+            }
+            else
+            {
+                frameBody = readBody(id, frameBodyBuffer, decompressedFrameSize);
+            }
+        }
+        else
+        {
+            frameBody = readBody(id, frameBodyBuffer, realFrameSize);
+        }
+        //Body data from a v24 frame may use an encoding not supported in v23, as when the body is converted
+        if (isRawBodyShared())
+        {
+            frameBody.setTextEncoding(ID3TextEncodingConversion.getTextEncoding(this, frameBody.getTextEncoding()));
+        }
+        //TODO code seems to assume that if the frame created is not a v23FrameBody
+        //it should be deprecated, but what about if somehow a V24Frame has been put into a V23 Tag, shouldn't
+        //it then be created as FrameBodyUnsupported
+        if (!(frameBody instanceof ID3v23FrameBody))
+        {
+            logger.config(getLoggingFilename() + ":Converted frameBody with:" + identifier + " to deprecated frameBody");
+            frameBody = new FrameBodyDeprecated((AbstractID3v2FrameBody) frameBody);
+        }
+    }
+
+    /**
+     * An uncompressed frame must be written again if it is now large enough to be compressed
+     *
+     * @param rawBody the body data as read
+     * @return true if the frame is compressed as it would be if the body was written
+     */
+    @Override
+    protected boolean isRawFrameWritable(ByteBuffer rawBody)
+    {
+        return ((EncodingFlags) encodingFlags).isCompression()
+                || ((EncodingFlags) encodingFlags).isEncryption()
+                || !ID3Compression.isCompressionRequired(rawBody.remaining());
+    }
+
     /**
      * Write the frame to bufferOutputStream
      *
      */
     public void write(ByteArrayOutputStream tagBuffer)
     {
+        if (writeRawFrame(tagBuffer))
+        {
+            return;
+        }
+
         logger.config("Writing frame to buffer:" + getIdentifier());
         //This is where we will write header, move position to where we can
         //write body
         ByteBuffer headerBuffer = ByteBuffer.allocate(FRAME_HEADER_SIZE);
 
         //Write Frame Body Data
-        ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
-        ((AbstractID3v2FrameBody) frameBody).write(bodyOutputStream);
+        ID3ByteArrayOutputStream bodyOutputStream = new ID3ByteArrayOutputStream(getBody().getSize());
+        ((AbstractID3v2FrameBody) getBody()).write(bodyOutputStream);
+        ByteBuffer bodyBuffer = bodyOutputStream.toByteBuffer();
+        int decompressedSize = bodyBuffer.remaining();
+
+        //Compress large frames if enabled, encrypted bodies are already in their final form
+        ByteBuffer compressedBuffer = null;
+        if (!((EncodingFlags) encodingFlags).isEncryption())
+        {
+            compressedBuffer = ID3Compression.compress(bodyBuffer, FRAME_COMPRESSION_UNCOMPRESSED_SIZE);
+        }
+        if (compressedBuffer != null)
+        {
+            bodyBuffer = compressedBuffer;
+        }
+
         //Write Frame Header write Frame ID
         if (getIdentifier().length() == 3)
         {
             identifier = identifier + ' ';
         }
         headerBuffer.put(getIdentifier().getBytes(StandardCharsets.ISO_8859_1), 0, FRAME_ID_SIZE);
-        //Write Frame Size
-        int size = frameBody.getSize();
+
+        //Remove any non standard flags
+        ((EncodingFlags) encodingFlags).unsetNonStandardFlags();
+
+        //Previously compressed frames were uncompressed on read so are only compressed again if enabled
+        if (compressedBuffer != null)
+        {
+            ((EncodingFlags) encodingFlags).setCompression();
+        }
+        else
+        {
+            ((EncodingFlags) encodingFlags).unsetCompression();
+        }
+
+        //Write Frame Size, including the extra bytes following the header
+        int size = bodyBuffer.remaining();
+        if (((EncodingFlags) encodingFlags).isCompression())
+        {
+            size += FRAME_COMPRESSION_UNCOMPRESSED_SIZE;
+        }
+        if (((EncodingFlags) encodingFlags).isEncryption())
+        {
+            size += FRAME_ENCRYPTION_INDICATOR_SIZE;
+        }
+        if (((EncodingFlags) encodingFlags).isGrouping())
+        {
+            size += FRAME_GROUPING_INDICATOR_SIZE;
+        }
         logger.fine("Frame Size Is:" + size);
-        headerBuffer.putInt(frameBody.getSize());
+        headerBuffer.putInt(size);
 
         //Write the Flags
         //Status Flags:leave as they were when we read
         headerBuffer.put(statusFlags.getWriteFlags());
-
-        //Remove any non standard flags
-        ((EncodingFlags) encodingFlags).unsetNonStandardFlags();
-
-        //Unset Compression flag if previously set because we uncompress previously compressed frames on write.
-        ((EncodingFlags)encodingFlags).unsetCompression();
         headerBuffer.put(encodingFlags.getFlags());
 
         try
@@ -551,6 +679,11 @@ public class ID3v23Frame extends AbstractID3v2Frame
             //Add header to the Byte Array Output Stream
             tagBuffer.write(headerBuffer.array());
 
+            if (((EncodingFlags) encodingFlags).isCompression())
+            {
+                tagBuffer.write(ByteBuffer.allocate(FRAME_COMPRESSION_UNCOMPRESSED_SIZE).putInt(decompressedSize).array());
+            }
+
             if (((EncodingFlags) encodingFlags).isEncryption())
             {
                tagBuffer.write(encryptionMethod);
@@ -562,7 +695,7 @@ public class ID3v23Frame extends AbstractID3v2Frame
             }
 
             //Add body to the Byte Array Output Stream
-            tagBuffer.write(bodyOutputStream.toByteArray());
+            tagBuffer.write(bodyBuffer.array(), bodyBuffer.arrayOffset() + bodyBuffer.position(), bodyBuffer.remaining());
         }
         catch (IOException ioe)
         {
@@ -828,8 +961,7 @@ public class ID3v23Frame extends AbstractID3v2Frame
      */
     public boolean isValidID3v2FrameIdentifier(String identifier)
     {
-        Matcher m = ID3v23Frame.validFrameIdentifier.matcher(identifier);
-        return m.matches();
+        return ID3v2FrameIdentifiers.isValid(identifier, FRAME_ID_SIZE);
     }
 
     /**
@@ -841,7 +973,7 @@ public class ID3v23Frame extends AbstractID3v2Frame
         MP3File.getStructureFormatter().addElement(TYPE_FRAME_SIZE, frameSize);
         statusFlags.createStructure();
         encodingFlags.createStructure();
-        frameBody.createStructure();
+        getBody().createStructure();
         MP3File.getStructureFormatter().closeHeadingElement(TYPE_FRAME);
     }
 
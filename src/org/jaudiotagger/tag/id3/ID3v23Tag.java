@@ -162,8 +162,8 @@ public class ID3v23Tag extends AbstractID3v2Tag
      */
     public ID3v23Tag()
     {
-        frameMap = new LinkedHashMap();
-        encryptedFrameMap = new LinkedHashMap();
+        frameMap = new ID3v2FrameMap();
+        encryptedFrameMap = new ID3v2FrameMap();
     }
 
     /**
@@ -313,8 +313,8 @@ public class ID3v23Tag extends AbstractID3v2Tag
     public ID3v23Tag(AbstractTag mp3tag)
     {
         logger.config("Creating tag from a tag of a different version");
-        frameMap = new LinkedHashMap();
-        encryptedFrameMap = new LinkedHashMap();
+        frameMap = new ID3v2FrameMap();
+        encryptedFrameMap = new ID3v2FrameMap();
 
         if (mp3tag != null)
         {
@@ -593,6 +593,15 @@ public class ID3v23Tag extends AbstractID3v2Tag
     }
 
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int getFrameSizeWithoutReading(ByteBuffer byteBuffer, int frameStart)
+    {
+        return ID3v23Frame.getFrameSizeWithoutReading(byteBuffer, frameStart);
+    }
+
     /**
      * Read the frames
      *
@@ -605,8 +614,9 @@ public class ID3v23Tag extends AbstractID3v2Tag
     {
         //Now start looking for frames
         ID3v23Frame next;
-        frameMap = new LinkedHashMap();
-        encryptedFrameMap = new LinkedHashMap();
+        Set<String> readFrameIds = getReadFrameIds();
+        frameMap = new ID3v2FrameMap();
+        encryptedFrameMap = new ID3v2FrameMap();
 
 
         //Read the size from the Tag Header
@@ -623,9 +633,18 @@ public class ID3v23Tag extends AbstractID3v2Tag
                 //Read Frame
                 int posBeforeRead = byteBuffer.position();
                 logger.config(getLoggingFilename() + ":Looking for next frame at:" + posBeforeRead);
+                if (skipFrameNotRead(byteBuffer, readFrameIds, ID3v23Frame.FRAME_ID_SIZE))
+                {
+                    continue;
+                }
                 next = new ID3v23Frame(byteBuffer, getLoggingFilename());
                 id = next.getIdentifier();
                 logger.config(getLoggingFilename() + ":Found "+ id+ " at frame at:" + posBeforeRead);
+                if (readFrameIds != null && !readFrameIds.contains(id))
+                {
+                    logger.config(getLoggingFilename() + ":Skipping frame not being read:" + id);
+                    continue;
+                }
                 loadFrameIntoMap(id, next);
             }
             //Found Padding, no more frames
@@ -777,24 +796,24 @@ public class ID3v23Tag extends AbstractID3v2Tag
         logger.config("Writing tag to file:"+getLoggingFilename());
 
         //Write Body Buffer
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
-        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.length);
+        ByteBuffer bodyByteBuffer = writeFramesToBuffer().toByteBuffer();
+        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.remaining());
 
         // Unsynchronize if option enabled and unsync required
         unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyByteBuffer);
         if (isUnsynchronization())
         {
             bodyByteBuffer = ID3Unsynchronization.unsynchronize(bodyByteBuffer);
-            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.length);
+            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.remaining());
         }
 
-        int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) audioStartLocation);
-        int padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+        int sizeIncPadding = calculateTagSize(bodyByteBuffer.remaining() + TAG_HEADER_LENGTH, (int) audioStartLocation);
+        int padding = sizeIncPadding - (bodyByteBuffer.remaining() + TAG_HEADER_LENGTH);
         logger.config(getLoggingFilename() + ":Current audiostart:" + audioStartLocation);
         logger.config(getLoggingFilename() + ":Size including padding:" + sizeIncPadding);
         logger.config(getLoggingFilename() + ":Padding:" + padding);
 
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.remaining());
         writeBufferToFile(file, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
         return sizeIncPadding;
     }
@@ -807,29 +826,27 @@ public class ID3v23Tag extends AbstractID3v2Tag
     {
         logger.config(getLoggingFilename() + ":Writing tag to channel");
 
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
-        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.length);
+        ByteBuffer bodyByteBuffer = writeFramesToBuffer().toByteBuffer();
+        logger.config(getLoggingFilename() + ":bodybytebuffer:sizebeforeunsynchronisation:" + bodyByteBuffer.remaining());
 
         // Unsynchronize if option enabled and unsync required
         unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyByteBuffer);
         if (isUnsynchronization())
         {
             bodyByteBuffer = ID3Unsynchronization.unsynchronize(bodyByteBuffer);
-            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.length);
+            logger.config(getLoggingFilename() + ":bodybytebuffer:sizeafterunsynchronisation:" + bodyByteBuffer.remaining());
         }
 
         int padding = 0;
         if(currentTagSize > 0)
         {
-            int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) currentTagSize);
-            padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+            int sizeIncPadding = calculateTagSize(bodyByteBuffer.remaining() + TAG_HEADER_LENGTH, (int) currentTagSize);
+            padding = sizeIncPadding - (bodyByteBuffer.remaining() + TAG_HEADER_LENGTH);
             logger.config(getLoggingFilename() + ":Padding:"+padding);
         }
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.remaining());
 
-        channel.write(headerBuffer);
-        channel.write(ByteBuffer.wrap(bodyByteBuffer));
-        writePadding(channel, padding);
+        writeBuffers(channel, headerBuffer, bodyByteBuffer, padding);
     }
 
 
@@ -1220,14 +1237,15 @@ public class ID3v23Tag extends AbstractID3v2Tag
 
     protected void loadFrameIntoMap(String frameId, AbstractID3v2Frame next)
     {
-        if (next.getBody() instanceof FrameBodyTCON)
+        //Only decode genre frames, other frames may not have been decoded yet
+        if (next.getIdentifier().equals(ID3v23Frames.FRAME_ID_V3_GENRE) && next.getBody() instanceof FrameBodyTCON)
         {
             ((FrameBodyTCON)next.getBody()).setV23Format();
         }
         super.loadFrameIntoMap(frameId, next);
     }
 
-    protected void loadFrameIntoSpecifiedMap(HashMap map, String frameId, AbstractID3v2Frame frame)
+    protected void loadFrameIntoSpecifiedMap(ID3v2FrameMap map, String frameId, AbstractID3v2Frame frame)
     {
         if(!(frameId.equals(ID3v23Frames.FRAME_ID_V3_TYER)) && !(frameId.equals(ID3v23Frames.FRAME_ID_V3_TDAT)))
         {
@@ -37,8 +37,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Represents an ID3v2.4 frame.
@@ -49,8 +47,6 @@ import java.util.regex.Pattern;
  */
 public class ID3v24Frame extends AbstractID3v2Frame
 {
-    private static Pattern validFrameIdentifier = Pattern.compile("[A-Z][0-9A-Z]{3}");
-
     protected static final int FRAME_DATA_LENGTH_SIZE = 4;
 
     protected static final int FRAME_ID_SIZE = 4;
@@ -71,6 +67,11 @@ public class ID3v24Frame extends AbstractID3v2Frame
      */
     private int groupIdentifier;
 
+    /**
+     * Size of the body data before compression, if stored in the frame header, or -1
+     */
+    private int dataLengthSize = -1;
+
     protected int getFrameIdSize()
     {
         return FRAME_ID_SIZE;
@@ -131,6 +132,16 @@ public class ID3v24Frame extends AbstractID3v2Frame
         identifier = ID3Tags.convertFrameID23To24(frame.getIdentifier());
         logger.finer("Creating V24frame from v23:" + frame.getIdentifier() + ":" + identifier);
 
+        //Same identifier has the same body in both versions, so share the body data if not decoded yet. Except TXXX
+        //which may need converting to TMOO.
+        if (frame.getIdentifier().equals(identifier)
+                && !identifier.equals(ID3v23Frames.FRAME_ID_V3_USER_DEFINED_INFO)
+                && shareRawBody(frame))
+        {
+            logger.finer("V3:Sharing body data:" + identifier);
+            return;
+        }
+
 
         //We cant convert unsupported bodies properly
         if (frame.getBody() instanceof FrameBodyUnsupported)
@@ -251,7 +262,10 @@ public class ID3v24Frame extends AbstractID3v2Frame
             ID3v23Frame v23Frame = new ID3v23Frame(frame);
             createV24FrameFromV23Frame(v23Frame);
         }
-        this.frameBody.setHeader(this);
+        if (frameBody != null)
+        {
+            this.frameBody.setHeader(this);
+        }
     }
 
 
@@ -396,6 +410,10 @@ public class ID3v24Frame extends AbstractID3v2Frame
      */
     public int getSize()
     {
+        if (!isBodyLoaded())
+        {
+            return getRawFrameSize();
+        }
         return frameBody.getSize() + ID3v24Frame.FRAME_HEADER_SIZE;
     }
 
@@ -410,138 +428,128 @@ public class ID3v24Frame extends AbstractID3v2Frame
     private void checkIfFrameSizeThatIsNotSyncSafe(ByteBuffer byteBuffer)
             throws InvalidFrameException
     {
-        if (frameSize > ID3SyncSafeInteger.MAX_SAFE_SIZE)
+        int checkedFrameSize = checkFrameSize(byteBuffer, byteBuffer.position(), frameSize);
+        if (checkedFrameSize == -1)
         {
-            //Set Just after size field this is where we want to be when we leave this if statement
-            int currentPosition = byteBuffer.position();
-
-            //Read as nonsync safe integer
-            byteBuffer.position(currentPosition - getFrameIdSize());
-            int nonSyncSafeFrameSize = byteBuffer.getInt();
+            logger.warning(getLoggingFilename() + ":" + "Invalid Frame size larger than size before mp3 audio:" + identifier);
+            throw new InvalidFrameException(identifier + " is invalid frame");
+        }
+        else if (checkedFrameSize != frameSize)
+        {
+            logger.warning(getLoggingFilename() + ":" + "Frame size is NOT stored as a sync safe integer:" + identifier);
+            frameSize = checkedFrameSize;
+        }
+    }
 
-            //Is the frame size syncsafe, should always be BUT some encoders such as Itunes do not do it properly
-            //so do an easy check now.
-            byteBuffer.position(currentPosition - getFrameIdSize());
-            boolean isNotSyncSafe = ID3SyncSafeInteger.isBufferNotSyncSafe(byteBuffer);
+    /**
+     * Check whether a frame size read as a sync safe integer should have been read as a normal integer, see
+     * {@link #checkIfFrameSizeThatIsNotSyncSafe(ByteBuffer)}. The buffer is not moved.
+     *
+     * @param byteBuffer
+     * @param sizeEnd position just after the frame size field
+     * @param frameSize size read as a sync safe integer
+     * @return the frame size to use, or -1 if the frame size is not stored as a sync safe integer and is too large
+     */
+    static int checkFrameSize(ByteBuffer byteBuffer, int sizeEnd, int frameSize)
+    {
+        if (frameSize <= ID3SyncSafeInteger.MAX_SAFE_SIZE)
+        {
+            return frameSize;
+        }
 
-            //not relative so need to move position
-            byteBuffer.position(currentPosition);
+        //Read as nonsync safe integer
+        int sizeStart = sizeEnd - FRAME_SIZE_SIZE;
+        int nonSyncSafeFrameSize = byteBuffer.getInt(sizeStart);
+        int remaining = byteBuffer.limit() - sizeEnd;
 
-            if (isNotSyncSafe)
+        //Is the frame size syncsafe, should always be BUT some encoders such as Itunes do not do it properly
+        //so do an easy check now.
+        ByteBuffer sizeBuffer = byteBuffer.duplicate();
+        sizeBuffer.position(sizeStart);
+        if (ID3SyncSafeInteger.isBufferNotSyncSafe(sizeBuffer))
+        {
+            //This will return a larger frame size so need to check against buffer size if too large then we are
+            //buggered , give up
+            if (nonSyncSafeFrameSize > (remaining + FRAME_FLAGS_SIZE))
             {
-                logger.warning(getLoggingFilename() + ":" + "Frame size is NOT stored as a sync safe integer:" + identifier);
-
-                //This will return a larger frame size so need to check against buffer size if too large then we are
-                //buggered , give up
-                if (nonSyncSafeFrameSize > (byteBuffer.remaining() - -getFrameFlagsSize()))
-                {
-                    logger.warning(getLoggingFilename() + ":" + "Invalid Frame size larger than size before mp3 audio:" + identifier);
-                    throw new InvalidFrameException(identifier + " is invalid frame");
-                }
-                else
-                {
-                    frameSize = nonSyncSafeFrameSize;
-                }
+                return -1;
             }
-            else
-            {
-                //appears to be sync safe but lets look at the bytes just after the reported end of this
-                //frame to see if find a valid frame header
+            return nonSyncSafeFrameSize;
+        }
 
-                //Read the Frame Identifier
-                byte[] readAheadbuffer = new byte[getFrameIdSize()];
-                byteBuffer.position(currentPosition + frameSize + getFrameFlagsSize());
+        //appears to be sync safe but lets look at the bytes just after the reported end of this
+        //frame to see if find a valid frame header
+        int readAheadPosition = sizeEnd + frameSize + FRAME_FLAGS_SIZE;
+        if (byteBuffer.limit() - readAheadPosition < FRAME_ID_SIZE)
+        {
+            //There is no padding or framedata we are at end so assume syncsafe
+            return frameSize;
+        }
+        if (ID3v2FrameIdentifiers.isValid(byteBuffer, readAheadPosition, FRAME_ID_SIZE)
+                || ID3v2FrameIdentifiers.isPadding(byteBuffer, readAheadPosition, FRAME_ID_SIZE))
+        {
+            //Everything ok, or no data found so assume entered padding in which case assume it is last
+            //frame and we are ok
+            return frameSize;
+        }
 
-                if (byteBuffer.remaining() < getFrameIdSize())
-                {
-                    //There is no padding or framedata we are at end so assume syncsafe
-                    //reset position to just after framesize
-                    byteBuffer.position(currentPosition);
-                }
-                else
-                {
-                    byteBuffer.get(readAheadbuffer, 0, getFrameIdSize());
-
-                    //reset position to just after framesize
-                    byteBuffer.position(currentPosition);
-
-                    String readAheadIdentifier = new String(readAheadbuffer);
-                    if (isValidID3v2FrameIdentifier(readAheadIdentifier))
-                    {
-                        //Everything ok, so continue
-                    }
-                    else if (ID3SyncSafeInteger.isBufferEmpty(readAheadbuffer))
-                    {
-                        //no data found so assume entered padding in which case assume it is last
-                        //frame and we are ok
-                    }
-                    //haven't found identifier so maybe not syncsafe or maybe there are no more frames, just padding
-                    else
-                    {
-                        //Ok lets try using a non-syncsafe integer
-
-                        //size returned will be larger so is it valid
-                        if (nonSyncSafeFrameSize > byteBuffer.remaining() - getFrameFlagsSize())
-                        {
-                            //invalid so assume syncsafe
-                            byteBuffer.position(currentPosition);
-                        }
-                        else
-                        {
-                            readAheadbuffer = new byte[getFrameIdSize()];
-                            byteBuffer.position(currentPosition + nonSyncSafeFrameSize + getFrameFlagsSize());
-
-                            if (byteBuffer.remaining() >= getFrameIdSize())
-                            {
-                                byteBuffer.get(readAheadbuffer, 0, getFrameIdSize());
-                                readAheadIdentifier = new String(readAheadbuffer);
-
-                                //reset position to just after framesize
-                                byteBuffer.position(currentPosition);
-
-                                //ok found a valid identifier using non-syncsafe so assume non-syncsafe size
-                                //and continue
-                                if (isValidID3v2FrameIdentifier(readAheadIdentifier))
-                                {
-                                    frameSize = nonSyncSafeFrameSize;
-                                    logger.warning(getLoggingFilename() + ":" + "Assuming frame size is NOT stored as a sync safe integer:" + identifier);
-                                }
-                                //no data found so assume entered padding in which case assume it is last
-                                //frame and we are ok whereas we didn't hit padding when using syncsafe integer
-                                //or we wouldn't have got to this point. So assume syncsafe integer ended within
-                                //the frame data whereas this has reached end of frames.
-                                else if (ID3SyncSafeInteger.isBufferEmpty(readAheadbuffer))
-                                {
-                                    frameSize = nonSyncSafeFrameSize;
-                                    logger.warning(getLoggingFilename() + ":" + "Assuming frame size is NOT stored as a sync safe integer:" + identifier);
-                                }
-                                //invalid so assume syncsafe as that is is the standard
-                                else
-                                {
-
-                                }
-                            }
-                            else
-                            {
-                                //reset position to just after framesize
-                                byteBuffer.position(currentPosition);
-
-                                //If the unsync framesize matches exactly the remaining bytes then assume it has the
-                                //correct size for the last frame
-                                if (byteBuffer.remaining() == 0)
-                                {
-                                    frameSize = nonSyncSafeFrameSize;
-                                }
-                                //Inconclusive stick with syncsafe
-                                else
-                                {
-                                }
-                            }
-                        }
-                    }
-                }
+        //haven't found identifier so maybe not syncsafe or maybe there are no more frames, just padding
+        //Ok lets try using a non-syncsafe integer, size returned will be larger so is it valid
+        if (nonSyncSafeFrameSize > remaining - FRAME_FLAGS_SIZE)
+        {
+            //invalid so assume syncsafe
+            return frameSize;
+        }
+
+        readAheadPosition = sizeEnd + nonSyncSafeFrameSize + FRAME_FLAGS_SIZE;
+        if (byteBuffer.limit() - readAheadPosition >= FRAME_ID_SIZE)
+        {
+            //ok found a valid identifier using non-syncsafe so assume non-syncsafe size and continue, or no data
+            //found so assume entered padding in which case assume it is last frame and we are ok whereas we didn't
+            //hit padding when using syncsafe integer or we wouldn't have got to this point. So assume syncsafe
+            //integer ended within the frame data whereas this has reached end of frames.
+            if (ID3v2FrameIdentifiers.isValid(byteBuffer, readAheadPosition, FRAME_ID_SIZE)
+                    || ID3v2FrameIdentifiers.isPadding(byteBuffer, readAheadPosition, FRAME_ID_SIZE))
+            {
+                return nonSyncSafeFrameSize;
             }
+            //invalid so assume syncsafe as that is is the standard
+            return frameSize;
+        }
+
+        //If the unsync framesize matches exactly the remaining bytes then assume it has the
+        //correct size for the last frame, otherwise inconclusive stick with syncsafe
+        return remaining == 0 ? nonSyncSafeFrameSize : frameSize;
+    }
+
+    /**
+     * Find the size of the frame starting at frameStart, looking only at the frame header and without moving the
+     * buffer, so that a frame that is not wanted can be skipped without reading it
+     *
+     * @param byteBuffer
+     * @param frameStart
+     * @return the size of the frame including its header, or -1 if the frame should be read as usual
+     */
+    static int getFrameSizeWithoutReading(ByteBuffer byteBuffer, int frameStart)
+    {
+        int sizeEnd = frameStart + FRAME_ID_SIZE + FRAME_SIZE_SIZE;
+        if (byteBuffer.limit() - frameStart < FRAME_HEADER_SIZE)
+        {
+            return -1;
         }
+        ByteBuffer sizeBuffer = byteBuffer.duplicate();
+        sizeBuffer.position(frameStart + FRAME_ID_SIZE);
+        int frameSize = ID3SyncSafeInteger.bufferToValue(sizeBuffer);
+        if (frameSize <= 0 || frameSize > byteBuffer.limit() - sizeEnd - FRAME_FLAGS_SIZE)
+        {
+            return -1;
+        }
+        frameSize = checkFrameSize(byteBuffer, sizeEnd, frameSize);
+        if (frameSize <= 0 || frameSize > byteBuffer.limit() - sizeEnd - FRAME_FLAGS_SIZE)
+        {
+            return -1;
+        }
+        return FRAME_HEADER_SIZE + frameSize;
     }
 
     /**
@@ -588,6 +596,7 @@ public class ID3v24Frame extends AbstractID3v2Frame
      */
     public void read(ByteBuffer byteBuffer) throws InvalidFrameException, InvalidDataTypeException
     {
+        int frameStart = byteBuffer.position();
         String identifier = readIdentifier(byteBuffer);
 
         //Is this a valid identifier?
@@ -611,7 +620,7 @@ public class ID3v24Frame extends AbstractID3v2Frame
         //These are not included in header size but are included in frame size but wont be read when we actually
         //try to read the frame body data
         int extraHeaderBytesCount = 0;
-        int dataLengthSize = -1;
+        dataLengthSize = -1;
         if (((EncodingFlags) encodingFlags).isGrouping())
         {
             extraHeaderBytesCount = ID3v24Frame.FRAME_GROUPING_INDICATOR_SIZE;
@@ -636,53 +645,29 @@ public class ID3v24Frame extends AbstractID3v2Frame
         //Work out the real size of the frameBody data
         int realFrameSize = frameSize - extraHeaderBytesCount;
 
-        //Create Buffer that only contains the body of this frame rather than the remainder of tag
-        ByteBuffer frameBodyBuffer = byteBuffer.slice();
-        frameBodyBuffer.limit(realFrameSize);
-
-        //Do we need to synchronize the frame body
-        int syncSize = realFrameSize;
-        if (((EncodingFlags) encodingFlags).isUnsynchronised())
+        //Encrypted frames are always read so the tag knows about them
+        if (isLazyRead() && !((EncodingFlags) encodingFlags).isEncryption())
         {
-            //We only want to synchronize the buffer up to the end of this frame (remember this
-            //buffer contains the remainder of this tag not just this frame), and we cannot just
-            //create a new buffer because when this method returns the position of the buffer is used
-            //to look for the next frame, so we need to modify the buffer. The action of synchronizing causes
-            //bytes to be dropped so the existing buffer is large enough to hold the modifications
-            frameBodyBuffer = ID3Unsynchronization.synchronize(frameBodyBuffer);
-            syncSize = frameBodyBuffer.limit();
-            logger.config(getLoggingFilename() + ":" + "Frame Size After Syncing is:" + syncSize);
+            skipBody(byteBuffer, frameStart, realFrameSize,
+                    !((EncodingFlags) encodingFlags).isUnsynchronised() && !((EncodingFlags) encodingFlags).isCompression());
+            return;
         }
 
         //Read the body data
         try
         {
-            if (((EncodingFlags) encodingFlags).isCompression())
+            if (((EncodingFlags) encodingFlags).isEncryption() && !((EncodingFlags) encodingFlags).isCompression())
             {
-                frameBodyBuffer = ID3Compression.uncompress(identifier, getLoggingFilename(), byteBuffer, dataLengthSize, realFrameSize);
-                if (((EncodingFlags) encodingFlags).isEncryption())
-                {
-                    frameBody = readEncryptedBody(identifier, frameBodyBuffer, dataLengthSize);
-                }
-                else
-                {
-                    frameBody = readBody(identifier, frameBodyBuffer, dataLengthSize);
-                }
-            }
-            else if (((EncodingFlags) encodingFlags).isEncryption())
-            {
-                frameBodyBuffer = byteBuffer.slice();
+                ByteBuffer frameBodyBuffer = byteBuffer.slice();
                 frameBodyBuffer.limit(realFrameSize);
-                frameBody = readEncryptedBody(identifier, byteBuffer, frameSize);
+                frameBody = readEncryptedBody(identifier, frameBodyBuffer, realFrameSize);
             }
             else
             {
-                frameBody = readBody(identifier, frameBodyBuffer, syncSize);
-            }
-            if (!(frameBody instanceof ID3v24FrameBody))
-            {
-                logger.config(getLoggingFilename() + ":" + "Converted frame body with:" + identifier + " to deprecated framebody");
-                frameBody = new FrameBodyDeprecated((AbstractID3v2FrameBody) frameBody);
+                //Create Buffer that only contains the body of this frame rather than the remainder of tag
+                ByteBuffer frameBodyBuffer = byteBuffer.slice();
+                frameBodyBuffer.limit(realFrameSize);
+                readFrameBody(frameBodyBuffer, realFrameSize);
             }
         }
         finally
@@ -692,6 +677,77 @@ public class ID3v24Frame extends AbstractID3v2Frame
         }
     }
 
+    /**
+     * Read the body from the body data, undoing any unsynchronisation and compression
+     *
+     * @param frameBodyBuffer
+     * @param realFrameSize
+     * @throws InvalidFrameException
+     * @throws InvalidDataTypeException
+     */
+    protected void readFrameBody(ByteBuffer frameBodyBuffer, int realFrameSize) throws InvalidFrameException, InvalidDataTypeException
+    {
+        ByteBuffer rawBodyBuffer = frameBodyBuffer;
+
+        //Do we need to synchronize the frame body
+        int syncSize = realFrameSize;
+        if (((EncodingFlags) encodingFlags).isUnsynchronised())
+        {
+            frameBodyBuffer = ID3Unsynchronization.synchronize(frameBodyBuffer.duplicate());
+            syncSize = frameBodyBuffer.limit();
+            logger.config(getLoggingFilename() + ":" + "Frame Size After Syncing is:" + syncSize);
+        }
+
+        if (((EncodingFlags) encodingFlags).isCompression())
+        {
+            frameBodyBuffer = ID3Compression.uncompress(identifier, getLoggingFilename(), rawBodyBuffer.duplicate(), dataLengthSize, realFrameSize);
+            if (((EncodingFlags) encodingFlags).isEncryption())
+            {
+                frameBody = readEncryptedBody(identifier, frameBodyBuffer, dataLengthSize);
+            }
+            else
+            {
+                frameBody = readBody(identifier, frameBodyBuffer, dataLengthSize);
+            }
+        }
+        else
+        {
+            frameBody = readBody(identifier, frameBodyBuffer, syncSize);
+        }
+        if (!(frameBody instanceof ID3v24FrameBody))
+        {
+            logger.config(getLoggingFilename() + ":" + "Converted frame body with:" + identifier + " to deprecated framebody");
+            frameBody = new FrameBodyDeprecated((AbstractID3v2FrameBody) frameBody);
+        }
+    }
+
+    /**
+     * The frame must be unsynchronised when written if unsynchronisation is enabled and the body requires it, and
+     * compressed if it is now large enough to be compressed
+     *
+     * @param rawBody the body data as read
+     * @return true if the frame is unsynchronised as it would be if the body was written
+     */
+    @Override
+    protected boolean isRawFrameWritable(ByteBuffer rawBody)
+    {
+        if (!((EncodingFlags) encodingFlags).isCompression()
+                && !((EncodingFlags) encodingFlags).isEncryption()
+                && ID3Compression.isCompressionRequired(rawBody.remaining()))
+        {
+            return false;
+        }
+        if (((EncodingFlags) encodingFlags).isUnsynchronised())
+        {
+            return TagOptionSingleton.getInstance().isUnsyncTags();
+        }
+        if (!TagOptionSingleton.getInstance().isUnsyncTags() || ((EncodingFlags) encodingFlags).isCompression())
+        {
+            return true;
+        }
+        return !ID3Unsynchronization.requiresUnsynchronization(rawBody);
+    }
+
     /**
      * Write the frame. Writes the frame header but writing the data is delegated to the
      * frame body.
@@ -700,6 +756,11 @@ public class ID3v24Frame extends AbstractID3v2Frame
     {
         boolean unsynchronization;
 
+        if (writeRawFrame(tagBuffer))
+        {
+            return;
+        }
+
         logger.config("Writing frame to file:" + getIdentifier());
 
         //This is where we will write header, move position to where we can
@@ -707,16 +768,34 @@ public class ID3v24Frame extends AbstractID3v2Frame
         ByteBuffer headerBuffer = ByteBuffer.allocate(FRAME_HEADER_SIZE);
 
         //Write Frame Body Data to a new stream
-        ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
-        ((AbstractID3v2FrameBody) frameBody).write(bodyOutputStream);
+        ID3ByteArrayOutputStream bodyOutputStream = new ID3ByteArrayOutputStream(getBody().getSize());
+        ((AbstractID3v2FrameBody) getBody()).write(bodyOutputStream);
+
+        ByteBuffer bodyBuffer = bodyOutputStream.toByteBuffer();
+        int dataLength = bodyBuffer.remaining();
+
+        //Compress large frames if enabled, encrypted bodies are already in their final form
+        ByteBuffer compressedBuffer = null;
+        if (!((EncodingFlags) encodingFlags).isEncryption())
+        {
+            compressedBuffer = ID3Compression.compress(bodyBuffer, FRAME_DATA_LENGTH_SIZE);
+        }
 
-        //Does it need unsynchronizing, and are we allowing unsychronizing
-        byte[] bodyBuffer = bodyOutputStream.toByteArray();
-        unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyBuffer);
+        //Does it need unsynchronizing, and are we allowing unsychronizing, compressed frames are not unsynchronised
+        //because compressed data is read as it is
+        if (compressedBuffer != null)
+        {
+            bodyBuffer = compressedBuffer;
+            unsynchronization = false;
+        }
+        else
+        {
+            unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyBuffer);
+        }
         if (unsynchronization)
         {
             bodyBuffer = ID3Unsynchronization.unsynchronize(bodyBuffer);
-            logger.config("bodybytebuffer:sizeafterunsynchronisation:" + bodyBuffer.length);
+            logger.config("bodybytebuffer:sizeafterunsynchronisation:" + bodyBuffer.remaining());
         }
 
         //Write Frame Header
@@ -728,20 +807,10 @@ public class ID3v24Frame extends AbstractID3v2Frame
         }
         headerBuffer.put(getIdentifier().getBytes(StandardCharsets.ISO_8859_1), 0, FRAME_ID_SIZE);
 
-        //Write Frame Size based on size of body buffer (if it has been unsynced then it size
-        //will have increased accordingly
-        int size = bodyBuffer.length;
-        logger.fine("Frame Size Is:" + size);
-        headerBuffer.put(ID3SyncSafeInteger.valueToBuffer(size));
-
-        //Write the Flags
-        //Status Flags:leave as they were when we read
-        headerBuffer.put(statusFlags.getWriteFlags());
-
         //Remove any non standard flags
         ((ID3v24Frame.EncodingFlags) encodingFlags).unsetNonStandardFlags();
 
-        //Encoding we only support unsynchronization
+        //Encoding we support unsynchronization, and compression with the data length indicator it requires
         if (unsynchronization)
         {
             ((ID3v24Frame.EncodingFlags) encodingFlags).setUnsynchronised();
@@ -750,9 +819,38 @@ public class ID3v24Frame extends AbstractID3v2Frame
         {
             ((ID3v24Frame.EncodingFlags) encodingFlags).unsetUnsynchronised();
         }
-        //These are not currently supported on write
-        ((ID3v24Frame.EncodingFlags) encodingFlags).unsetCompression();
-        ((ID3v24Frame.EncodingFlags) encodingFlags).unsetDataLengthIndicator();
+        if (compressedBuffer != null)
+        {
+            ((ID3v24Frame.EncodingFlags) encodingFlags).setCompression();
+            ((ID3v24Frame.EncodingFlags) encodingFlags).setDataLengthIndicator();
+        }
+        else
+        {
+            ((ID3v24Frame.EncodingFlags) encodingFlags).unsetCompression();
+            ((ID3v24Frame.EncodingFlags) encodingFlags).unsetDataLengthIndicator();
+        }
+
+        //Write Frame Size based on size of body buffer (if it has been unsynced then it size
+        //will have increased accordingly) and the extra bytes following the header
+        int size = bodyBuffer.remaining();
+        if (((EncodingFlags) encodingFlags).isGrouping())
+        {
+            size += FRAME_GROUPING_INDICATOR_SIZE;
+        }
+        if (((EncodingFlags) encodingFlags).isEncryption())
+        {
+            size += FRAME_ENCRYPTION_INDICATOR_SIZE;
+        }
+        if (((EncodingFlags) encodingFlags).isDataLengthIndicator())
+        {
+            size += FRAME_DATA_LENGTH_SIZE;
+        }
+        logger.fine("Frame Size Is:" + size);
+        headerBuffer.put(ID3SyncSafeInteger.valueToBuffer(size));
+
+        //Write the Flags
+        //Status Flags:leave as they were when we read
+        headerBuffer.put(statusFlags.getWriteFlags());
         headerBuffer.put(encodingFlags.getFlags());
 
         try
@@ -760,18 +858,24 @@ public class ID3v24Frame extends AbstractID3v2Frame
             //Add header to the Byte Array Output Stream
             tagBuffer.write(headerBuffer.array());
 
+            //Extra bytes in the order they are read
+            if (((EncodingFlags) encodingFlags).isGrouping())
+            {
+                tagBuffer.write(groupIdentifier);
+            }
+
             if (((EncodingFlags) encodingFlags).isEncryption())
             {
                 tagBuffer.write(encryptionMethod);
             }
 
-            if (((EncodingFlags) encodingFlags).isGrouping())
+            if (((EncodingFlags) encodingFlags).isDataLengthIndicator())
             {
-                tagBuffer.write(groupIdentifier);
+                tagBuffer.write(ID3SyncSafeInteger.valueToBuffer(dataLength));
             }
 
             //Add bodybuffer to the Byte Array Output Stream
-            tagBuffer.write(bodyBuffer);
+            tagBuffer.write(bodyBuffer.array(), bodyBuffer.arrayOffset() + bodyBuffer.position(), bodyBuffer.remaining());
         }
         catch (IOException ioe)
         {
@@ -1120,8 +1224,7 @@ public class ID3v24Frame extends AbstractID3v2Frame
      */
     public boolean isValidID3v2FrameIdentifier(String identifier)
     {
-        Matcher m = ID3v24Frame.validFrameIdentifier.matcher(identifier);
-        return m.matches();
+        return ID3v2FrameIdentifiers.isValid(identifier, FRAME_ID_SIZE);
     }
 
     /**
@@ -1133,7 +1236,7 @@ public class ID3v24Frame extends AbstractID3v2Frame
         MP3File.getStructureFormatter().addElement(TYPE_FRAME_SIZE, frameSize);
         statusFlags.createStructure();
         encodingFlags.createStructure();
-        frameBody.createStructure();
+        getBody().createStructure();
         MP3File.getStructureFormatter().closeHeadingElement(TYPE_FRAME);
     }
 
@@ -16,6 +16,8 @@
 package org.jaudiotagger.tag.id3;
 
 import org.jaudiotagger.FileConstants;
+import org.jaudiotagger.audio.generic.PaddingMetrics;
+import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.*;
@@ -35,8 +37,12 @@ import org.jaudiotagger.tag.reference.PictureTypes;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.*;
 import java.util.logging.Level;
@@ -277,8 +283,25 @@ public class ID3v24Tag extends AbstractID3v2Tag
      */
     protected byte textFieldSizeRestriction = 0;
 
+    /**
+     * This tag was read from or merged with a tag appended to the end of the file, or was itself appended, so
+     * writing it to the start of the file removes the appended tag
+     */
+    private boolean appended = false;
+
     public static final byte RELEASE = 2;
     public static final byte MAJOR_VERSION = 4;
+
+    /**
+     * Identifies the footer of a tag appended to the end of a file, the rest of the footer is a copy of the header
+     */
+    public static final byte[] FOOTER_ID = {'3', 'D', 'I'};
+
+    /**
+     * Size of a tag holding just a SEEK frame, which replaces the tag at the start of the file when the tag is
+     * appended to the end of the file
+     */
+    private static final int SEEK_TAG_SIZE = TAG_HEADER_LENGTH + ID3v24Frame.FRAME_HEADER_SIZE + 4;
     public static final byte REVISION = 0;
 
     /**
@@ -311,8 +334,8 @@ public class ID3v24Tag extends AbstractID3v2Tag
      */
     public ID3v24Tag()
     {
-        frameMap = new LinkedHashMap();
-        encryptedFrameMap = new LinkedHashMap();
+        frameMap = new ID3v2FrameMap();
+        encryptedFrameMap = new ID3v2FrameMap();
                 
     }
 
@@ -336,6 +359,7 @@ public class ID3v24Tag extends AbstractID3v2Tag
             this.tagSizeRestriction = copyObject.tagSizeRestriction;
             this.textEncodingRestriction = copyObject.textEncodingRestriction;
             this.textFieldSizeRestriction = copyObject.textFieldSizeRestriction;
+            this.appended = copyObject.appended;
         }
     }
 
@@ -509,8 +533,8 @@ public class ID3v24Tag extends AbstractID3v2Tag
     public ID3v24Tag(AbstractTag mp3tag)
     {
         logger.config(getLoggingFilename() +":Creating tag from a tag of a different version");
-        frameMap = new LinkedHashMap();
-        encryptedFrameMap = new LinkedHashMap();
+        frameMap = new ID3v2FrameMap();
+        encryptedFrameMap = new ID3v2FrameMap();
 
         if (mp3tag != null)
         {
@@ -635,8 +659,8 @@ public class ID3v24Tag extends AbstractID3v2Tag
      */
     public ID3v24Tag(ByteBuffer buffer, String loggingFilename) throws TagException
     {
-        frameMap = new LinkedHashMap();
-        encryptedFrameMap = new LinkedHashMap();
+        frameMap = new ID3v2FrameMap();
+        encryptedFrameMap = new ID3v2FrameMap();
 
         setLoggingFilename(loggingFilename);
         this.read(buffer);
@@ -890,6 +914,15 @@ public class ID3v24Tag extends AbstractID3v2Tag
         readFrames(byteBuffer, size);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int getFrameSizeWithoutReading(ByteBuffer byteBuffer, int frameStart)
+    {
+        return ID3v24Frame.getFrameSizeWithoutReading(byteBuffer, frameStart);
+    }
+
     /**
      * Read frames from tag
      * @param byteBuffer
@@ -900,8 +933,9 @@ public class ID3v24Tag extends AbstractID3v2Tag
         logger.finest(getLoggingFilename() + ":" + "Start of frame body at" + byteBuffer.position());
         //Now start looking for frames
         ID3v24Frame next;
-        frameMap = new LinkedHashMap();
-        encryptedFrameMap = new LinkedHashMap();
+        Set<String> readFrameIds = getReadFrameIds();
+        frameMap = new ID3v2FrameMap();
+        encryptedFrameMap = new ID3v2FrameMap();
 
         //Read the size from the Tag Header
         this.fileReadSize = size;
@@ -914,8 +948,17 @@ public class ID3v24Tag extends AbstractID3v2Tag
             {
                 //Read Frame
                 logger.config(getLoggingFilename() + ":" + "looking for next frame at:" + byteBuffer.position());
+                if (skipFrameNotRead(byteBuffer, readFrameIds, ID3v24Frame.FRAME_ID_SIZE))
+                {
+                    continue;
+                }
                 next = new ID3v24Frame(byteBuffer, getLoggingFilename());
                 id = next.getIdentifier();
+                if (readFrameIds != null && !readFrameIds.contains(id))
+                {
+                    logger.config(getLoggingFilename() + ":Skipping frame not being read:" + id);
+                    continue;
+                }
                 loadFrameIntoMap(id, next);
             }
             //Found Padding, no more frames
@@ -968,6 +1011,20 @@ public class ID3v24Tag extends AbstractID3v2Tag
      * @throws IOException
      */
     private ByteBuffer writeHeaderToBuffer(int padding, int size) throws IOException
+    {
+        return writeHeaderToBuffer(padding, size, false);
+    }
+
+    /**
+     * Write the ID3 header to the ByteBuffer, optionally flagging that a footer follows the tag
+     *
+     * @param padding is the size of the padding
+     * @param size    is the size of the body data
+     * @param withFooter whether the tag is followed by a footer
+     * @return ByteBuffer
+     * @throws IOException
+     */
+    private ByteBuffer writeHeaderToBuffer(int padding, int size, boolean withFooter) throws IOException
     {
         //This would only be set if every frame in tag has been unsynchronized, I only unsychronize frames
         //that need it, in any case I have been advised not to set it even then.
@@ -978,7 +1035,7 @@ public class ID3v24Tag extends AbstractID3v2Tag
         // experimental and we never create extended header to keep things simple.
         extended = false;
         experimental = false;
-        footer = false;
+        footer = withFooter;
 
         // Create Header Buffer,allocate maximum possible size for the header
         ByteBuffer headerBuffer = ByteBuffer.allocate(TAG_HEADER_LENGTH);
@@ -1112,19 +1169,320 @@ public class ID3v24Tag extends AbstractID3v2Tag
         logger.config(getLoggingFilename()+":Writing tag to file:");
 
         //Write Body Buffer
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
+        ByteBuffer bodyByteBuffer = writeFramesToBuffer().toByteBuffer();
+
+        //Append the tag rather than move the audio, as long as there is room for a SEEK frame at the start
+        if (TagOptionSingleton.getInstance().isId3v24AppendTag()
+                && bodyByteBuffer.remaining() + TAG_HEADER_LENGTH > audioStartLocation
+                && (audioStartLocation == 0 || audioStartLocation >= SEEK_TAG_SIZE))
+        {
+            if (writeAppendedTag(file, bodyByteBuffer, audioStartLocation))
+            {
+                return audioStartLocation;
+            }
+        }
+        return writeToStart(file, bodyByteBuffer, audioStartLocation);
+    }
+
+    /**
+     * Write the tag to the start of the file, moving the audio if there is not enough room before it, and remove
+     * any tag that had been appended to the end of the file.
+     *
+     * @param file
+     * @param audioStartLocation
+     * @return new audio start location
+     * @throws IOException
+     */
+    public long compact(File file, long audioStartLocation) throws IOException
+    {
+        setLoggingFilename(file.getName());
+        logger.config(getLoggingFilename()+":Compacting tag to start of file:");
+        //Any tag appended to the file is replaced by this one
+        appended = true;
+        return writeToStart(file, writeFramesToBuffer().toByteBuffer(), audioStartLocation);
+    }
 
+    private long writeToStart(File file, ByteBuffer bodyByteBuffer, long audioStartLocation) throws IOException
+    {
         //Calculate Tag Size including Padding
-        int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) audioStartLocation);
+        int sizeIncPadding = calculateTagSize(bodyByteBuffer.remaining() + TAG_HEADER_LENGTH, (int) audioStartLocation);
 
         //Calculate padding bytes required
-        int padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+        int padding = sizeIncPadding - (bodyByteBuffer.remaining() + TAG_HEADER_LENGTH);
 
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.remaining());
         writeBufferToFile(file, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
         return sizeIncPadding;
     }
 
+    /**
+     * Remove the appended tag this tag replaces, any other tag found at the end of the file is left alone
+     *
+     * @param fc
+     * @throws IOException
+     */
+    @Override
+    protected void writeBuffersCompleted(FileChannel fc) throws IOException
+    {
+        if (appended)
+        {
+            deleteAppendedTag(fc);
+            appended = false;
+        }
+    }
+
+    /**
+     * Write the tag with a footer to the end of the audio, before any ID3v1 tag, replacing any tag already
+     * appended. The tag at the start of the file is replaced by a SEEK frame pointing to the appended tag so the
+     * audio does not have to be moved.
+     *
+     * @param file
+     * @param bodyBuffer
+     * @param audioStartLocation
+     * @return false if the appended tag would be too far from the start of the file for a SEEK frame
+     * @throws IOException
+     */
+    private boolean writeAppendedTag(File file, ByteBuffer bodyBuffer, long audioStartLocation) throws IOException
+    {
+        FileChannel fc = null;
+        FileLock fileLock = null;
+        try
+        {
+            fc = new RandomAccessFile(file, "rw").getChannel();
+            fileLock = getFileLockForWriting(fc, file.getPath());
+
+            long tagEnd = getAppendedTagEnd(fc);
+            long tagStart = getAppendedTagStart(fc);
+            if (tagStart == -1)
+            {
+                tagStart = tagEnd;
+            }
+            if (tagStart - audioStartLocation > Integer.MAX_VALUE)
+            {
+                logger.warning(getLoggingFilename() + ":Audio too large to append tag, writing to start of file");
+                return false;
+            }
+            logger.config(getLoggingFilename() + ":Appending tag at:" + tagStart);
+
+            //Keep the ID3v1 tag after the appended tag
+            ByteBuffer id3v1Buffer = ByteBuffer.allocate((int) (fc.size() - tagEnd));
+            Utils.read(fc, id3v1Buffer, tagEnd);
+            id3v1Buffer.flip();
+
+            ByteBuffer headerBuffer = writeHeaderToBuffer(0, bodyBuffer.remaining(), true);
+            ByteBuffer footerBuffer = ByteBuffer.allocate(TAG_HEADER_LENGTH);
+            footerBuffer.put(headerBuffer.duplicate());
+            footerBuffer.put(0, FOOTER_ID[0]).put(1, FOOTER_ID[1]).put(2, FOOTER_ID[2]);
+            footerBuffer.flip();
+
+            fc.position(tagStart);
+            writeBuffers(fc, headerBuffer, bodyBuffer, 0);
+            writeBuffers(fc, footerBuffer, id3v1Buffer, 0);
+            fc.truncate(fc.position());
+
+            if (audioStartLocation > 0)
+            {
+                writeSeekTag(fc, tagStart - audioStartLocation, (int) audioStartLocation);
+            }
+            PaddingMetrics.getInstance().recordInPlace();
+            appended = true;
+            return true;
+        }
+        finally
+        {
+            if (fc != null)
+            {
+                if (fileLock != null)
+                {
+                    fileLock.release();
+                }
+                fc.close();
+            }
+        }
+    }
+
+    /**
+     * Replace the tag at the start of the file with one only holding a SEEK frame, padded to the same size
+     *
+     * @param fc
+     * @param offset from the end of this tag to the start of the appended tag
+     * @param tagSize space before the audio
+     * @throws IOException
+     */
+    private void writeSeekTag(FileChannel fc, long offset, int tagSize) throws IOException
+    {
+        ID3v24Tag seekTag = new ID3v24Tag();
+        ID3v24Frame seekFrame = new ID3v24Frame(ID3v24Frames.FRAME_ID_SEEK);
+        seekFrame.setBody(new FrameBodySEEK((int) offset));
+        seekTag.setFrame(seekFrame);
+
+        ByteBuffer bodyBuffer = seekTag.writeFramesToBuffer().toByteBuffer();
+        int padding = tagSize - TAG_HEADER_LENGTH - bodyBuffer.remaining();
+        fc.position(0);
+        writeBuffers(fc, seekTag.writeHeaderToBuffer(padding, bodyBuffer.remaining()), bodyBuffer, padding);
+    }
+
+    /**
+     * The end of a tag appended to the file, this is the start of the ID3v1 tag if there is one or the end of the file
+     *
+     * @param fc
+     * @return position a tag appended to the file ends at
+     * @throws IOException
+     */
+    public static long getAppendedTagEnd(SeekableByteChannel fc) throws IOException
+    {
+        long end = fc.size();
+        if (end >= AbstractID3v1Tag.TAG_LENGTH)
+        {
+            ByteBuffer tagId = ByteBuffer.allocate(AbstractID3v1Tag.FIELD_TAGID_LENGTH);
+            Utils.read(fc, tagId, end - AbstractID3v1Tag.TAG_LENGTH);
+            if (Arrays.equals(tagId.array(), AbstractID3v1Tag.TAG_ID))
+            {
+                end -= AbstractID3v1Tag.TAG_LENGTH;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Find a tag appended to the end of the file by its footer
+     *
+     * @param fc
+     * @return start of the appended tag header, or -1 if there is no appended tag
+     * @throws IOException
+     */
+    public static long getAppendedTagStart(SeekableByteChannel fc) throws IOException
+    {
+        long tagEnd = getAppendedTagEnd(fc);
+        if (tagEnd < TAG_HEADER_LENGTH * 2)
+        {
+            return -1;
+        }
+
+        ByteBuffer footerBuffer = ByteBuffer.allocate(TAG_HEADER_LENGTH);
+        Utils.read(fc, footerBuffer, tagEnd - TAG_HEADER_LENGTH);
+        footerBuffer.flip();
+        if (!isAppendedTagHeader(footerBuffer, FOOTER_ID))
+        {
+            return -1;
+        }
+        long tagStart = tagEnd - TAG_HEADER_LENGTH - ID3SyncSafeInteger.bufferToValue(footerBuffer) - TAG_HEADER_LENGTH;
+        if (tagStart < 0)
+        {
+            return -1;
+        }
+
+        ByteBuffer headerBuffer = ByteBuffer.allocate(TAG_HEADER_LENGTH);
+        Utils.read(fc, headerBuffer, tagStart);
+        headerBuffer.flip();
+        if (!isAppendedTagHeader(headerBuffer, TAG_ID))
+        {
+            return -1;
+        }
+        return tagStart;
+    }
+
+    /**
+     * @param buffer header or footer, the position is left at the size
+     * @param id expected identifier
+     * @return true if this is the header or footer of a v24 tag followed by a footer
+     */
+    private static boolean isAppendedTagHeader(ByteBuffer buffer, byte[] id)
+    {
+        for (byte b : id)
+        {
+            if (buffer.get() != b)
+            {
+                return false;
+            }
+        }
+        if (buffer.get() != MAJOR_VERSION)
+        {
+            return false;
+        }
+        buffer.get();
+        return (buffer.get() & MASK_V24_FOOTER_PRESENT) != 0;
+    }
+
+    /**
+     * Read a tag appended to the end of the file
+     *
+     * @param fc
+     * @param loggingFilename
+     * @return the appended tag, or null if there is none
+     * @throws IOException
+     * @throws TagException if the appended tag cannot be read
+     */
+    public static ID3v24Tag readAppendedTag(SeekableByteChannel fc, String loggingFilename) throws IOException, TagException
+    {
+        long tagStart = getAppendedTagStart(fc);
+        if (tagStart == -1)
+        {
+            return null;
+        }
+
+        //Header and frames, without the footer
+        ByteBuffer buffer = ByteBuffer.allocate((int) (getAppendedTagEnd(fc) - TAG_HEADER_LENGTH - tagStart));
+        Utils.read(fc, buffer, tagStart);
+        buffer.flip();
+        ID3v24Tag appendedTag = new ID3v24Tag(buffer, loggingFilename);
+        appendedTag.appended = true;
+        return appendedTag;
+    }
+
+    /**
+     * Remove a tag appended to the end of the file, moving any ID3v1 tag up
+     *
+     * @param fc
+     * @throws IOException
+     */
+    public static void deleteAppendedTag(FileChannel fc) throws IOException
+    {
+        long tagStart = getAppendedTagStart(fc);
+        if (tagStart == -1)
+        {
+            return;
+        }
+
+        long tagEnd = getAppendedTagEnd(fc);
+        ByteBuffer id3v1Buffer = ByteBuffer.allocate((int) (fc.size() - tagEnd));
+        Utils.read(fc, id3v1Buffer, tagEnd);
+        id3v1Buffer.flip();
+        fc.position(tagStart);
+        while (id3v1Buffer.hasRemaining())
+        {
+            fc.write(id3v1Buffer);
+        }
+        fc.truncate(fc.position());
+    }
+
+    /**
+     * Add the frames of a tag that was appended to the end of the file, they replace any frames of the same type in
+     * this tag. The SEEK frame pointing to the appended tag is removed.
+     *
+     * @param appendedTag
+     */
+    public void mergeAppendedTag(ID3v24Tag appendedTag)
+    {
+        removeFrame(ID3v24Frames.FRAME_ID_SEEK);
+        frameMap.putAll(appendedTag.frameMap);
+        encryptedFrameMap.putAll(appendedTag.encryptedFrameMap);
+        appended = true;
+    }
+
+    /**
+     * Delete the tag at the start of the file and any tag appended to the end of the file
+     *
+     * @param file to delete the tag from
+     * @throws IOException if problem accessing the file
+     */
+    @Override
+    public void delete(RandomAccessFile file) throws IOException
+    {
+        super.delete(file);
+        deleteAppendedTag(file.getChannel());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1133,20 +1491,18 @@ public class ID3v24Tag extends AbstractID3v2Tag
     {
         logger.config(getLoggingFilename() +":Writing tag to channel");
 
-        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
+        ByteBuffer bodyByteBuffer = writeFramesToBuffer().toByteBuffer();
 
 
         int padding = 0;
         if(currentTagSize > 0)
         {
-            int sizeIncPadding = calculateTagSize(bodyByteBuffer.length + TAG_HEADER_LENGTH, (int) currentTagSize);
-            padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
+            int sizeIncPadding = calculateTagSize(bodyByteBuffer.remaining() + TAG_HEADER_LENGTH, (int) currentTagSize);
+            padding = sizeIncPadding - (bodyByteBuffer.remaining() + TAG_HEADER_LENGTH);
         }
-        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
+        ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.remaining());
 
-        channel.write(headerBuffer);
-        channel.write(ByteBuffer.wrap(bodyByteBuffer));
-        writePadding(channel, padding);
+        writeBuffers(channel, headerBuffer, bodyByteBuffer, padding);
     }
 
     /**
@@ -0,0 +1,176 @@
+package org.jaudiotagger.tag.id3;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Checks and decodes frame identifiers straight from the tag data
+ *
+ * <p>A frame identifier must start with a capital letter and only contain capital letters and numbers, it is
+ * three characters long in v22 and four characters long in v23 and v24. Identifiers are checked byte by byte
+ * and the identifiers of known frames are returned as shared strings, so reading a frame header does not create
+ * any objects.
+ */
+public class ID3v2FrameIdentifiers
+{
+    /**
+     * Size of the lookup table, a power of two well over twice the number of known identifiers
+     */
+    private static final int TABLE_SIZE = 1024;
+
+    private static final int[] keys = new int[TABLE_SIZE];
+    private static final String[] identifiers = new String[TABLE_SIZE];
+
+    static
+    {
+        Set<String> known = new LinkedHashSet<String>();
+        known.addAll(ID3v22Frames.getInstanceOf().getIdToValueMap().keySet());
+        known.addAll(ID3v23Frames.getInstanceOf().getIdToValueMap().keySet());
+        known.addAll(ID3v24Frames.getInstanceOf().getIdToValueMap().keySet());
+        known.addAll(ID3v2ChapterFrames.getInstanceOf().getIdToValueMap().keySet());
+        for (String identifier : known)
+        {
+            if (isValid(identifier, identifier.length()))
+            {
+                add(identifier.intern());
+            }
+        }
+    }
+
+    private ID3v2FrameIdentifiers()
+    {
+    }
+
+    private static void add(String identifier)
+    {
+        int key = 0;
+        for (int i = 0; i < identifier.length(); i++)
+        {
+            key = (key << 8) | identifier.charAt(i);
+        }
+        int slot = slot(key);
+        while (identifiers[slot] != null)
+        {
+            if (keys[slot] == key && identifiers[slot].length() == identifier.length())
+            {
+                return;
+            }
+            slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+        keys[slot] = key;
+        identifiers[slot] = identifier;
+    }
+
+    private static int slot(int key)
+    {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (TABLE_SIZE - 1);
+    }
+
+    private static boolean isUpperCase(int b)
+    {
+        return b >= 'A' && b <= 'Z';
+    }
+
+    private static boolean isDigit(int b)
+    {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * @param buffer holding the identifier, the position is not changed
+     * @param offset absolute position of the identifier in the buffer
+     * @param length the frame identifier size for the tag version
+     * @return true if the bytes are a syntactically valid frame identifier
+     */
+    public static boolean isValid(ByteBuffer buffer, int offset, int length)
+    {
+        if (offset < 0 || buffer.limit() - offset < length || !isUpperCase(buffer.get(offset)))
+        {
+            return false;
+        }
+        for (int i = 1; i < length; i++)
+        {
+            byte b = buffer.get(offset + i);
+            if (!isUpperCase(b) && !isDigit(b))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param identifier to be checked
+     * @param length the frame identifier size for the tag version
+     * @return true if the identifier is a syntactically valid frame identifier
+     */
+    public static boolean isValid(CharSequence identifier, int length)
+    {
+        if (identifier.length() != length || !isUpperCase(identifier.charAt(0)))
+        {
+            return false;
+        }
+        for (int i = 1; i < length; i++)
+        {
+            char c = identifier.charAt(i);
+            if (!isUpperCase(c) && !isDigit(c))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param buffer holding the data, the position is not changed
+     * @param offset absolute position in the buffer
+     * @param length number of bytes to check
+     * @return true if the bytes are all zero, as they are in padding
+     */
+    public static boolean isPadding(ByteBuffer buffer, int offset, int length)
+    {
+        for (int i = 0; i < length; i++)
+        {
+            if (buffer.get(offset + i) != 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read an identifier from the buffer
+     *
+     * @param buffer holding the identifier, the position is not changed
+     * @param offset absolute position of the identifier in the buffer
+     * @param length the frame identifier size for the tag version, no more than four
+     * @return the identifier, a shared instance if it is the identifier of a known frame
+     */
+    public static String getIdentifier(ByteBuffer buffer, int offset, int length)
+    {
+        int key = 0;
+        for (int i = 0; i < length; i++)
+        {
+            key = (key << 8) | (buffer.get(offset + i) & 0xff);
+        }
+        int slot = slot(key);
+        while (identifiers[slot] != null)
+        {
+            if (keys[slot] == key && identifiers[slot].length() == length)
+            {
+                return identifiers[slot];
+            }
+            slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++)
+        {
+            chars[i] = (char) (buffer.get(offset + i) & 0xff);
+        }
+        return new String(chars);
+    }
+}
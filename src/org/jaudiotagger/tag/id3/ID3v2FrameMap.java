@@ -0,0 +1,317 @@
+package org.jaudiotagger.tag.id3;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The frames of an ID3v2 tag keyed by frame identifier, in the order they were added.
+ *
+ * As before each value is either a single {@link AbstractID3v2Frame}, a {@link List} of frames with the same identifier
+ * or an {@link AggregatedFrame}, but the typed accessors mean callers do not have to check which. A sorted index of
+ * the identifiers supports looking up all the frames starting with an identifier, e.g all the text frames, without
+ * checking every key.
+ *
+ * Lists of frames created by this map are held as a {@link FrameList}, lists put by callers are read element by
+ * element and replaced by a {@link FrameList} when a frame is added to them.
+ */
+public class ID3v2FrameMap extends AbstractMap<String, Object>
+{
+    private final LinkedHashMap<String, Object> frames;
+
+    //Secondary index of the identifiers for prefix lookups
+    private final TreeSet<String> identifiers = new TreeSet<String>();
+
+    /**
+     * The frames sharing an identifier
+     */
+    public static class FrameList extends ArrayList<AbstractID3v2Frame>
+    {
+        private static final long serialVersionUID = 8954827933607623866L;
+
+        public FrameList()
+        {
+        }
+
+        public FrameList(int initialCapacity)
+        {
+            super(initialCapacity);
+        }
+    }
+
+    public ID3v2FrameMap()
+    {
+        frames = new LinkedHashMap<String, Object>();
+    }
+
+    /**
+     * @param expectedSize expected number of identifiers
+     */
+    public ID3v2FrameMap(int expectedSize)
+    {
+        frames = new LinkedHashMap<String, Object>(Math.max(16, expectedSize * 4 / 3 + 1));
+    }
+
+    @Override
+    public Object get(Object identifier)
+    {
+        return frames.get(identifier);
+    }
+
+    @Override
+    public boolean containsKey(Object identifier)
+    {
+        return frames.containsKey(identifier);
+    }
+
+    @Override
+    public Object put(String identifier, Object value)
+    {
+        identifiers.add(identifier);
+        return frames.put(identifier, value);
+    }
+
+    @Override
+    public Object remove(Object identifier)
+    {
+        identifiers.remove(identifier);
+        return frames.remove(identifier);
+    }
+
+    @Override
+    public int size()
+    {
+        return frames.size();
+    }
+
+    @Override
+    public void clear()
+    {
+        frames.clear();
+        identifiers.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet()
+    {
+        return new AbstractSet<Map.Entry<String, Object>>()
+        {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator()
+            {
+                final Iterator<Map.Entry<String, Object>> it = frames.entrySet().iterator();
+                return new Iterator<Map.Entry<String, Object>>()
+                {
+                    private Map.Entry<String, Object> current;
+
+                    public boolean hasNext()
+                    {
+                        return it.hasNext();
+                    }
+
+                    public Map.Entry<String, Object> next()
+                    {
+                        current = it.next();
+                        return current;
+                    }
+
+                    public void remove()
+                    {
+                        it.remove();
+                        identifiers.remove(current.getKey());
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return frames.size();
+            }
+
+            @Override
+            public void clear()
+            {
+                ID3v2FrameMap.this.clear();
+            }
+        };
+    }
+
+    /**
+     * @param identifier
+     * @return the first frame with this identifier, or null if there are none
+     */
+    public AbstractID3v2Frame getFirstFrame(String identifier)
+    {
+        Object o = frames.get(identifier);
+        if (o instanceof AbstractID3v2Frame)
+        {
+            return (AbstractID3v2Frame) o;
+        }
+        else if (o instanceof List)
+        {
+            List<?> list = (List<?>) o;
+            return list.isEmpty() ? null : (AbstractID3v2Frame) list.get(0);
+        }
+        else if (o instanceof AggregatedFrame)
+        {
+            Iterator<AbstractID3v2Frame> it = ((AggregatedFrame) o).getFrames().iterator();
+            return it.hasNext() ? it.next() : null;
+        }
+        return null;
+    }
+
+    /**
+     * @param identifier
+     * @return all the frames with this identifier, an empty list if there are none, changing the list does not
+     * change the map
+     */
+    public List<AbstractID3v2Frame> getFrames(String identifier)
+    {
+        return toFrames(frames.get(identifier));
+    }
+
+    /**
+     * @return every frame in the order added, with the frames of lists and aggregated frames listed individually
+     */
+    public List<AbstractID3v2Frame> getAllFrames()
+    {
+        List<AbstractID3v2Frame> all = new ArrayList<AbstractID3v2Frame>(frames.size());
+        for (Object o : frames.values())
+        {
+            addFrames(all, o);
+        }
+        return all;
+    }
+
+    /**
+     * Add a frame, if there are already frames with the identifier they are held in a list with the new frame last
+     *
+     * @param identifier
+     * @param frame
+     */
+    public void addFrame(String identifier, AbstractID3v2Frame frame)
+    {
+        Object o = frames.get(identifier);
+        if (o == null)
+        {
+            put(identifier, frame);
+        }
+        else if (o instanceof FrameList)
+        {
+            ((FrameList) o).add(frame);
+        }
+        else
+        {
+            FrameList list = new FrameList();
+            addFrames(list, o);
+            list.add(frame);
+            frames.put(identifier, list);
+        }
+    }
+
+    /**
+     * Remove one frame, if it was the only frame with the identifier the identifier is removed as well
+     *
+     * @param identifier
+     * @param frame
+     */
+    public void removeFrame(String identifier, AbstractID3v2Frame frame)
+    {
+        FrameList list = new FrameList();
+        addFrames(list, frames.get(identifier));
+        if (!list.remove(frame))
+        {
+            return;
+        }
+
+        if (list.isEmpty())
+        {
+            remove(identifier);
+        }
+        else
+        {
+            frames.put(identifier, list);
+        }
+    }
+
+    /**
+     * @param prefix
+     * @return the identifiers starting with the prefix in alphabetical order, the list is not changed by later
+     * changes to the map
+     */
+    public List<String> getIdentifiersStartingWith(String prefix)
+    {
+        Set<String> matches = identifiers.subSet(prefix, prefix + Character.MAX_VALUE);
+        if (matches.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        return new ArrayList<String>(matches);
+    }
+
+    /**
+     * @param prefix
+     * @return true if there is an identifier starting with the prefix
+     */
+    public boolean hasIdentifierStartingWith(String prefix)
+    {
+        String next = identifiers.ceiling(prefix);
+        return next != null && next.startsWith(prefix);
+    }
+
+    /**
+     * @param prefix
+     * @return all the frames with identifiers starting with the prefix
+     */
+    public List<AbstractID3v2Frame> getFramesStartingWith(String prefix)
+    {
+        List<AbstractID3v2Frame> result = new ArrayList<AbstractID3v2Frame>();
+        for (String identifier : identifiers.subSet(prefix, prefix + Character.MAX_VALUE))
+        {
+            addFrames(result, frames.get(identifier));
+        }
+        return result;
+    }
+
+    /**
+     * @param o a value of the map
+     * @return the frames held by the value
+     */
+    public static List<AbstractID3v2Frame> toFrames(Object o)
+    {
+        if (o == null)
+        {
+            return Collections.emptyList();
+        }
+        List<AbstractID3v2Frame> list = new FrameList(1);
+        addFrames(list, o);
+        return list;
+    }
+
+    private static void addFrames(List<AbstractID3v2Frame> list, Object o)
+    {
+        if (o instanceof AbstractID3v2Frame)
+        {
+            list.add((AbstractID3v2Frame) o);
+        }
+        else if (o instanceof List)
+        {
+            for (Object frame : (List<?>) o)
+            {
+                list.add((AbstractID3v2Frame) frame);
+            }
+        }
+        else if (o instanceof AggregatedFrame)
+        {
+            list.addAll(((AggregatedFrame) o).getFrames());
+        }
+    }
+}
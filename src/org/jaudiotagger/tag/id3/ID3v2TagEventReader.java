@@ -0,0 +1,416 @@
+package org.jaudiotagger.tag.id3;
+
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagVisitor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Passes the frames of an ID3v2 tag to a {@link TagVisitor} straight from the raw tag data, no frames or frame
+ * bodies are created.
+ *
+ * <p>Text, comment, lyric, url and unique file id frames are reported as fields, all other frames are reported as
+ * binary with the position of their data in the file, for pictures the position of the image itself.
+ */
+public class ID3v2TagEventReader
+{
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.tag.id3");
+
+    private static final byte ENCODING_UTF_16 = 1;
+    private static final byte ENCODING_UTF_16BE = 2;
+    private static final byte ENCODING_UTF_8 = 3;
+
+    private static final Map<String, FieldKey> V22_KEYS = new HashMap<String, FieldKey>();
+    private static final Map<String, FieldKey> V23_KEYS = new HashMap<String, FieldKey>();
+    private static final Map<String, FieldKey> V24_KEYS = new HashMap<String, FieldKey>();
+
+    static
+    {
+        for (FieldKey key : FieldKey.values())
+        {
+            ID3v22FieldKey v22Key = ID3v22Frames.getInstanceOf().getId3KeyFromGenericKey(key);
+            if (v22Key != null)
+            {
+                addKey(V22_KEYS, v22Key.getFrameId(), v22Key.getSubId(), key);
+            }
+            ID3v23FieldKey v23Key = ID3v23Frames.getInstanceOf().getId3KeyFromGenericKey(key);
+            if (v23Key != null)
+            {
+                addKey(V23_KEYS, v23Key.getFrameId(), v23Key.getSubId(), key);
+            }
+            ID3v24FieldKey v24Key = ID3v24Frames.getInstanceOf().getId3KeyFromGenericKey(key);
+            if (v24Key != null)
+            {
+                addKey(V24_KEYS, v24Key.getFrameId(), v24Key.getSubId(), key);
+            }
+        }
+    }
+
+    private static void addKey(Map<String, FieldKey> keys, String frameId, String subId, FieldKey key)
+    {
+        String id = subId == null ? frameId : frameId + ":" + subId;
+        if (!keys.containsKey(id))
+        {
+            keys.put(id, key);
+        }
+    }
+
+    /**
+     * Is there an ID3v2 tag at the start of the data
+     *
+     * @param header at least the first ten bytes of the data
+     * @return the total size of the tag including its header, or zero if there is no tag
+     */
+    public static int getTagSize(ByteBuffer header)
+    {
+        int start = header.position();
+        if (header.remaining() < AbstractID3v2Tag.TAG_HEADER_LENGTH
+                || header.get(start) != 'I' || header.get(start + 1) != 'D' || header.get(start + 2) != '3')
+        {
+            return 0;
+        }
+        ByteBuffer size = header.duplicate();
+        size.position(start + 6);
+        return ID3SyncSafeInteger.bufferToValue(size) + AbstractID3v2Tag.TAG_HEADER_LENGTH;
+    }
+
+    /**
+     * Visit the frames of the tag
+     *
+     * @param tag the whole tag starting from its header
+     * @param offset position of the tag in the file
+     * @param loggingName name of the file for use in log messages
+     * @param visitor
+     */
+    public static void read(ByteBuffer tag, long offset, String loggingName, TagVisitor visitor)
+    {
+        int tagSize = getTagSize(tag);
+        if (tagSize == 0)
+        {
+            return;
+        }
+        if (!tag.hasArray())
+        {
+            ByteBuffer copy = ByteBuffer.allocate(tag.remaining());
+            copy.put(tag.duplicate()).flip();
+            tag = copy;
+        }
+        int start = tag.position();
+        int majorVersion = tag.get(start + 3);
+        int flags = tag.get(start + 5) & 0xff;
+        Map<String, FieldKey> keys;
+        switch (majorVersion)
+        {
+            case ID3v22Tag.MAJOR_VERSION:
+                if ((flags & ID3v22Tag.MASK_V22_COMPRESSION) != 0)
+                {
+                    logger.warning(loggingName + ":Cannot visit compressed ID3v22 tag");
+                    return;
+                }
+                keys = V22_KEYS;
+                break;
+
+            case ID3v23Tag.MAJOR_VERSION:
+                keys = V23_KEYS;
+                break;
+
+            case ID3v24Tag.MAJOR_VERSION:
+                keys = V24_KEYS;
+                break;
+
+            default:
+                logger.warning(loggingName + ":Cannot visit ID3v2 tag of version:" + majorVersion);
+                return;
+        }
+
+        ByteBuffer frames = slice(tag, start + AbstractID3v2Tag.TAG_HEADER_LENGTH, Math.min(tagSize, tag.limit() - start) - AbstractID3v2Tag.TAG_HEADER_LENGTH);
+        long framesOffset = offset + AbstractID3v2Tag.TAG_HEADER_LENGTH;
+        if (majorVersion < ID3v24Tag.MAJOR_VERSION && (flags & ID3v23Tag.MASK_V23_UNSYNCHRONIZATION) != 0)
+        {
+            frames = ID3Unsynchronization.synchronize(frames);
+            framesOffset = -1;
+        }
+
+        if (majorVersion == ID3v23Tag.MAJOR_VERSION && (flags & ID3v23Tag.MASK_V23_EXTENDED_HEADER) != 0)
+        {
+            frames.position(frames.getInt() + 4);
+        }
+        else if (majorVersion == ID3v24Tag.MAJOR_VERSION && (flags & ID3v24Tag.MASK_V24_EXTENDED_HEADER) != 0)
+        {
+            frames.position(ID3SyncSafeInteger.bufferToValue(frames));
+        }
+
+        int idLength = majorVersion == ID3v22Tag.MAJOR_VERSION ? ID3v22Frame.FRAME_ID_SIZE : ID3v24Frame.FRAME_ID_SIZE;
+        int headerLength = majorVersion == ID3v22Tag.MAJOR_VERSION ? ID3v22Frame.FRAME_HEADER_SIZE : ID3v24Frame.FRAME_HEADER_SIZE;
+        while (frames.remaining() >= headerLength)
+        {
+            //Padding
+            int frameStart = frames.position();
+            if (frames.get(frameStart) == 0)
+            {
+                break;
+            }
+
+            String id = ID3v2FrameIdentifiers.getIdentifier(frames, frameStart, idLength);
+            frames.position(frameStart + idLength);
+            int frameSize;
+            int formatFlags = 0;
+            if (majorVersion == ID3v22Tag.MAJOR_VERSION)
+            {
+                frameSize = ((frames.get() & 0xff) << 16) | ((frames.get() & 0xff) << 8) | (frames.get() & 0xff);
+            }
+            else
+            {
+                frameSize = majorVersion == ID3v23Tag.MAJOR_VERSION ? frames.getInt() : ID3SyncSafeInteger.bufferToValue(frames);
+                frames.get();
+                formatFlags = frames.get() & 0xff;
+            }
+
+            if (frameSize <= 0 || frameSize > frames.remaining())
+            {
+                logger.warning(loggingName + ":Invalid size for frame, stopping:" + id + ":" + frameSize);
+                break;
+            }
+            ByteBuffer body = slice(frames, frames.position(), frameSize);
+            long bodyOffset = framesOffset < 0 ? -1 : framesOffset + frames.position();
+            frames.position(frames.position() + frameSize);
+
+            try
+            {
+                visitFrame(id, keys, majorVersion, formatFlags, body, bodyOffset, visitor);
+            }
+            catch (RuntimeException re)
+            {
+                logger.warning(loggingName + ":Unable to visit frame:" + id + ":" + re.getMessage());
+            }
+        }
+    }
+
+    private static void visitFrame(String id, Map<String, FieldKey> keys, int majorVersion, int formatFlags, ByteBuffer body, long bodyOffset, TagVisitor visitor)
+    {
+        boolean compressed = false;
+        boolean encrypted = false;
+        int decompressedSize = 0;
+        if (majorVersion == ID3v23Tag.MAJOR_VERSION)
+        {
+            compressed = (formatFlags & ID3v23Frame.EncodingFlags.MASK_COMPRESSION) != 0;
+            encrypted = (formatFlags & ID3v23Frame.EncodingFlags.MASK_ENCRYPTION) != 0;
+            if (compressed)
+            {
+                decompressedSize = body.getInt();
+            }
+            if (encrypted)
+            {
+                body.get();
+            }
+            if ((formatFlags & ID3v23Frame.EncodingFlags.MASK_GROUPING_IDENTITY) != 0)
+            {
+                body.get();
+            }
+        }
+        else if (majorVersion == ID3v24Tag.MAJOR_VERSION)
+        {
+            compressed = (formatFlags & ID3v24Frame.EncodingFlags.MASK_COMPRESSION) != 0;
+            encrypted = (formatFlags & ID3v24Frame.EncodingFlags.MASK_ENCRYPTION) != 0;
+            if ((formatFlags & ID3v24Frame.EncodingFlags.MASK_GROUPING_IDENTITY) != 0)
+            {
+                body.get();
+            }
+            if (encrypted)
+            {
+                body.get();
+            }
+            if ((formatFlags & ID3v24Frame.EncodingFlags.MASK_DATA_LENGTH_INDICATOR) != 0)
+            {
+                decompressedSize = ID3SyncSafeInteger.bufferToValue(body);
+            }
+        }
+
+        if (bodyOffset >= 0)
+        {
+            bodyOffset += body.position();
+        }
+        body = body.slice();
+        if (encrypted)
+        {
+            visitor.onBinary(id, keys.get(id), -1, body.remaining());
+            return;
+        }
+        if (majorVersion == ID3v24Tag.MAJOR_VERSION && (formatFlags & ID3v24Frame.EncodingFlags.MASK_FRAME_UNSYNCHRONIZATION) != 0)
+        {
+            body = ID3Unsynchronization.synchronize(body);
+            bodyOffset = -1;
+        }
+        if (compressed)
+        {
+            body = inflate(body, decompressedSize);
+            bodyOffset = -1;
+        }
+
+        if (id.equals(ID3v24Frames.FRAME_ID_USER_DEFINED_INFO) || id.equals(ID3v22Frames.FRAME_ID_V2_USER_DEFINED_INFO)
+                || id.equals(ID3v24Frames.FRAME_ID_USER_DEFINED_URL) || id.equals(ID3v22Frames.FRAME_ID_V2_USER_DEFINED_URL))
+        {
+            byte encoding = body.get();
+            String description = readTerminated(body, encoding);
+            String fieldId = id + ":" + description;
+            boolean url = id.charAt(0) == 'W';
+            visitText(fieldId, keys.get(fieldId), body, url ? 0 : encoding, visitor);
+        }
+        else if (id.equals(ID3v24Frames.FRAME_ID_COMMENT) || id.equals(ID3v22Frames.FRAME_ID_V2_COMMENT)
+                || id.equals(ID3v24Frames.FRAME_ID_UNSYNC_LYRICS) || id.equals(ID3v22Frames.FRAME_ID_V2_UNSYNC_LYRICS))
+        {
+            byte encoding = body.get();
+            body.position(body.position() + 3);
+            String description = readTerminated(body, encoding);
+            FieldKey key = description.length() == 0 ? keys.get(id) : keys.get(id + ":" + description);
+            visitText(description.length() == 0 ? id : id + ":" + description, key, body, encoding, visitor);
+        }
+        else if (id.equals(ID3v24Frames.FRAME_ID_UNIQUE_FILE_ID) || id.equals(ID3v22Frames.FRAME_ID_V2_UNIQUE_FILE_ID))
+        {
+            String owner = readTerminated(body, (byte) 0);
+            String fieldId = id + ":" + owner;
+            visitText(fieldId, keys.get(fieldId), body, (byte) 0, visitor);
+        }
+        else if (id.charAt(0) == 'T')
+        {
+            byte encoding = body.get();
+            visitText(id, keys.get(id), body, encoding, visitor);
+        }
+        else if (id.charAt(0) == 'W')
+        {
+            visitText(id, keys.get(id), body, (byte) 0, visitor);
+        }
+        else
+        {
+            if (id.equals(ID3v24Frames.FRAME_ID_ATTACHED_PICTURE))
+            {
+                byte encoding = body.get();
+                readTerminated(body, (byte) 0);
+                body.get();
+                readTerminated(body, encoding);
+            }
+            else if (id.equals(ID3v22Frames.FRAME_ID_V2_ATTACHED_PICTURE))
+            {
+                byte encoding = body.get();
+                body.position(body.position() + 4);
+                readTerminated(body, encoding);
+            }
+            visitor.onBinary(id, keys.get(id), bodyOffset < 0 ? -1 : bodyOffset + body.position(), body.remaining());
+        }
+    }
+
+    /**
+     * Report each of the null separated values from the current position to the end of the body
+     */
+    private static void visitText(String id, FieldKey key, ByteBuffer body, byte encoding, TagVisitor visitor)
+    {
+        Charset charset = getCharset(encoding);
+        while (body.hasRemaining())
+        {
+            int start = body.position();
+            int end = findTerminator(body, encoding);
+            CharSequence value = charset.decode(slice(body, start, end - start));
+            if (value.length() > 0)
+            {
+                visitor.onField(id, key, value);
+            }
+        }
+    }
+
+    /**
+     * Read a null terminated string, leaving the body positioned after the terminator
+     */
+    private static String readTerminated(ByteBuffer body, byte encoding)
+    {
+        int start = body.position();
+        int end = findTerminator(body, encoding);
+        return getCharset(encoding).decode(slice(body, start, end - start)).toString();
+    }
+
+    /**
+     * Find the end of the string starting at the current position, the body is positioned after the terminator
+     *
+     * @return the end of the string, which is the limit if it is not terminated
+     */
+    private static int findTerminator(ByteBuffer body, byte encoding)
+    {
+        int limit = body.limit();
+        if (encoding == ENCODING_UTF_16 || encoding == ENCODING_UTF_16BE)
+        {
+            for (int i = body.position(); i + 1 < limit; i += 2)
+            {
+                if (body.get(i) == 0 && body.get(i + 1) == 0)
+                {
+                    body.position(i + 2);
+                    return i;
+                }
+            }
+        }
+        else
+        {
+            for (int i = body.position(); i < limit; i++)
+            {
+                if (body.get(i) == 0)
+                {
+                    body.position(i + 1);
+                    return i;
+                }
+            }
+        }
+        body.position(limit);
+        return limit;
+    }
+
+    private static Charset getCharset(byte encoding)
+    {
+        switch (encoding)
+        {
+            case ENCODING_UTF_16:
+                return StandardCharsets.UTF_16;
+
+            case ENCODING_UTF_16BE:
+                return StandardCharsets.UTF_16BE;
+
+            case ENCODING_UTF_8:
+                return StandardCharsets.UTF_8;
+
+            default:
+                return StandardCharsets.ISO_8859_1;
+        }
+    }
+
+    private static ByteBuffer inflate(ByteBuffer body, int decompressedSize)
+    {
+        byte[] result = new byte[decompressedSize];
+        Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(body.array(), body.arrayOffset() + body.position(), body.remaining());
+            int length = inflater.inflate(result);
+            return ByteBuffer.wrap(result, 0, length);
+        }
+        catch (DataFormatException dfe)
+        {
+            throw new IllegalArgumentException("Unable to decompress frame:" + dfe.getMessage(), dfe);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length)
+    {
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(position + length);
+        slice.position(position);
+        return slice.slice();
+    }
+}
@@ -0,0 +1,291 @@
+package org.jaudiotagger.tag.id3.framebody;
+
+import org.jaudiotagger.tag.InvalidTagException;
+import org.jaudiotagger.tag.id3.AbstractTagFrameBody;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Creates frame bodies from their frame identifier.
+ *
+ * Frame bodies used to be created by looking up the class FrameBody + identifier and calling its constructor by
+ * reflection, which was slow for tags with many frames. Instead the constructors of every frame body are registered
+ * here against the identifier, so when adding a new frame body it must also be registered in this class.
+ *
+ * Lookups are by the exact identifier and for conversions by the exact class of the body being converted, as they
+ * were with reflection.
+ */
+public final class FrameBodyFactory
+{
+    /**
+     * Reads a frame body from a buffer, the constructor taking a ByteBuffer and the frame size
+     */
+    public interface Reader
+    {
+        AbstractID3v2FrameBody read(ByteBuffer byteBuffer, int frameSize) throws InvalidTagException;
+    }
+
+    private static class Entry
+    {
+        private final Supplier<? extends AbstractID3v2FrameBody> creator;
+        private final Reader reader;
+        private final Map<Class<?>, Function<AbstractID3v2FrameBody, AbstractID3v2FrameBody>> converters = new HashMap<Class<?>, Function<AbstractID3v2FrameBody, AbstractID3v2FrameBody>>();
+
+        private Entry(Supplier<? extends AbstractID3v2FrameBody> creator, Reader reader)
+        {
+            this.creator = creator;
+            this.reader = reader;
+        }
+    }
+
+    private static final Map<String, Entry> entries = new HashMap<String, Entry>();
+    private static final Map<Class<?>, Function<AbstractTagFrameBody, AbstractTagFrameBody>> copiers = new HashMap<Class<?>, Function<AbstractTagFrameBody, AbstractTagFrameBody>>();
+
+    static
+    {
+        register("AENC", FrameBodyAENC.class, FrameBodyAENC::new, FrameBodyAENC::new, FrameBodyAENC::new);
+        register("APIC", FrameBodyAPIC.class, FrameBodyAPIC::new, FrameBodyAPIC::new, FrameBodyAPIC::new);
+        register("ASPI", FrameBodyASPI.class, FrameBodyASPI::new, FrameBodyASPI::new, FrameBodyASPI::new);
+        register("CHAP", FrameBodyCHAP.class, FrameBodyCHAP::new, FrameBodyCHAP::new, FrameBodyCHAP::new);
+        register("COMM", FrameBodyCOMM.class, FrameBodyCOMM::new, FrameBodyCOMM::new, FrameBodyCOMM::new);
+        register("COMR", FrameBodyCOMR.class, FrameBodyCOMR::new, FrameBodyCOMR::new, FrameBodyCOMR::new);
+        register("CRM", FrameBodyCRM.class, FrameBodyCRM::new, FrameBodyCRM::new, FrameBodyCRM::new);
+        register("CTOC", FrameBodyCTOC.class, FrameBodyCTOC::new, FrameBodyCTOC::new, FrameBodyCTOC::new);
+        register("ENCR", FrameBodyENCR.class, FrameBodyENCR::new, FrameBodyENCR::new, FrameBodyENCR::new);
+        register("EQU2", FrameBodyEQU2.class, FrameBodyEQU2::new, FrameBodyEQU2::new, FrameBodyEQU2::new);
+        register("EQUA", FrameBodyEQUA.class, FrameBodyEQUA::new, null, FrameBodyEQUA::new);
+        register("ETCO", FrameBodyETCO.class, FrameBodyETCO::new, FrameBodyETCO::new, FrameBodyETCO::new);
+        register("GEOB", FrameBodyGEOB.class, FrameBodyGEOB::new, FrameBodyGEOB::new, FrameBodyGEOB::new);
+        register("GRID", FrameBodyGRID.class, FrameBodyGRID::new, FrameBodyGRID::new, FrameBodyGRID::new);
+        register("GRP1", FrameBodyGRP1.class, FrameBodyGRP1::new, FrameBodyGRP1::new, FrameBodyGRP1::new);
+        register("IPLS", FrameBodyIPLS.class, FrameBodyIPLS::new, FrameBodyIPLS::new, FrameBodyIPLS::new);
+        register("LINK", FrameBodyLINK.class, FrameBodyLINK::new, FrameBodyLINK::new, FrameBodyLINK::new);
+        register("MCDI", FrameBodyMCDI.class, FrameBodyMCDI::new, FrameBodyMCDI::new, FrameBodyMCDI::new);
+        register("MLLT", FrameBodyMLLT.class, FrameBodyMLLT::new, null, FrameBodyMLLT::new);
+        register("MVIN", FrameBodyMVIN.class, FrameBodyMVIN::new, FrameBodyMVIN::new, FrameBodyMVIN::new);
+        register("MVNM", FrameBodyMVNM.class, FrameBodyMVNM::new, FrameBodyMVNM::new, FrameBodyMVNM::new);
+        register("OWNE", FrameBodyOWNE.class, FrameBodyOWNE::new, FrameBodyOWNE::new, FrameBodyOWNE::new);
+        register("PCNT", FrameBodyPCNT.class, FrameBodyPCNT::new, FrameBodyPCNT::new, FrameBodyPCNT::new);
+        register("PIC", FrameBodyPIC.class, FrameBodyPIC::new, FrameBodyPIC::new, FrameBodyPIC::new);
+        register("POPM", FrameBodyPOPM.class, FrameBodyPOPM::new, FrameBodyPOPM::new, FrameBodyPOPM::new);
+        register("POSS", FrameBodyPOSS.class, FrameBodyPOSS::new, FrameBodyPOSS::new, FrameBodyPOSS::new);
+        register("PRIV", FrameBodyPRIV.class, FrameBodyPRIV::new, FrameBodyPRIV::new, FrameBodyPRIV::new);
+        register("RBUF", FrameBodyRBUF.class, FrameBodyRBUF::new, FrameBodyRBUF::new, FrameBodyRBUF::new);
+        register("RVA2", FrameBodyRVA2.class, FrameBodyRVA2::new, FrameBodyRVA2::new, FrameBodyRVA2::new);
+        register("RVAD", FrameBodyRVAD.class, FrameBodyRVAD::new, FrameBodyRVAD::new, FrameBodyRVAD::new);
+        register("RVRB", FrameBodyRVRB.class, FrameBodyRVRB::new, FrameBodyRVRB::new, FrameBodyRVRB::new);
+        register("SEEK", FrameBodySEEK.class, FrameBodySEEK::new, FrameBodySEEK::new, FrameBodySEEK::new);
+        register("SIGN", FrameBodySIGN.class, FrameBodySIGN::new, FrameBodySIGN::new, FrameBodySIGN::new);
+        register("SYLT", FrameBodySYLT.class, FrameBodySYLT::new, FrameBodySYLT::new, FrameBodySYLT::new);
+        register("SYTC", FrameBodySYTC.class, FrameBodySYTC::new, FrameBodySYTC::new, FrameBodySYTC::new);
+        register("TALB", FrameBodyTALB.class, FrameBodyTALB::new, FrameBodyTALB::new, FrameBodyTALB::new);
+        register("TBPM", FrameBodyTBPM.class, FrameBodyTBPM::new, FrameBodyTBPM::new, FrameBodyTBPM::new);
+        register("TCMP", FrameBodyTCMP.class, FrameBodyTCMP::new, FrameBodyTCMP::new, FrameBodyTCMP::new);
+        register("TCOM", FrameBodyTCOM.class, FrameBodyTCOM::new, FrameBodyTCOM::new, FrameBodyTCOM::new);
+        register("TCON", FrameBodyTCON.class, FrameBodyTCON::new, FrameBodyTCON::new, FrameBodyTCON::new);
+        register("TCOP", FrameBodyTCOP.class, FrameBodyTCOP::new, FrameBodyTCOP::new, FrameBodyTCOP::new);
+        register("TDAT", FrameBodyTDAT.class, FrameBodyTDAT::new, FrameBodyTDAT::new, FrameBodyTDAT::new);
+        register("TDEN", FrameBodyTDEN.class, FrameBodyTDEN::new, FrameBodyTDEN::new, FrameBodyTDEN::new);
+        register("TDLY", FrameBodyTDLY.class, FrameBodyTDLY::new, FrameBodyTDLY::new, FrameBodyTDLY::new);
+        register("TDOR", FrameBodyTDOR.class, FrameBodyTDOR::new, FrameBodyTDOR::new, FrameBodyTDOR::new);
+        register("TDRC", FrameBodyTDRC.class, FrameBodyTDRC::new, FrameBodyTDRC::new, FrameBodyTDRC::new);
+        register("TDRL", FrameBodyTDRL.class, FrameBodyTDRL::new, FrameBodyTDRL::new, FrameBodyTDRL::new);
+        register("TDTG", FrameBodyTDTG.class, FrameBodyTDTG::new, FrameBodyTDTG::new, FrameBodyTDTG::new);
+        register("TENC", FrameBodyTENC.class, FrameBodyTENC::new, FrameBodyTENC::new, FrameBodyTENC::new);
+        register("TEXT", FrameBodyTEXT.class, FrameBodyTEXT::new, FrameBodyTEXT::new, FrameBodyTEXT::new);
+        register("TFLT", FrameBodyTFLT.class, FrameBodyTFLT::new, FrameBodyTFLT::new, FrameBodyTFLT::new);
+        register("TIME", FrameBodyTIME.class, FrameBodyTIME::new, FrameBodyTIME::new, FrameBodyTIME::new);
+        register("TIPL", FrameBodyTIPL.class, FrameBodyTIPL::new, FrameBodyTIPL::new, null);
+        register("TIT1", FrameBodyTIT1.class, FrameBodyTIT1::new, FrameBodyTIT1::new, FrameBodyTIT1::new);
+        register("TIT2", FrameBodyTIT2.class, FrameBodyTIT2::new, FrameBodyTIT2::new, FrameBodyTIT2::new);
+        register("TIT3", FrameBodyTIT3.class, FrameBodyTIT3::new, FrameBodyTIT3::new, FrameBodyTIT3::new);
+        register("TKEY", FrameBodyTKEY.class, FrameBodyTKEY::new, FrameBodyTKEY::new, FrameBodyTKEY::new);
+        register("TLAN", FrameBodyTLAN.class, FrameBodyTLAN::new, FrameBodyTLAN::new, FrameBodyTLAN::new);
+        register("TLEN", FrameBodyTLEN.class, FrameBodyTLEN::new, FrameBodyTLEN::new, FrameBodyTLEN::new);
+        register("TMCL", FrameBodyTMCL.class, FrameBodyTMCL::new, FrameBodyTMCL::new, null);
+        register("TMED", FrameBodyTMED.class, FrameBodyTMED::new, FrameBodyTMED::new, FrameBodyTMED::new);
+        register("TMOO", FrameBodyTMOO.class, FrameBodyTMOO::new, FrameBodyTMOO::new, FrameBodyTMOO::new);
+        register("TOAL", FrameBodyTOAL.class, FrameBodyTOAL::new, FrameBodyTOAL::new, FrameBodyTOAL::new);
+        register("TOFN", FrameBodyTOFN.class, FrameBodyTOFN::new, FrameBodyTOFN::new, FrameBodyTOFN::new);
+        register("TOLY", FrameBodyTOLY.class, FrameBodyTOLY::new, FrameBodyTOLY::new, FrameBodyTOLY::new);
+        register("TOPE", FrameBodyTOPE.class, FrameBodyTOPE::new, FrameBodyTOPE::new, FrameBodyTOPE::new);
+        register("TORY", FrameBodyTORY.class, FrameBodyTORY::new, FrameBodyTORY::new, FrameBodyTORY::new);
+        register("TOWN", FrameBodyTOWN.class, FrameBodyTOWN::new, FrameBodyTOWN::new, FrameBodyTOWN::new);
+        register("TPE1", FrameBodyTPE1.class, FrameBodyTPE1::new, FrameBodyTPE1::new, FrameBodyTPE1::new);
+        register("TPE2", FrameBodyTPE2.class, FrameBodyTPE2::new, FrameBodyTPE2::new, FrameBodyTPE2::new);
+        register("TPE3", FrameBodyTPE3.class, FrameBodyTPE3::new, FrameBodyTPE3::new, FrameBodyTPE3::new);
+        register("TPE4", FrameBodyTPE4.class, FrameBodyTPE4::new, FrameBodyTPE4::new, FrameBodyTPE4::new);
+        register("TPOS", FrameBodyTPOS.class, FrameBodyTPOS::new, FrameBodyTPOS::new, FrameBodyTPOS::new);
+        register("TPRO", FrameBodyTPRO.class, FrameBodyTPRO::new, FrameBodyTPRO::new, FrameBodyTPRO::new);
+        register("TPUB", FrameBodyTPUB.class, FrameBodyTPUB::new, FrameBodyTPUB::new, FrameBodyTPUB::new);
+        register("TRCK", FrameBodyTRCK.class, FrameBodyTRCK::new, FrameBodyTRCK::new, FrameBodyTRCK::new);
+        register("TRDA", FrameBodyTRDA.class, FrameBodyTRDA::new, FrameBodyTRDA::new, FrameBodyTRDA::new);
+        register("TRSN", FrameBodyTRSN.class, FrameBodyTRSN::new, FrameBodyTRSN::new, FrameBodyTRSN::new);
+        register("TRSO", FrameBodyTRSO.class, FrameBodyTRSO::new, FrameBodyTRSO::new, FrameBodyTRSO::new);
+        register("TSIZ", FrameBodyTSIZ.class, FrameBodyTSIZ::new, FrameBodyTSIZ::new, FrameBodyTSIZ::new);
+        register("TSO2", FrameBodyTSO2.class, FrameBodyTSO2::new, FrameBodyTSO2::new, FrameBodyTSO2::new);
+        register("TSOA", FrameBodyTSOA.class, FrameBodyTSOA::new, FrameBodyTSOA::new, FrameBodyTSOA::new);
+        register("TSOC", FrameBodyTSOC.class, FrameBodyTSOC::new, FrameBodyTSOC::new, FrameBodyTSOC::new);
+        register("TSOP", FrameBodyTSOP.class, FrameBodyTSOP::new, FrameBodyTSOP::new, FrameBodyTSOP::new);
+        register("TSOT", FrameBodyTSOT.class, FrameBodyTSOT::new, FrameBodyTSOT::new, FrameBodyTSOT::new);
+        register("TSRC", FrameBodyTSRC.class, FrameBodyTSRC::new, FrameBodyTSRC::new, FrameBodyTSRC::new);
+        register("TSSE", FrameBodyTSSE.class, FrameBodyTSSE::new, FrameBodyTSSE::new, FrameBodyTSSE::new);
+        register("TSST", FrameBodyTSST.class, FrameBodyTSST::new, FrameBodyTSST::new, FrameBodyTSST::new);
+        register("TXXX", FrameBodyTXXX.class, FrameBodyTXXX::new, FrameBodyTXXX::new, FrameBodyTXXX::new);
+        register("TYER", FrameBodyTYER.class, FrameBodyTYER::new, FrameBodyTYER::new, FrameBodyTYER::new);
+        register("UFID", FrameBodyUFID.class, FrameBodyUFID::new, FrameBodyUFID::new, FrameBodyUFID::new);
+        register("USER", FrameBodyUSER.class, FrameBodyUSER::new, FrameBodyUSER::new, FrameBodyUSER::new);
+        register("USLT", FrameBodyUSLT.class, FrameBodyUSLT::new, FrameBodyUSLT::new, FrameBodyUSLT::new);
+        register("WCOM", FrameBodyWCOM.class, FrameBodyWCOM::new, FrameBodyWCOM::new, FrameBodyWCOM::new);
+        register("WCOP", FrameBodyWCOP.class, FrameBodyWCOP::new, FrameBodyWCOP::new, FrameBodyWCOP::new);
+        register("WOAF", FrameBodyWOAF.class, FrameBodyWOAF::new, FrameBodyWOAF::new, FrameBodyWOAF::new);
+        register("WOAR", FrameBodyWOAR.class, FrameBodyWOAR::new, FrameBodyWOAR::new, FrameBodyWOAR::new);
+        register("WOAS", FrameBodyWOAS.class, FrameBodyWOAS::new, FrameBodyWOAS::new, FrameBodyWOAS::new);
+        register("WORS", FrameBodyWORS.class, FrameBodyWORS::new, FrameBodyWORS::new, FrameBodyWORS::new);
+        register("WPAY", FrameBodyWPAY.class, FrameBodyWPAY::new, FrameBodyWPAY::new, FrameBodyWPAY::new);
+        register("WPUB", FrameBodyWPUB.class, FrameBodyWPUB::new, FrameBodyWPUB::new, FrameBodyWPUB::new);
+        register("WXXX", FrameBodyWXXX.class, FrameBodyWXXX::new, FrameBodyWXXX::new, FrameBodyWXXX::new);
+        register("XSOA", FrameBodyXSOA.class, FrameBodyXSOA::new, FrameBodyXSOA::new, FrameBodyXSOA::new);
+        register("XSOP", FrameBodyXSOP.class, FrameBodyXSOP::new, FrameBodyXSOP::new, FrameBodyXSOP::new);
+        register("XSOT", FrameBodyXSOT.class, FrameBodyXSOT::new, FrameBodyXSOT::new, FrameBodyXSOT::new);
+
+        //Bodies that can be created from the body of a different frame when converting between versions
+        registerConversion("APIC", FrameBodyPIC.class, FrameBodyAPIC::new);
+        registerConversion("IPLS", FrameBodyTIPL.class, FrameBodyIPLS::new);
+        registerConversion("PIC", FrameBodyAPIC.class, FrameBodyPIC::new);
+        registerConversion("RVA2", FrameBodyRVAD.class, FrameBodyRVA2::new);
+        registerConversion("RVAD", FrameBodyRVA2.class, FrameBodyRVAD::new);
+        registerConversion("TDOR", FrameBodyTORY.class, FrameBodyTDOR::new);
+        registerConversion("TDRC", FrameBodyTYER.class, FrameBodyTDRC::new);
+        registerConversion("TDRC", FrameBodyTIME.class, FrameBodyTDRC::new);
+        registerConversion("TDRC", FrameBodyTDAT.class, FrameBodyTDRC::new);
+        registerConversion("TDRC", FrameBodyTRDA.class, FrameBodyTDRC::new);
+        registerConversion("TIPL", FrameBodyIPLS.class, FrameBodyTIPL::new);
+        registerConversion("TMCL", FrameBodyIPLS.class, FrameBodyTMCL::new);
+        registerConversion("TMOO", FrameBodyTXXX.class, FrameBodyTMOO::new);
+        registerConversion("TORY", FrameBodyTDOR.class, FrameBodyTORY::new);
+        registerConversion("TXXX", FrameBodyTMOO.class, FrameBodyTXXX::new);
+        registerConversion("TYER", FrameBodyTDRC.class, FrameBodyTYER::new);
+
+        //Bodies that are not created from an identifier but can be copied
+        registerCopy(FrameBodyDeprecated.class, FrameBodyDeprecated::new);
+        registerCopy(FrameBodyEncrypted.class, FrameBodyEncrypted::new);
+        registerCopy(FrameBodyUnsupported.class, FrameBodyUnsupported::new);
+    }
+
+    private FrameBodyFactory()
+    {
+    }
+
+    /**
+     * Register the constructors of a frame body
+     *
+     * @param identifier frame identifier, the body is named FrameBody + identifier
+     * @param bodyClass
+     * @param creator    constructor for an empty body
+     * @param reader     constructor reading from a buffer, or null if the body cannot be read
+     * @param copier     copy constructor, or null if the body cannot be copied
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends AbstractID3v2FrameBody> void register(String identifier, Class<T> bodyClass, Supplier<T> creator, Reader reader, Function<T, T> copier)
+    {
+        Entry entry = new Entry(creator, reader);
+        entries.put(identifier, entry);
+        if (copier != null)
+        {
+            entry.converters.put(bodyClass, (Function<AbstractID3v2FrameBody, AbstractID3v2FrameBody>) copier);
+            copiers.put(bodyClass, (Function<AbstractTagFrameBody, AbstractTagFrameBody>) (Function<?, ?>) copier);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S extends AbstractID3v2FrameBody> void registerConversion(String identifier, Class<S> fromClass, Function<S, ? extends AbstractID3v2FrameBody> converter)
+    {
+        entries.get(identifier).converters.put(fromClass, (Function<AbstractID3v2FrameBody, AbstractID3v2FrameBody>) converter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends AbstractTagFrameBody> void registerCopy(Class<T> bodyClass, Function<T, T> copier)
+    {
+        copiers.put(bodyClass, (Function<AbstractTagFrameBody, AbstractTagFrameBody>) copier);
+    }
+
+    /**
+     * @param identifier
+     * @return true if there is a frame body for this identifier
+     */
+    public static boolean isFrameBodyAvailable(String identifier)
+    {
+        return entries.containsKey(identifier);
+    }
+
+    /**
+     * @param identifier
+     * @return a new empty frame body for the identifier, or null if there is no frame body for it
+     */
+    public static AbstractID3v2FrameBody createFrameBody(String identifier)
+    {
+        Entry entry = entries.get(identifier);
+        if (entry == null)
+        {
+            return null;
+        }
+        return entry.creator.get();
+    }
+
+    /**
+     * @param identifier
+     * @return the reader for the identifier, or null if there is no frame body for it or it cannot be read
+     */
+    public static Reader getReader(String identifier)
+    {
+        Entry entry = entries.get(identifier);
+        if (entry == null)
+        {
+            return null;
+        }
+        return entry.reader;
+    }
+
+    /**
+     * Create a frame body for the identifier from the body of another frame, used when converting between versions
+     * for frames that have a non-trivial mapping such as TYER in v3 to TDRC in v4.
+     *
+     * @param identifier
+     * @param body
+     * @return the new frame body, or null if there is no frame body for the identifier or it cannot be created
+     *         from this type of body
+     */
+    public static AbstractID3v2FrameBody convertFrameBody(String identifier, AbstractID3v2FrameBody body)
+    {
+        Entry entry = entries.get(identifier);
+        if (entry == null)
+        {
+            return null;
+        }
+        Function<AbstractID3v2FrameBody, AbstractID3v2FrameBody> converter = entry.converters.get(body.getClass());
+        if (converter == null)
+        {
+            return null;
+        }
+        return converter.apply(body);
+    }
+
+    /**
+     * @param body
+     * @return a copy of the body, or null if this type of body is not registered
+     */
+    public static AbstractTagFrameBody copyFrameBody(AbstractTagFrameBody body)
+    {
+        Function<AbstractTagFrameBody, AbstractTagFrameBody> copier = copiers.get(body.getClass());
+        if (copier == null)
+        {
+            return null;
+        }
+        return copier.apply(body);
+    }
+}
@@ -75,7 +75,7 @@ public class FrameBodySEEK extends AbstractID3v2FrameBody implements ID3v24Frame
      */
     public String getIdentifier()
     {
-        return ID3v24Frames.FRAME_ID_AUDIO_SEEK_POINT_INDEX;
+        return ID3v24Frames.FRAME_ID_SEEK;
     }
 
     /**
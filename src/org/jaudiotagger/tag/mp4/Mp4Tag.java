@@ -29,7 +29,11 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.jaudiotagger.tag.mp4.Mp4FieldKey.*;
 
@@ -204,6 +208,55 @@ public class Mp4Tag extends AbstractTag
         tagFieldToMp4Field.put(FieldKey.WORK_TYPE, Mp4FieldKey.WORK_TYPE);
     }
 
+    private static final Map<String, FieldKey> mp4FieldToTagField = new HashMap<String, FieldKey>();
+
+    static
+    {
+        for (Map.Entry<FieldKey, Mp4FieldKey> entry : tagFieldToMp4Field.entrySet())
+        {
+            if (!mp4FieldToTagField.containsKey(entry.getValue().getFieldName()))
+            {
+                mp4FieldToTagField.put(entry.getValue().getFieldName(), entry.getKey());
+            }
+        }
+        mp4FieldToTagField.put(GENRE_CUSTOM.getFieldName(), FieldKey.GENRE);
+    }
+
+    /**
+     * The ids of the fields holding the given fields, genre can be held in either of two fields
+     *
+     * @param fieldKeys
+     * @return field ids, the full id for reverse dns fields
+     */
+    public static Set<String> getFieldIds(Set<FieldKey> fieldKeys)
+    {
+        Set<String> fieldIds = new HashSet<String>();
+        for (FieldKey fieldKey : fieldKeys)
+        {
+            Mp4FieldKey mp4FieldKey = tagFieldToMp4Field.get(fieldKey);
+            if (mp4FieldKey != null)
+            {
+                fieldIds.add(mp4FieldKey.getFieldName());
+            }
+        }
+        if (fieldKeys.contains(FieldKey.GENRE))
+        {
+            fieldIds.add(GENRE_CUSTOM.getFieldName());
+        }
+        return fieldIds;
+    }
+
+    /**
+     * The generic key for a field id
+     *
+     * @param fieldId the atom id, or the full id for reverse dns fields
+     * @return the key, or null if the field does not map to one
+     */
+    public static FieldKey getFieldKey(String fieldId)
+    {
+        return mp4FieldToTagField.get(fieldId);
+    }
+
     /**
      * Create genre field
      *
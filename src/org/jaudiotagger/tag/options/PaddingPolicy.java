@@ -0,0 +1,135 @@
+package org.jaudiotagger.tag.options;
+
+import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.images.Artwork;
+
+/**
+ * Decides how much padding to leave after the metadata when the metadata no longer fits before the audio, so the
+ * audio has to be moved anyway. More padding lets later edits be written in place without moving the audio again.
+ *
+ * <p>Used by the ID3v2, Flac and Mp4 writers when set with {@link TagOptionSingleton#setPaddingPolicy(PaddingPolicy)},
+ * otherwise each format uses its own default padding.
+ *
+ * @see org.jaudiotagger.audio.generic.PaddingMetrics
+ */
+public abstract class PaddingPolicy
+{
+    /**
+     * @param requiredSize size of the new metadata without padding
+     * @param artworkSize  size of the artwork held in the new metadata
+     * @return the padding to add after the metadata
+     */
+    public abstract int getPadding(int requiredSize, int artworkSize);
+
+    /**
+     * @param padding bytes
+     * @return policy always adding the same padding
+     */
+    public static PaddingPolicy fixed(final int padding)
+    {
+        return new PaddingPolicy()
+        {
+            public int getPadding(int requiredSize, int artworkSize)
+            {
+                return padding;
+            }
+        };
+    }
+
+    /**
+     * @param percent of the size of the metadata
+     * @param minimum padding in bytes
+     * @return policy adding a percentage of the size of the metadata, or the minimum if that is larger
+     */
+    public static PaddingPolicy proportional(final int percent, final int minimum)
+    {
+        return new PaddingPolicy()
+        {
+            public int getPadding(int requiredSize, int artworkSize)
+            {
+                return Math.max((int) ((long) requiredSize * percent / 100), minimum);
+            }
+        };
+    }
+
+    /**
+     * Artwork is usually the largest part of the metadata and the part most likely to be replaced by a larger image
+     *
+     * @param percent of the size of the artwork
+     * @param minimum padding in bytes
+     * @return policy adding a percentage of the size of the artwork, or the minimum if that is larger
+     */
+    public static PaddingPolicy proportionalToArtwork(final int percent, final int minimum)
+    {
+        return new PaddingPolicy()
+        {
+            public int getPadding(int requiredSize, int artworkSize)
+            {
+                return Math.max((int) ((long) artworkSize * percent / 100), minimum);
+            }
+        };
+    }
+
+    /**
+     * @param blockSize such as the 4096 byte block size of the filesystem
+     * @return policy adding padding until the metadata is a whole number of blocks
+     */
+    public static PaddingPolicy blockAligned(int blockSize)
+    {
+        return fixed(0).roundedTo(blockSize);
+    }
+
+    /**
+     * @param blockSize such as the 4096 byte block size of the filesystem
+     * @return policy adding the padding of this policy, then more until the metadata is a whole number of blocks
+     */
+    public PaddingPolicy roundedTo(final int blockSize)
+    {
+        final PaddingPolicy policy = this;
+        return new PaddingPolicy()
+        {
+            public int getPadding(int requiredSize, int artworkSize)
+            {
+                long size = (long) requiredSize + policy.getPadding(requiredSize, artworkSize);
+                long rounded = (size + blockSize - 1) / blockSize * blockSize;
+                return (int) Math.min(rounded - requiredSize, Integer.MAX_VALUE);
+            }
+        };
+    }
+
+    /**
+     * Padding to add when the audio has to be moved, using the policy set in the options
+     *
+     * @param requiredSize   size of the new metadata without padding
+     * @param artworkSize    size of the artwork held in the new metadata
+     * @param defaultPadding padding the format adds if no policy is set
+     * @return the padding to add after the metadata
+     */
+    public static int getPadding(int requiredSize, int artworkSize, int defaultPadding)
+    {
+        PaddingPolicy policy = TagOptionSingleton.getInstance().getPaddingPolicy();
+        if (policy == null)
+        {
+            return defaultPadding;
+        }
+        return Math.max(policy.getPadding(requiredSize, artworkSize), 0);
+    }
+
+    /**
+     * @param tag
+     * @return total size of the images in the tag
+     */
+    public static int getArtworkSize(Tag tag)
+    {
+        int size = 0;
+        for (Artwork artwork : tag.getArtworkList())
+        {
+            if (artwork.getBinaryData() != null)
+            {
+                size += artwork.getBinaryData().length;
+            }
+        }
+        return size;
+    }
+}
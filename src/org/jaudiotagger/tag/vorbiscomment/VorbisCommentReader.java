@@ -23,8 +23,15 @@ import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.ogg.util.VorbisHeader;
 import org.jaudiotagger.logging.ErrorMessage;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagVisitor;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
 import java.util.logging.Logger;
 
 /**
@@ -71,6 +78,49 @@ public class VorbisCommentReader
 
     }
 
+    /**
+     * Pass each comment to the visitor without creating a tag, artwork is reported as binary
+     *
+     * @param rawdata the comment data, not including any ogg header
+     * @param offset position of the data in the file, or -1 if it is not held as is in the file
+     * @param visitor
+     */
+    public void visit(byte[] rawdata, long offset, TagVisitor visitor)
+    {
+        ByteBuffer data = ByteBuffer.wrap(rawdata).order(ByteOrder.LITTLE_ENDIAN);
+        int pos = FIELD_VENDOR_STRING_POS + data.getInt(FIELD_VENDOR_LENGTH_POS);
+        int userComments = data.getInt(pos);
+        pos += FIELD_USER_COMMENT_LIST_LENGTH;
+        for (int i = 0; i < userComments && pos + FIELD_COMMENT_LENGTH_LENGTH <= rawdata.length; i++)
+        {
+            int commentLength = data.getInt(pos);
+            pos += FIELD_COMMENT_LENGTH_LENGTH;
+            if (commentLength < 0 || commentLength > rawdata.length - pos)
+            {
+                logger.warning(ErrorMessage.VORBIS_COMMENT_LENGTH_LARGE_THAN_HEADER.getMsg(commentLength, rawdata.length));
+                break;
+            }
+
+            int separator = getSeparator(rawdata, pos, commentLength);
+            if (separator != -1)
+            {
+                String fieldName = new String(rawdata, pos, separator - pos, StandardCharsets.UTF_8).toUpperCase();
+                int valueStart = separator + 1;
+                int valueLength = pos + commentLength - valueStart;
+                FieldKey key = VorbisCommentTag.getFieldKey(fieldName);
+                if (key == FieldKey.COVER_ART)
+                {
+                    visitor.onBinary(fieldName, key, offset < 0 ? -1 : offset + valueStart, valueLength);
+                }
+                else
+                {
+                    visitor.onField(fieldName, key, StandardCharsets.UTF_8.decode(ByteBuffer.wrap(rawdata, valueStart, valueLength)));
+                }
+            }
+            pos += commentLength;
+        }
+    }
+
     /**
      * @param rawdata
      * @param isFramingBit
@@ -82,6 +132,8 @@ public class VorbisCommentReader
     {
 
         VorbisCommentTag tag = new VorbisCommentTag();
+        Set<FieldKey> readFieldKeys = TagOptionSingleton.getInstance().getReadFieldKeys();
+        Set<String> readFieldNames = readFieldKeys != null ? VorbisCommentTag.getFieldNames(readFieldKeys) : null;
 
         byte[] b = new byte[FIELD_VENDOR_LENGTH_LENGTH];
         System.arraycopy(rawdata, FIELD_VENDOR_LENGTH_POS, b, FIELD_VENDOR_LENGTH_POS, FIELD_VENDOR_LENGTH_LENGTH);
@@ -120,6 +172,11 @@ public class VorbisCommentReader
                 logger.warning(ErrorMessage.VORBIS_COMMENT_LENGTH_LARGE_THAN_HEADER.getMsg(commentLength,rawdata.length));
                 break;
             }
+            else if (readFieldNames != null && !readFieldNames.contains(getFieldName(rawdata, pos, commentLength)))
+            {
+                //Not a field being read so skip over it
+                pos += commentLength;
+            }
             else
             {
                 b = new byte[commentLength];
@@ -142,5 +199,32 @@ public class VorbisCommentReader
         }
         return tag;
     }
+
+    /**
+     * @param rawdata
+     * @param pos         start of the comment
+     * @param commentLength
+     * @return upper case name of the comment, or null if it has no name
+     */
+    private static String getFieldName(byte[] rawdata, int pos, int commentLength)
+    {
+        int separator = getSeparator(rawdata, pos, commentLength);
+        return separator == -1 ? null : new String(rawdata, pos, separator - pos, StandardCharsets.UTF_8).toUpperCase();
+    }
+
+    /**
+     * @return position of the '=' between the name and value of the comment, or -1 if there is none
+     */
+    private static int getSeparator(byte[] rawdata, int pos, int commentLength)
+    {
+        for (int i = pos; i < pos + commentLength; i++)
+        {
+            if (rawdata[i] == '=')
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
 
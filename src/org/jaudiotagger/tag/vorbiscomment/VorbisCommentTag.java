@@ -34,7 +34,11 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.jaudiotagger.tag.vorbiscomment.VorbisCommentFieldKey.VENDOR;
 
@@ -206,6 +210,21 @@ public class VorbisCommentTag extends AbstractTag
         tagFieldToOggField.put(FieldKey.YEAR, VorbisCommentFieldKey.DATE);
     }
 
+    private static final Map<String, FieldKey> oggFieldToTagField = new HashMap<String, FieldKey>();
+
+    static
+    {
+        for (Map.Entry<FieldKey, VorbisCommentFieldKey> entry : tagFieldToOggField.entrySet())
+        {
+            if (!oggFieldToTagField.containsKey(entry.getValue().getFieldName()))
+            {
+                oggFieldToTagField.put(entry.getValue().getFieldName(), entry.getKey());
+            }
+        }
+        oggFieldToTagField.put(VorbisCommentFieldKey.ALBUMARTIST_JRIVER.getFieldName(), FieldKey.ALBUM_ARTIST);
+        oggFieldToTagField.put(VorbisCommentFieldKey.COVERART.getFieldName(), FieldKey.COVER_ART);
+    }
+
 
     //This is the vendor string that will be written if no other is supplied. Should be the name of the software
     //that actually encoded the file in the first place.
@@ -220,6 +239,47 @@ public class VorbisCommentTag extends AbstractTag
 
     }
 
+    /**
+     * The names of the comments holding the given fields, including the alternative names used for album artist
+     * and artwork
+     *
+     * @param fieldKeys
+     * @return upper case comment names
+     */
+    public static Set<String> getFieldNames(Set<FieldKey> fieldKeys)
+    {
+        Set<String> fieldNames = new HashSet<String>();
+        for (FieldKey fieldKey : fieldKeys)
+        {
+            VorbisCommentFieldKey vorbisCommentFieldKey = tagFieldToOggField.get(fieldKey);
+            if (vorbisCommentFieldKey != null)
+            {
+                fieldNames.add(vorbisCommentFieldKey.getFieldName());
+            }
+        }
+        if (fieldKeys.contains(FieldKey.ALBUM_ARTIST))
+        {
+            fieldNames.add(VorbisCommentFieldKey.ALBUMARTIST_JRIVER.getFieldName());
+        }
+        if (fieldKeys.contains(FieldKey.COVER_ART))
+        {
+            fieldNames.add(VorbisCommentFieldKey.COVERART.getFieldName());
+            fieldNames.add(VorbisCommentFieldKey.COVERARTMIME.getFieldName());
+        }
+        return fieldNames;
+    }
+
+    /**
+     * The generic key for a comment name
+     *
+     * @param fieldName upper case comment name
+     * @return the key, or null if the comment does not map to one
+     */
+    public static FieldKey getFieldKey(String fieldName)
+    {
+        return oggFieldToTagField.get(fieldName);
+    }
+
     /**
      * Use to construct a new tag properly initialized
      *
@@ -8,6 +8,11 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
+/**
+ * @deprecated only recognises mp3 and mp4, use {@link org.jaudiotagger.audio.generic.AudioFormatSniffer} which
+ * recognises every supported format
+ */
+@Deprecated
 public class FileTypeUtil {
 	private static final int BUFFER_SIZE = 4096;
 	private static final int MAX_SIGNATURE_SIZE = 8;
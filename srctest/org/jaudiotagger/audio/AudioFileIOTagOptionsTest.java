@@ -0,0 +1,169 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.id3.AbstractID3v2Frame;
+import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
+import org.jaudiotagger.tag.id3.ID3v24Frames;
+import org.jaudiotagger.tag.id3.ID3v24Tag;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyTPE1;
+import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
+import org.jaudiotagger.tag.reference.ID3V2Version;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Options can be given per AudioFileIO instance or per thread rather than only shared
+ */
+public class AudioFileIOTagOptionsTest extends AbstractTestCase
+{
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testCopyIsIndependent()
+    {
+        TagOptionSingleton copy = TagOptionSingleton.getInstance().copy();
+        copy.setLanguage("fra");
+        copy.setLyrics3SaveField("IND", false);
+
+        assertEquals("eng", TagOptionSingleton.getInstance().getLanguage());
+        assertTrue(TagOptionSingleton.getInstance().getLyrics3SaveField("IND"));
+        assertEquals("fra", copy.getLanguage());
+        assertFalse(copy.getLyrics3SaveField("IND"));
+    }
+
+    public void testScopeRestoresPreviousOptions()
+    {
+        TagOptionSingleton shared = TagOptionSingleton.getInstance();
+        TagOptionSingleton outer = shared.copy();
+        TagOptionSingleton inner = shared.copy();
+        try (TagOptionSingleton.Scope scope = TagOptionSingleton.use(outer))
+        {
+            assertSame(outer, TagOptionSingleton.getInstance());
+            try (TagOptionSingleton.Scope nested = TagOptionSingleton.use(inner))
+            {
+                assertSame(inner, TagOptionSingleton.getInstance());
+            }
+            try (TagOptionSingleton.Scope nested = TagOptionSingleton.use(null))
+            {
+                assertSame(outer, TagOptionSingleton.getInstance());
+            }
+            assertSame(outer, TagOptionSingleton.getInstance());
+        }
+        assertSame(shared, TagOptionSingleton.getInstance());
+    }
+
+    public void testConcurrentWritesWithDifferentOptions() throws Exception
+    {
+        TagOptionSingleton withV1 = TagOptionSingleton.getInstance().copy();
+        withV1.setId3v1Save(true);
+        TagOptionSingleton withoutV1 = TagOptionSingleton.getInstance().copy();
+        withoutV1.setId3v1Save(false);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            Future<String> saved = executor.submit(writer(new AudioFileIO(withV1), "testOptionsWithV1.mp3", true));
+            Future<String> notSaved = executor.submit(writer(new AudioFileIO(withoutV1), "testOptionsWithoutV1.mp3", false));
+            assertEquals(null, saved.get());
+            assertEquals(null, notSaved.get());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    public void testCommitUsesOptionsFileWasReadWith() throws Exception
+    {
+        TagOptionSingleton withoutV1 = TagOptionSingleton.getInstance().copy();
+        withoutV1.setId3v1Save(false);
+        AudioFileIO audioFileIO = new AudioFileIO(withoutV1);
+
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1v2.mp3", new File("testOptionsCommit.mp3"));
+        MP3File mp3File = (MP3File) audioFileIO.readFile(testFile);
+        String original = mp3File.getID3v1Tag().getFirst(FieldKey.TITLE);
+        mp3File.getID3v1Tag().setField(FieldKey.TITLE, "commit");
+        mp3File.commit();
+        assertEquals(original, ((MP3File) AudioFileIO.read(testFile)).getID3v1Tag().getFirst(FieldKey.TITLE));
+
+        mp3File = (MP3File) audioFileIO.readFile(testFile);
+        mp3File.getID3v1Tag().setField(FieldKey.TITLE, "save");
+        mp3File.save();
+        assertEquals(original, ((MP3File) AudioFileIO.read(testFile)).getID3v1Tag().getFirst(FieldKey.TITLE));
+
+        //Read with the shared options the ID3v1 tag is written
+        mp3File = (MP3File) AudioFileIO.read(testFile);
+        mp3File.getID3v1Tag().setField(FieldKey.TITLE, "shared");
+        mp3File.commit();
+        assertEquals("shared", ((MP3File) AudioFileIO.read(testFile)).getID3v1Tag().getFirst(FieldKey.TITLE));
+    }
+
+    public void testEditAfterReadUsesOptionsFileWasReadWith() throws Exception
+    {
+        TagOptionSingleton v24 = TagOptionSingleton.getInstance().copy();
+        v24.setID3V2Version(ID3V2Version.ID3_V24);
+        v24.setId3v24DefaultTextEncoding(TextEncoding.UTF_8);
+        AudioFileIO audioFileIO = new AudioFileIO(v24);
+
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1.mp3", new File("testOptionsEdit.mp3"));
+        MP3File mp3File = (MP3File) audioFileIO.readFile(testFile);
+        Tag tag = mp3File.getTagAndConvertOrCreateAndSetDefault();
+        assertTrue(tag instanceof ID3v24Tag);
+        try (TagOptionSingleton.Scope scope = TagOptionSingleton.use(mp3File.getTagOptions()))
+        {
+            tag.setField(FieldKey.ARTIST, "artist");
+        }
+        mp3File.commit();
+
+        AbstractID3v2Tag reread = ((MP3File) AudioFileIO.read(testFile)).getID3v2Tag();
+        assertTrue(reread instanceof ID3v24Tag);
+        assertEquals("artist", reread.getFirst(FieldKey.ARTIST));
+        FrameBodyTPE1 body = (FrameBodyTPE1) ((AbstractID3v2Frame) reread.getFrame(ID3v24Frames.FRAME_ID_ARTIST)).getBody();
+        assertEquals(TextEncoding.UTF_8, body.getTextEncoding());
+
+        //The shared options are unchanged
+        assertEquals(ID3V2Version.ID3_V23, TagOptionSingleton.getInstance().getID3V2Version());
+        assertEquals(TextEncoding.ISO_8859_1, TagOptionSingleton.getInstance().getId3v24DefaultTextEncoding());
+    }
+
+    /**
+     * @return null if every write used the expected options, otherwise a description of the write that did not
+     */
+    private static Callable<String> writer(final AudioFileIO audioFileIO, final String name, final boolean expectV1)
+    {
+        return new Callable<String>()
+        {
+            public String call() throws Exception
+            {
+                for (int i = 0; i < 10; i++)
+                {
+                    File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1v2.mp3", new File(name));
+                    MP3File mp3File = (MP3File) audioFileIO.readFile(testFile);
+                    String original = mp3File.getID3v1Tag().getFirst(FieldKey.TITLE);
+                    mp3File.getID3v1Tag().setField(FieldKey.TITLE, "title" + i);
+                    audioFileIO.writeFile(mp3File, null);
+
+                    //The ID3v1 tag is only written if enabled in the options
+                    String expected = expectV1 ? "title" + i : original;
+                    String title = ((MP3File) AudioFileIO.read(testFile)).getID3v1Tag().getFirst(FieldKey.TITLE);
+                    if (!expected.equals(title))
+                    {
+                        return name + ":" + i + ":" + title;
+                    }
+                }
+                return null;
+            }
+        };
+    }
+}
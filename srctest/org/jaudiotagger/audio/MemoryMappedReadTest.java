@@ -0,0 +1,93 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.generic.ByteBufferChannel;
+import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reading through a memory mapping gives the same result as reading the file normally
+ */
+public class MemoryMappedReadTest extends AbstractTestCase
+{
+    private static final String[] FILES =
+            {
+                    "testV1.mp3", "test.m4a", "test.flac", "test.ogg", "test.wav", "test1.wma", "test119.aif",
+                    "test122.dsf", "test229.dff", "test01.ra"
+            };
+
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testMappedReadMatchesNormalRead() throws Exception
+    {
+        for (String name : FILES)
+        {
+            File testFile = new File("testdata", name);
+            if (!testFile.isFile())
+            {
+                System.err.println("Unable to test file - not available:" + name);
+                continue;
+            }
+
+            TagOptionSingleton.getInstance().setMemoryMappedReads(false);
+            AudioFile normal = AudioFileIO.read(testFile);
+            TagOptionSingleton.getInstance().setMemoryMappedReads(true);
+            AudioFile mapped = AudioFileIO.read(testFile);
+
+            assertEquals(name, testFile, mapped.getFile());
+            assertEquals(name, String.valueOf(normal.getTag()), String.valueOf(mapped.getTag()));
+            assertEquals(name, normal.getAudioHeader().toString(), mapped.getAudioHeader().toString());
+        }
+    }
+
+    public void testMapOnlyWhenEnabled() throws Exception
+    {
+        File testFile = new File("testdata", "testV1.mp3");
+        try (FileChannel fc = FileChannel.open(testFile.toPath(), StandardOpenOption.READ))
+        {
+            assertSame(fc, Utils.mapForReading(fc));
+
+            TagOptionSingleton.getInstance().setMemoryMappedReads(true);
+            SeekableByteChannel mapped = Utils.mapForReading(fc);
+            assertTrue(mapped instanceof ByteBufferChannel);
+            assertEquals(fc.size(), mapped.size());
+        }
+    }
+
+    public void testPositionBeyondEnd() throws Exception
+    {
+        ByteBufferChannel channel = new ByteBufferChannel(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}));
+        channel.position(10);
+        assertEquals(10, channel.position());
+        assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        assertNull(channel.readSlice(1));
+
+        channel.position(2);
+        assertEquals(3, Utils.readUnsignedByte(channel));
+        assertEquals(3, channel.position());
+        assertEquals(4, channel.readSlice(1).get(0));
+        assertEquals(4, channel.position());
+    }
+
+    public void testWriteAfterMappedRead() throws Exception
+    {
+        TagOptionSingleton.getInstance().setMemoryMappedReads(true);
+        File testFile = AbstractTestCase.copyAudioToTmp("test.m4a", new File("testWriteAfterMappedRead.m4a"));
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.TITLE, "mapped");
+        af.commit();
+
+        assertEquals("mapped", AudioFileIO.read(testFile).getTag().getFirst(FieldKey.TITLE));
+    }
+}
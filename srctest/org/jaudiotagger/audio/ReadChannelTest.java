@@ -0,0 +1,89 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.exceptions.CannotWriteException;
+import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.tag.FieldKey;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reading from a channel or from memory gives the same result as reading the file
+ */
+public class ReadChannelTest extends AbstractTestCase
+{
+    private static final String[] FILES =
+            {
+                    "testV1.mp3", "test.m4a", "test.flac", "test.ogg", "test.wav", "test1.wma", "test119.aif",
+                    "test122.dsf", "test229.dff", "test01.ra"
+            };
+
+    public void testChannelAndBufferMatchFileRead() throws Exception
+    {
+        for (String name : FILES)
+        {
+            File testFile = new File("testdata", name);
+            if (!testFile.isFile())
+            {
+                System.err.println("Unable to test file - not available:" + name);
+                continue;
+            }
+            String ext = Utils.getExtension(testFile);
+            AudioFile fromFile = AudioFileIO.read(testFile);
+
+            AudioFile fromChannel;
+            try (FileChannel fc = FileChannel.open(testFile.toPath(), StandardOpenOption.READ))
+            {
+                fromChannel = AudioFileIO.readAs(fc, ext);
+                assertTrue(name, fc.isOpen());
+            }
+
+            //Offset the audio within the buffer to check only position to limit is read
+            byte[] data = Files.readAllBytes(testFile.toPath());
+            ByteBuffer buffer = ByteBuffer.allocate(data.length + 10);
+            buffer.position(10);
+            buffer.put(data);
+            buffer.position(10);
+            AudioFile fromBuffer = AudioFileIO.readAs(buffer, ext);
+            assertEquals(name, 10, buffer.position());
+
+            assertNull(name, fromChannel.getFile());
+            assertNull(name, fromBuffer.getFile());
+            assertEquals(name, String.valueOf(fromFile.getTag()), String.valueOf(fromChannel.getTag()));
+            assertEquals(name, String.valueOf(fromFile.getTag()), String.valueOf(fromBuffer.getTag()));
+            assertEquals(name, fromFile.getAudioHeader().toString(), fromChannel.getAudioHeader().toString());
+            assertEquals(name, fromFile.getAudioHeader().toString(), fromBuffer.getAudioHeader().toString());
+        }
+    }
+
+    public void testReadTagOnlyFromChannel() throws Exception
+    {
+        File testFile = new File("testdata", "testV1.mp3");
+        try (FileChannel fc = FileChannel.open(testFile.toPath(), StandardOpenOption.READ))
+        {
+            AudioFile af = new AudioFileIO().readChannelAs(fc, "mp3", ReadMode.TAG_ONLY);
+            assertNull(af.getAudioHeader());
+            assertEquals(String.valueOf(AudioFileIO.read(testFile).getTag()), String.valueOf(af.getTag()));
+        }
+    }
+
+    public void testCannotCommitBufferRead() throws Exception
+    {
+        File testFile = new File("testdata", "testV1.mp3");
+        AudioFile af = AudioFileIO.readAs(ByteBuffer.wrap(Files.readAllBytes(testFile.toPath())), "mp3");
+        af.getTagOrCreateAndSetDefault().setField(FieldKey.TITLE, "memory");
+        try
+        {
+            af.commit();
+            fail("Expected CannotWriteException");
+        }
+        catch (CannotWriteException cwe)
+        {
+            //expected
+        }
+    }
+}
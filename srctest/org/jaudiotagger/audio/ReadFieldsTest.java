@@ -0,0 +1,165 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.exceptions.CannotWriteException;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.id3.AbstractTagItem;
+import org.jaudiotagger.tag.id3.ID3v22Frames;
+import org.jaudiotagger.tag.id3.ID3v24Frames;
+import org.jaudiotagger.tag.images.ArtworkFactory;
+import org.jaudiotagger.tag.reference.ID3V2Version;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Reading only some fields of the tag
+ */
+public class ReadFieldsTest extends AbstractTestCase
+{
+    private static final String[] FILES = {"testV1.mp3", "test.m4a", "test.flac", "test.ogg", "test119.aif"};
+
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testOnlyRequestedFieldsRead() throws Exception
+    {
+        for (String name : FILES)
+        {
+            File testFile = writeTestTag(name, new File("testReadFields" + name));
+
+            int artworkCount = AudioFileIO.read(testFile).getTag().getArtworkList().size();
+            assertTrue(name, artworkCount > 0);
+
+            AudioFile af = AudioFileIO.readFields(testFile, EnumSet.of(FieldKey.TITLE, FieldKey.MUSICBRAINZ_TRACK_ID));
+            Tag tag = af.getTag();
+            assertTrue(name, af.isPartialTag());
+            assertEquals(name, "title", tag.getFirst(FieldKey.TITLE));
+            assertEquals(name, "mbid", tag.getFirst(FieldKey.MUSICBRAINZ_TRACK_ID));
+            assertEquals(name, "", tag.getFirst(FieldKey.ALBUM));
+            assertEquals(name, "", tag.getFirst(FieldKey.COMMENT));
+            assertEquals(name, 0, tag.getArtworkList().size());
+            assertNotNull(name, af.getAudioHeader());
+
+            try
+            {
+                af.commit();
+                fail(name + ":partial tag written");
+            }
+            catch (CannotWriteException cwe)
+            {
+                //Expected
+            }
+
+            af = AudioFileIO.readFields(testFile, EnumSet.of(FieldKey.ALBUM, FieldKey.COVER_ART));
+            assertEquals(name, "", af.getTag().getFirst(FieldKey.TITLE));
+            assertEquals(name, "album", af.getTag().getFirst(FieldKey.ALBUM));
+            assertEquals(name, artworkCount, af.getTag().getArtworkList().size());
+
+            //Options used to read are not changed
+            assertEquals(null, TagOptionSingleton.getInstance().getReadFieldKeys());
+            AudioFile full = AudioFileIO.read(testFile);
+            assertFalse(name, full.isPartialTag());
+            assertEquals(name, "comment", full.getTag().getFirst(FieldKey.COMMENT));
+        }
+    }
+
+    public void testReadV23Year() throws Exception
+    {
+        TagOptionSingleton.getInstance().setID3V2Version(ID3V2Version.ID3_V23);
+        File testFile = writeTestTag("testV1.mp3", new File("testReadFieldsV23.mp3"));
+
+        Tag tag = AudioFileIO.readFields(testFile, EnumSet.of(FieldKey.YEAR, FieldKey.GENRE)).getTag();
+        assertEquals("2004-10-12", tag.getFirst(FieldKey.YEAR));
+        assertEquals("Rock", tag.getFirst(FieldKey.GENRE));
+        assertEquals("", tag.getFirst(FieldKey.TITLE));
+    }
+
+    /**
+     * Frames that are not requested are skipped using their header, the artwork frame is never read
+     */
+    public void testArtworkFrameNotReadWhenNotRequested() throws Exception
+    {
+        final List<String> messages = new ArrayList<String>();
+        Handler handler = new Handler()
+        {
+            public void publish(LogRecord record)
+            {
+                messages.add(record.getMessage());
+            }
+
+            public void flush()
+            {
+            }
+
+            public void close()
+            {
+            }
+        };
+
+        Logger logger = AbstractTagItem.logger;
+        Level level = logger.getLevel();
+        logger.setLevel(Level.ALL);
+        logger.addHandler(handler);
+        try
+        {
+            for (ID3V2Version version : ID3V2Version.values())
+            {
+                TagOptionSingleton.getInstance().setID3V2Version(version);
+                File testFile = writeTestTag("testV1.mp3", new File("testReadFieldsArtwork" + version + ".mp3"));
+                String artworkId = version == ID3V2Version.ID3_V22 ? ID3v22Frames.FRAME_ID_V2_ATTACHED_PICTURE : ID3v24Frames.FRAME_ID_ATTACHED_PICTURE;
+
+                messages.clear();
+                Tag tag = AudioFileIO.readFields(testFile, EnumSet.of(FieldKey.TITLE)).getTag();
+                assertEquals(version.name(), "title", tag.getFirst(FieldKey.TITLE));
+                assertEquals(version.name(), 0, tag.getArtworkList().size());
+
+                boolean skipped = false;
+                for (String message : messages)
+                {
+                    if (message.endsWith(":Skipping frame not being read:" + artworkId))
+                    {
+                        skipped = true;
+                    }
+                    else
+                    {
+                        assertFalse(version.name() + ":" + message, message.contains(artworkId));
+                    }
+                }
+                assertTrue(version.name(), skipped);
+            }
+        }
+        finally
+        {
+            logger.removeHandler(handler);
+            logger.setLevel(level);
+        }
+    }
+
+    private static File writeTestTag(String name, File tmpName) throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp(name, tmpName);
+        AudioFile af = AudioFileIO.read(testFile);
+        Tag tag = af.getTagOrCreateAndSetDefault();
+        tag.setField(FieldKey.TITLE, "title");
+        tag.setField(FieldKey.ALBUM, "album");
+        tag.setField(FieldKey.COMMENT, "comment");
+        tag.setField(FieldKey.MUSICBRAINZ_TRACK_ID, "mbid");
+        tag.setField(FieldKey.YEAR, "2004-10-12");
+        tag.setField(FieldKey.GENRE, "Rock");
+        tag.setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        af.commit();
+        return testFile;
+    }
+}
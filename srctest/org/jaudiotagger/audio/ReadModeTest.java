@@ -0,0 +1,57 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.mp3.MP3AudioHeader;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.Tag;
+
+import java.io.File;
+
+/**
+ * Reading just the tag or just the audio header gives the same result as reading both
+ */
+public class ReadModeTest extends AbstractTestCase
+{
+    private static final String[] FILES =
+            {
+                    "testV1.mp3", "test.m4a", "test.flac", "test.ogg", "test.wav", "test1.wma", "test119.aif",
+                    "test122.dsf", "test229.dff", "test01.ra"
+            };
+
+    public void testTagOnlyAndHeaderOnlyMatchFullRead() throws Exception
+    {
+        for (String name : FILES)
+        {
+            File testFile = new File("testdata", name);
+            if (!testFile.isFile())
+            {
+                System.err.println("Unable to test file - not available:" + name);
+                continue;
+            }
+
+            AudioFile full = AudioFileIO.read(testFile);
+            AudioFile tagOnly = AudioFileIO.readTagOnly(testFile);
+            AudioFile headerOnly = AudioFileIO.readHeaderOnly(testFile);
+
+            assertNull(name, tagOnly.getAudioHeader());
+            assertNull(name, headerOnly.getTag());
+            assertEquals(name, String.valueOf(full.getTag()), String.valueOf(tagOnly.getTag()));
+            assertEquals(name, full.getAudioHeader().toString(), headerOnly.getAudioHeader().toString());
+        }
+    }
+
+    public void testWriteMp3ReadTagOnly() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1.mp3", new File("testWriteMp3ReadTagOnly.mp3"));
+        long audioStart = ((MP3AudioHeader) AudioFileIO.read(testFile).getAudioHeader()).getMp3StartByte();
+
+        AudioFile af = AudioFileIO.readTagOnly(testFile);
+        Tag tag = af.getTagOrCreateAndSetDefault();
+        tag.setField(FieldKey.TITLE, "tag only");
+        af.commit();
+
+        AudioFile reread = AudioFileIO.read(testFile);
+        assertEquals("tag only", reread.getTag().getFirst(FieldKey.TITLE));
+        assertTrue(((MP3AudioHeader) reread.getAudioHeader()).getMp3StartByte() >= audioStart);
+    }
+}
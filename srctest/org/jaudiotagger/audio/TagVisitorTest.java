@@ -0,0 +1,123 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagVisitor;
+import org.jaudiotagger.tag.images.Artwork;
+import org.jaudiotagger.tag.images.ArtworkFactory;
+import org.jaudiotagger.tag.reference.ID3V2Version;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Visiting the fields of a tag without building the tag
+ */
+public class TagVisitorTest extends AbstractTestCase
+{
+    private static final FieldKey[] KEYS = {FieldKey.TITLE, FieldKey.ARTIST, FieldKey.ALBUM, FieldKey.COMMENT, FieldKey.MUSICBRAINZ_TRACK_ID};
+
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testVisitedFieldsMatchTag() throws Exception
+    {
+        checkVisit("test.m4a", true);
+        checkVisit("test.flac", true);
+        checkVisit("test.ogg", false);
+        checkVisit("testV1.mp3", true);
+        TagOptionSingleton.getInstance().setID3V2Version(ID3V2Version.ID3_V23);
+        checkVisit("testV1.mp3", true);
+        TagOptionSingleton.getInstance().setID3V2Version(ID3V2Version.ID3_V22);
+        checkVisit("testV1.mp3", true);
+    }
+
+    public void testFormatWithoutVisitorUsesTag() throws Exception
+    {
+        checkVisit("test1.wma", false);
+    }
+
+    public void testUnsynchronisedTag() throws Exception
+    {
+        TagOptionSingleton.getInstance().setID3V2Version(ID3V2Version.ID3_V23);
+        TagOptionSingleton.getInstance().setUnsyncTags(true);
+        checkVisit("testV1.mp3", false);
+    }
+
+    private void checkVisit(String name, boolean positionKnown) throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp(name, new File("testVisit" + name));
+        AudioFile af = AudioFileIO.read(testFile);
+        Tag tag = af.getTagOrCreateAndSetDefault();
+        tag.setField(FieldKey.TITLE, "title");
+        tag.setField(FieldKey.ARTIST, "artisté");
+        tag.setField(FieldKey.ALBUM, "album");
+        tag.setField(FieldKey.COMMENT, "comment");
+        tag.setField(FieldKey.TRACK, "3");
+        tag.setField(FieldKey.MUSICBRAINZ_TRACK_ID, "mbid");
+        tag.deleteArtworkField();
+        tag.setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        af.commit();
+
+        final Map<FieldKey, List<String>> fields = new EnumMap<FieldKey, List<String>>(FieldKey.class);
+        final List<long[]> images = new ArrayList<long[]>();
+        AudioFileIO.visitTag(testFile, new TagVisitor()
+        {
+            public void onField(String id, FieldKey key, CharSequence value)
+            {
+                if (key != null)
+                {
+                    if (!fields.containsKey(key))
+                    {
+                        fields.put(key, new ArrayList<String>());
+                    }
+                    fields.get(key).add(value.toString());
+                }
+            }
+
+            public void onBinary(String id, FieldKey key, long offset, int length)
+            {
+                if (key == FieldKey.COVER_ART)
+                {
+                    images.add(new long[]{offset, length});
+                }
+            }
+        });
+
+        tag = AudioFileIO.read(testFile).getTag();
+        for (FieldKey key : KEYS)
+        {
+            assertEquals(name + ":" + key, tag.getFirst(key), fields.get(key).get(0));
+        }
+        assertTrue(name, fields.get(FieldKey.TRACK).get(0).startsWith("3"));
+
+        assertEquals(name, 1, images.size());
+        Artwork artwork = tag.getFirstArtwork();
+        long offset = images.get(0)[0];
+        if (positionKnown)
+        {
+            assertEquals(name, artwork.getBinaryData().length, images.get(0)[1]);
+            byte[] image = new byte[(int) images.get(0)[1]];
+            try (RandomAccessFile raf = new RandomAccessFile(testFile, "r"))
+            {
+                raf.seek(offset);
+                raf.readFully(image);
+            }
+            assertTrue(name, Arrays.equals(artwork.getBinaryData(), image));
+        }
+        else
+        {
+            assertEquals(name, -1, offset);
+        }
+    }
+}
@@ -6,8 +6,12 @@ import org.jaudiotagger.AbstractTestCase;
 import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.AudioFileIO;
 import org.jaudiotagger.audio.AudioHeader;
+import org.jaudiotagger.tag.aiff.AiffTag;
 
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 public class AiffAudioFileTest extends TestCase {
 
@@ -440,4 +444,52 @@ public class AiffAudioFileTest extends TestCase {
 
 
     }
+
+    /**
+     * A COMM chunk that cannot be read does not stop the following ID3 chunk being read
+     */
+    public void testReadAifcWithUnreadableCommonChunkBeforeId3Chunk() throws Exception
+    {
+        File orig = new File("testdata", "test157.aif");
+        if (!orig.isFile())
+        {
+            System.err.println("Unable to test file - not available");
+            return;
+        }
+
+        File testFile = AbstractTestCase.copyAudioToTmp("test157.aif", new File("testUnreadableCommonChunk.aif"));
+        byte[] data = Files.readAllBytes(testFile.toPath());
+        ByteBuffer bb = ByteBuffer.wrap(data);
+
+        //Find the ID3 chunk
+        int id3Start = -1;
+        for (int pos = 12; pos + 8 <= data.length; )
+        {
+            String id = new String(data, pos, 4, StandardCharsets.ISO_8859_1);
+            int size = bb.getInt(pos + 4);
+            if (id.equals("ID3 "))
+            {
+                id3Start = pos;
+                break;
+            }
+            pos += 8 + size + (size & 1);
+        }
+        assertTrue(id3Start > 0);
+
+        //AIFC COMM chunk without the compression type cannot be read
+        ByteBuffer badChunk = ByteBuffer.allocate(26);
+        badChunk.put("COMM".getBytes(StandardCharsets.ISO_8859_1));
+        badChunk.putInt(18);
+
+        ByteBuffer modified = ByteBuffer.allocate(data.length + badChunk.capacity());
+        modified.put(data, 0, id3Start);
+        modified.put(badChunk.array());
+        modified.put(data, id3Start, data.length - id3Start);
+        modified.putInt(4, modified.getInt(4) + badChunk.capacity());
+        Files.write(testFile.toPath(), modified.array());
+
+        AudioFile f = AudioFileIO.read(testFile);
+        assertTrue(f.getAudioHeader() instanceof AiffAudioHeader);
+        assertTrue(((AiffTag) f.getTag()).isExistingId3Tag());
+    }
 }
@@ -0,0 +1,143 @@
+package org.jaudiotagger.audio.generic;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.SupportedFileFormat;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.logging.ErrorMessage;
+import org.jaudiotagger.tag.FieldKey;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+/**
+ * Identify formats from their content
+ */
+public class AudioFormatSnifferTest extends AbstractTestCase
+{
+    private static final String[][] FILES =
+            {
+                    {"testV1.mp3", "mp3"}, {"test.m4a", "m4a"}, {"test.flac", "flac"}, {"test.ogg", "ogg"},
+                    {"test.wav", "wav"}, {"test1.wma", "wma"}, {"test119.aif", "aifc"}, {"test122.dsf", "dsf"},
+                    {"test229.dff", "dff"}, {"test01.ra", "rm"}
+            };
+
+    public void testSniffTestData() throws Exception
+    {
+        for (String[] next : FILES)
+        {
+            File testFile = new File("testdata", next[0]);
+            if (!testFile.isFile())
+            {
+                System.err.println("Unable to test file - not available:" + next[0]);
+                continue;
+            }
+            assertEquals(next[0], next[1], Utils.getMagicExtension(testFile));
+        }
+    }
+
+    public void testSniffId3PrefixedFlac() throws Exception
+    {
+        //Ten byte ID3v2.4 header, 200 bytes of tag then flac, so beyond the prefix only if the tag is large
+        byte[] small = id3Prefixed(200, new byte[]{'f', 'L', 'a', 'C'});
+        assertEquals(SupportedFileFormat.FLAC, sniff(small));
+        byte[] large = id3Prefixed(4000, new byte[]{'f', 'L', 'a', 'C'});
+        assertEquals(SupportedFileFormat.FLAC, sniff(large));
+        byte[] mp3 = id3Prefixed(4000, new byte[]{(byte) 0xFF, (byte) 0xFB, (byte) 0x90, 0x00});
+        assertEquals(SupportedFileFormat.MP3, sniff(mp3));
+    }
+
+    public void testSniffUnknown() throws Exception
+    {
+        assertNull(sniff("not an audio file".getBytes("US-ASCII")));
+        //ADTS aac has an mpeg frame sync but layer zero
+        assertNull(sniff(new byte[]{(byte) 0xFF, (byte) 0xF1, 0x50, (byte) 0x80, 0, 0, 0, 0}));
+        assertNull(sniff(new byte[]{'f', 'L'}));
+    }
+
+    public void testReadMagicWithWrongExtension() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.flac", new File("testReadMagicWithWrongExtension.mp3"));
+        AudioFile af = AudioFileIO.readMagic(testFile);
+        assertEquals("flac", af.getExt());
+        assertEquals(testFile, af.getFile());
+        assertEquals(String.valueOf(AudioFileIO.read(new File("testdata", "test.flac")).getTag()), String.valueOf(af.getTag()));
+
+        af.getTag().setField(FieldKey.TITLE, "magic");
+        af.commit();
+        assertEquals("magic", AudioFileIO.readMagic(testFile).getTag().getFirst(FieldKey.TITLE));
+    }
+
+    public void testReadMagicPrechecks() throws Exception
+    {
+        try
+        {
+            AudioFileIO.readMagic(new File("testdata", "doesnotexist.flac"));
+            fail("Expected FileNotFoundException");
+        }
+        catch (FileNotFoundException fnfe)
+        {
+            assertEquals(ErrorMessage.UNABLE_TO_FIND_FILE.getMsg(new File("testdata", "doesnotexist.flac").toPath()), fnfe.getMessage());
+        }
+
+        //Too small to be identified, reported the same way as a read by extension
+        File testFile = new File("testdatatmp", "testReadMagicTooSmall.flac");
+        Files.write(testFile.toPath(), new byte[]{'f', 'L', 'a', 'C'});
+        try
+        {
+            AudioFileIO.readMagic(testFile);
+            fail("Expected CannotReadException");
+        }
+        catch (CannotReadException cre)
+        {
+            assertEquals(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(testFile.getAbsolutePath()), cre.getMessage());
+        }
+    }
+
+    public void testPrefixBufferedChannelReadsAcrossPrefix() throws Exception
+    {
+        File testFile = new File("testdata", "testV1.mp3");
+        byte[] expected = Files.readAllBytes(testFile.toPath());
+        try (FileChannel fc = FileChannel.open(testFile.toPath()))
+        {
+            ByteBuffer prefix = AudioFormatSniffer.readPrefix(fc);
+            PrefixBufferedChannel channel = new PrefixBufferedChannel(fc, prefix);
+            channel.position(AudioFormatSniffer.PREFIX_LENGTH - 10);
+            ByteBuffer bb = ByteBuffer.allocate(100);
+            assertEquals(100, channel.read(bb));
+            assertEquals(AudioFormatSniffer.PREFIX_LENGTH + 90, channel.position());
+            for (int i = 0; i < 100; i++)
+            {
+                assertEquals(expected[AudioFormatSniffer.PREFIX_LENGTH - 10 + i], bb.get(i));
+            }
+
+            channel.position(expected.length);
+            assertEquals(-1, channel.read(ByteBuffer.allocate(10)));
+        }
+    }
+
+    private static SupportedFileFormat sniff(byte[] data) throws Exception
+    {
+        ByteBufferChannel fc = new ByteBufferChannel(ByteBuffer.wrap(data));
+        return AudioFormatSniffer.sniff(fc, AudioFormatSniffer.readPrefix(fc));
+    }
+
+    private static byte[] id3Prefixed(int tagSize, byte[] audio)
+    {
+        byte[] data = new byte[10 + tagSize + audio.length + 100];
+        data[0] = 'I';
+        data[1] = 'D';
+        data[2] = '3';
+        data[3] = 4;
+        data[6] = (byte) ((tagSize >> 21) & 0x7F);
+        data[7] = (byte) ((tagSize >> 14) & 0x7F);
+        data[8] = (byte) ((tagSize >> 7) & 0x7F);
+        data[9] = (byte) (tagSize & 0x7F);
+        System.arraycopy(audio, 0, data, 10 + tagSize, audio.length);
+        return data;
+    }
+}
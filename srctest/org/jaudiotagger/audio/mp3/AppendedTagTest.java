@@ -0,0 +1,256 @@
+package org.jaudiotagger.audio.mp3;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.TagVisitor;
+import org.jaudiotagger.tag.datatype.DataTypes;
+import org.jaudiotagger.tag.id3.AbstractID3v2Frame;
+import org.jaudiotagger.tag.id3.ID3v11Tag;
+import org.jaudiotagger.tag.id3.ID3v24Frames;
+import org.jaudiotagger.tag.id3.ID3v24Tag;
+import org.jaudiotagger.tag.id3.framebody.FrameBodySEEK;
+import org.jaudiotagger.tag.images.ArtworkFactory;
+import org.jaudiotagger.tag.reference.ID3V2Version;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appending ID3v24 tags to the end of the file rather than moving the audio
+ */
+public class AppendedTagTest extends AbstractTestCase
+{
+    @Override
+    public void setUp()
+    {
+        super.setUp();
+        TagOptionSingleton.getInstance().setID3V2Version(ID3V2Version.ID3_V24);
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testAppendAndCompact() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1.mp3", new File("testAppendedTag.mp3"));
+        MP3File mp3File = (MP3File) AudioFileIO.read(testFile);
+        Tag tag = mp3File.getTagOrCreateAndSetDefault();
+        tag.setField(FieldKey.TITLE, "start");
+        mp3File.commit();
+        long audioStart = mp3File.getMP3AudioHeader().getMp3StartByte();
+        assertTrue(audioStart > 0);
+        assertTrue(mp3File.hasID3v1Tag());
+        byte[] audio = readAudio(testFile, audioStart);
+
+        //Too big for the padding
+        TagOptionSingleton.getInstance().setId3v24AppendTag(true);
+        tag.setField(FieldKey.TITLE, "appended");
+        tag.setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        mp3File.commit();
+
+        //Audio not moved, tag appended before the ID3v1 tag
+        assertEquals(audioStart, mp3File.getMP3AudioHeader().getMp3StartByte());
+        assertTrue(Arrays.equals(audio, readAudio(testFile, audioStart)));
+        long appendedStart = getAppendedTagStart(testFile);
+        assertEquals(audioStart + audio.length, appendedStart);
+
+        //Tag at start only holds a SEEK frame to the appended tag
+        byte[] start = Arrays.copyOf(Files.readAllBytes(testFile.toPath()), (int) audioStart);
+        ID3v24Tag seekTag = new ID3v24Tag(ByteBuffer.wrap(start), "");
+        assertEquals(1, seekTag.getFieldCount());
+        FrameBodySEEK seek = (FrameBodySEEK) ((AbstractID3v2Frame) seekTag.getFrame(ID3v24Frames.FRAME_ID_SEEK)).getBody();
+        assertEquals(appendedStart - audioStart, ((Number) seek.getObjectValue(DataTypes.OBJ_OFFSET)).longValue());
+
+        mp3File = (MP3File) AudioFileIO.read(testFile);
+        assertEquals(audioStart, mp3File.getMP3AudioHeader().getMp3StartByte());
+        assertEquals("appended", mp3File.getTag().getFirst(FieldKey.TITLE));
+        assertEquals(1, mp3File.getTag().getArtworkList().size());
+        assertNull(mp3File.getID3v2Tag().getFrame(ID3v24Frames.FRAME_ID_SEEK));
+        assertTrue(mp3File.getID3v1Tag() instanceof ID3v11Tag);
+
+        //Appended tag is replaced not added to
+        long length = testFile.length();
+        mp3File.getTag().setField(FieldKey.TITLE, "appended again");
+        mp3File.commit();
+        assertEquals(length + 6, testFile.length());
+        assertEquals(appendedStart, getAppendedTagStart(testFile));
+        assertEquals("appended again", AudioFileIO.read(testFile).getTag().getFirst(FieldKey.TITLE));
+
+        //Compact moves the tag back to the start
+        mp3File = (MP3File) AudioFileIO.read(testFile);
+        mp3File.compactID3v2Tag();
+        assertEquals(-1, getAppendedTagStart(testFile));
+        long newAudioStart = mp3File.getMP3AudioHeader().getMp3StartByte();
+        assertTrue(newAudioStart > audioStart);
+        assertTrue(Arrays.equals(audio, readAudio(testFile, newAudioStart)));
+
+        mp3File = (MP3File) AudioFileIO.read(testFile);
+        assertEquals(newAudioStart, mp3File.getMP3AudioHeader().getMp3StartByte());
+        assertEquals("appended again", mp3File.getTag().getFirst(FieldKey.TITLE));
+        assertEquals(1, mp3File.getTag().getArtworkList().size());
+        assertTrue(mp3File.hasID3v1Tag());
+    }
+
+    public void testAppendWithoutTagAtStart() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1.mp3", new File("testAppendedTagDelete.mp3"));
+        long length = testFile.length();
+        MP3File mp3File = (MP3File) AudioFileIO.read(testFile);
+        TagOptionSingleton.getInstance().setId3v24AppendTag(true);
+        mp3File.getTagOrCreateAndSetDefault().setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        mp3File.commit();
+        assertEquals(0, mp3File.getMP3AudioHeader().getMp3StartByte());
+        assertTrue(getAppendedTagStart(testFile) > 0);
+        assertEquals(1, AudioFileIO.read(testFile).getTag().getArtworkList().size());
+
+        AudioFileIO.delete(AudioFileIO.read(testFile));
+        assertEquals(-1, getAppendedTagStart(testFile));
+        assertTrue(testFile.length() <= length);
+    }
+
+    public void testOnlyOwnAppendedTagRemoved() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1.mp3", new File("testAppendedTagOwner.mp3"));
+        MP3File mp3File = (MP3File) AudioFileIO.read(testFile);
+        mp3File.getTagOrCreateAndSetDefault().setField(FieldKey.TITLE, "start");
+        mp3File.commit();
+        TagOptionSingleton.getInstance().setId3v24AppendTag(true);
+        mp3File.getTag().setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        mp3File.commit();
+        long audioStart = mp3File.getMP3AudioHeader().getMp3StartByte();
+        long appendedStart = getAppendedTagStart(testFile);
+        assertTrue(appendedStart > 0);
+
+        //A tag that was not read from the file leaves the appended tag alone
+        TagOptionSingleton.getInstance().setId3v24AppendTag(false);
+        ID3v24Tag otherTag = new ID3v24Tag();
+        otherTag.setField(FieldKey.TITLE, "other");
+        otherTag.write(testFile, audioStart);
+        assertEquals(appendedStart, getAppendedTagStart(testFile));
+
+        //The tag read from the file replaces it
+        mp3File = (MP3File) AudioFileIO.read(testFile);
+        mp3File.getTag().setField(FieldKey.TITLE, "start again");
+        mp3File.commit();
+        assertEquals(-1, getAppendedTagStart(testFile));
+        assertEquals("start again", AudioFileIO.read(testFile).getTag().getFirst(FieldKey.TITLE));
+    }
+
+    public void testAppendDoesNotChangeTrackLength() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1L2stereo.mp3", new File("testAppendedTagLength.mp3"));
+        MP3File mp3File = (MP3File) AudioFileIO.read(testFile);
+        double trackLength = mp3File.getMP3AudioHeader().getPreciseTrackLength();
+        long bitRate = mp3File.getMP3AudioHeader().getBitRateAsNumber();
+
+        TagOptionSingleton.getInstance().setId3v24AppendTag(true);
+        mp3File.getTagOrCreateAndSetDefault().setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        mp3File.commit();
+        assertTrue(getAppendedTagStart(testFile) > 0);
+
+        mp3File = (MP3File) AudioFileIO.read(testFile);
+        assertEquals(getAppendedTagStart(testFile), mp3File.getMP3AudioHeader().getMp3EndByte());
+        assertEquals(trackLength, mp3File.getMP3AudioHeader().getPreciseTrackLength(), 0.0001);
+        assertEquals(bitRate, mp3File.getMP3AudioHeader().getBitRateAsNumber());
+    }
+
+    public void testAppendWithXingHeader() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1L2stereo.mp3", new File("testAppendedTagXing.mp3"));
+        MP3File mp3File = (MP3File) AudioFileIO.read(testFile);
+        mp3File.getTagOrCreateAndSetDefault().setField(FieldKey.TITLE, "start");
+        mp3File.commit();
+        long audioStart = mp3File.getMP3AudioHeader().getMp3StartByte();
+
+        TagOptionSingleton.getInstance().setMp3WriteXingHeader(true);
+        TagOptionSingleton.getInstance().setId3v24AppendTag(true);
+        mp3File = (MP3File) AudioFileIO.read(testFile);
+        mp3File.getTag().setField(FieldKey.TITLE, "appended");
+        mp3File.getTag().setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        mp3File.commit();
+
+        //SEEK frame points at the appended tag even though the Xing frame moved the audio
+        long appendedStart = getAppendedTagStart(testFile);
+        assertEquals(audioStart, mp3File.getMP3AudioHeader().getMp3StartByte());
+        byte[] start = Arrays.copyOf(Files.readAllBytes(testFile.toPath()), (int) audioStart);
+        ID3v24Tag seekTag = new ID3v24Tag(ByteBuffer.wrap(start), "");
+        FrameBodySEEK seek = (FrameBodySEEK) ((AbstractID3v2Frame) seekTag.getFrame(ID3v24Frames.FRAME_ID_SEEK)).getBody();
+        assertEquals(appendedStart - audioStart, ((Number) seek.getObjectValue(DataTypes.OBJ_OFFSET)).longValue());
+
+        mp3File = (MP3File) AudioFileIO.read(testFile);
+        assertNotNull(mp3File.getMP3AudioHeader().mp3XingFrame);
+        assertEquals("appended", mp3File.getTag().getFirst(FieldKey.TITLE));
+        assertEquals(1, mp3File.getTag().getArtworkList().size());
+    }
+
+    public void testVisitAppendedTag() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1.mp3", new File("testAppendedTagVisit.mp3"));
+        MP3File mp3File = (MP3File) AudioFileIO.read(testFile);
+        mp3File.getTagOrCreateAndSetDefault().setField(FieldKey.TITLE, "start");
+        mp3File.getTag().setField(FieldKey.ALBUM, "album");
+        mp3File.commit();
+
+        TagOptionSingleton.getInstance().setId3v24AppendTag(true);
+        mp3File.getTag().setField(FieldKey.TITLE, "appended");
+        mp3File.getTag().setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        mp3File.commit();
+        assertTrue(getAppendedTagStart(testFile) > 0);
+
+        final Map<String, String> fields = new HashMap<String, String>();
+        final List<String> binaries = new ArrayList<String>();
+        AudioFileIO.visitTag(testFile, new TagVisitor()
+        {
+            public void onField(String id, FieldKey key, CharSequence value)
+            {
+                fields.put(id, value.toString());
+            }
+
+            public void onBinary(String id, FieldKey key, long offset, int length)
+            {
+                binaries.add(id);
+            }
+        });
+        assertEquals("appended", fields.get(ID3v24Frames.FRAME_ID_TITLE));
+        assertEquals("album", fields.get(ID3v24Frames.FRAME_ID_ALBUM));
+        assertFalse(fields.containsKey(ID3v24Frames.FRAME_ID_SEEK));
+        assertEquals(1, binaries.size());
+    }
+
+    private static long getAppendedTagStart(File file) throws Exception
+    {
+        try (FileChannel fc = new RandomAccessFile(file, "r").getChannel())
+        {
+            return ID3v24Tag.getAppendedTagStart(fc);
+        }
+    }
+
+    private static byte[] readAudio(File file, long audioStart) throws Exception
+    {
+        byte[] data = Files.readAllBytes(file.toPath());
+        int audioEnd = data.length - 128;
+        try (FileChannel fc = new RandomAccessFile(file, "r").getChannel())
+        {
+            long appendedStart = ID3v24Tag.getAppendedTagStart(fc);
+            if (appendedStart != -1)
+            {
+                audioEnd = (int) appendedStart;
+            }
+        }
+        return Arrays.copyOfRange(data, (int) audioStart, audioEnd);
+    }
+}
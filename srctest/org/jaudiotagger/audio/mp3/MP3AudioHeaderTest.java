@@ -426,6 +426,27 @@ public class MP3AudioHeaderTest extends TestCase
         assertEquals("LAME3.97 ", mp3AudioHeader.getEncoder());   //TODO should we be removing trailing space
     }
 
+    /**
+     * MPEG-2 Layer III frames hold 576 samples and are 72 * bitrate / sampling rate bytes long in stereo as well as mono
+     */
+    public void testMpeg2StereoDuration() throws Exception
+    {
+        //Frame count from the Xing frame
+        MP3AudioHeader mp3AudioHeader = new MP3File(AbstractTestCase.copyAudioToTmp("testV2L3Stereo.mp3")).getMP3AudioHeader();
+        assertEquals(MPEGFrameHeader.MODE_JOINT_STEREO, mp3AudioHeader.mp3FrameHeader.getChannelMode());
+        assertEquals(192, mp3AudioHeader.mp3FrameHeader.getFrameLength());
+        assertEquals(576, mp3AudioHeader.mp3FrameHeader.getNoOfSamples());
+        assertEquals(57, mp3AudioHeader.getNumberOfFrames());
+        assertEquals(57 * 576 / 24000.0, mp3AudioHeader.getPreciseTrackLength(), 0.0001);
+
+        //Frame count estimated from the audio size
+        mp3AudioHeader = new MP3File(AbstractTestCase.copyAudioToTmp("test74.mp3")).getMP3AudioHeader();
+        assertEquals(MPEGFrameHeader.MODE_JOINT_STEREO, mp3AudioHeader.mp3FrameHeader.getChannelMode());
+        assertEquals(261, mp3AudioHeader.mp3FrameHeader.getFrameLength());
+        assertEquals(1834, mp3AudioHeader.getNumberOfFrames());
+        assertEquals(1834 * 576 / 22050.0, mp3AudioHeader.getPreciseTrackLength(), 0.0001);
+    }
+
 
     /**
      * Test trying to parse an mp3 file which is not a valid MP3 fails gracefully with expected exception
@@ -0,0 +1,146 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.generic.ByteBufferChannel;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Reading every frame header to get the exact duration
+ */
+public class MP3FrameIndexTest extends TestCase
+{
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testPreciseDurationMatchesXingHeader() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1vbrNew0.mp3");
+        TagOptionSingleton.getInstance().setMp3PreciseDuration(true);
+        TagOptionSingleton.getInstance().setMp3FrameIndex(true);
+        MP3AudioHeader header = new MP3File(testFile).getMP3AudioHeader();
+
+        MP3FrameIndex index = header.getFrameIndex();
+        assertEquals(541, index.getFrameCount());
+        assertEquals(541, header.getNumberOfFrames());
+        assertEquals(541 * 1152, index.getSampleCount());
+        assertEquals(541 * 1152 / 44100.0, header.getPreciseTrackLength(), 0.0001);
+
+        //Xing frame is not an audio frame
+        long[] offsets = index.getFrameOffsets();
+        assertEquals(541, offsets.length);
+        assertEquals(header.getMp3StartByte() + header.mp3FrameHeader.getFrameLength(), offsets[0]);
+        assertEquals(offsets[100], index.getOffsetForTime(100 * 1152 / 44100.0 + 0.001));
+        assertEquals(offsets[540], index.getOffsetForTime(1000));
+    }
+
+    public void testIndexNotReadByDefault() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1vbrNew0.mp3");
+        assertEquals(null, new MP3File(testFile).getMP3AudioHeader().getFrameIndex());
+
+        TagOptionSingleton.getInstance().setMp3PreciseDuration(true);
+        MP3FrameIndex index = new MP3File(testFile).getMP3AudioHeader().getFrameIndex();
+        assertEquals(541, index.getFrameCount());
+        assertEquals(null, index.getFrameOffsets());
+    }
+
+    public void testTrailingJunkIsNotCounted() throws Exception
+    {
+        byte[] audio = Files.readAllBytes(new File("testdata", "testV1Cbr128.mp3").toPath());
+        File testFile = new File("testdatatmp", "testTrailingJunk.mp3");
+        try (FileOutputStream fos = new FileOutputStream(testFile))
+        {
+            fos.write(audio);
+            fos.write(junk(100000));
+        }
+
+        TagOptionSingleton.getInstance().setMp3PreciseDuration(true);
+        MP3FrameIndex withJunk = new MP3File(testFile).getMP3AudioHeader().getFrameIndex();
+        MP3FrameIndex withoutJunk = new MP3File(AbstractTestCase.copyAudioToTmp("testV1Cbr128.mp3")).getMP3AudioHeader().getFrameIndex();
+        assertEquals(withoutJunk.getFrameCount(), withJunk.getFrameCount());
+        assertEquals(withoutJunk.getPreciseTrackLength(), withJunk.getPreciseTrackLength(), 0.0);
+    }
+
+    public void testRangesAreStitchedAtFrameBoundaries() throws Exception
+    {
+        byte[] audio = Files.readAllBytes(new File("testdata", "testV1Cbr128.mp3").toPath());
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        for (int i = 0; i < 10; i++)
+        {
+            baos.write(audio);
+            if (i % 3 == 0)
+            {
+                baos.write(junk(1000 + i * 777));
+            }
+        }
+        ByteBuffer data = ByteBuffer.wrap(baos.toByteArray());
+
+        MP3AudioHeader header = new MP3AudioHeader(new ByteBufferChannel(data), data, 0, "stitch");
+        MP3FrameIndex single = MP3FrameIndex.read(new ByteBufferChannel(data), 0, data.limit(), header.mp3FrameHeader, false, true, 1);
+        long[] expected = single.getFrameOffsets();
+        assertEquals(10 * MP3FrameIndex.read(new ByteBufferChannel(ByteBuffer.wrap(audio)), 0, audio.length, header.mp3FrameHeader, false, false, 1).getFrameCount(), single.getFrameCount());
+
+        for (int noOfRanges : new int[]{2, 3, 7, 16, 100})
+        {
+            MP3FrameIndex index = MP3FrameIndex.read(new ByteBufferChannel(data), 0, data.limit(), header.mp3FrameHeader, false, true, noOfRanges);
+            assertTrue("ranges:" + noOfRanges, Arrays.equals(expected, index.getFrameOffsets()));
+        }
+
+        MP3FrameIndex restored = new MP3FrameIndex(expected, single.getSamplesPerFrame(), single.getSamplingRate());
+        assertEquals(single.getFrameCount(), restored.getFrameCount());
+        assertEquals(single.getPreciseTrackLength(), restored.getPreciseTrackLength(), 0.0);
+
+        //Neither the restored index nor the caller can change the offsets held by an index
+        long offset = expected[5];
+        expected[5] = -1;
+        assertEquals(offset, restored.getFrameOffsets()[5]);
+        restored.getFrameOffsets()[5] = -1;
+        assertEquals(offset, restored.getFrameOffsets()[5]);
+        assertTrue(restored.hasFrameOffsets());
+    }
+
+    public void testScanStopsAtAudioEnd() throws Exception
+    {
+        byte[] audio = Files.readAllBytes(new File("testdata", "testV1Cbr128.mp3").toPath());
+        ByteBuffer data = ByteBuffer.allocate(audio.length * 2);
+        data.put(audio).put(audio).flip();
+
+        MP3AudioHeader header = new MP3AudioHeader(new ByteBufferChannel(data), data, 0, "audioEnd");
+        MP3FrameIndex expected = MP3FrameIndex.read(new ByteBufferChannel(ByteBuffer.wrap(audio)), 0, audio.length, header.mp3FrameHeader, false, true, 1);
+        for (int noOfRanges : new int[]{1, 3})
+        {
+            //Frames after the audio end are not part of the audio, as if they were in a tag appended to the file
+            MP3FrameIndex index = MP3FrameIndex.read(new ByteBufferChannel(data), 0, audio.length, header.mp3FrameHeader, false, true, noOfRanges);
+            assertTrue("ranges:" + noOfRanges, Arrays.equals(expected.getFrameOffsets(), index.getFrameOffsets()));
+        }
+    }
+
+    /**
+     * Random data that never contains a frame sync
+     */
+    private static byte[] junk(int size)
+    {
+        byte[] junk = new byte[size];
+        new Random(size).nextBytes(junk);
+        for (int i = 0; i < size; i++)
+        {
+            if (junk[i] == (byte) 0xFF)
+            {
+                junk[i] = 0;
+            }
+        }
+        return junk;
+    }
+}
@@ -0,0 +1,136 @@
+package org.jaudiotagger.audio.mp3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares searching for the first frame a byte at a time, as seek used to, with {@link MPEGSyncScanner}, and
+ * times finding the audio header of test files that have junk in front of the audio.
+ *
+ * Run from the project directory with the test classes and their dependencies on the classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MP3SyncScanBenchmark
+{
+    @Param({"testV1.mp3", "testV1vbrNew0.mp3", "testV2L3Stereo.mp3", "testV25.mp3"})
+    public String fileName;
+
+    /**
+     * Megabytes of junk in front of the audio
+     */
+    @Param({"8"})
+    public int junkSize;
+
+    private ByteBuffer bb;
+    private File junkFile;
+
+    public static void main(String[] args) throws Exception
+    {
+        new Runner(new OptionsBuilder().include(MP3SyncScanBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        byte[] junk = createJunk(junkSize * 1024 * 1024);
+        byte[] audio = Files.readAllBytes(new File("testdata", fileName).toPath());
+        byte[] data = new byte[junk.length + audio.length];
+        System.arraycopy(junk, 0, data, 0, junk.length);
+        System.arraycopy(audio, 0, data, junk.length, audio.length);
+        bb = ByteBuffer.allocateDirect(data.length);
+        bb.put(data);
+        bb.flip();
+
+        File tmpDir = new File("testdatatmp");
+        tmpDir.mkdirs();
+        junkFile = new File(tmpDir, "junk" + fileName);
+        try (FileOutputStream fos = new FileOutputStream(junkFile))
+        {
+            fos.write(data);
+        }
+
+        if (scanWords() != scanByteAtATime())
+        {
+            throw new IllegalStateException("Scanners disagree for " + fileName);
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        junkFile.delete();
+    }
+
+    /**
+     * The search done by seek before it used {@link MPEGSyncScanner}
+     */
+    @Benchmark
+    public int scanByteAtATime()
+    {
+        bb.position(0);
+        while (bb.remaining() > MPEGFrameHeader.HEADER_SIZE)
+        {
+            if (MPEGFrameHeader.isMPEGFrame(bb))
+            {
+                return bb.position();
+            }
+            bb.position(bb.position() + 1);
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int scanWords()
+    {
+        return MPEGSyncScanner.findSync(bb, 0, bb.limit() - MPEGFrameHeader.HEADER_SIZE);
+    }
+
+    @Benchmark
+    public MP3AudioHeader seek() throws Exception
+    {
+        return new MP3AudioHeader(junkFile, 0);
+    }
+
+    /**
+     * Random data that has been unsynchronised, so that it contains 0xFF but never a frame sync, as found in an
+     * ID3 picture frame
+     */
+    private static byte[] createJunk(int size)
+    {
+        byte[] junk = new byte[size];
+        new Random(1).nextBytes(junk);
+        for (int i = 0; i < size - 1; i++)
+        {
+            if (junk[i] == (byte) 0xFF && (junk[i + 1] & 0xE0) == 0xE0)
+            {
+                junk[i + 1] = 0;
+            }
+        }
+        junk[size - 1] = 0;
+        return junk;
+    }
+}
@@ -0,0 +1,120 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Frame headers are checked without exceptions and can be parsed by many threads at once
+ */
+public class MPEGFrameHeaderTest extends TestCase
+{
+    //MPEG-1 Layer III, 128kbps, 44100Hz, joint stereo
+    private static final byte[] V1_L3_128 = {(byte) 0xFF, (byte) 0xFB, (byte) 0x90, 0x44};
+
+    //MPEG-2 Layer III, 64kbps, 22050Hz, mono, padded
+    private static final byte[] V2_L3_64 = {(byte) 0xFF, (byte) 0xF3, (byte) 0x82, (byte) 0xC4};
+
+    public void testParseHeader() throws Exception
+    {
+        MPEGFrameHeader header = MPEGFrameHeader.parseMPEGHeader(ByteBuffer.wrap(V1_L3_128));
+        assertEquals(MPEGFrameHeader.VERSION_1, header.getVersion());
+        assertEquals(MPEGFrameHeader.LAYER_III, header.getLayer());
+        assertEquals(128, header.getBitRate().intValue());
+        assertEquals(44100, header.getSamplingRate().intValue());
+        assertEquals(MPEGFrameHeader.MODE_JOINT_STEREO, header.getChannelMode());
+        assertEquals("off-off", header.getModeExtension());
+        assertEquals(417, header.getFrameLength());
+        assertEquals(1152, header.getNoOfSamples());
+        assertEquals("MPEG-1", header.getVersionAsString());
+        assertEquals("Layer 3", header.getLayerAsString());
+
+        header = MPEGFrameHeader.tryParseMPEGHeader(ByteBuffer.wrap(V2_L3_64));
+        assertEquals(MPEGFrameHeader.VERSION_2, header.getVersion());
+        assertEquals(64, header.getBitRate().intValue());
+        assertEquals(22050, header.getSamplingRate().intValue());
+        assertEquals(1, header.getNumberOfChannels());
+        assertTrue(header.isPadding());
+        assertEquals(209, header.getFrameLength());
+    }
+
+    public void testCheckHeader()
+    {
+        assertEquals(MPEGFrameHeader.HEADER_VALID, MPEGFrameHeader.checkHeader(0xFFFB9044));
+        assertEquals(MPEGFrameHeader.HEADER_INVALID_SYNC, MPEGFrameHeader.checkHeader(0xFF1B9044));
+        assertEquals(MPEGFrameHeader.HEADER_INVALID_BITRATE, MPEGFrameHeader.checkHeader(0xFFFBF044));
+        assertEquals(MPEGFrameHeader.HEADER_INVALID_BITRATE, MPEGFrameHeader.checkHeader(0xFFFB0044));
+        assertEquals(MPEGFrameHeader.HEADER_INVALID_VERSION, MPEGFrameHeader.checkHeader(0xFFEB9044));
+        assertEquals(MPEGFrameHeader.HEADER_INVALID_BITRATE, MPEGFrameHeader.checkHeader(0xFFF99044));
+        assertEquals(MPEGFrameHeader.HEADER_INVALID_SAMPLING_RATE, MPEGFrameHeader.checkHeader(0xFFFB9C44));
+        assertEquals(0xFFFB9044, MPEGFrameHeader.readHeader(ByteBuffer.wrap(V1_L3_128)));
+    }
+
+    public void testInvalidHeader()
+    {
+        ByteBuffer bb = ByteBuffer.wrap(new byte[]{(byte) 0xFF, (byte) 0xFB, (byte) 0xFC, 0x44});
+        assertEquals(null, MPEGFrameHeader.tryParseMPEGHeader(bb));
+        try
+        {
+            MPEGFrameHeader.parseMPEGHeader(bb);
+            fail("Expected InvalidAudioFrameException");
+        }
+        catch (InvalidAudioFrameException ex)
+        {
+            assertEquals("Invalid bitrate", ex.getMessage());
+        }
+        assertEquals(0, bb.position());
+    }
+
+    public void testHeaderKeepsItsOwnBytes() throws Exception
+    {
+        MPEGFrameHeader first = MPEGFrameHeader.parseMPEGHeader(ByteBuffer.wrap(V1_L3_128));
+        String expected = first.toString();
+        MPEGFrameHeader.parseMPEGHeader(ByteBuffer.wrap(V2_L3_64));
+        assertEquals(expected, first.toString());
+    }
+
+    public void testConcurrentParsing() throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 4; i++)
+            {
+                final byte[] bytes = i % 2 == 0 ? V1_L3_128 : V2_L3_64;
+                final String expected = MPEGFrameHeader.parseMPEGHeader(ByteBuffer.wrap(bytes)).toString();
+                results.add(executor.submit(new Callable<String>()
+                {
+                    public String call() throws Exception
+                    {
+                        for (int j = 0; j < 10000; j++)
+                        {
+                            String next = MPEGFrameHeader.parseMPEGHeader(ByteBuffer.wrap(bytes)).toString();
+                            if (!expected.equals(next))
+                            {
+                                return next;
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<String> result : results)
+            {
+                assertEquals(null, result.get());
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+/**
+ * Searching for the first frame a word at a time
+ */
+public class MPEGSyncScannerTest extends TestCase
+{
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testFindsSameCandidatesAsIsMPEGFrame()
+    {
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) (i * 7);
+        }
+        //0xFF followed by bytes that are not a sync, then a sync
+        data[100] = (byte) 0xFF;
+        data[101] = 0x10;
+        data[300] = (byte) 0xFF;
+        data[301] = (byte) 0xFB;
+        data[302] = (byte) 0xFC;
+        data[603] = (byte) 0xFF;
+        data[604] = (byte) 0xFB;
+        data[605] = (byte) 0x90;
+
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN})
+        {
+            ByteBuffer bb = ByteBuffer.wrap(data).order(order);
+            for (int from = 0; from < 610; from++)
+            {
+                assertEquals(from + ":" + order, byteAtATime(bb, from, 997), MPEGSyncScanner.findSync(bb, from, 997));
+            }
+            assertEquals(-1, MPEGSyncScanner.findSync(bb, 0, 603));
+            assertEquals(0, bb.position());
+        }
+    }
+
+    public void testScanLimit() throws Exception
+    {
+        File testFile = new File("testdatatmp", "testScanLimit.mp3");
+        byte[] audio = Files.readAllBytes(new File("testdata", "testV1.mp3").toPath());
+        try (FileOutputStream fos = new FileOutputStream(testFile))
+        {
+            fos.write(new byte[200000]);
+            fos.write(audio);
+        }
+
+        MP3AudioHeader header = new MP3AudioHeader();
+        assertTrue(header.seek(testFile, 0));
+        assertEquals(new MP3AudioHeader(AbstractTestCase.copyAudioToTmp("testV1.mp3"), 0).getMp3StartByte() + 200000, header.getMp3StartByte());
+
+        TagOptionSingleton.getInstance().setMp3SyncScanLimit(100000);
+        assertFalse(new MP3AudioHeader().seek(testFile, 0));
+        TagOptionSingleton.getInstance().setMp3SyncScanLimit(300000);
+        assertTrue(new MP3AudioHeader().seek(testFile, 0));
+    }
+
+    private static int byteAtATime(ByteBuffer bb, int from, int to)
+    {
+        ByteBuffer dup = bb.duplicate();
+        for (int i = from; i < to; i++)
+        {
+            dup.position(i);
+            if (MPEGFrameHeader.isMPEGFrame(dup))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
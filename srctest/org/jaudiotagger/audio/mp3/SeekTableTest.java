@@ -0,0 +1,142 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.id3.ID3v23Tag;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+/**
+ * Finding the offset of a time in the audio from the Xing and VBRI tables of contents
+ */
+public class SeekTableTest extends TestCase
+{
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testSeekTableFromXingToc() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1vbrNew0.mp3");
+        MP3AudioHeader header = new MP3File(testFile).getMP3AudioHeader();
+        assertTrue(header.mp3XingFrame.isTocEnabled());
+        assertEquals(100, header.mp3XingFrame.getToc().length);
+
+        SeekTable seekTable = header.getSeekTable();
+        assertTrue(seekTable instanceof TocSeekTable);
+        assertEquals(header.getPreciseTrackLength(), seekTable.getPreciseTrackLength(), 0.0);
+        assertEquals(header.getMp3StartByte() + header.mp3FrameHeader.getFrameLength(), seekTable.getOffsetForTime(0));
+        assertEquals(header.getMp3StartByte() + header.mp3XingFrame.getAudioSize(), seekTable.getOffsetForTime(1000));
+
+        //Compare with the exact offsets from reading every frame
+        TagOptionSingleton.getInstance().setMp3PreciseDuration(true);
+        TagOptionSingleton.getInstance().setMp3FrameIndex(true);
+        MP3AudioHeader indexed = new MP3File(testFile).getMP3AudioHeader();
+        assertTrue(indexed.getSeekTable() instanceof MP3FrameIndex);
+        long previous = 0;
+        for (double time = 0; time < seekTable.getPreciseTrackLength(); time += 0.5)
+        {
+            long offset = seekTable.getOffsetForTime(time);
+            assertTrue(offset >= previous);
+            assertTrue("time:" + time, Math.abs(offset - indexed.getSeekTable().getOffsetForTime(time)) < 2000);
+            previous = offset;
+        }
+    }
+
+    public void testSeekTableFromVbriToc() throws Exception
+    {
+        ByteBuffer vbri = ByteBuffer.allocate(VbriFrame.MAX_BUFFER_SIZE_NEEDED_TO_READ_VBRI);
+        vbri.put(new byte[]{'V', 'B', 'R', 'I'});
+        vbri.putShort((short) 1);
+        vbri.putShort((short) 0);
+        vbri.putShort((short) 75);
+        vbri.putInt(10000);
+        vbri.putInt(40);
+        //Four entries of 10 frames, scale 2 and entries of 2 bytes
+        vbri.putShort((short) 4);
+        vbri.putShort((short) 2);
+        vbri.putShort((short) 2);
+        vbri.putShort((short) 10);
+        vbri.putShort((short) 1000);
+        vbri.putShort((short) 1500);
+        vbri.putShort((short) 1250);
+        vbri.putShort((short) 1250);
+        vbri.flip();
+
+        VbriFrame vbriFrame = VbriFrame.parseVBRIFrame(vbri);
+        assertEquals(40, vbriFrame.getFrameCount());
+        assertEquals(10000, vbriFrame.getAudioSize());
+        assertTrue(vbriFrame.isTocEnabled());
+        assertEquals(10, vbriFrame.getFramesPerTocEntry());
+        long[] entries = vbriFrame.getTocEntries();
+        assertEquals(4, entries.length);
+        assertEquals(2000, entries[0]);
+        assertEquals(3000, entries[1]);
+
+        //Not enough left for the table
+        vbri.rewind();
+        vbri.limit(22);
+        assertFalse(VbriFrame.parseVBRIFrame(vbri.slice()).isTocEnabled());
+    }
+
+    public void testTocSeekTableInterpolates()
+    {
+        TocSeekTable table = new TocSeekTable(new double[]{0, 1, 3}, new long[]{100, 200, 1200});
+        assertEquals(100, table.getOffsetForTime(-1));
+        assertEquals(150, table.getOffsetForTime(0.5));
+        assertEquals(200, table.getOffsetForTime(1));
+        assertEquals(700, table.getOffsetForTime(2));
+        assertEquals(1200, table.getOffsetForTime(5));
+        assertEquals(3.0, table.getPreciseTrackLength(), 0.0);
+    }
+
+    public void testCbrSeekTable() throws Exception
+    {
+        MP3AudioHeader header = new MP3File(AbstractTestCase.copyAudioToTmp("testV1L2stereo.mp3")).getMP3AudioHeader();
+        assertEquals(null, header.mp3XingFrame);
+        SeekTable seekTable = header.getSeekTable();
+        assertEquals(header.getMp3StartByte(), seekTable.getOffsetForTime(0));
+    }
+
+    public void testInsertXingFrameOnSave() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test23.mp3", new File("testInsertXing.mp3"));
+        TagOptionSingleton.getInstance().setMp3PreciseDuration(true);
+        MP3File original = new MP3File(testFile);
+        assertEquals(null, original.getMP3AudioHeader().mp3XingFrame);
+        long frameCount = original.getMP3AudioHeader().getNumberOfFrames();
+        double trackLength = original.getMP3AudioHeader().getPreciseTrackLength();
+
+        TagOptionSingleton.getInstance().setMp3WriteXingHeader(true);
+        if (original.getID3v2Tag() == null)
+        {
+            original.setID3v2Tag(new ID3v23Tag());
+        }
+        original.getID3v2Tag().setField(FieldKey.TITLE, "xing");
+        original.save();
+        assertNotNull(original.getMP3AudioHeader().mp3XingFrame);
+
+        //Read without the frame index, so the frame count comes from the Xing frame
+        TagOptionSingleton.getInstance().setToDefault();
+        MP3File saved = new MP3File(testFile);
+        MP3AudioHeader header = saved.getMP3AudioHeader();
+        XingFrame xingFrame = header.mp3XingFrame;
+        assertNotNull(xingFrame);
+        assertTrue(xingFrame.isTocEnabled());
+        assertEquals(frameCount, header.getNumberOfFrames());
+        assertEquals(trackLength, header.getPreciseTrackLength(), 0.0001);
+        assertEquals("xing", saved.getID3v2Tag().getFirst(FieldKey.TITLE));
+        assertEquals(header.getMp3StartByte() + header.mp3FrameHeader.getFrameLength(), header.getSeekTable().getOffsetForTime(0));
+
+        //Saving again does not add another
+        long length = testFile.length();
+        TagOptionSingleton.getInstance().setMp3WriteXingHeader(true);
+        saved.save();
+        assertEquals(length, testFile.length());
+    }
+}
@@ -0,0 +1,66 @@
+package org.jaudiotagger.audio.scan;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFileFilter;
+import org.jaudiotagger.audio.AudioFileIO;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Test scanning directories
+ */
+public class AudioFileScannerTest extends AbstractTestCase
+{
+    public void testScanTestData() throws Exception
+    {
+        File dir = new File("testdata");
+        File[] expected = dir.listFiles(new AudioFileFilter(false));
+
+        final Set<String> seen = Collections.synchronizedSet(new HashSet<String>());
+        final Set<String> invalid = Collections.synchronizedSet(new HashSet<String>());
+        ScanOptions options = new ScanOptions();
+        options.setThreads(4);
+        options.setMaxPendingFiles(4);
+        ScanStatistics stats = AudioFileIO.scan(dir.toPath(), options, new ScanListener()
+        {
+            public void onResult(ScanResult result)
+            {
+                String name = result.getPath().getFileName().toString();
+                if (!seen.add(name) || (result.isSuccess() ? result.getAudioFile() == null : result.getError() == null))
+                {
+                    invalid.add(name);
+                }
+            }
+        });
+
+        assertTrue(invalid.isEmpty());
+        assertEquals(expected.length, seen.size());
+        assertEquals(expected.length, stats.getFilesRead() + stats.getFilesFailed());
+        assertTrue(stats.getFilesRead() > 0);
+        long bytes = 0;
+        for (File f : expected)
+        {
+            bytes += f.length();
+        }
+        assertEquals(bytes, stats.getBytesScanned());
+    }
+
+    public void testScanSingleFile() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1.mp3");
+        final ScanResult[] results = new ScanResult[1];
+        ScanStatistics stats = new AudioFileScanner().scan(testFile.toPath(), new ScanListener()
+        {
+            public void onResult(ScanResult result)
+            {
+                results[0] = result;
+            }
+        });
+        assertEquals(1, stats.getFilesRead());
+        assertTrue(results[0].isSuccess());
+        assertEquals(testFile.length(), results[0].getSize());
+    }
+}
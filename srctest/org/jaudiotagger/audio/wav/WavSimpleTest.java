@@ -13,6 +13,7 @@ import org.jaudiotagger.tag.wav.WavTag;
 import java.io.File;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.file.Files;
 
 /**
  * User: paul
@@ -252,5 +253,30 @@ public class WavSimpleTest extends AbstractTestCase
         assertNull(exceptionCaught);
     }
 
+    /**
+     * An id3 chunk that cannot be read before the fmt and data chunks does not stop the audio header being read
+     */
+    public void testReadFileWithUnreadableId3ChunkBeforeFormat() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.wav", new File("testUnreadableId3Chunk.wav"));
+        byte[] orig = Files.readAllBytes(testFile.toPath());
+
+        //id3 chunk that does not start with an ID3 header, inserted straight after the RIFF header
+        ByteBuffer badChunk = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        badChunk.put("id3 ".getBytes("ISO-8859-1"));
+        badChunk.putInt(8);
+        badChunk.put("notid3xx".getBytes("ISO-8859-1"));
 
+        ByteBuffer modified = ByteBuffer.allocate(orig.length + badChunk.capacity()).order(ByteOrder.LITTLE_ENDIAN);
+        modified.put(orig, 0, 12);
+        modified.put(badChunk.array());
+        modified.put(orig, 12, orig.length - 12);
+        modified.putInt(4, modified.getInt(4) + badChunk.capacity());
+        Files.write(testFile.toPath(), modified.array());
+
+        AudioFile f = AudioFileIO.read(testFile);
+        assertEquals("22050", f.getAudioHeader().getSampleRate());
+        assertEquals(14, f.getAudioHeader().getTrackLength());
+        assertTrue(f.getTag() instanceof WavTag);
+    }
 }
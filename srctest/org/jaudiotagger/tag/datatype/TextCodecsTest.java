@@ -0,0 +1,76 @@
+package org.jaudiotagger.tag.datatype;
+
+import junit.framework.TestCase;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encoding and decoding with the codecs kept for each thread
+ */
+public class TextCodecsTest extends TestCase
+{
+    private static final Charset[] CHARSETS = {StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16, StandardCharsets.UTF_16LE, StandardCharsets.UTF_16BE, StandardCharsets.UTF_8};
+    private static final String[] VALUES = {"", "ascii", "café", "€ uro", "𝄞 clef", "unpaired \ud834", "nul\0value"};
+
+    public void testEncodeMatchesEncoder() throws Exception
+    {
+        for (Charset charset : CHARSETS)
+        {
+            for (String value : VALUES)
+            {
+                CharsetEncoder encoder = charset.newEncoder();
+                encoder.onMalformedInput(CodingErrorAction.IGNORE);
+                encoder.onUnmappableCharacter(CodingErrorAction.IGNORE);
+                ByteBuffer bb = encoder.encode(CharBuffer.wrap(value));
+                byte[] expected = Arrays.copyOf(bb.array(), bb.limit());
+
+                assertTrue(charset + ":" + value, Arrays.equals(expected, TextCodecs.encode(charset, value)));
+            }
+        }
+    }
+
+    public void testDecodeMatchesString() throws Exception
+    {
+        for (Charset charset : CHARSETS)
+        {
+            for (String value : VALUES)
+            {
+                if (!charset.newEncoder().canEncode(value))
+                {
+                    continue;
+                }
+                byte[] data = value.getBytes(charset);
+                byte[] padded = new byte[data.length + 4];
+                System.arraycopy(data, 0, padded, 2, data.length);
+
+                String text;
+                if (TextCodecs.isSingleByteText(charset, padded, 2, data.length))
+                {
+                    text = new String(padded, 2, data.length, StandardCharsets.ISO_8859_1);
+                }
+                else
+                {
+                    text = TextCodecs.decode(TextCodecs.getDecoder(charset), ByteBuffer.wrap(padded, 2, data.length));
+                }
+                assertEquals(charset + ":" + value, value, text);
+            }
+        }
+    }
+
+    public void testLargeTextNotCached() throws Exception
+    {
+        char[] chars = new char[100000];
+        Arrays.fill(chars, 'é');
+        String value = new String(chars);
+        byte[] data = TextCodecs.encode(StandardCharsets.UTF_8, value);
+        assertEquals(200000, data.length);
+        assertEquals(value, TextCodecs.decode(TextCodecs.getDecoder(StandardCharsets.UTF_8), ByteBuffer.wrap(data)));
+        assertSame(TextCodecs.getDecoder(StandardCharsets.UTF_8), TextCodecs.getDecoder(StandardCharsets.UTF_8));
+    }
+}
@@ -2,17 +2,35 @@ package org.jaudiotagger.tag.id3;
 
 import org.jaudiotagger.AbstractTestCase;
 import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.id3.framebody.FrameBodyAPIC;
 import org.jaudiotagger.tag.id3.framebody.FrameBodyCOMM;
 import org.jaudiotagger.tag.id3.framebody.FrameBodyTIT2;
 
 import java.io.File;
+import java.util.Arrays;
 
 /**
- * Testing of reading compressed frames
+ * Testing of reading and writing compressed frames
  */
 public class CompressedTest extends AbstractTestCase
 {
+    private static final String LYRICS;
+
+    static
+    {
+        char[] chorus = new char[4000];
+        Arrays.fill(chorus, 'a');
+        LYRICS = "Verse one\n" + new String(chorus) + "\nVerse two";
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
     /**
      * This tests reading a v23tag that contains a compressed COMM frame
      *
@@ -86,4 +104,64 @@ public class CompressedTest extends AbstractTestCase
         assertEquals(27,v24tag.getFieldCount());
     }
 
+    /**
+     * Large frames are compressed when written if enabled, and read back
+     *
+     * @throws Exception
+     */
+    public void testv23TagWriteCompressedFrame() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1.mp3", new File("testCompressedV23.mp3"));
+        MP3File mp3File = new MP3File(testFile);
+        ID3v23Tag v23tag = new ID3v23Tag();
+        v23tag.setField(FieldKey.TITLE, "title");
+        v23tag.setField(FieldKey.LYRICS, LYRICS);
+        mp3File.setID3v2Tag(v23tag);
+        mp3File.save();
+        int uncompressedSize = v23tag.writeFramesToBuffer().size();
+
+        TagOptionSingleton.getInstance().setId3v2CompressionThreshold(1000);
+        mp3File = new MP3File(testFile);
+        mp3File.getID3v2Tag().setField(FieldKey.LYRICS, LYRICS);
+        mp3File.save();
+
+        mp3File = new MP3File(testFile);
+        v23tag = (ID3v23Tag) mp3File.getID3v2Tag();
+        ID3v23Frame frame = (ID3v23Frame) v23tag.getFrame(ID3v23Frames.FRAME_ID_V3_UNSYNC_LYRICS);
+        assertTrue(((ID3v23Frame.EncodingFlags) frame.getEncodingFlags()).isCompression());
+        assertEquals(LYRICS, v23tag.getFirst(FieldKey.LYRICS));
+        assertEquals("title", v23tag.getFirst(FieldKey.TITLE));
+        assertTrue(v23tag.writeFramesToBuffer().size() < uncompressedSize / 10);
+
+        //Small frames are not compressed
+        frame = (ID3v23Frame) v23tag.getFrame(ID3v23Frames.FRAME_ID_V3_TITLE);
+        assertFalse(((ID3v23Frame.EncodingFlags) frame.getEncodingFlags()).isCompression());
+    }
+
+    /**
+     * Large frames are compressed when written if enabled, and read back from a mapped buffer
+     *
+     * @throws Exception
+     */
+    public void testv24TagWriteCompressedFrame() throws Exception
+    {
+        TagOptionSingleton.getInstance().setId3v2CompressionThreshold(1000);
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1.mp3", new File("testCompressedV24.mp3"));
+        MP3File mp3File = new MP3File(testFile);
+        ID3v24Tag v24tag = new ID3v24Tag();
+        v24tag.setField(FieldKey.TITLE, "title");
+        v24tag.setField(FieldKey.LYRICS, LYRICS);
+        mp3File.setID3v2Tag(v24tag);
+        mp3File.save();
+
+        TagOptionSingleton.getInstance().setMemoryMappedReads(true);
+        mp3File = new MP3File(testFile);
+        v24tag = (ID3v24Tag) mp3File.getID3v2Tag();
+        ID3v24Frame frame = (ID3v24Frame) v24tag.getFrame(ID3v24Frames.FRAME_ID_UNSYNC_LYRICS);
+        assertTrue(((ID3v24Frame.EncodingFlags) frame.getEncodingFlags()).isCompression());
+        assertTrue(((ID3v24Frame.EncodingFlags) frame.getEncodingFlags()).isDataLengthIndicator());
+        assertEquals(LYRICS, v24tag.getFirst(FieldKey.LYRICS));
+        assertEquals("title", v24tag.getFirst(FieldKey.TITLE));
+        assertTrue(v24tag.writeFramesToBuffer().size() < LYRICS.length() / 10);
+    }
 }
@@ -0,0 +1,157 @@
+package org.jaudiotagger.tag.id3;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.datatype.DataTypes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Testing that encrypted and grouped frames keep the same size when they are read and written again
+ */
+public class EncryptedAndGroupedFrameTest extends AbstractTestCase
+{
+    /**
+     * Write the frames only, so there is no padding after the last frame
+     */
+    private static ByteBuffer writeWithoutPadding(AbstractID3v2Tag tag) throws Exception
+    {
+        ByteArrayOutputStream frames = tag.writeFramesToBuffer();
+        ByteBuffer buffer = ByteBuffer.allocate(AbstractID3v2Tag.TAG_HEADER_LENGTH + frames.size());
+        buffer.put(AbstractID3v2Tag.TAG_ID);
+        buffer.put(tag.getMajorVersion());
+        buffer.put(tag.getRevision());
+        buffer.put((byte) 0);
+        buffer.put(ID3SyncSafeInteger.valueToBuffer(frames.size()));
+        buffer.put(frames.toByteArray());
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * The encrypted TENC frame in test48 keeps its size over several saves
+     *
+     * @throws Exception
+     */
+    public void testv23EncryptedFrameSizeStableOnSave() throws Exception
+    {
+        File orig = new File("testdata", "test48.mp3");
+        if (!orig.isFile())
+        {
+            System.err.println("Unable to test file - not available");
+            return;
+        }
+
+        File testFile = AbstractTestCase.copyAudioToTmp("test48.mp3", new File("testEncryptedFrameSave.mp3"));
+        MP3File mp3File = new MP3File(testFile);
+        ID3v23Frame frame = (ID3v23Frame) ((ID3v23Tag) mp3File.getID3v2Tag()).getEncryptedFrame(ID3v23Frames.FRAME_ID_V3_ENCODEDBY);
+        byte[] data = (byte[]) frame.getBody().getObjectValue(DataTypes.OBJ_DATA);
+
+        for (int i = 0; i < 4; i++)
+        {
+            mp3File.getID3v2Tag().setField(FieldKey.ALBUM, "album" + i);
+            mp3File.save();
+            mp3File = new MP3File(testFile);
+            frame = (ID3v23Frame) ((ID3v23Tag) mp3File.getID3v2Tag()).getEncryptedFrame(ID3v23Frames.FRAME_ID_V3_ENCODEDBY);
+            assertNotNull(frame);
+            assertEquals(0x22, frame.getEncryptionMethod());
+            assertTrue(Arrays.equals(data, (byte[]) frame.getBody().getObjectValue(DataTypes.OBJ_DATA)));
+        }
+        assertEquals("album3", mp3File.getID3v2Tag().getFirst(FieldKey.ALBUM));
+    }
+
+    /**
+     * An encrypted frame at the end of a tag with no padding can be read back
+     *
+     * @throws Exception
+     */
+    public void testv23EncryptedFrameWithoutPadding() throws Exception
+    {
+        File orig = new File("testdata", "test48.mp3");
+        if (!orig.isFile())
+        {
+            System.err.println("Unable to test file - not available");
+            return;
+        }
+
+        File testFile = AbstractTestCase.copyAudioToTmp("test48.mp3", new File("testEncryptedFrameNoPadding.mp3"));
+        ID3v23Tag tag = (ID3v23Tag) new MP3File(testFile).getID3v2Tag();
+        ByteBuffer written = writeWithoutPadding(tag);
+
+        ID3v23Tag reread = new ID3v23Tag(written, "");
+        assertNotNull(reread.getEncryptedFrame(ID3v23Frames.FRAME_ID_V3_ENCODEDBY));
+        assertEquals(tag.getFirst(FieldKey.TITLE), reread.getFirst(FieldKey.TITLE));
+        assertEquals(written.limit(), writeWithoutPadding(reread).limit());
+    }
+
+    /**
+     * A grouped frame is read back with its group identifier and text
+     *
+     * @throws Exception
+     */
+    public void testv23GroupedFrameRoundTrip() throws Exception
+    {
+        ID3v23Tag tag = new ID3v23Tag();
+        tag.setField(FieldKey.TITLE, "title");
+        tag.setField(FieldKey.ARTIST, "artist");
+        ID3v23Frame frame = (ID3v23Frame) tag.getFrame(ID3v23Frames.FRAME_ID_V3_TITLE);
+        ((ID3v23Frame.EncodingFlags) frame.getEncodingFlags()).setGrouping();
+        ByteBuffer written = writeWithoutPadding(tag);
+
+        ID3v23Tag reread = new ID3v23Tag(written, "");
+        frame = (ID3v23Frame) reread.getFrame(ID3v23Frames.FRAME_ID_V3_TITLE);
+        assertTrue(((ID3v23Frame.EncodingFlags) frame.getEncodingFlags()).isGrouping());
+        assertEquals("title", reread.getFirst(FieldKey.TITLE));
+        assertEquals("artist", reread.getFirst(FieldKey.ARTIST));
+        assertEquals(written.limit(), writeWithoutPadding(reread).limit());
+    }
+
+    /**
+     * A grouped frame is read back with its group identifier and text
+     *
+     * @throws Exception
+     */
+    public void testv24GroupedFrameRoundTrip() throws Exception
+    {
+        ID3v24Tag tag = new ID3v24Tag();
+        tag.setField(FieldKey.TITLE, "title");
+        tag.setField(FieldKey.ARTIST, "artist");
+        ID3v24Frame frame = (ID3v24Frame) tag.getFrame(ID3v24Frames.FRAME_ID_TITLE);
+        ((ID3v24Frame.EncodingFlags) frame.getEncodingFlags()).setGrouping();
+        ByteBuffer written = writeWithoutPadding(tag);
+
+        ID3v24Tag reread = new ID3v24Tag(written, "");
+        frame = (ID3v24Frame) reread.getFrame(ID3v24Frames.FRAME_ID_TITLE);
+        assertTrue(((ID3v24Frame.EncodingFlags) frame.getEncodingFlags()).isGrouping());
+        assertEquals("title", reread.getFirst(FieldKey.TITLE));
+        assertEquals("artist", reread.getFirst(FieldKey.ARTIST));
+        assertEquals(written.limit(), writeWithoutPadding(reread).limit());
+    }
+
+    /**
+     * An encrypted v24 frame is read back with its encryption method and data
+     *
+     * @throws Exception
+     */
+    public void testv24EncryptedFrameRoundTrip() throws Exception
+    {
+        ID3v24Tag tag = new ID3v24Tag();
+        tag.setField(FieldKey.TITLE, "title");
+        tag.setField(FieldKey.ARTIST, "artist");
+        ID3v24Frame frame = (ID3v24Frame) tag.getFrame(ID3v24Frames.FRAME_ID_ARTIST);
+        ((ID3v24Frame.EncodingFlags) frame.getEncodingFlags()).setEncryption();
+        ((ID3v24Frame.EncodingFlags) frame.getEncodingFlags()).setGrouping();
+        ByteBuffer written = writeWithoutPadding(tag);
+
+        ID3v24Tag reread = new ID3v24Tag(written, "");
+        frame = (ID3v24Frame) reread.getEncryptedFrame(ID3v24Frames.FRAME_ID_ARTIST);
+        assertNotNull(frame);
+        assertTrue(((ID3v24Frame.EncodingFlags) frame.getEncodingFlags()).isGrouping());
+        assertEquals("title", reread.getFirst(FieldKey.TITLE));
+        assertEquals(written.limit(), writeWithoutPadding(reread).limit());
+    }
+}
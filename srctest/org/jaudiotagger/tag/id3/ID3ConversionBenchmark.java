@@ -0,0 +1,128 @@
+package org.jaudiotagger.tag.id3;
+
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
+import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.TagException;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Times reading the v2.2 and v2.3 tags of the mp3 files in testdata and normalising them to v2.4, with frame bodies
+ * decoded and copied by the conversion, and read lazily so that bodies that are the same in both versions are
+ * shared rather than converted.
+ *
+ * Run from the project directory with the test classes and their dependencies on the classpath. Files that cannot
+ * be read are listed and skipped, any other failure stops the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ID3ConversionBenchmark
+{
+    private final List<byte[]> tags = new ArrayList<byte[]>();
+    private final List<Boolean> v22 = new ArrayList<Boolean>();
+
+    public static void main(String[] args) throws Exception
+    {
+        new Runner(new OptionsBuilder().include(ID3ConversionBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        Logger.getLogger("org.jaudiotagger").setLevel(Level.OFF);
+
+        long bytes = 0;
+        int skipped = 0;
+        File[] files = new File("testdata").listFiles();
+        for (File file : files)
+        {
+            if (!file.getName().toLowerCase().endsWith(".mp3"))
+            {
+                continue;
+            }
+            try
+            {
+                AbstractID3v2Tag tag = new MP3File(file).getID3v2Tag();
+                if (tag == null || tag instanceof ID3v24Tag)
+                {
+                    continue;
+                }
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                tag.write(baos);
+                read(baos.toByteArray(), tag instanceof ID3v22Tag);
+                tags.add(baos.toByteArray());
+                v22.add(tag instanceof ID3v22Tag);
+                bytes += baos.size();
+            }
+            //Not all test files are valid, or can be read again once written
+            catch (IOException | TagException | CannotReadException | ReadOnlyFileException | InvalidAudioFrameException e)
+            {
+                System.err.println("Skipped " + file.getName() + ":" + e.getMessage());
+                skipped++;
+            }
+        }
+        System.out.println("tags " + tags.size() + " v2.2/v2.3 tags, " + bytes + " bytes, " + skipped + " files skipped");
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    @Benchmark
+    public void convertEagerly(Blackhole blackhole) throws Exception
+    {
+        convert(blackhole, false);
+    }
+
+    @Benchmark
+    public void convertShared(Blackhole blackhole) throws Exception
+    {
+        convert(blackhole, true);
+    }
+
+    private void convert(Blackhole blackhole, boolean lazy) throws Exception
+    {
+        TagOptionSingleton.getInstance().setId3v2LazyFrameBodies(lazy);
+        for (int i = 0; i < tags.size(); i++)
+        {
+            blackhole.consume(new ID3v24Tag(read(tags.get(i), v22.get(i))));
+        }
+    }
+
+    private static AbstractID3v2Tag read(byte[] data, boolean v22) throws Exception
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        return v22 ? new ID3v22Tag(buffer, "") : new ID3v23Tag(buffer, "");
+    }
+}
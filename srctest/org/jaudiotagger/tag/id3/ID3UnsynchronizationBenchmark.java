@@ -0,0 +1,161 @@
+package org.jaudiotagger.tag.id3;
+
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyAPIC;
+import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares unsynchronising and synchronising as {@link ID3Unsynchronization} used to, through streams and
+ * intermediate arrays, with the current single pass loops, and times reading the tag. Uses an unsynchronised v2.3 tag
+ * holding the artwork from testdata.
+ *
+ * Run from the project directory with the test classes and their dependencies on the classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ID3UnsynchronizationBenchmark
+{
+    private static final String[] IMAGES = {"coverart_large.jpg", "coverart.jpg", "coverart.png"};
+
+    /**
+     * Number of copies of each image to embed
+     */
+    @Param({"4"})
+    public int copies;
+
+    private byte[] tagBytes;
+    private byte[] frames;
+    private ByteBuffer unsynced;
+
+    public static void main(String[] args) throws Exception
+    {
+        new Runner(new OptionsBuilder().include(ID3UnsynchronizationBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        ID3v23Tag tag = new ID3v23Tag();
+        for (int i = 0; i < copies; i++)
+        {
+            for (String name : IMAGES)
+            {
+                byte[] image = Files.readAllBytes(new File("testdata", name).toPath());
+                ID3v23Frame frame = new ID3v23Frame(ID3v23Frames.FRAME_ID_V3_ATTACHED_PICTURE);
+                frame.setBody(new FrameBodyAPIC(TextEncoding.ISO_8859_1, name.endsWith("png") ? "image/png" : "image/jpeg", (byte) 3, name + i, image));
+                tag.addFrame(frame);
+            }
+        }
+        TagOptionSingleton.getInstance().setUnsyncTags(true);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        tag.write(baos);
+        TagOptionSingleton.getInstance().setToDefault();
+        tagBytes = baos.toByteArray();
+
+        unsynced = ByteBuffer.wrap(tagBytes, AbstractID3v2Tag.TAG_HEADER_LENGTH, tagBytes.length - AbstractID3v2Tag.TAG_HEADER_LENGTH).slice();
+        ByteBuffer synced = ID3Unsynchronization.synchronize(unsynced);
+        frames = Arrays.copyOfRange(synced.array(), synced.arrayOffset(), synced.arrayOffset() + synced.limit());
+        if (!Arrays.equals(unsynchronizeByStream(), unsynchronize())
+                || synchronizeByCopy().limit() != synced.limit())
+        {
+            throw new IllegalStateException("Implementations disagree");
+        }
+    }
+
+    /**
+     * Unsynchronisation as it was done before, by reading a stream
+     */
+    @Benchmark
+    public byte[] unsynchronizeByStream()
+    {
+        ByteArrayInputStream input = new ByteArrayInputStream(frames);
+        ByteArrayOutputStream output = new ByteArrayOutputStream(frames.length);
+        while (input.available() > 0)
+        {
+            int firstByte = input.read();
+            output.write(firstByte);
+            if (firstByte == 0xFF && input.available() > 0)
+            {
+                input.mark(1);
+                int secondByte = input.read();
+                if ((secondByte & 0xE0) == 0xE0 || secondByte == 0)
+                {
+                    output.write(0);
+                }
+                input.reset();
+            }
+        }
+        if (frames[frames.length - 1] == (byte) 0xFF)
+        {
+            output.write(0);
+        }
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] unsynchronize()
+    {
+        return ID3Unsynchronization.unsynchronize(frames);
+    }
+
+    /**
+     * Synchronisation as it was done before, copying the whole buffer first
+     */
+    @Benchmark
+    public ByteBuffer synchronizeByCopy()
+    {
+        ByteBuffer source = unsynced.duplicate();
+        int len = source.remaining();
+        byte[] bytes = new byte[len + 1];
+        source.get(bytes, 0, len);
+        int from = 0, to = 0;
+        boolean copy = true;
+        while (from < len)
+        {
+            byte byteValue = bytes[from++];
+            if (copy || byteValue != 0)
+            {
+                bytes[to++] = byteValue;
+            }
+            copy = byteValue != (byte) 0xFF;
+        }
+        return ByteBuffer.wrap(bytes, 0, to);
+    }
+
+    @Benchmark
+    public ByteBuffer synchronize()
+    {
+        return ID3Unsynchronization.synchronize(unsynced);
+    }
+
+    @Benchmark
+    public ID3v23Tag readTag() throws Exception
+    {
+        return new ID3v23Tag(ByteBuffer.wrap(tagBytes), "");
+    }
+}
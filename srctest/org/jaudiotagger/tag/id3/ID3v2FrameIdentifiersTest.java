@@ -0,0 +1,58 @@
+package org.jaudiotagger.tag.id3;
+
+import junit.framework.TestCase;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Checking and decoding frame identifiers from the tag data
+ */
+public class ID3v2FrameIdentifiersTest extends TestCase
+{
+    public void testIsValid()
+    {
+        ByteBuffer buffer = ByteBuffer.wrap("xTIT2TT2T1É2tit2".getBytes(StandardCharsets.ISO_8859_1));
+        assertTrue(ID3v2FrameIdentifiers.isValid(buffer, 1, 4));
+        assertTrue(ID3v2FrameIdentifiers.isValid(buffer, 5, 3));
+        assertFalse(ID3v2FrameIdentifiers.isValid(buffer, 0, 4));
+        assertFalse(ID3v2FrameIdentifiers.isValid(buffer, 8, 4));
+        assertFalse(ID3v2FrameIdentifiers.isValid(buffer, 12, 4));
+        assertFalse(ID3v2FrameIdentifiers.isValid(buffer, 15, 4));
+        assertEquals(0, buffer.position());
+
+        assertTrue(ID3v2FrameIdentifiers.isValid("TIT2", 4));
+        assertTrue(ID3v2FrameIdentifiers.isValid("T1T2", 4));
+        assertFalse(ID3v2FrameIdentifiers.isValid("1TIT", 4));
+        assertFalse(ID3v2FrameIdentifiers.isValid("TIT2", 3));
+        assertFalse(ID3v2FrameIdentifiers.isValid("Tit2", 4));
+        assertTrue(new ID3v22Frame().isValidID3v2FrameIdentifier("TT2"));
+        assertFalse(new ID3v24Frame().isValidID3v2FrameIdentifier("TT2"));
+    }
+
+    public void testIsPadding()
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{'T', 0, 0, 0, 0});
+        assertTrue(ID3v2FrameIdentifiers.isPadding(buffer, 1, 4));
+        assertFalse(ID3v2FrameIdentifiers.isPadding(buffer, 0, 4));
+    }
+
+    public void testGetIdentifier()
+    {
+        ByteBuffer buffer = ByteBuffer.wrap("TIT2TT2XYZ9".getBytes());
+        String title = ID3v2FrameIdentifiers.getIdentifier(buffer, 0, 4);
+        assertEquals("TIT2", title);
+        assertSame(title, ID3v2FrameIdentifiers.getIdentifier(buffer, 0, 4));
+        assertSame(ID3v24Frames.FRAME_ID_TITLE, title);
+
+        String v22Title = ID3v2FrameIdentifiers.getIdentifier(buffer, 4, 3);
+        assertSame(ID3v22Frames.FRAME_ID_V2_TITLE, v22Title);
+
+        //Same bytes with a different length are a different identifier
+        assertEquals("TIT", ID3v2FrameIdentifiers.getIdentifier(buffer, 0, 3));
+
+        //Unknown frames are still read
+        assertEquals("XYZ9", ID3v2FrameIdentifiers.getIdentifier(buffer, 7, 4));
+        assertEquals(0, buffer.position());
+    }
+}
@@ -0,0 +1,141 @@
+package org.jaudiotagger.tag.id3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.tag.FieldKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Frame store used by ID3v2 tags
+ */
+public class ID3v2FrameMapTest extends TestCase
+{
+    public void testPrefixLookupFollowsChanges() throws Exception
+    {
+        ID3v2FrameMap map = new ID3v2FrameMap();
+        ID3v24Frame title = new ID3v24Frame(ID3v24Frames.FRAME_ID_TITLE);
+        ID3v24Frame artist = new ID3v24Frame(ID3v24Frames.FRAME_ID_ARTIST);
+        ID3v24Frame txxx1 = new ID3v24Frame(ID3v24Frames.FRAME_ID_USER_DEFINED_INFO);
+        ID3v24Frame txxx2 = new ID3v24Frame(ID3v24Frames.FRAME_ID_USER_DEFINED_INFO);
+        ID3v24Frame comment = new ID3v24Frame(ID3v24Frames.FRAME_ID_COMMENT);
+        map.put(title.getIdentifier(), title);
+        map.put(comment.getIdentifier(), comment);
+        map.addFrame(txxx1.getIdentifier(), txxx1);
+        map.addFrame(txxx2.getIdentifier(), txxx2);
+        map.put(artist.getIdentifier(), artist);
+
+        //Insertion order kept
+        assertEquals(Arrays.asList("TIT2", "COMM", "TXXX", "TPE1"), new ArrayList<String>(map.keySet()));
+        assertEquals(Arrays.asList("TIT2", "TPE1", "TXXX"), map.getIdentifiersStartingWith("T"));
+        assertEquals(Arrays.asList(txxx1, txxx2), map.getFrames("TXXX"));
+        assertSame(txxx1, map.getFirstFrame("TXXX"));
+        assertSame(title, map.getFirstFrame("TIT2"));
+        assertEquals(null, map.getFirstFrame("TALB"));
+        assertEquals(5, map.getAllFrames().size());
+        assertEquals(4, map.getFramesStartingWith("T").size());
+        assertTrue(map.hasIdentifierStartingWith("TI"));
+        assertFalse(map.hasIdentifierStartingWith("TA"));
+
+        //Removing through the views updates the index
+        map.remove("TIT2");
+        for (Iterator<Object> i = map.values().iterator(); i.hasNext(); )
+        {
+            if (i.next() == artist)
+            {
+                i.remove();
+            }
+        }
+        map.keySet().remove("COMM");
+        assertEquals(Arrays.asList("TXXX"), map.getIdentifiersStartingWith("T"));
+        assertFalse(map.hasIdentifierStartingWith("C"));
+        map.clear();
+        assertTrue(map.getIdentifiersStartingWith("").isEmpty());
+    }
+
+    public void testAddFrameToListPutByCaller() throws Exception
+    {
+        ID3v2FrameMap map = new ID3v2FrameMap();
+        ID3v24Frame comment1 = new ID3v24Frame(ID3v24Frames.FRAME_ID_COMMENT);
+        ID3v24Frame comment2 = new ID3v24Frame(ID3v24Frames.FRAME_ID_COMMENT);
+        ID3v24Frame comment3 = new ID3v24Frame(ID3v24Frames.FRAME_ID_COMMENT);
+        List<ID3v24Frame> frames = new ArrayList<ID3v24Frame>();
+        frames.add(comment1);
+        map.put(comment1.getIdentifier(), frames);
+        assertSame(comment1, map.getFirstFrame("COMM"));
+
+        map.addFrame(comment2.getIdentifier(), comment2);
+        assertTrue(map.get("COMM") instanceof ID3v2FrameMap.FrameList);
+        map.addFrame(comment3.getIdentifier(), comment3);
+        assertEquals(Arrays.asList(comment1, comment2, comment3), map.getFrames("COMM"));
+        assertEquals(1, frames.size());
+    }
+
+    public void testTagUsesIndex() throws Exception
+    {
+        ID3v24Tag tag = new ID3v24Tag();
+        tag.setField(FieldKey.TITLE, "title");
+        tag.setField(FieldKey.ARTIST, "artist");
+        tag.setField(FieldKey.COMMENT, "comment");
+        tag.setField(FieldKey.MUSICBRAINZ_TRACK_ID, "mbid");
+
+        assertTrue(tag.hasFrameOfType("TP"));
+        int count = 0;
+        for (Iterator i = tag.getFrameOfType("T"); i.hasNext(); i.next())
+        {
+            count++;
+        }
+        assertEquals(2, count);
+        tag.removeFrameOfType("T");
+        assertEquals("", tag.getFirst(FieldKey.TITLE));
+        assertEquals("comment", tag.getFirst(FieldKey.COMMENT));
+        assertEquals("mbid", tag.getFirst(FieldKey.MUSICBRAINZ_TRACK_ID));
+        assertEquals(2, tag.getFieldCount());
+
+        List<AbstractID3v2Frame> frames = tag.frameMap.getAllFrames();
+        assertEquals(2, frames.size());
+        assertEquals(frames.get(0).getSize() + frames.get(1).getSize() + AbstractID3v2Tag.TAG_HEADER_LENGTH, tag.getSize());
+    }
+
+    public void testTagAccessorsUseFrameMap() throws Exception
+    {
+        ID3v23Tag tag = new ID3v23Tag();
+        AggregatedFrame aggregated = new AggregatedFrame();
+        ID3v23Frame year = new ID3v23Frame(ID3v23Frames.FRAME_ID_V3_TYER);
+        ID3v23Frame date = new ID3v23Frame(ID3v23Frames.FRAME_ID_V3_TDAT);
+        aggregated.addFrame(year);
+        aggregated.addFrame(date);
+        tag.frameMap.put("TYERTDAT", aggregated);
+        assertNotNull(tag.getFirstField("TYERTDAT"));
+        assertEquals(2, tag.getFields("TYERTDAT").size());
+        assertEquals(2, countFrames(tag.getFrameOfType("TYER")));
+
+        tag.setField(FieldKey.MUSICBRAINZ_ARTISTID, "artistid");
+        tag.setField(FieldKey.MUSICBRAINZ_RELEASEID, "releaseid");
+        tag.setField(FieldKey.MUSICBRAINZ_RELEASEID, "releaseid2");
+        assertEquals(2, tag.getFields(ID3v23Frames.FRAME_ID_V3_USER_DEFINED_INFO).size());
+        assertEquals("releaseid2", tag.getFirst(FieldKey.MUSICBRAINZ_RELEASEID));
+
+        //The fields returned are a copy
+        tag.getFields(ID3v23Frames.FRAME_ID_V3_USER_DEFINED_INFO).clear();
+        assertEquals(2, tag.getFields(ID3v23Frames.FRAME_ID_V3_USER_DEFINED_INFO).size());
+
+        tag.deleteField(FieldKey.MUSICBRAINZ_ARTISTID);
+        assertEquals("", tag.getFirst(FieldKey.MUSICBRAINZ_ARTISTID));
+        assertEquals("releaseid2", tag.getFirst(FieldKey.MUSICBRAINZ_RELEASEID));
+        tag.deleteField(FieldKey.MUSICBRAINZ_RELEASEID);
+        assertFalse(tag.frameMap.containsKey(ID3v23Frames.FRAME_ID_V3_USER_DEFINED_INFO));
+    }
+
+    private static int countFrames(Iterator i)
+    {
+        int count = 0;
+        for (; i.hasNext(); i.next())
+        {
+            count++;
+        }
+        return count;
+    }
+}
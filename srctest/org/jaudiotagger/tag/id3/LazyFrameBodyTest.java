@@ -0,0 +1,211 @@
+package org.jaudiotagger.tag.id3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyCOMM;
+import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Decoding frame bodies when first used
+ */
+public class LazyFrameBodyTest extends TestCase
+{
+    private static final FieldKey[] KEYS = {FieldKey.TITLE, FieldKey.ARTIST, FieldKey.ALBUM, FieldKey.GENRE, FieldKey.COMMENT, FieldKey.TRACK, FieldKey.YEAR};
+
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testFieldsMatchEagerRead() throws Exception
+    {
+        for (AbstractID3v2Tag tag : new AbstractID3v2Tag[]{new ID3v22Tag(), new ID3v23Tag(), new ID3v24Tag()})
+        {
+            tag.setField(FieldKey.TITLE, "title");
+            tag.setField(FieldKey.ARTIST, "artisté");
+            tag.setField(FieldKey.ALBUM, "album");
+            tag.setField(FieldKey.GENRE, "Rock");
+            tag.setField(FieldKey.COMMENT, "comment");
+            tag.setField(FieldKey.TRACK, "3");
+            tag.setField(FieldKey.YEAR, "2001");
+            byte[] data = toBytes(tag);
+
+            AbstractID3v2Tag eager = read(tag, data);
+            TagOptionSingleton.getInstance().setId3v2LazyFrameBodies(true);
+            AbstractID3v2Tag lazy = read(tag, data);
+            TagOptionSingleton.getInstance().setId3v2LazyFrameBodies(false);
+
+            String titleId = tag instanceof ID3v22Tag ? ID3v22Frames.FRAME_ID_V2_TITLE : ID3v24Frames.FRAME_ID_TITLE;
+            AbstractID3v2Frame title = (AbstractID3v2Frame) lazy.getFrame(titleId);
+            assertFalse(title.isBodyLoaded());
+            for (FieldKey key : KEYS)
+            {
+                assertEquals(tag.getIdentifier() + ":" + key, eager.getFirst(key), lazy.getFirst(key));
+            }
+            assertTrue(title.isBodyLoaded());
+            assertEquals(eager.getSize(), lazy.getSize());
+            assertTrue(tag.getIdentifier(), Arrays.equals(toBytes(eager), toBytes(lazy)));
+        }
+    }
+
+    public void testUnchangedFrameWrittenAsRead() throws Exception
+    {
+        //v24 title frame with a data length indicator, which is dropped when the body is written
+        byte[] body = {0, 't', 'i', 't', 'l', 'e'};
+        ByteBuffer frame = ByteBuffer.allocate(ID3v24Frame.FRAME_HEADER_SIZE + ID3v24Frame.FRAME_DATA_LENGTH_SIZE + body.length);
+        frame.put("TIT2".getBytes());
+        frame.put(ID3SyncSafeInteger.valueToBuffer(ID3v24Frame.FRAME_DATA_LENGTH_SIZE + body.length));
+        frame.put((byte) 0);
+        frame.put((byte) ID3v24Frame.EncodingFlags.MASK_DATA_LENGTH_INDICATOR);
+        frame.put(ID3SyncSafeInteger.valueToBuffer(body.length));
+        frame.put(body);
+        byte[] frameData = frame.array();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(new byte[]{'I', 'D', '3', 4, 0, 0});
+        baos.write(ID3SyncSafeInteger.valueToBuffer(frameData.length + 100));
+        baos.write(frameData);
+        baos.write(new byte[100]);
+        byte[] data = baos.toByteArray();
+
+        assertEquals(-1, indexOf(toBytes(new ID3v24Tag(ByteBuffer.wrap(data), "")), frameData));
+
+        TagOptionSingleton.getInstance().setId3v2LazyFrameBodies(true);
+        ID3v24Tag lazy = new ID3v24Tag(ByteBuffer.wrap(data), "");
+        assertTrue(indexOf(toBytes(lazy), frameData) > 0);
+
+        //Decoded but not changed
+        assertEquals("title", lazy.getFirst(FieldKey.TITLE));
+        assertTrue(indexOf(toBytes(lazy), frameData) > 0);
+
+        lazy.setField(FieldKey.TITLE, "changed");
+        byte[] changed = toBytes(lazy);
+        assertEquals(-1, indexOf(changed, frameData));
+        assertEquals("changed", new ID3v24Tag(ByteBuffer.wrap(changed), "").getFirst(FieldKey.TITLE));
+    }
+
+    public void testCompressedFrame() throws Exception
+    {
+        byte[] tagData = Files.readAllBytes(new File("testtagdata", "Issue98-1.id3").toPath());
+        TagOptionSingleton.getInstance().setId3v2LazyFrameBodies(true);
+        ID3v23Tag tag = new ID3v23Tag(ByteBuffer.wrap(tagData), "");
+        ID3v23Frame frame = (ID3v23Frame) tag.getFrame(ID3v23Frames.FRAME_ID_V3_COMMENT);
+        assertFalse(frame.isBodyLoaded());
+        assertEquals("[P-M-S] Teampms [P-M-S]", ((FrameBodyCOMM) frame.getBody()).getText());
+
+        //Compressed frames are written uncompressed once decoded
+        byte[] data = toBytes(tag);
+        TagOptionSingleton.getInstance().setId3v2LazyFrameBodies(false);
+        ID3v23Tag reread = new ID3v23Tag(ByteBuffer.wrap(data), "");
+        frame = (ID3v23Frame) reread.getFrame(ID3v23Frames.FRAME_ID_V3_COMMENT);
+        assertFalse(((ID3v23Frame.EncodingFlags) frame.getEncodingFlags()).isCompression());
+        assertEquals("[P-M-S] Teampms [P-M-S]", ((FrameBodyCOMM) frame.getBody()).getText());
+    }
+
+    public void testConversionSharesBodyData() throws Exception
+    {
+        ID3v23Tag tag = new ID3v23Tag();
+        tag.setField(FieldKey.TITLE, "title");
+        tag.setField(FieldKey.ARTIST, "artisté");
+        tag.setField(FieldKey.COMMENT, "comment");
+        tag.setField(FieldKey.YEAR, "2001");
+        tag.setField(FieldKey.MOOD, "happy");
+        byte[] data = toBytes(tag);
+
+        ID3v24Tag eager = new ID3v24Tag(new ID3v23Tag(ByteBuffer.wrap(data), ""));
+        TagOptionSingleton.getInstance().setId3v2LazyFrameBodies(true);
+        ID3v23Tag lazyV23 = new ID3v23Tag(ByteBuffer.wrap(data), "");
+        ID3v24Tag lazy = new ID3v24Tag(lazyV23);
+
+        //Same body in both versions so not decoded by conversion, frames whose semantics differ are converted
+        AbstractID3v2Frame title = (AbstractID3v2Frame) lazy.getFrame(ID3v24Frames.FRAME_ID_TITLE);
+        assertFalse(title.isBodyLoaded());
+        assertFalse(((AbstractID3v2Frame) lazyV23.getFrame(ID3v23Frames.FRAME_ID_V3_TITLE)).isBodyLoaded());
+        assertTrue(((AbstractID3v2Frame) lazy.getFrame(ID3v24Frames.FRAME_ID_YEAR)).isBodyLoaded());
+        for (FieldKey key : new FieldKey[]{FieldKey.TITLE, FieldKey.ARTIST, FieldKey.COMMENT, FieldKey.YEAR, FieldKey.MOOD})
+        {
+            assertEquals(key.toString(), eager.getFirst(key), lazy.getFirst(key));
+        }
+        assertTrue(Arrays.equals(toBytes(eager), toBytes(lazy)));
+
+        //Each version decodes its own body
+        lazy.setField(FieldKey.TITLE, "changed");
+        assertEquals("changed", lazy.getFirst(FieldKey.TITLE));
+        assertEquals("title", lazyV23.getFirst(FieldKey.TITLE));
+    }
+
+    public void testConversionToV23ConvertsSharedEncoding() throws Exception
+    {
+        TagOptionSingleton.getInstance().setId3v24DefaultTextEncoding(TextEncoding.UTF_8);
+        ID3v24Tag tag = new ID3v24Tag();
+        tag.setField(FieldKey.TITLE, "titlé");
+        byte[] data = toBytes(tag);
+
+        ID3v23Tag eager = new ID3v23Tag(new ID3v24Tag(ByteBuffer.wrap(data), ""));
+        TagOptionSingleton.getInstance().setId3v2LazyFrameBodies(true);
+        ID3v23Tag lazy = new ID3v23Tag(new ID3v24Tag(ByteBuffer.wrap(data), ""));
+
+        AbstractID3v2Frame title = (AbstractID3v2Frame) lazy.getFrame(ID3v23Frames.FRAME_ID_V3_TITLE);
+        assertFalse(title.isBodyLoaded());
+        byte encoding = ((AbstractID3v2Frame) eager.getFrame(ID3v23Frames.FRAME_ID_V3_TITLE)).getBody().getTextEncoding();
+        assertTrue(encoding != TextEncoding.UTF_8);
+        assertEquals(encoding, title.getBody().getTextEncoding());
+        assertEquals("titlé", lazy.getFirst(FieldKey.TITLE));
+        assertTrue(Arrays.equals(toBytes(eager), toBytes(lazy)));
+    }
+
+    public void testCallerBufferNotRetained() throws Exception
+    {
+        ID3v24Tag tag = new ID3v24Tag();
+        tag.setField(FieldKey.TITLE, "title");
+        tag.setField(FieldKey.ARTIST, "artist");
+        byte[] data = toBytes(tag);
+
+        TagOptionSingleton.getInstance().setId3v2LazyFrameBodies(true);
+        ID3v24Tag lazy = new ID3v24Tag(ByteBuffer.wrap(data), "");
+        Arrays.fill(data, (byte) 0);
+
+        assertEquals("title", lazy.getFirst(FieldKey.TITLE));
+        assertEquals("artist", lazy.getFirst(FieldKey.ARTIST));
+    }
+
+    private static AbstractID3v2Tag read(AbstractID3v2Tag type, byte[] data) throws Exception
+    {
+        if (type instanceof ID3v22Tag)
+        {
+            return new ID3v22Tag(ByteBuffer.wrap(data), "");
+        }
+        else if (type instanceof ID3v23Tag)
+        {
+            return new ID3v23Tag(ByteBuffer.wrap(data), "");
+        }
+        return new ID3v24Tag(ByteBuffer.wrap(data), "");
+    }
+
+    private static byte[] toBytes(AbstractID3v2Tag tag) throws Exception
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        tag.write(baos);
+        return baos.toByteArray();
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern)
+    {
+        for (int i = 0; i <= data.length - pattern.length; i++)
+        {
+            if (Arrays.equals(Arrays.copyOfRange(data, i, i + pattern.length), pattern))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
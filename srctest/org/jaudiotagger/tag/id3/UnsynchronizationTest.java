@@ -14,7 +14,11 @@ import org.jaudiotagger.tag.images.ArtworkFactory;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
 
 /**
  * Test Itunes problems
@@ -243,4 +247,84 @@ public class UnsynchronizationTest extends AbstractTestCase
     }
 
 
+    public void testUnsynchronizeMatchesStreamImplementation() throws Exception
+    {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++)
+        {
+            byte[] data = randomSyncData(random, random.nextInt(64) + 1);
+            byte[] expected = unsynchronizeByStream(data);
+            byte[] unsynced = ID3Unsynchronization.unsynchronize(data.clone());
+            assertTrue(Arrays.toString(data), Arrays.equals(expected, unsynced));
+
+            ByteBuffer synced = ID3Unsynchronization.synchronize(ByteBuffer.wrap(unsynced));
+            assertTrue(synced.hasArray());
+            assertTrue(Arrays.toString(data), Arrays.equals(data, Arrays.copyOfRange(synced.array(), synced.arrayOffset() + synced.position(), synced.arrayOffset() + synced.limit())));
+        }
+    }
+
+    public void testSynchronizeInPlace() throws Exception
+    {
+        byte[] data = {1, (byte) 0xFF, 0, 0, (byte) 0xFF, (byte) 0xFF, 0, (byte) 0xE0, (byte) 0xFF, 0};
+        byte[] expected = {1, (byte) 0xFF, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xE0, (byte) 0xFF};
+        int length = ID3Unsynchronization.synchronize(data, 0, data.length);
+        assertEquals(expected.length, length);
+        assertTrue(Arrays.equals(expected, Arrays.copyOf(data, length)));
+
+        //Direct buffers are copied, the source is not changed
+        data = new byte[]{1, (byte) 0xFF, 0, 0, (byte) 0xFF, (byte) 0xFF, 0, (byte) 0xE0, (byte) 0xFF, 0};
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+        ByteBuffer synced = ID3Unsynchronization.synchronize(direct);
+        assertEquals(0, direct.position());
+        assertEquals(expected.length, synced.limit());
+        assertEquals((byte) 0xFF, direct.get(8));
+        assertEquals(0, direct.get(9));
+
+        //Nothing to remove so not copied
+        ByteBuffer plain = ByteBuffer.wrap(new byte[]{1, 2, (byte) 0xFF, 3});
+        synced = ID3Unsynchronization.synchronize(plain);
+        assertSame(plain.array(), synced.array());
+        assertEquals(4, synced.limit());
+    }
+
+    private static byte[] randomSyncData(Random random, int length)
+    {
+        byte[] values = {(byte) 0xFF, (byte) 0xFF, 0, (byte) 0xE0, (byte) 0xFE, 0x1F, 0x41};
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++)
+        {
+            data[i] = values[random.nextInt(values.length)];
+        }
+        return data;
+    }
+
+    /**
+     * Unsynchronisation as it was done before, by reading a stream
+     */
+    private static byte[] unsynchronizeByStream(byte[] abySource)
+    {
+        ByteArrayInputStream input = new ByteArrayInputStream(abySource);
+        ByteArrayOutputStream output = new ByteArrayOutputStream(abySource.length);
+        while (input.available() > 0)
+        {
+            int firstByte = input.read();
+            output.write(firstByte);
+            if (firstByte == 0xFF && input.available() > 0)
+            {
+                input.mark(1);
+                int secondByte = input.read();
+                if ((secondByte & 0xE0) == 0xE0 || secondByte == 0)
+                {
+                    output.write(0);
+                }
+                input.reset();
+            }
+        }
+        if (abySource[abySource.length - 1] == (byte) 0xFF)
+        {
+            output.write(0);
+        }
+        return output.toByteArray();
+    }
 }
@@ -0,0 +1,57 @@
+package org.jaudiotagger.tag.id3;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.images.ArtworkFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Writing the tag header, frames and padding together
+ */
+public class WriteBuffersTest extends AbstractTestCase
+{
+    private static final int AUDIO_START = 200000;
+
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testFileMatchesStream() throws Exception
+    {
+        for (AbstractID3v2Tag tag : new AbstractID3v2Tag[]{new ID3v22Tag(), new ID3v23Tag(), new ID3v24Tag()})
+        {
+            TagOptionSingleton.getInstance().setUnsyncTags(tag instanceof ID3v23Tag);
+            tag.setField(FieldKey.TITLE, "title");
+            tag.setField(FieldKey.ARTIST, "artisté");
+            tag.setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart_large.jpg")));
+
+            //Padding is larger than the buffer shared for padding
+            File file = new File("testdatatmp", "testWriteBuffers" + tag.getIdentifier() + ".id3");
+            try (FileOutputStream fos = new FileOutputStream(file))
+            {
+                fos.write(new byte[AUDIO_START]);
+            }
+            assertEquals(AUDIO_START, tag.write(file, AUDIO_START));
+            byte[] fileData = Files.readAllBytes(file.toPath());
+            assertEquals(AUDIO_START, fileData.length);
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            tag.write(baos, AUDIO_START);
+            assertTrue(tag.getIdentifier(), Arrays.equals(fileData, baos.toByteArray()));
+
+            AbstractID3v2Tag reread = tag instanceof ID3v22Tag ? new ID3v22Tag(ByteBuffer.wrap(fileData), "")
+                    : tag instanceof ID3v23Tag ? new ID3v23Tag(ByteBuffer.wrap(fileData), "") : new ID3v24Tag(ByteBuffer.wrap(fileData), "");
+            assertEquals("artisté", reread.getFirst(FieldKey.ARTIST));
+            assertTrue(Arrays.equals(tag.getFirstArtwork().getBinaryData(), reread.getFirstArtwork().getBinaryData()));
+        }
+    }
+}
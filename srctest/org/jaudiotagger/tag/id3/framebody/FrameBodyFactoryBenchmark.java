@@ -0,0 +1,121 @@
+package org.jaudiotagger.tag.id3.framebody;
+
+import org.jaudiotagger.tag.id3.ID3v23Tag;
+import org.jaudiotagger.tag.id3.ID3v24Frame;
+import org.jaudiotagger.tag.id3.ID3v24Tag;
+import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading frame bodies by reflection, as AbstractID3v2Frame.readBody used to, with
+ * {@link FrameBodyFactory}, and times reading and converting a tag with many TXXX, COMM and PRIV frames.
+ *
+ * Run from the project directory with the test classes and their dependencies on the classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FrameBodyFactoryBenchmark
+{
+    /**
+     * Number of frames of each type
+     */
+    @Param({"100"})
+    public int framesPerType;
+
+    private final List<String> identifiers = new ArrayList<String>();
+    private final List<byte[]> bodies = new ArrayList<byte[]>();
+    private byte[] tagBytes;
+    private ID3v24Tag readTag;
+
+    public static void main(String[] args) throws Exception
+    {
+        new Runner(new OptionsBuilder().include(FrameBodyFactoryBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        ID3v24Tag tag = new ID3v24Tag();
+        for (int i = 0; i < framesPerType; i++)
+        {
+            addFrame(tag, new FrameBodyTXXX(TextEncoding.ISO_8859_1, "description" + i, "value" + i));
+            addFrame(tag, new FrameBodyCOMM(TextEncoding.ISO_8859_1, "eng", "comment" + i, "text" + i));
+            addFrame(tag, new FrameBodyPRIV("owner" + i, new byte[32]));
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        tag.write(baos);
+        tagBytes = baos.toByteArray();
+        readTag = new ID3v24Tag(ByteBuffer.wrap(tagBytes));
+    }
+
+    private void addFrame(ID3v24Tag tag, AbstractID3v2FrameBody body) throws Exception
+    {
+        ID3v24Frame frame = new ID3v24Frame(body.getIdentifier());
+        frame.setBody(body);
+        tag.addField(frame);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        body.write(baos);
+        identifiers.add(body.getIdentifier());
+        bodies.add(baos.toByteArray());
+    }
+
+    /**
+     * The lookup done by readBody before it used {@link FrameBodyFactory}
+     */
+    @Benchmark
+    public void readByReflection(Blackhole blackhole) throws Exception
+    {
+        for (int i = 0; i < identifiers.size(); i++)
+        {
+            Class<?> c = Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + identifiers.get(i));
+            Constructor<?> construct = c.getConstructor(ByteBuffer.class, Integer.TYPE);
+            blackhole.consume(construct.newInstance(ByteBuffer.wrap(bodies.get(i)), bodies.get(i).length));
+        }
+    }
+
+    @Benchmark
+    public void readByFactory(Blackhole blackhole) throws Exception
+    {
+        for (int i = 0; i < identifiers.size(); i++)
+        {
+            blackhole.consume(FrameBodyFactory.getReader(identifiers.get(i)).read(ByteBuffer.wrap(bodies.get(i)), bodies.get(i).length));
+        }
+    }
+
+    @Benchmark
+    public ID3v24Tag readTag() throws Exception
+    {
+        return new ID3v24Tag(ByteBuffer.wrap(tagBytes));
+    }
+
+    @Benchmark
+    public ID3v23Tag convertTag()
+    {
+        return new ID3v23Tag(readTag);
+    }
+}
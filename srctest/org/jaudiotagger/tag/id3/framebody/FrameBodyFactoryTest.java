@@ -0,0 +1,76 @@
+package org.jaudiotagger.tag.id3.framebody;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.tag.id3.ID3Tags;
+import org.jaudiotagger.tag.id3.ID3v22Frames;
+import org.jaudiotagger.tag.id3.ID3v23Frames;
+import org.jaudiotagger.tag.id3.ID3v24Frames;
+import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Checks every frame body is registered with the factory that replaced creating them by reflection
+ */
+public class FrameBodyFactoryTest extends TestCase
+{
+    public void testEveryFrameBodyIsRegistered() throws Exception
+    {
+        Set<String> identifiers = new HashSet<String>();
+        identifiers.addAll(ID3v22Frames.getInstanceOf().getIdToValueMap().keySet());
+        identifiers.addAll(ID3v23Frames.getInstanceOf().getIdToValueMap().keySet());
+        identifiers.addAll(ID3v24Frames.getInstanceOf().getIdToValueMap().keySet());
+
+        int found = 0;
+        for (String identifier : identifiers)
+        {
+            Class<?> bodyClass;
+            try
+            {
+                bodyClass = Class.forName("org.jaudiotagger.tag.id3.framebody.FrameBody" + identifier);
+            }
+            catch (ClassNotFoundException cnfe)
+            {
+                assertFalse(identifier, FrameBodyFactory.isFrameBodyAvailable(identifier));
+                continue;
+            }
+            found++;
+            assertTrue(identifier, FrameBodyFactory.isFrameBodyAvailable(identifier));
+            assertEquals(identifier, bodyClass, FrameBodyFactory.createFrameBody(identifier).getClass());
+
+            boolean canRead = true;
+            try
+            {
+                bodyClass.getConstructor(ByteBuffer.class, Integer.TYPE);
+            }
+            catch (NoSuchMethodException nsme)
+            {
+                canRead = false;
+            }
+            assertEquals(identifier, canRead, FrameBodyFactory.getReader(identifier) != null);
+        }
+        assertTrue(found > 100);
+        assertEquals(null, FrameBodyFactory.createFrameBody("ZZZZ"));
+        assertEquals(null, FrameBodyFactory.getReader("ZZZZ"));
+    }
+
+    public void testReadConvertAndCopy() throws Exception
+    {
+        FrameBodyTYER tyer = new FrameBodyTYER(TextEncoding.ISO_8859_1, "2004");
+        FrameBodyTDRC tdrc = (FrameBodyTDRC) FrameBodyFactory.convertFrameBody("TDRC", tyer);
+        assertEquals("2004", tdrc.getText());
+        assertEquals(null, FrameBodyFactory.convertFrameBody("TALB", tyer));
+
+        FrameBodyTIT2 tit2 = new FrameBodyTIT2(TextEncoding.ISO_8859_1, "title");
+        FrameBodyTIT2 copy = (FrameBodyTIT2) ID3Tags.copyObject(tit2);
+        assertNotSame(tit2, copy);
+        assertEquals(tit2, copy);
+        assertTrue(FrameBodyFactory.convertFrameBody("TIT2", tit2) instanceof FrameBodyTIT2);
+
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{0, 'a', 'b', 'c'});
+        AbstractID3v2FrameBody read = FrameBodyFactory.getReader("TIT2").read(buffer, 4);
+        assertEquals("abc", ((FrameBodyTIT2) read).getText());
+    }
+}
@@ -0,0 +1,169 @@
+package org.jaudiotagger.tag.options;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.generic.PaddingMetrics;
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.images.ArtworkFactory;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Padding left after the metadata when the audio has to be moved
+ */
+public class PaddingPolicyTest extends AbstractTestCase
+{
+    @Override
+    public void setUp()
+    {
+        super.setUp();
+        PaddingMetrics.getInstance().reset();
+    }
+
+    @Override
+    protected void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testPolicies()
+    {
+        assertEquals(100, PaddingPolicy.fixed(100).getPadding(5000, 0));
+        assertEquals(500, PaddingPolicy.proportional(10, 100).getPadding(5000, 0));
+        assertEquals(100, PaddingPolicy.proportional(10, 100).getPadding(500, 0));
+        assertEquals(2000, PaddingPolicy.proportionalToArtwork(50, 100).getPadding(5000, 4000));
+        assertEquals(100, PaddingPolicy.proportionalToArtwork(50, 100).getPadding(5000, 0));
+        assertEquals(3192, PaddingPolicy.blockAligned(4096).getPadding(5000, 0));
+        assertEquals(0, PaddingPolicy.blockAligned(4096).getPadding(8192, 0));
+        assertEquals(4096, PaddingPolicy.fixed(1).roundedTo(4096).getPadding(8192, 0));
+
+        assertEquals(4000, PaddingPolicy.getPadding(5000, 0, 4000));
+        TagOptionSingleton.getInstance().setPaddingPolicy(PaddingPolicy.fixed(-10));
+        assertEquals(0, PaddingPolicy.getPadding(5000, 0, 4000));
+    }
+
+    public void testMp3BlockAligned() throws Exception
+    {
+        TagOptionSingleton.getInstance().setPaddingPolicy(PaddingPolicy.blockAligned(4096));
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1.mp3", new File("testPaddingPolicy.mp3"));
+        MP3File mp3File = (MP3File) AudioFileIO.read(testFile);
+        Tag tag = mp3File.getTagOrCreateAndSetDefault();
+        tag.setField(FieldKey.TITLE, "padded");
+        tag.setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        mp3File.commit();
+        long audioStart = mp3File.getMP3AudioHeader().getMp3StartByte();
+        assertEquals(0, audioStart % 4096);
+        assertEquals(1, PaddingMetrics.getInstance().getWritesMovingAudio());
+
+        //Small change fits in the padding
+        tag.setField(FieldKey.ARTIST, "artist");
+        mp3File.commit();
+        assertEquals(audioStart, mp3File.getMP3AudioHeader().getMp3StartByte());
+        assertEquals(1, PaddingMetrics.getInstance().getWritesInPlace());
+        assertEquals(1, PaddingMetrics.getInstance().getWritesMovingAudio());
+    }
+
+    public void testMp4ProportionalToArtwork() throws Exception
+    {
+        TagOptionSingleton.getInstance().setPaddingPolicy(PaddingPolicy.proportionalToArtwork(50, 1024));
+        File testFile = AbstractTestCase.copyAudioToTmp("test.m4a", new File("testPaddingPolicy.m4a"));
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTag().setField(ArtworkFactory.createArtworkFromFile(new File("testdata", "coverart.png")));
+        af.commit();
+        assertEquals(1, PaddingMetrics.getInstance().getWritesMovingAudio());
+        assertTrue(PaddingMetrics.getInstance().getPaddingAdded() >= 1024);
+        long length = testFile.length();
+
+        //Small change fits in the free atom left after the metadata
+        af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.COMMENT, "a comment that did not fit before");
+        af.commit();
+        assertEquals(length, testFile.length());
+        assertEquals(1, PaddingMetrics.getInstance().getWritesInPlace());
+
+        af = AudioFileIO.read(testFile);
+        assertEquals("a comment that did not fit before", af.getTag().getFirst(FieldKey.COMMENT));
+        assertEquals(1, af.getTag().getArtworkList().size());
+    }
+
+    /**
+     * test41 has no udta atom so the whole metadata structure is created
+     */
+    public void testMp4NoExistingUdtaAtom() throws Exception
+    {
+        File orig = new File("testdata", "test41.m4a");
+        if (!orig.isFile())
+        {
+            System.err.println("Unable to test file - not available");
+            return;
+        }
+
+        TagOptionSingleton.getInstance().setPaddingPolicy(PaddingPolicy.fixed(2048));
+        File testFile = AbstractTestCase.copyAudioToTmp("test41.m4a", new File("testPaddingPolicyNoUdta.m4a"));
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.TITLE, "padded");
+        af.commit();
+        assertEquals(1, PaddingMetrics.getInstance().getWritesMovingAudio());
+        assertEquals(2048, PaddingMetrics.getInstance().getPaddingAdded());
+        long length = testFile.length();
+
+        //Small change fits in the free atom left after the metadata
+        af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.COMMENT, "a comment that did not fit before");
+        af.commit();
+        assertEquals(length, testFile.length());
+        assertEquals(1, PaddingMetrics.getInstance().getWritesInPlace());
+
+        af = AudioFileIO.read(testFile);
+        assertEquals("padded", af.getTag().getFirst(FieldKey.TITLE));
+        assertEquals("a comment that did not fit before", af.getTag().getFirst(FieldKey.COMMENT));
+    }
+
+    /**
+     * test41 written once has a udta atom, renaming its meta atom leaves a udta atom without one
+     */
+    public void testMp4NoExistingMetaAtom() throws Exception
+    {
+        File orig = new File("testdata", "test41.m4a");
+        if (!orig.isFile())
+        {
+            System.err.println("Unable to test file - not available");
+            return;
+        }
+
+        File testFile = AbstractTestCase.copyAudioToTmp("test41.m4a", new File("testPaddingPolicyNoMeta.m4a"));
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.TITLE, "title");
+        af.commit();
+        byte[] data = Files.readAllBytes(testFile.toPath());
+        String atoms = new String(data, StandardCharsets.ISO_8859_1);
+        data[atoms.indexOf("meta", atoms.indexOf("udta"))] = 'X';
+        Files.write(testFile.toPath(), data);
+
+        TagOptionSingleton.getInstance().setPaddingPolicy(PaddingPolicy.fixed(2048));
+        PaddingMetrics.getInstance().reset();
+        af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.TITLE, "padded");
+        af.commit();
+        assertEquals(1, PaddingMetrics.getInstance().getWritesMovingAudio());
+        assertEquals(2048, PaddingMetrics.getInstance().getPaddingAdded());
+        long length = testFile.length();
+
+        //Small change fits in the free atom left after the metadata
+        af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.COMMENT, "a comment that did not fit before");
+        af.commit();
+        assertEquals(length, testFile.length());
+        assertEquals(1, PaddingMetrics.getInstance().getWritesInPlace());
+
+        af = AudioFileIO.read(testFile);
+        assertEquals("padded", af.getTag().getFirst(FieldKey.TITLE));
+        assertEquals("a comment that did not fit before", af.getTag().getFirst(FieldKey.COMMENT));
+    }
+}